@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * JVM version of the parts of android.os.Process the plugin uses, whose android-all
+ * implementation is native.
+ */
+public final class Process {
+    public static final int THREAD_PRIORITY_BACKGROUND = 10;
+
+    private Process() {
+    }
+
+    public static void setThreadPriority(int priority) {
+    }
+}
@@ -0,0 +1,21 @@
+package android.os;
+
+/**
+ * JVM version of android.os.SystemClock, whose android-all implementation is native.
+ */
+public final class SystemClock {
+    private SystemClock() {
+    }
+
+    public static long elapsedRealtimeNanos() {
+        return System.nanoTime();
+    }
+
+    public static long elapsedRealtime() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1_000_000L;
+    }
+}
@@ -0,0 +1,60 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.AttestationDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding the attestationObject of a registration into the optional RegisterResponse fields,
+ * for the key types platform authenticators and security keys create.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttestationDecoderBenchmark {
+    @Param({"ES256", "RS256", "EdDSA"})
+    public String algorithm;
+
+    private byte[] attestationObject;
+    private byte[] coseKey;
+    private byte[] subjectPublicKeyInfo;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        Fixtures.Credential credential = Fixtures.credential(algorithm);
+        attestationObject = credential.attestationObject;
+        coseKey = credential.coseKey;
+        subjectPublicKeyInfo = credential.subjectPublicKeyInfo;
+    }
+
+    @Benchmark
+    public AttestationDecoder.AuthenticatorData decodeAttestationObject() {
+        return AttestationDecoder.decodeAttestationObject(attestationObject);
+    }
+
+    @Benchmark
+    public AttestationDecoder.CredentialPublicKey decodeCoseKey() {
+        return AttestationDecoder.decodeCoseKey(coseKey);
+    }
+
+    @Benchmark
+    public Long algorithmOf() {
+        return AttestationDecoder.algorithmOf(subjectPublicKeyInfo);
+    }
+}
@@ -0,0 +1,109 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.CredentialResponseParser;
+
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * From a Credential Manager callback on a binder thread to the reply to Dart, for an
+ * authentication response.
+ * <p>
+ * inline is the dispatch before PasskeysExecutors: Runnable::run, parsing and replying on the
+ * binder thread. pool parses on the plugin's callback pool and replies on a single thread
+ * standing in for the main looper. hops / callbacks is the number of thread changes per callback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallbackDispatchBenchmark {
+    @Param({"inline", "pool"})
+    public String dispatch;
+
+    private String authenticationJson;
+    private ExecutorService binder;
+    private ExecutorService mainThread;
+    private ThreadPoolExecutor callbackPool;
+    private Executor callback;
+    private Executor reply;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Hops {
+        public long hops;
+        public long callbacks;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authenticationJson = Fixtures.authenticationResponseJson();
+        binder = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "binder"));
+        if ("inline".equals(dispatch)) {
+            callback = Runnable::run;
+            reply = Runnable::run;
+        } else {
+            callbackPool = PasskeysExecutors.newCallbackPool();
+            mainThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "main"));
+            callback = callbackPool;
+            reply = mainThread;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        binder.shutdown();
+        if (callbackPool != null) {
+            callbackPool.shutdown();
+            mainThread.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Messages.AuthenticateResponse callbackToReply(Hops hops) throws InterruptedException, ExecutionException {
+        CompletableFuture<Messages.AuthenticateResponse> replied = new CompletableFuture<>();
+        binder.execute(() -> {
+            Thread binderThread = Thread.currentThread();
+            callback.execute(() -> {
+                Thread parseThread = Thread.currentThread();
+                Messages.AuthenticateResponse response;
+                try {
+                    response = CredentialResponseParser.parseAuthentication(authenticationJson);
+                } catch (JSONException e) {
+                    replied.completeExceptionally(e);
+                    return;
+                }
+                reply.execute(() -> {
+                    Thread replyThread = Thread.currentThread();
+                    hops.hops += (parseThread != binderThread ? 1 : 0) + (replyThread != parseThread ? 1 : 0);
+                    hops.callbacks++;
+                    replied.complete(response);
+                });
+            });
+        });
+        return replied.get();
+    }
+}
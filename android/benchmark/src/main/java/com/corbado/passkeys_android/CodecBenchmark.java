@@ -0,0 +1,164 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.CredentialResponseParser;
+
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.flutter.plugin.common.MessageCodec;
+
+/**
+ * The PasskeysApiCodec on both sides of the channel: replies are encoded the way the generated
+ * handlers wrap them, requests are decoded by the number of credentials they carry. codec=direct
+ * runs the same messages through {@link DirectFieldCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    private static final MessageCodec<Object> PIGEON = Messages.PasskeysApi.getCodec();
+
+    @Param({"pigeon", "direct"})
+    public String codec;
+
+    private MessageCodec<Object> selected;
+    private ArrayList<Object> registerReply;
+    private ArrayList<Object> authenticateReply;
+    private ByteBuffer encodedRegisterReply;
+    private ByteBuffer encodedAuthenticateReply;
+
+    @Setup
+    public void setUp() throws JSONException {
+        selected = "direct".equals(codec) ? DirectFieldCodec.INSTANCE : PIGEON;
+        Messages.RegisterResponse registerResponse = CredentialResponseParser.parseRegistration(Fixtures.registrationResponseJson());
+        registerResponse.setTimings(timings());
+        Messages.AuthenticateResponse authenticateResponse = CredentialResponseParser.parseAuthentication(Fixtures.authenticationResponseJson());
+        authenticateResponse.setTimings(timings());
+
+        registerReply = wrap(registerResponse);
+        authenticateReply = wrap(authenticateResponse);
+        encodedRegisterReply = PIGEON.encodeMessage(registerReply);
+        encodedAuthenticateReply = PIGEON.encodeMessage(authenticateReply);
+        checkSameBytes(selected.encodeMessage(registerReply), encodedRegisterReply);
+        checkSameBytes(selected.encodeMessage(authenticateReply), encodedAuthenticateReply);
+        Requests requests = new Requests();
+        requests.size = 10;
+        requests.setUp();
+        for (ByteBuffer message : Arrays.asList(encodedRegisterReply, encodedAuthenticateReply, requests.register, requests.authenticate)) {
+            checkSameBytes(PIGEON.encodeMessage(selected.decodeMessage(message.rewind())), message);
+        }
+    }
+
+    /**
+     * Both codecs must put the same bytes on the channel and read them back to the same values.
+     */
+    private void checkSameBytes(ByteBuffer actual, ByteBuffer expected) {
+        if (!actual.rewind().equals(expected.rewind())) {
+            throw new IllegalStateException(codec + " codec does not match the generated one");
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer encodeRegisterResponse() {
+        return selected.encodeMessage(registerReply);
+    }
+
+    @Benchmark
+    public Object decodeRegisterResponse() {
+        return selected.decodeMessage(encodedRegisterReply.rewind());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeAuthenticateResponse() {
+        return selected.encodeMessage(authenticateReply);
+    }
+
+    @Benchmark
+    public Object decodeAuthenticateResponse() {
+        return selected.decodeMessage(encodedAuthenticateReply.rewind());
+    }
+
+    @Benchmark
+    public Object decodeRegisterRequest(Requests requests) {
+        return selected.decodeMessage(requests.register.rewind());
+    }
+
+    @Benchmark
+    public Object decodeAuthenticateRequest(Requests requests) {
+        return selected.decodeMessage(requests.authenticate.rewind());
+    }
+
+    /**
+     * The register and authenticate arguments as Dart sends them.
+     */
+    @State(Scope.Benchmark)
+    public static class Requests {
+        @Param({"0", "1", "10", "100", "1000", "10000"})
+        public int size;
+
+        ByteBuffer register;
+        ByteBuffer authenticate;
+
+        @Setup
+        public void setUp() {
+            register = PIGEON.encodeMessage(new ArrayList<>(Arrays.asList(
+                    Fixtures.CHALLENGE,
+                    Fixtures.relyingParty(),
+                    Fixtures.user(),
+                    Fixtures.authenticatorSelection(),
+                    Fixtures.pubKeyCredParams(),
+                    60000L,
+                    "none",
+                    Fixtures.excludeCredentials(size),
+                    null
+            )));
+            authenticate = PIGEON.encodeMessage(new ArrayList<>(Arrays.asList(
+                    "passkeys.eu",
+                    Fixtures.CHALLENGE,
+                    60000L,
+                    "preferred",
+                    Fixtures.allowCredentials(size),
+                    null
+            )));
+        }
+    }
+
+    private static Messages.CeremonyTimings timings() {
+        Map<String, Long> phases = new HashMap<>();
+        phases.put(CeremonyTimer.PHASE_BUILD_OPTIONS, 180L);
+        phases.put(CeremonyTimer.PHASE_USER_INTERACTION, 2400000L);
+        phases.put(CeremonyTimer.PHASE_PARSE_RESPONSE, 95L);
+        return new Messages.CeremonyTimings.Builder()
+                .setCorrelationId("0f8fad5b-d9cb-469f-a165-70867728950e")
+                .setPhasesMicros(phases)
+                .setTotalMicros(2400275L)
+                .setRequestBytes(812L)
+                .build();
+    }
+
+    private static ArrayList<Object> wrap(Object result) {
+        ArrayList<Object> wrapped = new ArrayList<>();
+        wrapped.add(0, result);
+        return wrapped;
+    }
+}
@@ -0,0 +1,104 @@
+package com.corbado.passkeys_android;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a full credential index: entries spread over relying parties of 100 credentials
+ * each, as hasCredentials and getKnownCredentials see them, and the cold load of the log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialIndexBenchmark {
+    private static final int PER_RELYING_PARTY = 100;
+
+    @Param({"10000"})
+    public int entries;
+
+    private File directory;
+    private File file;
+    private CredentialIndex index;
+    private List<String> ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("credential-index").toFile();
+        file = new File(directory, "index");
+        index = new CredentialIndex(file);
+        ids = Fixtures.credentialIds(entries);
+        for (int i = 0; i < entries; i++) {
+            index.recordRegistration(relyingParty(i), ids.get(i), "user-" + i % 10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                //noinspection ResultOfMethodCallIgnored
+                child.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        directory.delete();
+    }
+
+    @Benchmark
+    public boolean containsHit() {
+        int i = next();
+        return index.contains(relyingParty(i), ids.get(i));
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        int i = next();
+        return index.contains(relyingParty(i + 1), ids.get(i));
+    }
+
+    @Benchmark
+    public List<Messages.KnownCredential> getRelyingParty() {
+        return index.get(relyingParty(next()), null);
+    }
+
+    @Benchmark
+    public List<Messages.KnownCredential> getUser() {
+        return index.get(relyingParty(next()), "user-3");
+    }
+
+    @Benchmark
+    public boolean load() {
+        return new CredentialIndex(file).contains(relyingParty(0), ids.get(0));
+    }
+
+    private int next() {
+        next = (next + 1) % entries;
+        return next;
+    }
+
+    private static String relyingParty(int i) {
+        return "rp" + i / PER_RELYING_PARTY + ".example";
+    }
+}
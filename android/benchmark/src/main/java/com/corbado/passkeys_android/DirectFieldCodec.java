@@ -0,0 +1,274 @@
+package com.corbado.passkeys_android;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.flutter.plugin.common.StandardMessageCodec;
+
+/**
+ * PasskeysApiCodec with RegisterResponse, AuthenticateResponse, AllowCredential and
+ * ExcludeCredential written and read field by field instead of through toList() and
+ * fromList(). The bytes are the same, so the Dart side is unchanged. The other types on the
+ * register and authenticate channels go through their lists as in the generated codec, types
+ * that only other channels use are not covered.
+ */
+final class DirectFieldCodec extends StandardMessageCodec {
+    static final DirectFieldCodec INSTANCE = new DirectFieldCodec();
+
+    private static final byte LIST = 12;
+
+    private static final int ALLOW_CREDENTIAL = 128;
+    private static final int AUTHENTICATE_RESPONSE = 130;
+    private static final int AUTHENTICATOR_SELECTION = 132;
+    private static final int CEREMONY_TIMINGS = 136;
+    private static final int EXCLUDE_CREDENTIAL = 139;
+    private static final int PUB_KEY_CRED_PARAM = 142;
+    private static final int REGISTER_RESPONSE = 144;
+    private static final int RELYING_PARTY = 145;
+    private static final int USER = 147;
+
+    private DirectFieldCodec() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+        switch (type & 0xFF) {
+            case ALLOW_CREDENTIAL:
+                return readAllowCredential(buffer);
+            case AUTHENTICATE_RESPONSE:
+                return readAuthenticateResponse(buffer);
+            case EXCLUDE_CREDENTIAL:
+                return readExcludeCredential(buffer);
+            case REGISTER_RESPONSE:
+                return readRegisterResponse(buffer);
+            case AUTHENTICATOR_SELECTION:
+                return Messages.AuthenticatorSelection.fromList((ArrayList<Object>) readValue(buffer));
+            case CEREMONY_TIMINGS:
+                return Messages.CeremonyTimings.fromList((ArrayList<Object>) readValue(buffer));
+            case PUB_KEY_CRED_PARAM:
+                return Messages.PubKeyCredParam.fromList((ArrayList<Object>) readValue(buffer));
+            case RELYING_PARTY:
+                return Messages.RelyingParty.fromList((ArrayList<Object>) readValue(buffer));
+            case USER:
+                return Messages.User.fromList((ArrayList<Object>) readValue(buffer));
+            default:
+                return super.readValueOfType(type, buffer);
+        }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+        if (value instanceof Messages.AllowCredential) {
+            Messages.AllowCredential credential = (Messages.AllowCredential) value;
+            beginList(stream, ALLOW_CREDENTIAL, 3);
+            writeValue(stream, credential.getType());
+            writeValue(stream, credential.getId());
+            writeValue(stream, credential.getTransports());
+        } else if (value instanceof Messages.AuthenticateResponse) {
+            Messages.AuthenticateResponse response = (Messages.AuthenticateResponse) value;
+            beginList(stream, AUTHENTICATE_RESPONSE, 7);
+            writeValue(stream, response.getId());
+            writeValue(stream, response.getRawId());
+            writeValue(stream, response.getClientDataJSON());
+            writeValue(stream, response.getAuthenticatorData());
+            writeValue(stream, response.getSignature());
+            writeValue(stream, response.getUserHandle());
+            writeValue(stream, response.getTimings() == null ? null : response.getTimings().toList());
+        } else if (value instanceof Messages.ExcludeCredential) {
+            Messages.ExcludeCredential credential = (Messages.ExcludeCredential) value;
+            beginList(stream, EXCLUDE_CREDENTIAL, 2);
+            writeValue(stream, credential.getType());
+            writeValue(stream, credential.getId());
+        } else if (value instanceof Messages.RegisterResponse) {
+            Messages.RegisterResponse response = (Messages.RegisterResponse) value;
+            beginList(stream, REGISTER_RESPONSE, 15);
+            writeValue(stream, response.getId());
+            writeValue(stream, response.getRawId());
+            writeValue(stream, response.getClientDataJSON());
+            writeValue(stream, response.getAttestationObject());
+            writeValue(stream, response.getTimings() == null ? null : response.getTimings().toList());
+            writeValue(stream, response.getAuthenticatorData());
+            writeValue(stream, response.getRpIdHash());
+            writeValue(stream, response.getFlags());
+            writeValue(stream, response.getUserVerified());
+            writeValue(stream, response.getBackupEligible());
+            writeValue(stream, response.getBackupState());
+            writeValue(stream, response.getSignCount());
+            writeValue(stream, response.getAaguid());
+            writeValue(stream, response.getPublicKey());
+            writeValue(stream, response.getPublicKeyAlgorithm());
+        } else if (value instanceof Messages.AuthenticatorSelection) {
+            stream.write(AUTHENTICATOR_SELECTION);
+            writeValue(stream, ((Messages.AuthenticatorSelection) value).toList());
+        } else if (value instanceof Messages.CeremonyTimings) {
+            stream.write(CEREMONY_TIMINGS);
+            writeValue(stream, ((Messages.CeremonyTimings) value).toList());
+        } else if (value instanceof Messages.PubKeyCredParam) {
+            stream.write(PUB_KEY_CRED_PARAM);
+            writeValue(stream, ((Messages.PubKeyCredParam) value).toList());
+        } else if (value instanceof Messages.RelyingParty) {
+            stream.write(RELYING_PARTY);
+            writeValue(stream, ((Messages.RelyingParty) value).toList());
+        } else if (value instanceof Messages.User) {
+            stream.write(USER);
+            writeValue(stream, ((Messages.User) value).toList());
+        } else {
+            super.writeValue(stream, value);
+        }
+    }
+
+    private static void beginList(ByteArrayOutputStream stream, int type, int size) {
+        stream.write(type);
+        stream.write(LIST);
+        writeSize(stream, size);
+    }
+
+    private static int readListSize(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type != LIST) {
+            throw new IllegalArgumentException("Expected a list but got type " + type);
+        }
+        return readSize(buffer);
+    }
+
+    private Messages.AllowCredential readAllowCredential(ByteBuffer buffer) {
+        int size = readListSize(buffer);
+        Messages.AllowCredential credential = new Messages.AllowCredential();
+        for (int i = 0; i < size; i++) {
+            Object value = readValue(buffer);
+            switch (i) {
+                case 0:
+                    credential.setType((String) value);
+                    break;
+                case 1:
+                    credential.setId((String) value);
+                    break;
+                case 2:
+                    //noinspection unchecked
+                    credential.setTransports((List<String>) value);
+                    break;
+                default:
+            }
+        }
+        return credential;
+    }
+
+    private Messages.ExcludeCredential readExcludeCredential(ByteBuffer buffer) {
+        int size = readListSize(buffer);
+        Messages.ExcludeCredential credential = new Messages.ExcludeCredential();
+        for (int i = 0; i < size; i++) {
+            Object value = readValue(buffer);
+            switch (i) {
+                case 0:
+                    credential.setType((String) value);
+                    break;
+                case 1:
+                    credential.setId((String) value);
+                    break;
+                default:
+            }
+        }
+        return credential;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Messages.AuthenticateResponse readAuthenticateResponse(ByteBuffer buffer) {
+        int size = readListSize(buffer);
+        Messages.AuthenticateResponse response = new Messages.AuthenticateResponse();
+        for (int i = 0; i < size; i++) {
+            Object value = readValue(buffer);
+            switch (i) {
+                case 0:
+                    response.setId((String) value);
+                    break;
+                case 1:
+                    response.setRawId((String) value);
+                    break;
+                case 2:
+                    response.setClientDataJSON((String) value);
+                    break;
+                case 3:
+                    response.setAuthenticatorData((String) value);
+                    break;
+                case 4:
+                    response.setSignature((String) value);
+                    break;
+                case 5:
+                    response.setUserHandle((String) value);
+                    break;
+                case 6:
+                    response.setTimings(value == null ? null : Messages.CeremonyTimings.fromList((ArrayList<Object>) value));
+                    break;
+                default:
+            }
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Messages.RegisterResponse readRegisterResponse(ByteBuffer buffer) {
+        int size = readListSize(buffer);
+        Messages.RegisterResponse response = new Messages.RegisterResponse();
+        for (int i = 0; i < size; i++) {
+            Object value = readValue(buffer);
+            switch (i) {
+                case 0:
+                    response.setId((String) value);
+                    break;
+                case 1:
+                    response.setRawId((String) value);
+                    break;
+                case 2:
+                    response.setClientDataJSON((String) value);
+                    break;
+                case 3:
+                    response.setAttestationObject((String) value);
+                    break;
+                case 4:
+                    response.setTimings(value == null ? null : Messages.CeremonyTimings.fromList((ArrayList<Object>) value));
+                    break;
+                case 5:
+                    response.setAuthenticatorData((String) value);
+                    break;
+                case 6:
+                    response.setRpIdHash((String) value);
+                    break;
+                case 7:
+                    response.setFlags(toLong(value));
+                    break;
+                case 8:
+                    response.setUserVerified((Boolean) value);
+                    break;
+                case 9:
+                    response.setBackupEligible((Boolean) value);
+                    break;
+                case 10:
+                    response.setBackupState((Boolean) value);
+                    break;
+                case 11:
+                    response.setSignCount(toLong(value));
+                    break;
+                case 12:
+                    response.setAaguid((String) value);
+                    break;
+                case 13:
+                    response.setPublicKey((String) value);
+                    break;
+                case 14:
+                    response.setPublicKeyAlgorithm(toLong(value));
+                    break;
+                default:
+            }
+        }
+        return response;
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : value instanceof Integer ? Long.valueOf((Integer) value) : (Long) value;
+    }
+}
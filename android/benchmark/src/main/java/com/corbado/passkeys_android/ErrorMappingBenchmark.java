@@ -0,0 +1,43 @@
+package com.corbado.passkeys_android;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import io.flutter.plugin.common.MessageCodec;
+
+/**
+ * Turning a failed ceremony into the error reply: a FlutterError keeps its code, anything else
+ * is reported with its stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorMappingBenchmark {
+    private static final MessageCodec<Object> CODEC = Messages.PasskeysApi.getCodec();
+
+    private final Messages.FlutterError flutterError = new Messages.FlutterError("cancelled", "The user cancelled the operation", "");
+    private final RuntimeException unexpectedError = new IllegalStateException("Activity is not available", new RuntimeException("detached"));
+
+    @Benchmark
+    public ByteBuffer flutterError() {
+        return CODEC.encodeMessage(Messages.wrapError(flutterError));
+    }
+
+    @Benchmark
+    public ByteBuffer unexpectedError() {
+        return CODEC.encodeMessage(Messages.wrapError(unexpectedError));
+    }
+}
@@ -0,0 +1,287 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.Base64Url;
+import com.corbado.passkeys_android.models.JsonStringWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ceremony inputs and responses shaped like the ones Play services and Dart send, generated
+ * from a fixed seed so that runs are comparable.
+ */
+final class Fixtures {
+    static final String CHALLENGE = Base64Url.encode(bytes(new Random(1), 32));
+
+    private Fixtures() {
+    }
+
+    static Messages.RelyingParty relyingParty() {
+        return new Messages.RelyingParty.Builder().setName("Corbado").setId("passkeys.eu").build();
+    }
+
+    static Messages.User user() {
+        return new Messages.User.Builder()
+                .setName("jane.doe@example.com")
+                .setDisplayName("Jane Doe")
+                .setId(Base64Url.encode(bytes(new Random(2), 16)))
+                .build();
+    }
+
+    static List<Messages.PubKeyCredParam> pubKeyCredParams() {
+        return Arrays.asList(
+                new Messages.PubKeyCredParam.Builder().setType("public-key").setAlg(-7L).build(),
+                new Messages.PubKeyCredParam.Builder().setType("public-key").setAlg(-257L).build()
+        );
+    }
+
+    static Messages.AuthenticatorSelection authenticatorSelection() {
+        return new Messages.AuthenticatorSelection.Builder()
+                .setAuthenticatorAttachment("platform")
+                .setRequireResidentKey(true)
+                .setResidentKey("required")
+                .setUserVerification("preferred")
+                .build();
+    }
+
+    /**
+     * Distinct 32 byte credential ids, the size Google Password Manager uses.
+     */
+    static List<String> credentialIds(int count) {
+        Random random = new Random(3);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(Base64Url.encode(bytes(random, 32)));
+        }
+        return ids;
+    }
+
+    static List<Messages.ExcludeCredential> excludeCredentials(int count) {
+        List<Messages.ExcludeCredential> credentials = new ArrayList<>(count);
+        for (String id : credentialIds(count)) {
+            credentials.add(new Messages.ExcludeCredential.Builder().setType("public-key").setId(id).build());
+        }
+        return credentials;
+    }
+
+    static List<Messages.AllowCredential> allowCredentials(int count) {
+        List<String> transports = Arrays.asList("internal", "hybrid");
+        List<Messages.AllowCredential> credentials = new ArrayList<>(count);
+        for (String id : credentialIds(count)) {
+            credentials.add(new Messages.AllowCredential.Builder().setType("public-key").setId(id).setTransports(transports).build());
+        }
+        return credentials;
+    }
+
+    static String registrationResponseJson() {
+        Random random = new Random(4);
+        byte[] credentialId = bytes(random, 32);
+        String clientDataJSON = clientDataJSON("webauthn.create");
+        byte[] attestationObject = noneAttestationObject(credentialId, random);
+
+        return new JsonStringWriter()
+                .beginObject()
+                .name("rawId").value(Base64Url.encode(credentialId))
+                .name("authenticatorAttachment").value("platform")
+                .name("type").value("public-key")
+                .name("id").value(Base64Url.encode(credentialId))
+                .name("response").beginObject()
+                .name("clientDataJSON").value(clientDataJSON)
+                .name("attestationObject").value(Base64Url.encode(attestationObject))
+                .name("transports").beginArray().value("internal").value("hybrid").endArray()
+                .name("authenticatorData").value(Base64Url.encode(Arrays.copyOfRange(attestationObject, attestationObject.length - AUTH_DATA_LENGTH, attestationObject.length)))
+                .name("publicKeyAlgorithm").value(-7)
+                .endObject()
+                .name("clientExtensionResults").beginObject()
+                .name("credProps").beginObject().name("rk").value(true).endObject()
+                .endObject()
+                .endObject()
+                .toString();
+    }
+
+    static String authenticationResponseJson() {
+        Random random = new Random(5);
+        byte[] credentialId = bytes(random, 32);
+        return new JsonStringWriter()
+                .beginObject()
+                .name("rawId").value(Base64Url.encode(credentialId))
+                .name("authenticatorAttachment").value("platform")
+                .name("type").value("public-key")
+                .name("id").value(Base64Url.encode(credentialId))
+                .name("response").beginObject()
+                .name("clientDataJSON").value(clientDataJSON("webauthn.get"))
+                .name("authenticatorData").value(Base64Url.encode(bytes(random, 37)))
+                .name("signature").value(Base64Url.encode(bytes(random, 71)))
+                .name("userHandle").value(Base64Url.encode(bytes(random, 16)))
+                .endObject()
+                .name("clientExtensionResults").beginObject().endObject()
+                .endObject()
+                .toString();
+    }
+
+    private static String clientDataJSON(String type) {
+        String clientData = new JsonStringWriter()
+                .beginObject()
+                .name("type").value(type)
+                .name("challenge").value(CHALLENGE)
+                .name("origin").value("android:apk-key-hash:" + Base64Url.encode(bytes(new Random(6), 32)))
+                .name("androidPackageName").value("com.corbado.passkeys.example")
+                .endObject()
+                .toString();
+        return Base64Url.encode(clientData.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // rpIdHash, flags, signCount, aaguid, credential id length, 32 byte id, EC2 P-256 COSE key
+    private static final int AUTH_DATA_LENGTH = 32 + 1 + 4 + 16 + 2 + 32 + 77;
+
+    /**
+     * {fmt: "none", attStmt: {}, authData} with attested credential data, as Google Password
+     * Manager returns it.
+     */
+    private static byte[] noneAttestationObject(byte[] credentialId, Random random) {
+        ByteArrayOutputStream authData = new ByteArrayOutputStream();
+        authData.writeBytes(bytes(random, 32));
+        // UP, UV, BE, BS, AT
+        authData.write(0x5D);
+        authData.writeBytes(new byte[4]);
+        authData.writeBytes(bytes(random, 16));
+        authData.write(0);
+        authData.write(credentialId.length);
+        authData.writeBytes(credentialId);
+        // {1: 2, 3: -7, -1: 1, -2: x, -3: y}
+        authData.writeBytes(new byte[]{(byte) 0xA5, 0x01, 0x02, 0x03, 0x26, 0x20, 0x01, 0x21, 0x58, 0x20});
+        authData.writeBytes(bytes(random, 32));
+        authData.writeBytes(new byte[]{0x22, 0x58, 0x20});
+        authData.writeBytes(bytes(random, 32));
+
+        ByteArrayOutputStream cbor = new ByteArrayOutputStream();
+        cbor.write(0xA3);
+        text(cbor, "fmt");
+        text(cbor, "none");
+        text(cbor, "attStmt");
+        cbor.write(0xA0);
+        text(cbor, "authData");
+        cbor.write(0x58);
+        cbor.write(authData.size());
+        cbor.writeBytes(authData.toByteArray());
+        return cbor.toByteArray();
+    }
+
+    /**
+     * A registration with a JCA-generated key for ES256, RS256 or EdDSA.
+     */
+    static final class Credential {
+        final byte[] attestationObject;
+        final byte[] coseKey;
+        final byte[] subjectPublicKeyInfo;
+
+        Credential(byte[] attestationObject, byte[] coseKey, byte[] subjectPublicKeyInfo) {
+            this.attestationObject = attestationObject;
+            this.coseKey = coseKey;
+            this.subjectPublicKeyInfo = subjectPublicKeyInfo;
+        }
+    }
+
+    static Credential credential(String algorithm) throws GeneralSecurityException {
+        Random random = new Random(7);
+        KeyPair keyPair;
+        ByteArrayOutputStream coseKey = new ByteArrayOutputStream();
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), new SecureRandom(new byte[]{7}));
+            keyPair = generator.generateKeyPair();
+            ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+            // {1: 2, 3: -7, -1: 1, -2: x, -3: y}
+            coseKey.writeBytes(new byte[]{(byte) 0xA5, 0x01, 0x02, 0x03, 0x26, 0x20, 0x01, 0x21});
+            bytes(coseKey, unsigned(key.getW().getAffineX(), 32));
+            coseKey.write(0x22);
+            bytes(coseKey, unsigned(key.getW().getAffineY(), 32));
+        } else if ("RS256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048, new SecureRandom(new byte[]{7}));
+            keyPair = generator.generateKeyPair();
+            RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+            // {1: 3, 3: -257, -1: n, -2: e}
+            coseKey.writeBytes(new byte[]{(byte) 0xA4, 0x01, 0x03, 0x03, 0x39, 0x01, 0x00, 0x20});
+            bytes(coseKey, unsigned(key.getModulus(), 0));
+            coseKey.write(0x21);
+            bytes(coseKey, unsigned(key.getPublicExponent(), 0));
+        } else if ("EdDSA".equals(algorithm)) {
+            keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            byte[] spki = keyPair.getPublic().getEncoded();
+            // {1: 1, 3: -8, -1: 6, -2: x}
+            coseKey.writeBytes(new byte[]{(byte) 0xA4, 0x01, 0x01, 0x03, 0x27, 0x20, 0x06, 0x21});
+            bytes(coseKey, Arrays.copyOfRange(spki, spki.length - 32, spki.length));
+        } else {
+            throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+
+        ByteArrayOutputStream authData = new ByteArrayOutputStream();
+        authData.writeBytes(bytes(random, 32));
+        // UP, UV, BE, BS, AT
+        authData.write(0x5D);
+        authData.writeBytes(new byte[4]);
+        authData.writeBytes(bytes(random, 16));
+        authData.write(0);
+        authData.write(32);
+        authData.writeBytes(bytes(random, 32));
+        authData.writeBytes(coseKey.toByteArray());
+
+        ByteArrayOutputStream cbor = new ByteArrayOutputStream();
+        cbor.write(0xA3);
+        text(cbor, "fmt");
+        text(cbor, "none");
+        text(cbor, "attStmt");
+        cbor.write(0xA0);
+        text(cbor, "authData");
+        bytes(cbor, authData.toByteArray());
+        return new Credential(cbor.toByteArray(), coseKey.toByteArray(), keyPair.getPublic().getEncoded());
+    }
+
+    // Big-endian magnitude, left-padded to size (0 keeps the minimal length).
+    private static byte[] unsigned(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        int length = bytes.length - start;
+        byte[] result = new byte[Math.max(size, length)];
+        System.arraycopy(bytes, start, result, result.length - length, length);
+        return result;
+    }
+
+    private static void bytes(ByteArrayOutputStream cbor, byte[] value) {
+        if (value.length < 24) {
+            cbor.write(0x40 | value.length);
+        } else if (value.length < 0x100) {
+            cbor.write(0x58);
+            cbor.write(value.length);
+        } else {
+            cbor.write(0x59);
+            cbor.write(value.length >> 8);
+            cbor.write(value.length);
+        }
+        cbor.writeBytes(value);
+    }
+
+    private static void text(ByteArrayOutputStream cbor, String value) {
+        cbor.write(0x60 | value.length());
+        cbor.writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] bytes(Random random, int count) {
+        byte[] bytes = new byte[count];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
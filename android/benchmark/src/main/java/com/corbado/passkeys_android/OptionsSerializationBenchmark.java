@@ -0,0 +1,61 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.login.GetCredentialOptions;
+import com.corbado.passkeys_android.models.signup.CreateCredentialOptions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request JSON handed to Credential Manager, by the number of excludeCredentials and
+ * allowCredentials.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionsSerializationBenchmark {
+    @Param({"0", "1", "10", "100", "1000", "10000"})
+    public int size;
+
+    private CreateCredentialOptions createOptions;
+    private GetCredentialOptions getOptions;
+
+    @Setup
+    public void setUp() {
+        createOptions = new CreateCredentialOptions(
+                Fixtures.CHALLENGE,
+                Fixtures.relyingParty(),
+                Fixtures.user(),
+                Fixtures.pubKeyCredParams(),
+                60000L,
+                Fixtures.authenticatorSelection(),
+                "none",
+                Fixtures.excludeCredentials(size)
+        );
+        getOptions = new GetCredentialOptions(Fixtures.CHALLENGE, 60000L, "passkeys.eu", Fixtures.allowCredentials(size), "preferred");
+    }
+
+    @Benchmark
+    public String createCredentialOptions() {
+        return createOptions.toJSON();
+    }
+
+    @Benchmark
+    public String getCredentialOptions() {
+        return getOptions.toJSON();
+    }
+}
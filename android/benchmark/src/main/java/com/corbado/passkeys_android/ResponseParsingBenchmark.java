@@ -0,0 +1,57 @@
+package com.corbado.passkeys_android;
+
+import com.corbado.passkeys_android.models.CredentialResponseParser;
+
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the response JSON of Credential Manager into what is returned to Dart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+    private String registrationJson;
+    private String authenticationJson;
+
+    @Setup
+    public void setUp() {
+        registrationJson = Fixtures.registrationResponseJson();
+        authenticationJson = Fixtures.authenticationResponseJson();
+    }
+
+    @Benchmark
+    public Messages.RegisterResponse parseRegistration() throws JSONException {
+        return CredentialResponseParser.parseRegistration(registrationJson);
+    }
+
+    @Benchmark
+    public Messages.RegisterResponse parseRegistrationWithoutAuthenticatorData() throws JSONException {
+        return CredentialResponseParser.parseRegistrationWithoutAuthenticatorData(registrationJson);
+    }
+
+    @Benchmark
+    public Messages.AuthenticateResponse parseAuthentication() throws JSONException {
+        return CredentialResponseParser.parseAuthentication(authenticationJson);
+    }
+
+    @Benchmark
+    public String[] readIdentity() throws JSONException {
+        return CredentialResponseParser.readIdentity(authenticationJson);
+    }
+}
@@ -0,0 +1,255 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per rpId whether authenticate runs prepareGetCredential before getCredential (PREPARE)
+ * or calls getCredential directly (DIRECT).
+ * <p>
+ * For every successful ceremony the time from the request until the credential UI appeared
+ * ({@link CeremonyTimer#untilUiMicros()}) is kept per path in a ring of the last {@value #WINDOW}
+ * samples. For PREPARE that is the prepare call plus the launch, for DIRECT the launch, which
+ * includes the credential lookup prepare does up front; the user's time in the UI is left out on
+ * both. A ceremony that never showed UI has no sample. Failed ceremonies are not recorded, a no-credential answer takes a
+ * different amount of work than a sign-in and would skew the path it happens on. The paths are
+ * compared by median, so that a single slow binder call does not flip the decision. Until both
+ * paths have {@value #MIN_SAMPLES} samples PREPARE is used, and with probability explorationRate
+ * the other path is tried so that a stale choice can flip back. The samples are persisted in
+ * SharedPreferences, so the choice survives restarts.
+ */
+public class AuthenticateStrategy {
+    // v3: time until the UI, the plugin-side samples stored before left out DIRECT's lookup
+    private static final String PREFERENCES = "com.corbado.passkeys.authenticate_strategy_v3";
+    private static final int WINDOW = 16;
+    private static final int MIN_SAMPLES = 4;
+    public static final double DEFAULT_EXPLORATION_RATE = 0.05;
+
+    public enum Path {
+        PREPARE,
+        DIRECT
+    }
+
+    public enum Mode {
+        ADAPTIVE,
+        PREPARE,
+        DIRECT;
+
+        @Nullable
+        public static Mode fromName(@Nullable String name) {
+            if (name == null) {
+                return null;
+            }
+            switch (name) {
+                case "adaptive":
+                    return ADAPTIVE;
+                case "prepare":
+                    return PREPARE;
+                case "direct":
+                    return DIRECT;
+                default:
+                    throw new IllegalArgumentException("Unknown authenticate strategy: " + name);
+            }
+        }
+    }
+
+    private static final class Samples {
+        final long[] latencies = new long[WINDOW];
+        int count;
+
+        void add(long latencyMillis) {
+            latencies[count % WINDOW] = latencyMillis;
+            count++;
+        }
+
+        int size() {
+            return Math.min(count, WINDOW);
+        }
+
+        @Nullable
+        Long median() {
+            int size = size();
+            if (size == 0) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted[size / 2];
+        }
+    }
+
+    private static final class Stats {
+        final Samples prepare = new Samples();
+        final Samples direct = new Samples();
+
+        Samples of(Path path) {
+            return path == Path.PREPARE ? prepare : direct;
+        }
+    }
+
+    private final Context context;
+    private final Map<String, Stats> stats = new HashMap<>();
+    private SharedPreferences preferences;
+
+    private Mode mode = Mode.ADAPTIVE;
+    private double explorationRate = DEFAULT_EXPLORATION_RATE;
+
+    public AuthenticateStrategy(@NonNull Context context) {
+        this.context = context;
+    }
+
+    public synchronized void setMode(@NonNull Mode mode) {
+        this.mode = mode;
+    }
+
+    public synchronized void setExplorationRate(double explorationRate) {
+        this.explorationRate = Math.max(0, Math.min(explorationRate, 1));
+    }
+
+    /**
+     * Returns the path the next ceremony for rpId takes, including exploration.
+     */
+    @NonNull
+    public synchronized Path choose(@NonNull String rpId) {
+        if (mode == Mode.PREPARE) {
+            return Path.PREPARE;
+        }
+        if (mode == Mode.DIRECT) {
+            return Path.DIRECT;
+        }
+
+        Path decision = decision(load(rpId));
+        if (explorationRate > 0 && ThreadLocalRandom.current().nextDouble() < explorationRate) {
+            return decision == Path.PREPARE ? Path.DIRECT : Path.PREPARE;
+        }
+        return decision;
+    }
+
+    /**
+     * Wraps a result so that, if the ceremony succeeds, the time until its UI appeared is
+     * recorded for path.
+     */
+    @NonNull
+    public <T> Messages.Result<T> record(@NonNull String rpId, @NonNull Path path, @NonNull CeremonyTimer timer, @NonNull Messages.Result<T> result) {
+        return record(rpId, path, timer, 0, result);
+    }
+
+    /**
+     * Like {@link #record(String, Path, CeremonyTimer, Messages.Result)}, for a ceremony whose
+     * prepare step already ran, in aheadMicros, before timer was started (prepareAuthenticate).
+     */
+    @NonNull
+    public <T> Messages.Result<T> record(@NonNull String rpId, @NonNull Path path, @NonNull CeremonyTimer timer, long aheadMicros, @NonNull Messages.Result<T> result) {
+        return new Messages.Result<T>() {
+            @Override
+            public void success(T value) {
+                Long untilUiMicros = timer.untilUiMicros();
+                if (untilUiMicros != null) {
+                    add(rpId, path, (aheadMicros + untilUiMicros) / 1000);
+                }
+                result.success(value);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                result.error(error);
+            }
+        };
+    }
+
+    @NonNull
+    public synchronized Messages.AuthenticateStrategyStats getStats(@NonNull String rpId) {
+        Stats rpStats = load(rpId);
+        Path decision = mode == Mode.ADAPTIVE ? decision(rpStats) : mode == Mode.PREPARE ? Path.PREPARE : Path.DIRECT;
+        return new Messages.AuthenticateStrategyStats.Builder()
+                .setMode(mode.name().toLowerCase(Locale.ROOT))
+                .setDecision(decision.name().toLowerCase(Locale.ROOT))
+                .setExplorationRate(explorationRate)
+                .setPrepareSamples((long) rpStats.prepare.size())
+                .setPrepareMedianMillis(rpStats.prepare.median())
+                .setDirectSamples((long) rpStats.direct.size())
+                .setDirectMedianMillis(rpStats.direct.median())
+                .build();
+    }
+
+    private synchronized void add(String rpId, Path path, long latencyMillis) {
+        Stats rpStats = load(rpId);
+        rpStats.of(path).add(latencyMillis);
+        preferences().edit().putString(rpId, serialize(rpStats)).apply();
+    }
+
+    private static Path decision(Stats rpStats) {
+        if (rpStats.prepare.size() < MIN_SAMPLES || rpStats.direct.size() < MIN_SAMPLES) {
+            return Path.PREPARE;
+        }
+        return rpStats.direct.median() < rpStats.prepare.median() ? Path.DIRECT : Path.PREPARE;
+    }
+
+    private Stats load(String rpId) {
+        Stats rpStats = stats.get(rpId);
+        if (rpStats == null) {
+            rpStats = deserialize(preferences().getString(rpId, null));
+            stats.put(rpId, rpStats);
+        }
+        return rpStats;
+    }
+
+    private SharedPreferences preferences() {
+        if (preferences == null) {
+            preferences = context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        }
+        return preferences;
+    }
+
+    // "<prepare latencies>;<direct latencies>", oldest first, comma separated
+    private static String serialize(Stats rpStats) {
+        return serialize(rpStats.prepare) + ';' + serialize(rpStats.direct);
+    }
+
+    private static String serialize(Samples samples) {
+        StringBuilder value = new StringBuilder();
+        int size = samples.size();
+        for (int i = samples.count - size; i < samples.count; i++) {
+            if (value.length() > 0) {
+                value.append(',');
+            }
+            value.append(samples.latencies[i % WINDOW]);
+        }
+        return value.toString();
+    }
+
+    private static Stats deserialize(@Nullable String value) {
+        Stats rpStats = new Stats();
+        if (value == null) {
+            return rpStats;
+        }
+        String[] paths = value.split(";", -1);
+        try {
+            if (paths.length == 2) {
+                deserialize(paths[0], rpStats.prepare);
+                deserialize(paths[1], rpStats.direct);
+            }
+        } catch (NumberFormatException e) {
+            return new Stats();
+        }
+        return rpStats;
+    }
+
+    private static void deserialize(String value, Samples samples) {
+        if (value.isEmpty()) {
+            return;
+        }
+        for (String latency : value.split(",")) {
+            samples.add(Long.parseLong(latency));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers canAuthenticate from a short-lived cache.
+ * <p>
+ * isUserVerifyingPlatformAuthenticatorAvailable is an IPC into Play services. Concurrent callers
+ * share one in-flight probe, and the answer is reused for ttlMillis. The cache is dropped whenever
+ * PasskeysEligibility sees a Play Services or lock screen change.
+ */
+public class AuthenticatorAvailability {
+    public static final long DEFAULT_TTL_MILLIS = 30_000L;
+
+    public interface Probe {
+        void start(@NonNull Messages.Result<Boolean> result);
+    }
+
+    private final Probe probe;
+    private final Runnable invalidationListener = this::invalidate;
+
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+    private Boolean cachedValue;
+    private long cachedAtMillis;
+    // Callers waiting for the probe in flight, null if there is none.
+    private List<Messages.Result<Boolean>> waiters;
+    // Bumped by invalidate() so that a probe started before the invalidation does not fill the cache.
+    private long generation;
+
+    private long hits;
+    private long misses;
+
+    public AuthenticatorAvailability(@NonNull CredentialClients clients) {
+        this(clients.getApplicationContext(), result -> clients.getFido2ApiClient()
+                .isUserVerifyingPlatformAuthenticatorAvailable()
+                .addOnSuccessListener(result::success)
+                .addOnFailureListener(result::error));
+    }
+
+    AuthenticatorAvailability(@NonNull Context context, @NonNull Probe probe) {
+        this.probe = probe;
+        PasskeysEligibility.addInvalidationListener(context, invalidationListener);
+    }
+
+    public void isAvailable(@NonNull Messages.Result<Boolean> result) {
+        final List<Messages.Result<Boolean>> probeWaiters;
+        final long probeGeneration;
+        synchronized (this) {
+            if (cachedValue != null && SystemClock.elapsedRealtime() - cachedAtMillis < ttlMillis) {
+                hits++;
+                result.success(cachedValue);
+                return;
+            }
+            if (waiters != null) {
+                hits++;
+                waiters.add(result);
+                return;
+            }
+            misses++;
+            waiters = new ArrayList<>();
+            waiters.add(result);
+            probeWaiters = waiters;
+            probeGeneration = generation;
+        }
+
+        probe.start(new Messages.Result<Boolean>() {
+            @Override
+            public void success(Boolean value) {
+                for (Messages.Result<Boolean> waiter : complete(probeWaiters, probeGeneration, value)) {
+                    waiter.success(value);
+                }
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                for (Messages.Result<Boolean> waiter : complete(probeWaiters, probeGeneration, null)) {
+                    waiter.error(error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets how long an answer is reused. 0 disables the cache but keeps in-flight sharing.
+     */
+    public synchronized void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        cachedValue = null;
+        // the callers of a probe in flight still get its answer, later ones start a new probe
+        waiters = null;
+    }
+
+    /**
+     * Unregisters from PasskeysEligibility. The instance must not be used afterwards.
+     */
+    public void release() {
+        PasskeysEligibility.removeInvalidationListener(invalidationListener);
+    }
+
+    @NonNull
+    public synchronized Messages.CanAuthenticateCacheStats getStats() {
+        long total = hits + misses;
+        return new Messages.CanAuthenticateCacheStats.Builder()
+                .setAgeMillis(cachedValue == null ? null : SystemClock.elapsedRealtime() - cachedAtMillis)
+                .setTtlMillis(ttlMillis)
+                .setHits(hits)
+                .setMisses(misses)
+                .setHitRatio(total == 0 ? 0.0 : (double) hits / total)
+                .build();
+    }
+
+    private synchronized List<Messages.Result<Boolean>> complete(List<Messages.Result<Boolean>> probeWaiters, long probeGeneration, Boolean value) {
+        if (waiters == probeWaiters) {
+            waiters = null;
+        }
+        if (value != null && probeGeneration == generation) {
+            cachedValue = value;
+            cachedAtMillis = SystemClock.elapsedRealtime();
+        }
+        // no caller joins probeWaiters any more, it is safe to iterate outside the lock
+        return probeWaiters;
+    }
+}
@@ -0,0 +1,117 @@
+package com.corbado.passkeys_android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.models.Base64Url;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converts between the binary transport mode (registerBinary, authenticateBinary) and the
+ * base64url strings Credential Manager works with.
+ * <p>
+ * Conversion happens once at the JSON boundary: ids and challenges are encoded right before the
+ * options JSON is built, and the response fields are decoded right after the response JSON is
+ * parsed, on the callback thread.
+ */
+public final class BinaryTransport {
+    private BinaryTransport() {
+    }
+
+    @NonNull
+    public static List<Messages.ExcludeCredential> toExcludeCredentials(@NonNull List<Messages.CredentialDescriptor> descriptors) {
+        List<Messages.ExcludeCredential> excludeCredentials = new ArrayList<>(descriptors.size());
+        for (Messages.CredentialDescriptor descriptor : descriptors) {
+            excludeCredentials.add(new Messages.ExcludeCredential.Builder()
+                    .setType(descriptor.getType())
+                    .setId(Base64Url.encode(descriptor.getId()))
+                    .build());
+        }
+        return excludeCredentials;
+    }
+
+    @Nullable
+    public static List<Messages.AllowCredential> toAllowCredentials(@Nullable List<Messages.CredentialDescriptor> descriptors) {
+        if (descriptors == null) {
+            return null;
+        }
+
+        List<Messages.AllowCredential> allowCredentials = new ArrayList<>(descriptors.size());
+        for (Messages.CredentialDescriptor descriptor : descriptors) {
+            allowCredentials.add(new Messages.AllowCredential.Builder()
+                    .setType(descriptor.getType())
+                    .setId(Base64Url.encode(descriptor.getId()))
+                    .setTransports(descriptor.getTransports() != null ? descriptor.getTransports() : Collections.emptyList())
+                    .build());
+        }
+        return allowCredentials;
+    }
+
+    /**
+     * Wraps a binary result so that it can be settled with the string response of register.
+     */
+    @NonNull
+    public static Messages.Result<Messages.RegisterResponse> registration(@NonNull Messages.Result<Messages.BinaryRegisterResponse> result) {
+        return new Messages.Result<Messages.RegisterResponse>() {
+            @Override
+            public void success(Messages.RegisterResponse response) {
+                Messages.BinaryRegisterResponse binaryResponse;
+                try {
+                    binaryResponse = new Messages.BinaryRegisterResponse.Builder()
+                            .setId(response.getId())
+                            .setRawId(Base64Url.decode(response.getRawId()))
+                            .setClientDataJSON(Base64Url.decode(response.getClientDataJSON()))
+                            .setAttestationObject(Base64Url.decode(response.getAttestationObject()))
+                            .setTimings(response.getTimings())
+                            .build();
+                } catch (IllegalArgumentException e) {
+                    result.error(e);
+                    return;
+                }
+                result.success(binaryResponse);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                result.error(error);
+            }
+        };
+    }
+
+    /**
+     * Wraps a binary result so that it can be settled with the string response of authenticate.
+     */
+    @NonNull
+    public static Messages.Result<Messages.AuthenticateResponse> authentication(@NonNull Messages.Result<Messages.BinaryAuthenticateResponse> result) {
+        return new Messages.Result<Messages.AuthenticateResponse>() {
+            @Override
+            public void success(Messages.AuthenticateResponse response) {
+                Messages.BinaryAuthenticateResponse binaryResponse;
+                try {
+                    String userHandle = response.getUserHandle();
+                    binaryResponse = new Messages.BinaryAuthenticateResponse.Builder()
+                            .setId(response.getId())
+                            .setRawId(Base64Url.decode(response.getRawId()))
+                            .setClientDataJSON(Base64Url.decode(response.getClientDataJSON()))
+                            .setAuthenticatorData(Base64Url.decode(response.getAuthenticatorData()))
+                            .setSignature(Base64Url.decode(response.getSignature()))
+                            .setUserHandle(userHandle.isEmpty() ? null : Base64Url.decode(userHandle))
+                            .setTimings(response.getTimings())
+                            .build();
+                } catch (IllegalArgumentException e) {
+                    result.error(e);
+                    return;
+                }
+                result.success(binaryResponse);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                result.error(error);
+            }
+        };
+    }
+}
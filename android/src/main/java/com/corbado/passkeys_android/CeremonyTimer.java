@@ -0,0 +1,124 @@
+package com.corbado.passkeys_android;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Measures the phases of one register/authenticate ceremony on the monotonic clock.
+ * <p>
+ * Each call to {@link #mark(String)} records the time since the previous mark under the given
+ * phase name. The result is attached to the response (or, if the caller passed a correlation
+ * id, to the FlutterError details) so that slow ceremonies can be attributed to a phase and
+ * joined with server-side traces.
+ */
+public class CeremonyTimer {
+    public static final String PHASE_QUEUED = "queued";
+    public static final String PHASE_BUILD_OPTIONS = "buildOptions";
+    public static final String PHASE_ELIGIBILITY = "eligibility";
+    public static final String PHASE_PREPARE = "prepare";
+    public static final String PHASE_LAUNCH_UI = "launchUi";
+    public static final String PHASE_USER_INTERACTION = "userInteraction";
+    public static final String PHASE_VALIDATE_CLIENT_DATA = "validateClientData";
+    public static final String PHASE_PARSE_RESPONSE = "parseResponse";
+
+    private final String correlationId;
+    private final long startNanos;
+    private final LinkedHashMap<String, Long> phasesMicros = new LinkedHashMap<>();
+    private long lastMarkNanos;
+    private Long requestBytes;
+    private Long untilUiMicros;
+
+    public CeremonyTimer(@Nullable String correlationId) {
+        this.correlationId = correlationId;
+        this.startNanos = SystemClock.elapsedRealtimeNanos();
+        this.lastMarkNanos = startNanos;
+    }
+
+    public synchronized void mark(@NonNull String phase) {
+        long now = SystemClock.elapsedRealtimeNanos();
+        Long previous = phasesMicros.get(phase);
+        phasesMicros.put(phase, (previous == null ? 0 : previous) + (now - lastMarkNanos) / 1000);
+        lastMarkNanos = now;
+    }
+
+    public synchronized void setRequestBytes(long requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    /**
+     * Marks the credential UI appearing, which ends {@link #PHASE_LAUNCH_UI}, and keeps the time
+     * until then for {@link #untilUiMicros()}.
+     */
+    public synchronized void markUiShown() {
+        mark(PHASE_LAUNCH_UI);
+        long micros = 0;
+        for (Map.Entry<String, Long> phase : phasesMicros.entrySet()) {
+            if (!PHASE_QUEUED.equals(phase.getKey())) {
+                micros += phase.getValue();
+            }
+        }
+        untilUiMicros = micros;
+    }
+
+    /**
+     * Returns the time from the request until the credential UI appeared, without the wait for
+     * other ceremonies, or null if no UI was shown (yet). The user's time in the UI is not part
+     * of it.
+     */
+    @Nullable
+    public synchronized Long untilUiMicros() {
+        return untilUiMicros;
+    }
+
+    @NonNull
+    public synchronized Messages.CeremonyTimings toMessage() {
+        return new Messages.CeremonyTimings.Builder()
+                .setCorrelationId(correlationId)
+                .setPhasesMicros(new LinkedHashMap<>(phasesMicros))
+                .setTotalMicros((SystemClock.elapsedRealtimeNanos() - startNanos) / 1000)
+                .setRequestBytes(requestBytes)
+                .build();
+    }
+
+    /**
+     * Wraps a result so that the timings are attached when it is settled. On success the time
+     * since the last mark is booked as response parsing.
+     */
+    @NonNull
+    public <T> Messages.Result<T> wrap(@NonNull Messages.Result<T> result, @NonNull BiConsumer<T, Messages.CeremonyTimings> attach) {
+        return new Messages.Result<T>() {
+            @Override
+            public void success(T value) {
+                mark(PHASE_PARSE_RESPONSE);
+                attach.accept(value, toMessage());
+                result.success(value);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                result.error(withTimings(error));
+            }
+        };
+    }
+
+    private Throwable withTimings(Throwable error) {
+        // Only callers that asked for correlation get the structured details, everyone else keeps
+        // the plain details they have been receiving so far.
+        if (correlationId == null || !(error instanceof Messages.FlutterError)) {
+            return error;
+        }
+
+        Messages.FlutterError flutterError = (Messages.FlutterError) error;
+        Map<String, Object> details = new HashMap<>();
+        details.put("details", flutterError.details);
+        details.put("timings", toMessage());
+        return new Messages.FlutterError(flutterError.code, flutterError.getMessage(), details);
+    }
+}
@@ -0,0 +1,151 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.Signature;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.models.Base64Url;
+import com.corbado.passkeys_android.models.ClientData;
+import com.corbado.passkeys_android.models.CredentialResponseParser;
+
+import org.json.JSONException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the clientDataJSON of a ceremony response against the request before it is returned.
+ * <p>
+ * A stale or mismatched response (e.g. after a retry race) otherwise only shows up once the
+ * server rejects it. The type must match the ceremony, the challenge must be the one the plugin
+ * sent, and the origin must be this app's android:apk-key-hash facet (any of its signing
+ * certificates) or one of the configured extra origins. A failed check is reported as
+ * client-data-mismatch with the failed member in the details.
+ * <p>
+ * If the signing certificates cannot be read and no extra origins are configured there is
+ * nothing to compare the origin with. The ceremony then fails with client-data-unverifiable
+ * instead of passing with an unchecked origin.
+ */
+public class ClientDataValidator {
+    private static final String TAG = "ClientDataValidator";
+    private static final String APK_KEY_HASH_PREFIX = "android:apk-key-hash:";
+
+    public static final String ERROR_MISMATCH = "client-data-mismatch";
+    public static final String ERROR_UNVERIFIABLE = "client-data-unverifiable";
+
+    private final Context context;
+    private volatile boolean enabled;
+    private volatile Set<String> extraOrigins = Collections.emptySet();
+    private volatile Set<String> appOrigins;
+
+    public ClientDataValidator(@NonNull Context context) {
+        this.context = context;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setExtraOrigins(@NonNull List<String> origins) {
+        this.extraOrigins = Collections.unmodifiableSet(new HashSet<>(origins));
+    }
+
+    /**
+     * @param responseJson      the registration or authentication response JSON
+     * @param expectedType      webauthn.create or webauthn.get
+     * @param expectedChallenge the base64url challenge the request was sent with
+     * @return the error to fail the ceremony with, or null if the client data matches
+     */
+    @Nullable
+    public Messages.FlutterError validate(@Nullable String responseJson, @NonNull String expectedType, @NonNull String expectedChallenge) {
+        ClientData clientData;
+        try {
+            String clientDataJSON = CredentialResponseParser.readClientDataJSON(responseJson);
+            clientData = ClientData.parse(new String(Base64Url.decode(clientDataJSON), StandardCharsets.UTF_8));
+        } catch (JSONException | IllegalArgumentException e) {
+            return mismatch("clientDataJSON", "clientDataJSON could not be read: " + e.getMessage());
+        }
+
+        if (!expectedType.equals(clientData.type)) {
+            return mismatch("type", "Expected type " + expectedType + " but got " + clientData.type);
+        }
+        if (!challengeMatches(clientData.challenge, expectedChallenge)) {
+            return mismatch("challenge", "The response was created for a different challenge");
+        }
+        Set<String> origins = appOrigins();
+        Set<String> extraOrigins = this.extraOrigins;
+        if (origins.isEmpty() && extraOrigins.isEmpty()) {
+            return new Messages.FlutterError(ERROR_UNVERIFIABLE, "No origin to check against: the signing certificates could not be read and no allowed origins are configured", "origin");
+        }
+        if (clientData.origin == null || !(origins.contains(clientData.origin) || extraOrigins.contains(clientData.origin))) {
+            return mismatch("origin", "Unexpected origin " + clientData.origin);
+        }
+        return null;
+    }
+
+    private Set<String> appOrigins() {
+        Set<String> origins = appOrigins;
+        if (origins == null) {
+            // the signing certificates do not change while the process lives
+            origins = Collections.unmodifiableSet(readAppOrigins());
+            appOrigins = origins;
+        }
+        return origins;
+    }
+
+    @SuppressWarnings("deprecation")
+    private Set<String> readAppOrigins() {
+        Set<String> origins = new HashSet<>();
+        try {
+            PackageManager packageManager = context.getPackageManager();
+            Signature[] signatures;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                PackageInfo packageInfo = packageManager.getPackageInfo(context.getPackageName(), PackageManager.GET_SIGNING_CERTIFICATES);
+                signatures = packageInfo.signingInfo == null ? null
+                        : packageInfo.signingInfo.hasMultipleSigners() ? packageInfo.signingInfo.getApkContentsSigners()
+                        : packageInfo.signingInfo.getSigningCertificateHistory();
+            } else {
+                signatures = packageManager.getPackageInfo(context.getPackageName(), PackageManager.GET_SIGNATURES).signatures;
+            }
+            if (signatures != null) {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (Signature signature : signatures) {
+                    origins.add(APK_KEY_HASH_PREFIX + Base64Url.encode(sha256.digest(signature.toByteArray())));
+                }
+            }
+        } catch (PackageManager.NameNotFoundException | NoSuchAlgorithmException e) {
+            Log.w(TAG, "Could not read the signing certificates, origins are only checked against the configured ones", e);
+        }
+        return origins;
+    }
+
+    private static boolean challengeMatches(String challenge, String expectedChallenge) {
+        if (challenge == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(Base64Url.decode(challenge), Base64Url.decode(expectedChallenge));
+        } catch (IllegalArgumentException e) {
+            return challenge.equals(expectedChallenge);
+        }
+    }
+
+    private static Messages.FlutterError mismatch(String member, String message) {
+        return new Messages.FlutterError(ERROR_MISMATCH, message, member);
+    }
+}
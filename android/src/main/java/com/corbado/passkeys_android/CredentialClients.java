@@ -0,0 +1,56 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.credentials.CredentialManager;
+
+import com.google.android.gms.fido.Fido;
+import com.google.android.gms.fido.fido2.Fido2ApiClient;
+
+/**
+ * Holds the Credential Manager and FIDO2 clients for the lifetime of a Flutter engine.
+ * <p>
+ * Both clients are created lazily from the application context, so they survive activity
+ * recreation. APIs that need an activity to show UI (createCredentialAsync, getCredentialAsync)
+ * take it as a call argument instead.
+ */
+public class CredentialClients {
+    private final Context applicationContext;
+
+    private CredentialManager credentialManager;
+    private Fido2ApiClient fido2ApiClient;
+
+    public CredentialClients(@NonNull Context context) {
+        this.applicationContext = context.getApplicationContext();
+    }
+
+    @NonNull
+    public Context getApplicationContext() {
+        return applicationContext;
+    }
+
+    @NonNull
+    public synchronized CredentialManager getCredentialManager() {
+        if (credentialManager == null) {
+            credentialManager = CredentialManager.create(applicationContext);
+        }
+        return credentialManager;
+    }
+
+    @NonNull
+    public synchronized Fido2ApiClient getFido2ApiClient() {
+        if (fido2ApiClient == null) {
+            fido2ApiClient = Fido.getFido2ApiClient(applicationContext);
+        }
+        return fido2ApiClient;
+    }
+
+    /**
+     * Drops the cached clients. Called when the plugin is detached from its engine.
+     */
+    public synchronized void release() {
+        credentialManager = null;
+        fido2ApiClient = null;
+    }
+}
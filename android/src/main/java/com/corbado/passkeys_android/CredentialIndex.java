@@ -0,0 +1,328 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-device index of the credential ids seen in successful ceremonies, per rpId.
+ * <p>
+ * The index is an append-only log of small binary records in the no-backup files directory. It
+ * is read on first use and rewritten (compacted) once it holds more than twice as many records
+ * as live entries. At most maxEntries credentials are kept; the least recently used ones go
+ * first. Each record is encoded completely before it is written in one call, so a failed encode
+ * (a field over 64 KB) leaves the file untouched. A torn record at the end of the log, e.g.
+ * after the process was killed mid-write, ends the load and triggers a compaction.
+ * <p>
+ * All methods do file IO and must not be called on the main thread.
+ */
+public class CredentialIndex {
+    private static final String TAG = "CredentialIndex";
+    private static final String FILE_NAME = "passkeys_credential_index";
+    private static final int VERSION = 1;
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final byte RECORD_REGISTERED = 1;
+    private static final byte RECORD_USED = 2;
+    private static final byte RECORD_REMOVED = 3;
+
+    private static final class Entry {
+        final String rpId;
+        final String credentialId;
+        final long createdAtMillis;
+        long lastUsedMillis;
+        String userHandle;
+
+        Entry(String rpId, String credentialId, long createdAtMillis, String userHandle) {
+            this.rpId = rpId;
+            this.credentialId = credentialId;
+            this.createdAtMillis = createdAtMillis;
+            this.lastUsedMillis = createdAtMillis;
+            this.userHandle = userHandle;
+        }
+    }
+
+    private final File file;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    // rpId -> credential id -> entry, for lookups
+    private Map<String, Map<String, Entry>> byRelyingParty;
+    // all entries, least recently used first, for eviction
+    private LinkedHashMap<String, Entry> byRecency;
+    private int recordCount;
+
+    public CredentialIndex(@NonNull Context context) {
+        this(new File(context.getNoBackupFilesDir(), FILE_NAME));
+    }
+
+    CredentialIndex(@NonNull File file) {
+        this.file = file;
+    }
+
+    public synchronized void setMaxEntries(long maxEntries) {
+        this.maxEntries = (int) Math.max(1, Math.min(maxEntries, Integer.MAX_VALUE));
+        if (byRecency != null && evictOverflow() > 0) {
+            compact();
+        }
+    }
+
+    public synchronized void recordRegistration(@NonNull String rpId, @NonNull String credentialId, @Nullable String userHandle) {
+        record(RECORD_REGISTERED, rpId, credentialId, userHandle, System.currentTimeMillis());
+    }
+
+    public synchronized void recordUse(@NonNull String rpId, @NonNull String credentialId, @Nullable String userHandle) {
+        record(RECORD_USED, rpId, credentialId, userHandle, System.currentTimeMillis());
+    }
+
+    public synchronized void remove(@NonNull String rpId, @NonNull String credentialId) {
+        record(RECORD_REMOVED, rpId, credentialId, null, 0);
+    }
+
+    public synchronized boolean contains(@NonNull String rpId, @NonNull String credentialId) {
+        ensureLoaded();
+        Map<String, Entry> entries = byRelyingParty.get(rpId);
+        return entries != null && entries.containsKey(credentialId);
+    }
+
+    /**
+     * Returns the credentials known for rpId, most recently used first.
+     *
+     * @param userHandle if non-null, only credentials of this user
+     */
+    @NonNull
+    public synchronized List<Messages.KnownCredential> get(@NonNull String rpId, @Nullable String userHandle) {
+        ensureLoaded();
+        Map<String, Entry> entries = byRelyingParty.get(rpId);
+        if (entries == null) {
+            return new ArrayList<>();
+        }
+
+        List<Entry> matching = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (userHandle == null || userHandle.equals(entry.userHandle)) {
+                matching.add(entry);
+            }
+        }
+        matching.sort((a, b) -> Long.compare(b.lastUsedMillis, a.lastUsedMillis));
+
+        List<Messages.KnownCredential> credentials = new ArrayList<>(matching.size());
+        for (Entry entry : matching) {
+            credentials.add(new Messages.KnownCredential.Builder()
+                    .setId(entry.credentialId)
+                    .setCreatedAtMillis(entry.createdAtMillis)
+                    .setLastUsedMillis(entry.lastUsedMillis)
+                    .setUserHandle(entry.userHandle)
+                    .build());
+        }
+        return credentials;
+    }
+
+    private void record(byte type, String rpId, String credentialId, String userHandle, long timeMillis) {
+        ensureLoaded();
+        byte[] record;
+        try {
+            record = encode(type, rpId, credentialId, userHandle, timeMillis);
+        } catch (IOException e) {
+            Log.e(TAG, "Not indexing a credential that cannot be encoded", e);
+            return;
+        }
+        if (apply(type, rpId, credentialId, userHandle, timeMillis)) {
+            append(record);
+        }
+    }
+
+    /**
+     * Applies one record to the in-memory maps.
+     *
+     * @return whether anything changed
+     */
+    private boolean apply(byte type, String rpId, String credentialId, String userHandle, long timeMillis) {
+        if (userHandle != null && userHandle.isEmpty()) {
+            userHandle = null;
+        }
+        String key = rpId + '\n' + credentialId;
+        Map<String, Entry> entries = byRelyingParty.get(rpId);
+        Entry entry = entries != null ? entries.get(credentialId) : null;
+
+        if (type == RECORD_REMOVED) {
+            if (entry == null) {
+                return false;
+            }
+            entries.remove(credentialId);
+            if (entries.isEmpty()) {
+                byRelyingParty.remove(rpId);
+            }
+            byRecency.remove(key);
+            return true;
+        }
+
+        if (entry == null) {
+            entry = new Entry(rpId, credentialId, timeMillis, userHandle);
+            if (entries == null) {
+                entries = new HashMap<>();
+                byRelyingParty.put(rpId, entries);
+            }
+            entries.put(credentialId, entry);
+        } else {
+            entry.lastUsedMillis = Math.max(entry.lastUsedMillis, timeMillis);
+            if (userHandle != null) {
+                entry.userHandle = userHandle;
+            }
+            byRecency.remove(key);
+        }
+        byRecency.put(key, entry);
+        evictOverflow();
+        return true;
+    }
+
+    private int evictOverflow() {
+        int evicted = 0;
+        Iterator<Entry> iterator = byRecency.values().iterator();
+        while (byRecency.size() > maxEntries && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            Map<String, Entry> entries = byRelyingParty.get(entry.rpId);
+            entries.remove(entry.credentialId);
+            if (entries.isEmpty()) {
+                byRelyingParty.remove(entry.rpId);
+            }
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private void ensureLoaded() {
+        if (byRecency != null) {
+            return;
+        }
+
+        byRelyingParty = new HashMap<>();
+        byRecency = new LinkedHashMap<>();
+        recordCount = 0;
+        if (!file.exists()) {
+            return;
+        }
+
+        boolean torn = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                Log.w(TAG, "Discarding credential index with unknown version");
+                torn = true;
+            } else {
+                while (true) {
+                    byte type;
+                    try {
+                        type = in.readByte();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    String rpId = in.readUTF();
+                    String credentialId = in.readUTF();
+                    String userHandle = null;
+                    long timeMillis = 0;
+                    if (type != RECORD_REMOVED) {
+                        userHandle = in.readUTF();
+                        timeMillis = in.readLong();
+                    }
+                    apply(type, rpId, credentialId, userHandle, timeMillis);
+                    recordCount++;
+                }
+            }
+        } catch (EOFException e) {
+            torn = true;
+        } catch (IOException e) {
+            Log.e(TAG, "Could not read credential index", e);
+            torn = true;
+        }
+
+        if (torn || recordCount > 2 * byRecency.size() + 64) {
+            compact();
+        }
+    }
+
+    private void append(byte[] record) {
+        boolean isNew = !file.exists();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            if (isNew) {
+                out.write(new byte[]{0, 0, 0, VERSION});
+            }
+            out.write(record);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not append to credential index", e);
+            return;
+        }
+
+        recordCount++;
+        if (recordCount > 2 * byRecency.size() + 64) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the log with one record per live entry, oldest use first so that a reload restores
+     * the same recency order.
+     */
+    private void compact() {
+        File tmp = new File(file.getPath() + ".tmp");
+        Collection<Entry> entries = byRecency.values();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(VERSION);
+            for (Entry entry : entries) {
+                out.write(encode(RECORD_REGISTERED, entry.rpId, entry.credentialId, entry.userHandle, entry.createdAtMillis));
+                if (entry.lastUsedMillis != entry.createdAtMillis) {
+                    out.write(encode(RECORD_USED, entry.rpId, entry.credentialId, null, entry.lastUsedMillis));
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Could not compact credential index", e);
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            return;
+        }
+
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "Could not replace credential index");
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            return;
+        }
+        recordCount = 0;
+        for (Entry entry : entries) {
+            recordCount += entry.lastUsedMillis != entry.createdAtMillis ? 2 : 1;
+        }
+    }
+
+    private static byte[] encode(byte type, String rpId, String credentialId, String userHandle, long timeMillis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        out.writeUTF(rpId);
+        out.writeUTF(credentialId);
+        if (type != RECORD_REMOVED) {
+            out.writeUTF(userHandle != null ? userHandle : "");
+            out.writeLong(timeMillis);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,112 @@
+package com.corbado.passkeys_android;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.models.JsonStringWriter;
+import com.corbado.passkeys_android.models.login.GetCredentialOptions;
+import com.corbado.passkeys_android.models.signup.CreateCredentialOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the credential list of a user natively, so that ceremonies can reference it by version
+ * token instead of sending it over the channel again.
+ * <p>
+ * There is one entry per (rpId, userId), holding the version token it was stored with and the
+ * list pre-encoded as allowCredentials and excludeCredentials JSON arrays. A lookup with a stale
+ * token misses. Entries are evicted least recently used first once the arrays exceed maxBytes.
+ * A list that is larger than maxBytes on its own is not stored at all: LruCache would evict it
+ * (and every other entry) right away, and the caller would keep getting cache misses for a
+ * version it was told is cached.
+ */
+public class CredentialListCache {
+    public static final int DEFAULT_MAX_BYTES = 256 * 1024;
+
+    public static final class Entry {
+        final String version;
+        @NonNull
+        public final String allowCredentialsJson;
+        @NonNull
+        public final String excludeCredentialsJson;
+        @NonNull
+        public final List<String> credentialIds;
+
+        Entry(String version, String allowCredentialsJson, String excludeCredentialsJson, List<String> credentialIds) {
+            this.version = version;
+            this.allowCredentialsJson = allowCredentialsJson;
+            this.excludeCredentialsJson = excludeCredentialsJson;
+            this.credentialIds = credentialIds;
+        }
+
+        int sizeInBytes() {
+            // UTF-16 chars of both arrays and the ids, the rest of the entry is noise next to them
+            int chars = allowCredentialsJson.length() + excludeCredentialsJson.length();
+            for (String id : credentialIds) {
+                chars += id.length();
+            }
+            return 2 * chars;
+        }
+    }
+
+    private final LruCache<String, Entry> entries = new LruCache<String, Entry>(DEFAULT_MAX_BYTES) {
+        @Override
+        protected int sizeOf(String key, Entry entry) {
+            return entry.sizeInBytes();
+        }
+    };
+
+    public void setMaxBytes(long maxBytes) {
+        entries.resize((int) Math.max(1, Math.min(maxBytes, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Stores the list, replacing any other version stored for the same user.
+     *
+     * @throws Messages.FlutterError credential-list-too-large-to-cache if the list alone exceeds
+     *                               maxBytes; any older version stored for the user is dropped
+     */
+    public void put(@NonNull String rpId, @NonNull String userId, @NonNull String version, @NonNull List<Messages.AllowCredential> credentials) {
+        JsonStringWriter allowCredentials = new JsonStringWriter(64 + credentials.size() * 128);
+        GetCredentialOptions.writeAllowCredentials(allowCredentials, credentials);
+
+        JsonStringWriter excludeCredentials = new JsonStringWriter(64 + credentials.size() * 96);
+        List<String> credentialIds = new ArrayList<>(credentials.size());
+        excludeCredentials.beginArray();
+        for (Messages.AllowCredential credential : credentials) {
+            CreateCredentialOptions.writeExcludeCredential(excludeCredentials, credential.getType(), credential.getId());
+            credentialIds.add(credential.getId());
+        }
+        excludeCredentials.endArray();
+
+        Entry entry = new Entry(version, allowCredentials.toString(), excludeCredentials.toString(), credentialIds);
+        String key = key(rpId, userId);
+        int size = entry.sizeInBytes();
+        int maxBytes = entries.maxSize();
+        if (size > maxBytes) {
+            entries.remove(key);
+            throw new Messages.FlutterError("credential-list-too-large-to-cache", "The credential list takes " + size + " bytes, the cache holds " + maxBytes + ", pass it inline instead", "");
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * Returns the list stored for exactly this version, or null.
+     */
+    @Nullable
+    public Entry get(@NonNull String rpId, @NonNull String userId, @NonNull String version) {
+        Entry entry = entries.get(key(rpId, userId));
+        return entry != null && entry.version.equals(version) ? entry : null;
+    }
+
+    public void clear() {
+        entries.evictAll();
+    }
+
+    private static String key(String rpId, String userId) {
+        return rpId + '\n' + userId;
+    }
+}
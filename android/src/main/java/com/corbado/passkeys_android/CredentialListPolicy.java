@@ -0,0 +1,140 @@
+package com.corbado.passkeys_android;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Guards the size of what is sent to Play services for one ceremony.
+ * <p>
+ * allowCredentials and excludeCredentials are de-duplicated by id (the first occurrence wins)
+ * and then held to maxEntries, either by failing with credential-list-too-large or by keeping
+ * the first maxEntries ids. The options JSON travels over binder, so its UTF-8 size is checked
+ * against maxRequestBytes as well and a larger request fails with request-too-large instead of
+ * a TransactionTooLargeException inside Play services.
+ */
+public class CredentialListPolicy {
+    private static final String TAG = "CredentialListPolicy";
+
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+    // Binder transactions share a 1 MB buffer per process, leave room for everything else.
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 256 * 1024;
+
+    public enum Overflow {
+        REJECT,
+        TRIM;
+
+        @Nullable
+        public static Overflow fromName(@Nullable String name) {
+            if (name == null) {
+                return null;
+            }
+            switch (name) {
+                case "reject":
+                    return REJECT;
+                case "trim":
+                    return TRIM;
+                default:
+                    throw new IllegalArgumentException("Unknown credential list overflow policy: " + name);
+            }
+        }
+    }
+
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+    private volatile Overflow overflow = Overflow.REJECT;
+    private volatile int maxRequestBytes = DEFAULT_MAX_REQUEST_BYTES;
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = (int) Math.max(1, Math.min(maxEntries, Integer.MAX_VALUE));
+    }
+
+    public void setOverflow(@NonNull Overflow overflow) {
+        this.overflow = overflow;
+    }
+
+    public void setMaxRequestBytes(long maxRequestBytes) {
+        this.maxRequestBytes = (int) Math.max(1, Math.min(maxRequestBytes, Integer.MAX_VALUE));
+    }
+
+    @NonNull
+    public List<Messages.ExcludeCredential> applyToExcludeCredentials(@NonNull List<Messages.ExcludeCredential> excludeCredentials) {
+        return apply("excludeCredentials", excludeCredentials, Messages.ExcludeCredential::getId);
+    }
+
+    @NonNull
+    public List<Messages.AllowCredential> applyToAllowCredentials(@NonNull List<Messages.AllowCredential> allowCredentials) {
+        return apply("allowCredentials", allowCredentials, Messages.AllowCredential::getId);
+    }
+
+    /**
+     * Returns the UTF-8 size of the options JSON.
+     *
+     * @throws Messages.FlutterError request-too-large if it exceeds maxRequestBytes
+     */
+    public int checkRequestSize(@NonNull String options) {
+        int bytes = utf8Length(options);
+        int limit = maxRequestBytes;
+        if (bytes > limit) {
+            throw new Messages.FlutterError("request-too-large", "The request has " + bytes + " bytes, the limit is " + limit, "");
+        }
+        return bytes;
+    }
+
+    private <T> List<T> apply(String name, List<T> credentials, Function<T, String> id) {
+        // The list is only copied once a duplicate shows up.
+        List<T> unique = credentials;
+        Set<String> seen = new HashSet<>(credentials.size() * 2);
+        for (int i = 0; i < credentials.size(); i++) {
+            T credential = credentials.get(i);
+            if (!seen.add(id.apply(credential))) {
+                if (unique == credentials) {
+                    unique = new ArrayList<>(credentials.subList(0, i));
+                }
+                continue;
+            }
+            if (unique != credentials) {
+                unique.add(credential);
+            }
+        }
+        if (unique.size() != credentials.size()) {
+            Log.w(TAG, "Dropped " + (credentials.size() - unique.size()) + " duplicate ids from " + name);
+        }
+
+        int limit = maxEntries;
+        if (unique.size() <= limit) {
+            return unique;
+        }
+        if (overflow == Overflow.TRIM) {
+            Log.w(TAG, "Trimming " + name + " from " + unique.size() + " to " + limit + " entries");
+            return new ArrayList<>(unique.subList(0, limit));
+        }
+        throw new Messages.FlutterError("credential-list-too-large", name + " has " + unique.size() + " entries, the limit is " + limit, "");
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c)) {
+                    // the pair takes 4 bytes, 2 chars are already counted
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
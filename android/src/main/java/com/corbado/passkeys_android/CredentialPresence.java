@@ -0,0 +1,183 @@
+package com.corbado.passkeys_android;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers hasCredentials from a short-lived cache.
+ * <p>
+ * Each answer costs a prepareGetCredential IPC into Play services. Answers are keyed by rpId and
+ * the sorted allowCredentials ids, concurrent callers for the same key share one probe, and an
+ * answer is reused for ttlMillis. At most MAX_ENTRIES keys are kept, the oldest idle one goes
+ * first. Registering a credential for an rpId drops its answers, and PasskeysEligibility changes
+ * drop all of them.
+ */
+public class CredentialPresence {
+    public static final long DEFAULT_TTL_MILLIS = 10_000L;
+    private static final int MAX_ENTRIES = 16;
+
+    public interface Probe {
+        void start(@NonNull Messages.Result<Boolean> result);
+    }
+
+    private static final class Entry {
+        final String rpId;
+        Boolean value;
+        long cachedAtMillis;
+        List<Messages.Result<Boolean>> waiters;
+        long generation;
+
+        Entry(String rpId) {
+            this.rpId = rpId;
+        }
+    }
+
+    // oldest key first, for eviction
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Runnable invalidationListener = this::invalidate;
+
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+    // Bumped by invalidate() so that a probe started before the invalidation does not fill the cache.
+    private long generation;
+
+    public CredentialPresence(@NonNull Context context) {
+        PasskeysEligibility.addInvalidationListener(context, invalidationListener);
+    }
+
+    public void hasCredentials(@NonNull String rpId, @Nullable List<Messages.AllowCredential> allowCredentials, @NonNull Probe probe, @NonNull Messages.Result<Boolean> result) {
+        final String key = key(rpId, allowCredentials);
+        final long probeGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.value != null && SystemClock.elapsedRealtime() - entry.cachedAtMillis < ttlMillis) {
+                result.success(entry.value);
+                return;
+            }
+            if (entry != null && entry.waiters != null) {
+                entry.waiters.add(result);
+                return;
+            }
+            if (entry == null) {
+                evictOverflow();
+                entry = new Entry(rpId);
+                entries.put(key, entry);
+            }
+            entry.waiters = new ArrayList<>();
+            entry.waiters.add(result);
+            entry.generation = generation;
+            probeGeneration = generation;
+        }
+
+        probe.start(new Messages.Result<Boolean>() {
+            @Override
+            public void success(Boolean value) {
+                for (Messages.Result<Boolean> waiter : complete(key, probeGeneration, value)) {
+                    waiter.success(value);
+                }
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                for (Messages.Result<Boolean> waiter : complete(key, probeGeneration, null)) {
+                    waiter.error(error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets how long an answer is reused. 0 disables the cache but keeps in-flight sharing.
+     */
+    public synchronized void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Drops the answers for one rpId, e.g. after a credential was registered for it.
+     */
+    public synchronized void invalidate(@NonNull String rpId) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.rpId.equals(rpId)) {
+                entry.value = null;
+                // a probe in flight keeps its waiters but must not fill the cache
+                entry.generation = -1;
+                if (entry.waiters == null) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            entry.value = null;
+            if (entry.waiters == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Unregisters from PasskeysEligibility. The instance must not be used afterwards.
+     */
+    public void release() {
+        PasskeysEligibility.removeInvalidationListener(invalidationListener);
+    }
+
+    private synchronized List<Messages.Result<Boolean>> complete(String key, long probeGeneration, Boolean value) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.waiters == null) {
+            return Collections.emptyList();
+        }
+
+        List<Messages.Result<Boolean>> waiters = entry.waiters;
+        entry.waiters = null;
+        if (value != null && probeGeneration == generation && entry.generation == probeGeneration) {
+            entry.value = value;
+            entry.cachedAtMillis = SystemClock.elapsedRealtime();
+        } else if (entry.value == null) {
+            entries.remove(key);
+        }
+        return waiters;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= MAX_ENTRIES && iterator.hasNext()) {
+            if (iterator.next().waiters == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String key(String rpId, List<Messages.AllowCredential> allowCredentials) {
+        if (allowCredentials == null || allowCredentials.isEmpty()) {
+            return rpId;
+        }
+        List<String> ids = new ArrayList<>(allowCredentials.size());
+        for (Messages.AllowCredential credential : allowCredentials) {
+            ids.add(credential.getId());
+        }
+        Collections.sort(ids);
+        StringBuilder key = new StringBuilder(rpId);
+        for (String id : ids) {
+            key.append('\n').append(id);
+        }
+        return key.toString();
+    }
+}
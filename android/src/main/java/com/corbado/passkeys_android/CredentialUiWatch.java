@@ -0,0 +1,80 @@
+package com.corbado.passkeys_android;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Notices when the credential UI of a ceremony appears.
+ * <p>
+ * Credential Manager shows its selector in an activity of its own, so the host activity is paused
+ * once the UI is up. That moment separates the work before the UI (the credential lookup of a
+ * plain getCredential included) from the user's own time in it. A ceremony that fails before any
+ * UI is shown never reports it.
+ */
+final class CredentialUiWatch implements Application.ActivityLifecycleCallbacks {
+    private final Activity activity;
+    private final Runnable onShown;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private CredentialUiWatch(Activity activity, Runnable onShown) {
+        this.activity = activity;
+        this.onShown = onShown;
+    }
+
+    /**
+     * Starts watching activity, called right before the ceremony is launched from the main thread.
+     */
+    @NonNull
+    static CredentialUiWatch start(@NonNull Activity activity, @NonNull Runnable onShown) {
+        CredentialUiWatch watch = new CredentialUiWatch(activity, onShown);
+        activity.getApplication().registerActivityLifecycleCallbacks(watch);
+        return watch;
+    }
+
+    /**
+     * Stops watching, e.g. because the ceremony settled without showing UI. Safe from any thread.
+     */
+    void stop() {
+        if (done.compareAndSet(false, true)) {
+            activity.getApplication().unregisterActivityLifecycleCallbacks(this);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity paused) {
+        if (paused == activity && done.compareAndSet(false, true)) {
+            activity.getApplication().unregisterActivityLifecycleCallbacks(this);
+            onShown.run();
+        }
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+}
@@ -1,27 +1,22 @@
 package com.corbado.passkeys_android;
 
 import android.app.Activity;
-import android.content.pm.PackageManager;
-import android.content.pm.Signature;
-import android.os.Build;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-
 import io.flutter.embedding.android.FlutterActivity;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
-import io.flutter.plugin.common.MethodChannel;
 
 public class FlutterPasskeysPlugin extends FlutterActivity implements FlutterPlugin, ActivityAware {
     private static final String TAG = "FlutterPasskeysPlugin";
     private BinaryMessenger binaryMessenger;
-    private Activity activity;
+    // read from the channel's background task queue
+    private volatile Activity activity;
+    private volatile CredentialClients credentialClients;
+    private MessageHandler messageHandler;
 
     public FlutterPasskeysPlugin() {
     }
@@ -29,17 +24,29 @@ public class FlutterPasskeysPlugin extends FlutterActivity implements FlutterPlu
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
         binaryMessenger = binding.getBinaryMessenger();
+        credentialClients = new CredentialClients(binding.getApplicationContext());
+        // The handler lives as long as the engine so that its caches survive activity recreation.
+        messageHandler = new MessageHandler(this);
+        Messages.PasskeysApi.setup(binaryMessenger, messageHandler);
     }
 
     @Override
     public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding) {
+        Messages.PasskeysApi.setup(binding.getBinaryMessenger(), null);
+        if (messageHandler != null) {
+            messageHandler.release();
+            messageHandler = null;
+        }
         binaryMessenger = null;
+        if (credentialClients != null) {
+            credentialClients.release();
+            credentialClients = null;
+        }
     }
 
     @Override
     public void onAttachedToActivity(@NonNull ActivityPluginBinding binding) {
         activity = binding.getActivity();
-        Messages.PasskeysApi.setup(binaryMessenger, new MessageHandler(this));
     }
 
     public Activity requireActivity() {
@@ -47,6 +54,11 @@ public class FlutterPasskeysPlugin extends FlutterActivity implements FlutterPlu
         return activity;
     }
 
+    public CredentialClients requireCredentialClients() {
+        if (credentialClients == null) throw new IllegalStateException("Plugin is not attached to an engine");
+        return credentialClients;
+    }
+
     @Override
     public void onDetachedFromActivityForConfigChanges() {
         activity = null;
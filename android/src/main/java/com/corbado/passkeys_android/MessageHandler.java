@@ -2,19 +2,17 @@ package com.corbado.passkeys_android;
 
 import static androidx.credentials.PublicKeyCredential.TYPE_PUBLIC_KEY_CREDENTIAL;
 
-import android.accounts.Account;
-import android.accounts.AccountManager;
 import android.app.Activity;
 import android.os.Build;
-import android.os.Bundle;
 import android.os.CancellationSignal;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import androidx.credentials.CreateCredentialResponse;
 import androidx.credentials.CreatePublicKeyCredentialRequest;
-import androidx.credentials.CreatePublicKeyCredentialResponse;
 import androidx.credentials.Credential;
 import androidx.credentials.CredentialManager;
 import androidx.credentials.CredentialManagerCallback;
@@ -30,29 +28,29 @@ import androidx.credentials.exceptions.GetCredentialCancellationException;
 import androidx.credentials.exceptions.GetCredentialException;
 import androidx.credentials.exceptions.NoCredentialException;
 import androidx.credentials.exceptions.publickeycredential.CreatePublicKeyCredentialDomException;
-import androidx.credentials.exceptions.publickeycredential.CreatePublicKeyCredentialException;
 import androidx.credentials.exceptions.publickeycredential.GetPublicKeyCredentialDomException;
 
-import com.corbado.passkeys_android.models.login.AllowCredentialType;
-import com.corbado.passkeys_android.models.signup.AuthenticatorSelectionType;
+import com.corbado.passkeys_android.models.AssertionVerifier;
+import com.corbado.passkeys_android.models.Base64Url;
+import com.corbado.passkeys_android.models.ClientData;
+import com.corbado.passkeys_android.models.CredentialResponseParser;
+import com.corbado.passkeys_android.models.RelyingPartyProfile;
 import com.corbado.passkeys_android.models.signup.CreateCredentialOptions;
 import com.corbado.passkeys_android.models.login.GetCredentialOptions;
-import com.corbado.passkeys_android.models.signup.ExcludeCredentialType;
-import com.corbado.passkeys_android.models.signup.PubKeyCredParamType;
-import com.corbado.passkeys_android.models.signup.RelyingPartyType;
-import com.corbado.passkeys_android.models.signup.UserType;
-import com.google.android.gms.fido.Fido;
-import com.google.android.gms.fido.fido2.Fido2ApiClient;
-import com.google.android.gms.tasks.Task;
 
 import org.json.JSONException;
-import org.json.JSONObject;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class MessageHandler implements Messages.PasskeysApi {
 
@@ -63,21 +61,43 @@ public class MessageHandler implements Messages.PasskeysApi {
 
     private final FlutterPasskeysPlugin plugin;
 
-    private CancellationSignal currentCancellationSignal;
+    private final AuthenticatorAvailability authenticatorAvailability;
+    private final WarmUp warmUp;
+    private final PreparedAuthentications preparedAuthentications = new PreparedAuthentications();
+    private final PasskeysExecutors executors = new PasskeysExecutors();
+    private final OperationCoordinator operationCoordinator = new OperationCoordinator(executors.callback());
+    private final CredentialListPolicy credentialListPolicy = new CredentialListPolicy();
+    private final Map<String, RelyingPartyProfile> relyingPartyProfiles = new ConcurrentHashMap<>();
+    private final CredentialListCache credentialListCache = new CredentialListCache();
+    private final CredentialIndex credentialIndex;
+    private volatile boolean excludeCredentialsPrecheck;
+    private final CredentialPresence credentialPresence;
+    private final AuthenticateStrategy authenticateStrategy;
+    private final ClientDataValidator clientDataValidator;
+    private final SecureRandom random = new SecureRandom();
 
     public MessageHandler(FlutterPasskeysPlugin plugin) {
         this.plugin = plugin;
+        this.authenticatorAvailability = new AuthenticatorAvailability(plugin.requireCredentialClients());
+        this.warmUp = new WarmUp(plugin.requireCredentialClients(), authenticatorAvailability, executors);
+        this.credentialIndex = new CredentialIndex(plugin.requireCredentialClients().getApplicationContext());
+        this.credentialPresence = new CredentialPresence(plugin.requireCredentialClients().getApplicationContext());
+        this.authenticateStrategy = new AuthenticateStrategy(plugin.requireCredentialClients().getApplicationContext());
+        this.clientDataValidator = new ClientDataValidator(plugin.requireCredentialClients().getApplicationContext());
+    }
+
+    public void release() {
+        operationCoordinator.cancelAll();
+        authenticatorAvailability.release();
+        credentialPresence.release();
+        preparedAuthentications.clear();
+        credentialListCache.clear();
+        executors.shutdown();
     }
 
     @Override
     public void canAuthenticate(@NonNull Messages.Result<Boolean> result) {
-
-        Activity activity = plugin.requireActivity();
-        Fido2ApiClient fido2ApiClient = Fido.getFido2ApiClient(activity.getApplicationContext());
-
-        Task<Boolean> isAvailable = fido2ApiClient.isUserVerifyingPlatformAuthenticatorAvailable();
-        isAvailable.addOnSuccessListener(result::success);
-        isAvailable.addOnFailureListener(result::error);
+        authenticatorAvailability.isAvailable(result);
     }
 
     @Override
@@ -90,271 +110,773 @@ public class MessageHandler implements Messages.PasskeysApi {
             @Nullable Long timeout,
             @Nullable String attestation,
             @NonNull List<Messages.ExcludeCredential> excludeCredentials,
-            @NonNull Messages.Result<Messages.RegisterResponse> result
+            @Nullable String correlationId,
+            @NonNull Messages.Result<Messages.RegisterResponse> callerResult
     ) {
+        submitRegistration(
+                relyingParty.getId(),
+                user.getId(),
+                challenge,
+                credentialIds(excludeCredentials),
+                () -> buildCreateCredentialOptions(challenge, relyingParty, user, authenticatorSelection, pubKeyCredParams, timeout, attestation, excludeCredentials),
+                correlationId,
+                CredentialResponseParser::parseRegistration,
+                Messages.RegisterResponse::setTimings,
+                executors.replyOnMainThread(callerResult)
+        );
+    }
 
-        UserType userType = new UserType(user.getName(), user.getDisplayName(), user.getId(), user.getIcon());
-        RelyingPartyType relyingPartyType = new RelyingPartyType(relyingParty.getId(), relyingParty.getName());
-        AuthenticatorSelectionType authSelectionType = new AuthenticatorSelectionType("platform", authenticatorSelection.getRequireResidentKey(), authenticatorSelection.getResidentKey(), authenticatorSelection.getUserVerification());
-        List<PubKeyCredParamType> pubKeyCredParamsType = new ArrayList<>();
-        if (pubKeyCredParams != null) {
-            pubKeyCredParamsType = pubKeyCredParams.stream().map(p -> new PubKeyCredParamType(p.getType(), p.getAlg())).collect(Collectors.toList());
-        }
-        final List<ExcludeCredentialType> excludeCredentialsType = excludeCredentials.stream().map(c -> new ExcludeCredentialType(c.getType(), c.getId())).collect(Collectors.toList());
-
-        CreateCredentialOptions createCredentialOptions = new CreateCredentialOptions(
+    @Override
+    public void registerRaw(
+            @NonNull String challenge,
+            @NonNull Messages.RelyingParty relyingParty,
+            @NonNull Messages.User user,
+            @NonNull Messages.AuthenticatorSelection authenticatorSelection,
+            @Nullable List<Messages.PubKeyCredParam> pubKeyCredParams,
+            @Nullable Long timeout,
+            @Nullable String attestation,
+            @NonNull List<Messages.ExcludeCredential> excludeCredentials,
+            @Nullable String correlationId,
+            @NonNull Messages.Result<Messages.RawCredentialResponse> callerResult
+    ) {
+        submitRegistration(
+                relyingParty.getId(),
+                user.getId(),
                 challenge,
-                relyingPartyType,
-                userType,
-                pubKeyCredParamsType,
-                timeout,
-                authSelectionType,
-                attestation,
-                excludeCredentialsType
+                credentialIds(excludeCredentials),
+                () -> buildCreateCredentialOptions(challenge, relyingParty, user, authenticatorSelection, pubKeyCredParams, timeout, attestation, excludeCredentials),
+                correlationId,
+                MessageHandler::rawResponse,
+                Messages.RawCredentialResponse::setTimings,
+                executors.replyOnMainThread(callerResult)
         );
+    }
 
+    @Override
+    public void registerBinary(
+            @NonNull byte[] challenge,
+            @NonNull Messages.RelyingParty relyingParty,
+            @NonNull Messages.User user,
+            @NonNull Messages.AuthenticatorSelection authenticatorSelection,
+            @Nullable List<Messages.PubKeyCredParam> pubKeyCredParams,
+            @Nullable Long timeout,
+            @Nullable String attestation,
+            @NonNull List<Messages.CredentialDescriptor> excludeCredentials,
+            @Nullable String correlationId,
+            @NonNull Messages.Result<Messages.BinaryRegisterResponse> callerResult
+    ) {
+        final String encodedChallenge = Base64Url.encode(challenge);
+        final List<Messages.ExcludeCredential> encodedExcludeCredentials = BinaryTransport.toExcludeCredentials(excludeCredentials);
+        submitRegistration(
+                relyingParty.getId(),
+                user.getId(),
+                encodedChallenge,
+                credentialIds(encodedExcludeCredentials),
+                () -> buildCreateCredentialOptions(encodedChallenge, relyingParty, user, authenticatorSelection, pubKeyCredParams, timeout, attestation, encodedExcludeCredentials),
+                correlationId,
+                CredentialResponseParser::parseRegistrationWithoutAuthenticatorData,
+                Messages.RegisterResponse::setTimings,
+                BinaryTransport.registration(executors.replyOnMainThread(callerResult))
+        );
+    }
+
+    @Override
+    public void registerWithProfile(@NonNull String profileId, @NonNull String challenge, @NonNull Messages.User user, @NonNull List<Messages.ExcludeCredential> excludeCredentials, @Nullable String correlationId, @Nullable Messages.CredentialListRef credentialListRef, @NonNull Messages.Result<Messages.RegisterResponse> callerResult) {
+        final Messages.Result<Messages.RegisterResponse> reply = executors.replyOnMainThread(callerResult);
+        final RelyingPartyProfile profile = relyingPartyProfiles.get(profileId);
+        if (profile == null) {
+            reply.error(unknownProfileError(profileId));
+            return;
+        }
+
+        if (credentialListRef == null) {
+            submitRegistration(
+                    profile.relyingPartyId,
+                    user.getId(),
+                    challenge,
+                    credentialIds(excludeCredentials),
+                    () -> new CreateCredentialOptions(challenge, profile, user, credentialListPolicy.applyToExcludeCredentials(excludeCredentials)).toJSON(),
+                    correlationId,
+                    CredentialResponseParser::parseRegistration,
+                    Messages.RegisterResponse::setTimings,
+                    reply
+            );
+            return;
+        }
+
+        final CredentialListCache.Entry cached = credentialListCache.get(profile.relyingPartyId, credentialListRef.getUserId(), credentialListRef.getVersion());
+        if (cached == null) {
+            reply.error(credentialListCacheMissError(credentialListRef));
+            return;
+        }
+        submitRegistration(profile.relyingPartyId, user.getId(), challenge, cached.credentialIds, () -> {
+            CreateCredentialOptions createCredentialOptions = new CreateCredentialOptions(challenge, profile, user, null);
+            createCredentialOptions.setExcludeCredentialsJson(cached.excludeCredentialsJson);
+            return createCredentialOptions.toJSON();
+        }, correlationId, CredentialResponseParser::parseRegistration, Messages.RegisterResponse::setTimings, reply);
+    }
+
+    @Override
+    public void cacheCredentialList(@NonNull String relyingPartyId, @NonNull String userId, @NonNull String version, @NonNull List<Messages.AllowCredential> credentials, @NonNull Messages.Result<Void> callerResult) {
+        final Messages.Result<Void> result = executors.replyOnMainThread(callerResult);
         try {
-            String options = createCredentialOptions.toJSON().toString();
-            Activity activity = plugin.requireActivity();
-            if(!PasskeysEligibility.isPasskeySupported(activity)) {
-                Log.e(TAG, "Your device is not support passkey");
-                Exception platformException = new Messages.FlutterError("android-missing-google-sign-in", "Your device is not support passkey", "");
-                result.error(platformException);
-            }
-            CredentialManager credentialManager = CredentialManager.create(activity);
+            // stored after de-duplication and the entry limit, so cached lists obey the same policy
+            credentialListCache.put(relyingPartyId, userId, version, credentialListPolicy.applyToAllowCredentials(credentials));
+        } catch (Messages.FlutterError e) {
+            result.error(e);
+            return;
+        }
+        result.success(null);
+    }
 
-            CreatePublicKeyCredentialRequest createPublicKeyCredentialRequest = new CreatePublicKeyCredentialRequest(options);
+    /**
+     * @param buildOptions builds the options JSON on the ceremony's thread, may throw a FlutterError
+     * @param decoder      turns the registration response JSON into the reply
+     */
+    private <T> void submitRegistration(String relyingPartyId, String userId, String challenge, List<String> excludeCredentialIds, Supplier<String> buildOptions, String correlationId, CredentialResponseParser.Decoder<T> decoder, BiConsumer<T, Messages.CeremonyTimings> attachTimings, Messages.Result<T> reply) {
+        final CeremonyTimer timer = new CeremonyTimer(correlationId);
+        final Messages.Result<String> decoding = decoding(ClientData.TYPE_CREATE, challenge, timer, decoder, timer.wrap(reply, attachTimings), json -> {
+            credentialPresence.invalidate(relyingPartyId);
+            // the file write and the id lookup stay off the reply path
+            executors.callback().execute(() -> {
+                try {
+                    credentialIndex.recordRegistration(relyingPartyId, CredentialResponseParser.readIdentity(json)[0], userId);
+                } catch (JSONException e) {
+                    Log.w(TAG, "Not indexing a registration without id", e);
+                }
+            });
+        });
+        operationCoordinator.submit(decoding, (operation, result) -> {
+            if (excludeCredentialsPrecheck && containsKnownCredential(relyingPartyId, excludeCredentialIds)) {
+                // caught before the system UI opens; the index may be stale, which is why this is opt-in
+                result.error(new Messages.FlutterError("exclude-credentials-match", "One of the excluded credentials is known on this device", EXCLUDE_CREDENTIALS_MATCH_ERROR));
+                return;
+            }
+            createCredential(operation, timer, buildOptions, result);
+        });
+    }
 
-            currentCancellationSignal = new CancellationSignal();
+    private boolean containsKnownCredential(String relyingPartyId, List<String> credentialIds) {
+        for (String credentialId : credentialIds) {
+            if (credentialIndex.contains(relyingPartyId, credentialId)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-            credentialManager.createCredentialAsync(activity, createPublicKeyCredentialRequest, currentCancellationSignal, Runnable::run, new CredentialManagerCallback<>() {
+    private static List<String> credentialIds(List<Messages.ExcludeCredential> excludeCredentials) {
+        List<String> ids = new ArrayList<>(excludeCredentials.size());
+        for (Messages.ExcludeCredential credential : excludeCredentials) {
+            ids.add(credential.getId());
+        }
+        return ids;
+    }
 
-                @Override
-                public void onResult(CreateCredentialResponse res) {
-                    String resp = res.getData().getString("androidx.credentials.BUNDLE_KEY_REGISTRATION_RESPONSE_JSON");
-                    try {
-                        JSONObject json = new JSONObject(resp);
-                        JSONObject response = json.getJSONObject("response");
-                        result.success(new Messages.RegisterResponse.Builder().setId(json.getString("id")).setRawId(json.getString("rawId")).setClientDataJSON(response.getString("clientDataJSON")).setAttestationObject(response.getString("attestationObject")).build());
-                    } catch (JSONException e) {
-                        Log.e(TAG, "Error parsing response: " + resp, e);
-                        result.error(e);
+    /**
+     * Decodes the response JSON a ceremony ends with, then runs learn with it once the reply is on
+     * its way. If enabled, the clientDataJSON is checked against the request first.
+     *
+     * @param expectedType      webauthn.create or webauthn.get
+     * @param expectedChallenge the base64url challenge the request was sent with
+     */
+    private <T> Messages.Result<String> decoding(String expectedType, String expectedChallenge, CeremonyTimer timer, CredentialResponseParser.Decoder<T> decoder, Messages.Result<T> reply, Consumer<String> learn) {
+        return new Messages.Result<String>() {
+            @Override
+            public void success(String json) {
+                if (clientDataValidator.isEnabled()) {
+                    Messages.FlutterError mismatch = clientDataValidator.validate(json, expectedType, expectedChallenge);
+                    timer.mark(CeremonyTimer.PHASE_VALIDATE_CLIENT_DATA);
+                    if (mismatch != null) {
+                        Log.w(TAG, "Rejecting response: " + mismatch.getMessage());
+                        reply.error(mismatch);
+                        return;
                     }
                 }
 
-                @Override
-                public void onError(CreateCredentialException e) {
-                    Exception platformException = e;
-                    if (Objects.equals(e.getMessage(), "Unable to create key during registration")) {
-                        // currently, Android throws this error when users skip the fingerPrint animation => we interpret this as a cancellation for now
-                        platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                    } else if (e instanceof CreateCredentialCancellationException) {
-                        platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                    } else if (e instanceof CreateCredentialNoCreateOptionException) {
+                T value;
+                try {
+                    value = decoder.decode(json);
+                } catch (JSONException e) {
+                    Log.e(TAG, "Error parsing response: " + json, e);
+                    reply.error(e);
+                    return;
+                }
+                reply.success(value);
+                learn.accept(json);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                reply.error(error);
+            }
+        };
+    }
+
+    private static Messages.RawCredentialResponse rawResponse(String json) throws JSONException {
+        if (json == null) {
+            throw new JSONException("Credential response is missing");
+        }
+        return new Messages.RawCredentialResponse.Builder()
+                .setResponseJson(json.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private void createCredential(OperationCoordinator.Operation operation, CeremonyTimer timer, Supplier<String> buildOptions, Messages.Result<String> result) {
+        timer.mark(CeremonyTimer.PHASE_QUEUED);
+
+        // checked first, an ineligible device pays for nothing but the cached check
+        Activity activity = plugin.requireActivity();
+        if (!isEligible(activity, result)) {
+            return;
+        }
+        timer.mark(CeremonyTimer.PHASE_ELIGIBILITY);
+
+        String options;
+        try {
+            options = buildOptions.get();
+            timer.setRequestBytes(credentialListPolicy.checkRequestSize(options));
+        } catch (Messages.FlutterError e) {
+            result.error(e);
+            return;
+        }
+        timer.mark(CeremonyTimer.PHASE_BUILD_OPTIONS);
+        CredentialManager credentialManager = plugin.requireCredentialClients().getCredentialManager();
+
+        CreatePublicKeyCredentialRequest createPublicKeyCredentialRequest = new CreatePublicKeyCredentialRequest(options);
+
+        // Everything up to here runs on the channel's background task queue, only the UI launch goes to main.
+        executors.runOnMainThread(() -> {
+            CredentialUiWatch watch = CredentialUiWatch.start(activity, timer::markUiShown);
+            credentialManager.createCredentialAsync(activity, createPublicKeyCredentialRequest, operation.getCancellationSignal(), executors.callback(), registrationCallback(result, timer, watch));
+        });
+    }
+
+    private CredentialManagerCallback<CreateCredentialResponse, CreateCredentialException> registrationCallback(Messages.Result<String> result, CeremonyTimer timer, CredentialUiWatch watch) {
+        return new CredentialManagerCallback<>() {
+
+            @Override
+            public void onResult(CreateCredentialResponse res) {
+                watch.stop();
+                timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+                result.success(res.getData().getString("androidx.credentials.BUNDLE_KEY_REGISTRATION_RESPONSE_JSON"));
+            }
+
+            @Override
+            public void onError(CreateCredentialException e) {
+                watch.stop();
+                timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+                Exception platformException = e;
+                if (Objects.equals(e.getMessage(), "Unable to create key during registration")) {
+                    // currently, Android throws this error when users skip the fingerPrint animation => we interpret this as a cancellation for now
+                    platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
+                } else if (e instanceof CreateCredentialCancellationException) {
+                    platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
+                } else if (e instanceof CreateCredentialNoCreateOptionException) {
+                    platformException = new Messages.FlutterError("android-missing-google-sign-in", e.getMessage(), MISSING_GOOGLE_SIGN_IN_ERROR);
+                } else if (e instanceof CreatePublicKeyCredentialDomException) {
+                    if(e.getMessage() != null && e.getMessage().contains("One of the excluded credentials exists on the local device")) {
+                        platformException = new Messages.FlutterError("exclude-credentials-match", e.getMessage(), EXCLUDE_CREDENTIALS_MATCH_ERROR);
+                    }else if (Objects.equals(e.getMessage(), "User is unable to create passkeys.") || (e.getMessage() != null && e.getMessage().contains("User is unable to create passkeys"))) {
                         platformException = new Messages.FlutterError("android-missing-google-sign-in", e.getMessage(), MISSING_GOOGLE_SIGN_IN_ERROR);
-                    } else if (e instanceof CreatePublicKeyCredentialDomException) {
-                        if(e.getMessage() != null && e.getMessage().contains("One of the excluded credentials exists on the local device")) {
-                            platformException = new Messages.FlutterError("exclude-credentials-match", e.getMessage(), EXCLUDE_CREDENTIALS_MATCH_ERROR);
-                        }else if (Objects.equals(e.getMessage(), "User is unable to create passkeys.") || (e.getMessage() != null && e.getMessage().contains("User is unable to create passkeys"))) {
-                            platformException = new Messages.FlutterError("android-missing-google-sign-in", e.getMessage(), MISSING_GOOGLE_SIGN_IN_ERROR);
-                        } else if (Objects.equals(e.getMessage(), "Unable to get sync account.") || (e.getMessage() != null && e.getMessage().contains("Unable to get sync account"))) {
-                            platformException = new Messages.FlutterError("android-sync-account-not-available", e.getMessage(), SYNC_ACCOUNT_NOT_AVAILABLE_ERROR);
-                        } else if (Objects.equals(e.getMessage(), "One of the excluded credentials exists on the local device")) {
-                            platformException = new Messages.FlutterError("exclude-credentials-match", e.getMessage(), EXCLUDE_CREDENTIALS_MATCH_ERROR);
-                        } else {
-                            platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                        }
+                    } else if (Objects.equals(e.getMessage(), "Unable to get sync account.") || (e.getMessage() != null && e.getMessage().contains("Unable to get sync account"))) {
+                        platformException = new Messages.FlutterError("android-sync-account-not-available", e.getMessage(), SYNC_ACCOUNT_NOT_AVAILABLE_ERROR);
+                    } else if (Objects.equals(e.getMessage(), "One of the excluded credentials exists on the local device")) {
+                        platformException = new Messages.FlutterError("exclude-credentials-match", e.getMessage(), EXCLUDE_CREDENTIALS_MATCH_ERROR);
                     } else {
-                        platformException = new Messages.FlutterError("android-unhandled" + e.getType(), e.getMessage(), e.getErrorMessage());
+                        platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
                     }
-
-                    result.error(platformException);
+                } else {
+                    platformException = new Messages.FlutterError("android-unhandled" + e.getType(), e.getMessage(), e.getErrorMessage());
                 }
-            });
-        } catch (JSONException e) {
-            Log.e(TAG, "Error creating JSON", e);
-            result.error(e);
-        }
+
+                result.error(platformException);
+            }
+        };
+    }
+
+    @Override
+    public void authenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.AllowCredential> allowCredentials, @Nullable String correlationId, @NonNull Messages.Result<Messages.AuthenticateResponse> callerResult) {
+        submitAuthentication(
+                relyingPartyId,
+                challenge,
+                () -> buildGetCredentialOptions(relyingPartyId, challenge, timeout, userVerification, allowCredentials),
+                correlationId,
+                CredentialResponseParser::parseAuthentication,
+                Messages.AuthenticateResponse::setTimings,
+                executors.replyOnMainThread(callerResult)
+        );
+    }
+
+    @Override
+    public void authenticateRaw(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.AllowCredential> allowCredentials, @Nullable String correlationId, @NonNull Messages.Result<Messages.RawCredentialResponse> callerResult) {
+        submitAuthentication(
+                relyingPartyId,
+                challenge,
+                () -> buildGetCredentialOptions(relyingPartyId, challenge, timeout, userVerification, allowCredentials),
+                correlationId,
+                MessageHandler::rawResponse,
+                Messages.RawCredentialResponse::setTimings,
+                executors.replyOnMainThread(callerResult)
+        );
+    }
+
+    @Override
+    public void authenticateBinary(@NonNull String relyingPartyId, @NonNull byte[] challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.CredentialDescriptor> allowCredentials, @Nullable String correlationId, @NonNull Messages.Result<Messages.BinaryAuthenticateResponse> callerResult) {
+        final String encodedChallenge = Base64Url.encode(challenge);
+        final List<Messages.AllowCredential> encodedAllowCredentials = BinaryTransport.toAllowCredentials(allowCredentials);
+        submitAuthentication(
+                relyingPartyId,
+                encodedChallenge,
+                () -> buildGetCredentialOptions(relyingPartyId, encodedChallenge, timeout, userVerification, encodedAllowCredentials),
+                correlationId,
+                CredentialResponseParser::parseAuthentication,
+                Messages.AuthenticateResponse::setTimings,
+                BinaryTransport.authentication(executors.replyOnMainThread(callerResult))
+        );
     }
 
     @Override
-    public void authenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.AllowCredential> allowCredentials, @NonNull Messages.Result<Messages.AuthenticateResponse> result) {
-        List<AllowCredentialType> allowCredentialsType = new ArrayList<>();
-        if (allowCredentials != null) {
-            allowCredentialsType = allowCredentials.stream().map(c -> new AllowCredentialType(c.getType(), c.getId(), c.getTransports())).collect(Collectors.toList());
+    public void authenticateWithProfile(@NonNull String profileId, @NonNull String challenge, @Nullable List<Messages.AllowCredential> allowCredentials, @Nullable String correlationId, @Nullable Messages.CredentialListRef credentialListRef, @NonNull Messages.Result<Messages.AuthenticateResponse> callerResult) {
+        final Messages.Result<Messages.AuthenticateResponse> reply = executors.replyOnMainThread(callerResult);
+        final RelyingPartyProfile profile = relyingPartyProfiles.get(profileId);
+        if (profile == null) {
+            reply.error(unknownProfileError(profileId));
+            return;
+        }
+
+        if (credentialListRef == null) {
+            submitAuthentication(
+                    profile.relyingPartyId,
+                    challenge,
+                    () -> buildGetCredentialOptions(profile.relyingPartyId, challenge, profile.timeout, profile.userVerification, allowCredentials),
+                    correlationId,
+                    CredentialResponseParser::parseAuthentication,
+                    Messages.AuthenticateResponse::setTimings,
+                    reply
+            );
+            return;
+        }
+
+        final CredentialListCache.Entry cached = credentialListCache.get(profile.relyingPartyId, credentialListRef.getUserId(), credentialListRef.getVersion());
+        if (cached == null) {
+            reply.error(credentialListCacheMissError(credentialListRef));
+            return;
+        }
+        submitAuthentication(profile.relyingPartyId, challenge, () -> {
+            GetCredentialOptions getCredentialOptions = new GetCredentialOptions(challenge, profile.timeout, profile.relyingPartyId, null, profile.userVerification);
+            getCredentialOptions.setAllowCredentialsJson(cached.allowCredentialsJson);
+            return getCredentialOptions.toJSON();
+        }, correlationId, CredentialResponseParser::parseAuthentication, Messages.AuthenticateResponse::setTimings, reply);
+    }
+
+    /**
+     * @param buildOptions builds the options JSON on the ceremony's thread, may throw a FlutterError
+     * @param decoder      turns the authentication response JSON into the reply
+     */
+    private <T> void submitAuthentication(String relyingPartyId, String challenge, Supplier<String> buildOptions, String correlationId, CredentialResponseParser.Decoder<T> decoder, BiConsumer<T, Messages.CeremonyTimings> attachTimings, Messages.Result<T> reply) {
+        final CeremonyTimer timer = new CeremonyTimer(correlationId);
+        final Messages.Result<String> decoding = decoding(ClientData.TYPE_GET, challenge, timer, decoder, timer.wrap(reply, attachTimings), json ->
+                executors.callback().execute(() -> {
+                    try {
+                        String[] identity = CredentialResponseParser.readIdentity(json);
+                        credentialIndex.recordUse(relyingPartyId, identity[0], identity[1]);
+                    } catch (JSONException e) {
+                        Log.w(TAG, "Not indexing an assertion without id", e);
+                    }
+                }));
+        operationCoordinator.submit(decoding, (operation, result) ->
+                getCredential(operation, timer, relyingPartyId, challenge, buildOptions, result));
+    }
+
+    private void getCredential(OperationCoordinator.Operation operation, CeremonyTimer timer, String relyingPartyId, String challenge, Supplier<String> buildOptions, Messages.Result<String> result) {
+        timer.mark(CeremonyTimer.PHASE_QUEUED);
+
+        Activity activity = plugin.requireActivity();
+        if (!isEligible(activity, result)) {
+            return;
         }
-        GetCredentialOptions getCredentialOptions = new GetCredentialOptions(challenge, timeout, relyingPartyId, allowCredentialsType, userVerification);
+        timer.mark(CeremonyTimer.PHASE_ELIGIBILITY);
+        String options;
         try {
-            String options = getCredentialOptions.toJSON().toString();
+            options = buildOptions.get();
+            timer.setRequestBytes(credentialListPolicy.checkRequestSize(options));
+        } catch (Messages.FlutterError e) {
+            result.error(e);
+            return;
+        }
+        timer.mark(CeremonyTimer.PHASE_BUILD_OPTIONS);
 
-            Activity activity = plugin.requireActivity();
+        CredentialManager credentialManager = plugin.requireCredentialClients().getCredentialManager();
 
-            if(!PasskeysEligibility.isPasskeySupported(activity)) {
-                Log.e(TAG, "Your device is not support passkey");
-                Exception platformException = new Messages.FlutterError("android-missing-google-sign-in", "Your device is not support passkey", "");
-                result.error(platformException);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            PreparedAuthentications.Entry prepared = preparedAuthentications.take(relyingPartyId, challenge, options);
+            if (prepared != null) {
+                // the prepare step ran in prepareAuthenticate, its time still counts against the path
+                final Messages.Result<String> recorded = authenticateStrategy.record(relyingPartyId, AuthenticateStrategy.Path.PREPARE, timer, prepared.prepareMicros, result);
+                launchPrepared(credentialManager, activity, prepared.response, operation.getCancellationSignal(), recorded, timer);
+                return;
             }
+        }
 
-            CredentialManager credentialManager = CredentialManager.create(activity);
-            GetPublicKeyCredentialOption getPublicKeyCredentialOption = new GetPublicKeyCredentialOption(options);
-
-            GetCredentialRequest getCredRequest = new GetCredentialRequest.Builder().addCredentialOption(getPublicKeyCredentialOption).setPreferImmediatelyAvailableCredentials(true).build();
-            currentCancellationSignal = new CancellationSignal();
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
-                credentialManager.prepareGetCredentialAsync(
-                        getCredRequest,
-                        currentCancellationSignal,
-                        Runnable::run,
-                        new CredentialManagerCallback<PrepareGetCredentialResponse, GetCredentialException>() {
-                            @Override
-                            public void onResult(PrepareGetCredentialResponse prepareGetCredentialResponse) {
-
-                                boolean hasCredentialResults = prepareGetCredentialResponse.hasCredentialResults(TYPE_PUBLIC_KEY_CREDENTIAL);
-                                if(hasCredentialResults) {
-                                    credentialManager.getCredentialAsync(activity, getCredRequest, currentCancellationSignal, Runnable::run, new CredentialManagerCallback<>() {
-
-                                        @Override
-                                        public void onResult(GetCredentialResponse res) {
-                                            Credential credential = res.getCredential();
-                                            if (credential instanceof PublicKeyCredential) {
-                                                String responseJson = ((PublicKeyCredential) credential).getAuthenticationResponseJson();
-                                                try {
-                                                    final JSONObject json = new JSONObject(responseJson);
-                                                    final JSONObject response = json.getJSONObject("response");
-
-                                                    final String id = json.getString("id");
-                                                    final String rawId = json.getString("rawId");
-
-                                                    final String clientDataJSON = response.getString("clientDataJSON");
-                                                    final String userHandle = response.getString("userHandle");
-                                                    final String signature = response.getString("signature");
-                                                    final String authenticatorData = response.getString("authenticatorData");
-
-                                                    final Messages.AuthenticateResponse msg = new Messages.AuthenticateResponse.Builder().setId(id).setRawId(rawId).setClientDataJSON(clientDataJSON).setAuthenticatorData(authenticatorData).setSignature(signature).setUserHandle(userHandle).build();
-
-                                                    result.success(msg);
-                                                } catch (JSONException e) {
-                                                    Log.e(TAG, "Error parsing response: " + responseJson, e);
-                                                    result.error(e);
-                                                }
-                                            } else {
-                                                result.error(new Exception("Credential is of type " + credential.getClass().getName() + ", but should be of type PublicKeyCredential"));
-                                            }
-                                        }
-
-                                        @Override
-                                        public void onError(@NonNull GetCredentialException e) {
-                                            Exception platformException = e;
-
-                                            // currently, Android throws this error when users skip the fingerPrint animation => we interpret this as a cancellation for now
-                                            if (Objects.equals(e.getMessage(), "None of the allowed credentials can be authenticated")) {
-                                                platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                                            } else if (e instanceof GetCredentialCancellationException) {
-                                                platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                                            } else if (e instanceof NoCredentialException) {
-                                                platformException = new Messages.FlutterError("android-no-credential", e.getMessage(), "");
-                                            } else if (e instanceof GetPublicKeyCredentialDomException) {
-                                                if (Objects.requireNonNull(e.getMessage()).contains("Cancelled by user")) {
-                                                    platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                                                } else if (Objects.equals(e.getMessage(), "Failed to decrypt credential.")) {
-                                                    platformException = new Messages.FlutterError("android-sync-account-not-available", e.getMessage(), SYNC_ACCOUNT_NOT_AVAILABLE_ERROR);
-                                                } else {
-                                                    platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                                                }
-                                            } else {
-                                                platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                                            }
-
-                                            result.error(platformException);
-                                        }
-
-                                    });
-                                } else {
-                                    Exception platformException = new Messages.FlutterError("android-no-credential", "no credential available", "");
-                                    result.error(platformException);
-                                }
-                            }
-
-                            @Override
-                            public void onError(@NonNull GetCredentialException e) {
-                                Log.e(TAG, "error");
-                                Exception platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                                result.error(platformException);
-                            }
+        GetCredentialRequest getCredRequest = buildGetCredentialRequest(options);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE && authenticateStrategy.choose(relyingPartyId) == AuthenticateStrategy.Path.PREPARE) {
+            final Messages.Result<String> recorded = authenticateStrategy.record(relyingPartyId, AuthenticateStrategy.Path.PREPARE, timer, result);
+            credentialManager.prepareGetCredentialAsync(
+                    getCredRequest,
+                    operation.getCancellationSignal(),
+                    executors.callback(),
+                    new CredentialManagerCallback<PrepareGetCredentialResponse, GetCredentialException>() {
+                        @Override
+                        public void onResult(PrepareGetCredentialResponse prepareGetCredentialResponse) {
+                            timer.mark(CeremonyTimer.PHASE_PREPARE);
+                            // the pending handle skips the second lookup a plain getCredential would do
+                            launchPrepared(credentialManager, activity, prepareGetCredentialResponse, operation.getCancellationSignal(), recorded, timer);
                         }
-                );
-            } else {
-                credentialManager.getCredentialAsync(activity, getCredRequest, currentCancellationSignal, Runnable::run, new CredentialManagerCallback<>() {
 
-                    @Override
-                    public void onResult(GetCredentialResponse res) {
-                        Credential credential = res.getCredential();
-                        if (credential instanceof PublicKeyCredential) {
-                            String responseJson = ((PublicKeyCredential) credential).getAuthenticationResponseJson();
-                            try {
-                                final JSONObject json = new JSONObject(responseJson);
-                                final JSONObject response = json.getJSONObject("response");
-
-                                final String id = json.getString("id");
-                                final String rawId = json.getString("rawId");
-
-                                final String clientDataJSON = response.getString("clientDataJSON");
-                                final String userHandle = response.getString("userHandle");
-                                final String signature = response.getString("signature");
-                                final String authenticatorData = response.getString("authenticatorData");
-
-                                final Messages.AuthenticateResponse msg = new Messages.AuthenticateResponse.Builder().setId(id).setRawId(rawId).setClientDataJSON(clientDataJSON).setAuthenticatorData(authenticatorData).setSignature(signature).setUserHandle(userHandle).build();
-
-                                result.success(msg);
-                            } catch (JSONException e) {
-                                Log.e(TAG, "Error parsing response: " + responseJson, e);
-                                result.error(e);
-                            }
-                        } else {
-                            result.error(new Exception("Credential is of type " + credential.getClass().getName() + ", but should be of type PublicKeyCredential"));
+                        @Override
+                        public void onError(@NonNull GetCredentialException e) {
+                            timer.mark(CeremonyTimer.PHASE_PREPARE);
+                            Log.d(TAG, "prepareGetCredential failed: " + e.getType());
+                            Exception platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
+                            recorded.error(platformException);
                         }
                     }
+            );
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            final Messages.Result<String> recorded = authenticateStrategy.record(relyingPartyId, AuthenticateStrategy.Path.DIRECT, timer, result);
+            executors.runOnMainThread(() -> {
+                CredentialUiWatch watch = CredentialUiWatch.start(activity, timer::markUiShown);
+                credentialManager.getCredentialAsync(activity, getCredRequest, operation.getCancellationSignal(), executors.callback(), authenticationCallback(recorded, timer, watch));
+            });
+        } else {
+            executors.runOnMainThread(() -> {
+                CredentialUiWatch watch = CredentialUiWatch.start(activity, timer::markUiShown);
+                credentialManager.getCredentialAsync(activity, getCredRequest, operation.getCancellationSignal(), executors.callback(), authenticationCallback(result, timer, watch));
+            });
+        }
+    }
+
+    @Override
+    public void prepareAuthenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.AllowCredential> allowCredentials, @NonNull Messages.Result<Void> callerResult) {
+        final Messages.Result<Void> result = executors.replyOnMainThread(callerResult);
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            // prepareGetCredential is not available, authenticate will run the full flow
+            result.success(null);
+            return;
+        }
+
+        final String options;
+        try {
+            options = buildGetCredentialOptions(relyingPartyId, challenge, timeout, userVerification, allowCredentials);
+            credentialListPolicy.checkRequestSize(options);
+        } catch (Messages.FlutterError e) {
+            result.error(e);
+            return;
+        }
+
+        CredentialManager credentialManager = plugin.requireCredentialClients().getCredentialManager();
+        CancellationSignal cancellationSignal = new CancellationSignal();
+        final long prepareStartNanos = SystemClock.elapsedRealtimeNanos();
+        credentialManager.prepareGetCredentialAsync(
+                buildGetCredentialRequest(options),
+                cancellationSignal,
+                executors.callback(),
+                new CredentialManagerCallback<PrepareGetCredentialResponse, GetCredentialException>() {
+                    @Override
+                    public void onResult(PrepareGetCredentialResponse prepareGetCredentialResponse) {
+                        preparedAuthentications.put(relyingPartyId, challenge, options, prepareGetCredentialResponse, (SystemClock.elapsedRealtimeNanos() - prepareStartNanos) / 1000, cancellationSignal, timeout);
+                        result.success(null);
+                    }
 
                     @Override
                     public void onError(@NonNull GetCredentialException e) {
-                        Exception platformException = e;
-
-                        // currently, Android throws this error when users skip the fingerPrint animation => we interpret this as a cancellation for now
-                        if (Objects.equals(e.getMessage(), "None of the allowed credentials can be authenticated")) {
-                            platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                        } else if (e instanceof GetCredentialCancellationException) {
-                            platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                        } else if (e instanceof NoCredentialException) {
-                            platformException = new Messages.FlutterError("android-no-credential", e.getMessage(), "");
-                        } else if (e instanceof GetPublicKeyCredentialDomException) {
-                            if (Objects.requireNonNull(e.getMessage()).contains("Cancelled by user")) {
-                                platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
-                            } else if (Objects.equals(e.getMessage(), "Failed to decrypt credential.")) {
-                                platformException = new Messages.FlutterError("android-sync-account-not-available", e.getMessage(), SYNC_ACCOUNT_NOT_AVAILABLE_ERROR);
-                            } else {
-                                platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                            }
-                        } else {
-                            platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
-                        }
+                        Exception platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
+                        result.error(platformException);
+                    }
+                }
+        );
+    }
+
+    @Override
+    public void hasCredentials(@NonNull String relyingPartyId, @Nullable List<Messages.AllowCredential> allowCredentials, @NonNull Messages.Result<Boolean> callerResult) {
+        final Messages.Result<Boolean> result = executors.replyOnMainThread(callerResult);
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            // there is no way to ask without showing UI, null means unknown
+            result.success(null);
+            return;
+        }
 
+        credentialPresence.hasCredentials(relyingPartyId, allowCredentials, probeResult -> probeCredentials(relyingPartyId, allowCredentials, probeResult), result);
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private void probeCredentials(String relyingPartyId, List<Messages.AllowCredential> allowCredentials, Messages.Result<Boolean> result) {
+        final String options;
+        try {
+            // the challenge is never signed, the prepared request is cancelled once answered
+            byte[] challenge = new byte[32];
+            random.nextBytes(challenge);
+            options = buildGetCredentialOptions(relyingPartyId, Base64Url.encode(challenge), null, null, allowCredentials);
+            credentialListPolicy.checkRequestSize(options);
+        } catch (Messages.FlutterError e) {
+            result.error(e);
+            return;
+        }
+
+        CredentialManager credentialManager = plugin.requireCredentialClients().getCredentialManager();
+        CancellationSignal cancellationSignal = new CancellationSignal();
+        credentialManager.prepareGetCredentialAsync(
+                buildGetCredentialRequest(options),
+                cancellationSignal,
+                executors.callback(),
+                new CredentialManagerCallback<PrepareGetCredentialResponse, GetCredentialException>() {
+                    @Override
+                    public void onResult(PrepareGetCredentialResponse prepareGetCredentialResponse) {
+                        boolean hasCredentialResults = prepareGetCredentialResponse.hasCredentialResults(TYPE_PUBLIC_KEY_CREDENTIAL);
+                        cancellationSignal.cancel();
+                        result.success(hasCredentialResults);
+                    }
+
+                    @Override
+                    public void onError(@NonNull GetCredentialException e) {
+                        Exception platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
                         result.error(platformException);
                     }
+                }
+        );
+    }
 
-                });
-            }
-        } catch (JSONException e) {
-            throw new RuntimeException(e);
+    @Override
+    public void getKnownCredentials(@NonNull String relyingPartyId, @Nullable String userHandle, @NonNull Messages.Result<List<Messages.KnownCredential>> callerResult) {
+        executors.replyOnMainThread(callerResult).success(credentialIndex.get(relyingPartyId, userHandle));
+    }
+
+    @Override
+    public void forgetKnownCredential(@NonNull String relyingPartyId, @NonNull String credentialId, @NonNull Messages.Result<Void> callerResult) {
+        credentialIndex.remove(relyingPartyId, credentialId);
+        executors.replyOnMainThread(callerResult).success(null);
+    }
+
+    @Override
+    public void configureRelyingParty(@NonNull Messages.RelyingPartyProfile profile, @NonNull Messages.Result<Void> result) {
+        // serialized here, once, instead of on every registerWithProfile
+        relyingPartyProfiles.put(profile.getProfileId(), RelyingPartyProfile.of(profile, toPlatformAuthenticatorSelection(profile.getAuthenticatorSelection())));
+        result.success(null);
+    }
+
+    private static boolean isEligible(Activity activity, Messages.Result<?> result) {
+        if (PasskeysEligibility.isPasskeySupported(activity)) {
+            return true;
+        }
+        Log.e(TAG, "Your device is not support passkey");
+        result.error(new Messages.FlutterError("android-missing-google-sign-in", "Your device is not support passkey", ""));
+        return false;
+    }
+
+    private static Messages.FlutterError credentialListCacheMissError(Messages.CredentialListRef credentialListRef) {
+        return new Messages.FlutterError("credential-list-cache-miss", "No credential list with version " + credentialListRef.getVersion() + " is cached for this user", "");
+    }
+
+    private static Messages.FlutterError unknownProfileError(String profileId) {
+        return new Messages.FlutterError("unknown-relying-party-profile", "No relying party profile with id " + profileId + " was configured", "");
+    }
+
+    private static Messages.AuthenticatorSelection toPlatformAuthenticatorSelection(Messages.AuthenticatorSelection authenticatorSelection) {
+        return new Messages.AuthenticatorSelection.Builder()
+                .setAuthenticatorAttachment("platform")
+                .setRequireResidentKey(authenticatorSelection.getRequireResidentKey())
+                .setResidentKey(authenticatorSelection.getResidentKey())
+                .setUserVerification(authenticatorSelection.getUserVerification())
+                .build();
+    }
+
+    private String buildCreateCredentialOptions(
+            String challenge,
+            Messages.RelyingParty relyingParty,
+            Messages.User user,
+            Messages.AuthenticatorSelection authenticatorSelection,
+            List<Messages.PubKeyCredParam> pubKeyCredParams,
+            Long timeout,
+            String attestation,
+            List<Messages.ExcludeCredential> excludeCredentials
+    ) {
+        CreateCredentialOptions createCredentialOptions = new CreateCredentialOptions(
+                challenge,
+                relyingParty,
+                user,
+                pubKeyCredParams != null ? pubKeyCredParams : Collections.emptyList(),
+                timeout,
+                toPlatformAuthenticatorSelection(authenticatorSelection),
+                attestation,
+                credentialListPolicy.applyToExcludeCredentials(excludeCredentials)
+        );
+        return createCredentialOptions.toJSON();
+    }
+
+    private String buildGetCredentialOptions(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<Messages.AllowCredential> allowCredentials) {
+        GetCredentialOptions getCredentialOptions = new GetCredentialOptions(challenge, timeout, relyingPartyId, allowCredentials != null ? credentialListPolicy.applyToAllowCredentials(allowCredentials) : Collections.emptyList(), userVerification);
+        return getCredentialOptions.toJSON();
+    }
+
+    private static GetCredentialRequest buildGetCredentialRequest(String options) {
+        GetPublicKeyCredentialOption getPublicKeyCredentialOption = new GetPublicKeyCredentialOption(options);
+        return new GetCredentialRequest.Builder().addCredentialOption(getPublicKeyCredentialOption).setPreferImmediatelyAvailableCredentials(true).build();
+    }
+
+    /**
+     * Launches the credential selector from a response of prepareAuthenticate, skipping a second
+     * prepare round trip.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private void launchPrepared(CredentialManager credentialManager, Activity activity, PrepareGetCredentialResponse prepareGetCredentialResponse, CancellationSignal cancellationSignal, Messages.Result<String> result, CeremonyTimer timer) {
+        PrepareGetCredentialResponse.PendingGetCredentialHandle handle = prepareGetCredentialResponse.getPendingGetCredentialHandle();
+        if (!prepareGetCredentialResponse.hasCredentialResults(TYPE_PUBLIC_KEY_CREDENTIAL) || handle == null) {
+            Exception platformException = new Messages.FlutterError("android-no-credential", "no credential available", "");
+            result.error(platformException);
+            return;
         }
+
+        executors.runOnMainThread(() -> {
+            CredentialUiWatch watch = CredentialUiWatch.start(activity, timer::markUiShown);
+            credentialManager.getCredentialAsync(activity, handle, cancellationSignal, executors.callback(), authenticationCallback(result, timer, watch));
+        });
+    }
+
+    private CredentialManagerCallback<GetCredentialResponse, GetCredentialException> authenticationCallback(Messages.Result<String> result, CeremonyTimer timer, CredentialUiWatch watch) {
+        return new CredentialManagerCallback<>() {
+
+            @Override
+            public void onResult(GetCredentialResponse res) {
+                watch.stop();
+                timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+                Credential credential = res.getCredential();
+                if (credential instanceof PublicKeyCredential) {
+                    result.success(((PublicKeyCredential) credential).getAuthenticationResponseJson());
+                } else {
+                    result.error(new Exception("Credential is of type " + credential.getClass().getName() + ", but should be of type PublicKeyCredential"));
+                }
+            }
+
+            @Override
+            public void onError(@NonNull GetCredentialException e) {
+                watch.stop();
+                timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+                Exception platformException = e;
+
+                // currently, Android throws this error when users skip the fingerPrint animation => we interpret this as a cancellation for now
+                if (Objects.equals(e.getMessage(), "None of the allowed credentials can be authenticated")) {
+                    platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
+                } else if (e instanceof GetCredentialCancellationException) {
+                    platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
+                } else if (e instanceof NoCredentialException) {
+                    platformException = new Messages.FlutterError("android-no-credential", e.getMessage(), "");
+                } else if (e instanceof GetPublicKeyCredentialDomException) {
+                    if (Objects.requireNonNull(e.getMessage()).contains("Cancelled by user")) {
+                        platformException = new Messages.FlutterError("cancelled", e.getMessage(), "");
+                    } else if (Objects.equals(e.getMessage(), "Failed to decrypt credential.")) {
+                        platformException = new Messages.FlutterError("android-sync-account-not-available", e.getMessage(), SYNC_ACCOUNT_NOT_AVAILABLE_ERROR);
+                    } else {
+                        platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
+                    }
+                } else {
+                    platformException = new Messages.FlutterError("android-unhandled: " + e.getType(), e.getMessage(), e.getErrorMessage());
+                }
+
+                result.error(platformException);
+            }
+
+        };
     }
 
     @Override
     public void cancelCurrentAuthenticatorOperation(@NonNull Messages.Result<Void> result) {
-        if (currentCancellationSignal != null) {
-            currentCancellationSignal.cancel();
-            currentCancellationSignal = null;
+        operationCoordinator.cancelActive();
+        result.success(null);
+    }
+
+    @Override
+    public void configure(@NonNull Messages.PasskeysConfig config, @NonNull Messages.Result<Void> result) {
+        OperationCoordinator.Policy ceremonyPolicy;
+        CredentialListPolicy.Overflow credentialListOverflow;
+        AuthenticateStrategy.Mode authenticateStrategyMode;
+        try {
+            ceremonyPolicy = OperationCoordinator.Policy.fromName(config.getConcurrentCeremonyPolicy());
+            credentialListOverflow = CredentialListPolicy.Overflow.fromName(config.getCredentialListOverflow());
+            authenticateStrategyMode = AuthenticateStrategy.Mode.fromName(config.getAuthenticateStrategy());
+        } catch (IllegalArgumentException e) {
+            result.error(new Messages.FlutterError("invalid-config", e.getMessage(), ""));
+            return;
+        }
+
+        if (config.getCanAuthenticateCacheTtlMillis() != null) {
+            authenticatorAvailability.setTtlMillis(config.getCanAuthenticateCacheTtlMillis());
+        }
+        if (config.getHasCredentialsCacheTtlMillis() != null) {
+            credentialPresence.setTtlMillis(config.getHasCredentialsCacheTtlMillis());
+        }
+        if (ceremonyPolicy != null) {
+            operationCoordinator.setPolicy(ceremonyPolicy);
+        }
+        if (config.getMaxCredentialListEntries() != null) {
+            credentialListPolicy.setMaxEntries(config.getMaxCredentialListEntries());
+        }
+        if (credentialListOverflow != null) {
+            credentialListPolicy.setOverflow(credentialListOverflow);
+        }
+        if (config.getMaxRequestBytes() != null) {
+            credentialListPolicy.setMaxRequestBytes(config.getMaxRequestBytes());
+        }
+        if (config.getCredentialListCacheBytes() != null) {
+            credentialListCache.setMaxBytes(config.getCredentialListCacheBytes());
+        }
+        if (config.getExcludeCredentialsPrecheck() != null) {
+            excludeCredentialsPrecheck = config.getExcludeCredentialsPrecheck();
+        }
+        if (authenticateStrategyMode != null) {
+            authenticateStrategy.setMode(authenticateStrategyMode);
+        }
+        if (config.getAuthenticateExplorationRate() != null) {
+            authenticateStrategy.setExplorationRate(config.getAuthenticateExplorationRate());
+        }
+        if (config.getValidateClientData() != null) {
+            clientDataValidator.setEnabled(config.getValidateClientData());
+        }
+        if (config.getAllowedOrigins() != null) {
+            clientDataValidator.setExtraOrigins(config.getAllowedOrigins());
+        }
+        if (config.getKnownCredentialsMaxEntries() != null) {
+            // file IO, off the platform thread
+            final long maxEntries = config.getKnownCredentialsMaxEntries();
+            executors.callback().execute(() -> credentialIndex.setMaxEntries(maxEntries));
         }
 
         result.success(null);
     }
+
+    @Override
+    public void getCanAuthenticateCacheStats(@NonNull Messages.Result<Messages.CanAuthenticateCacheStats> result) {
+        result.success(authenticatorAvailability.getStats());
+    }
+
+    @Override
+    public void getAuthenticateStrategyStats(@NonNull String relyingPartyId, @NonNull Messages.Result<Messages.AuthenticateStrategyStats> callerResult) {
+        // on the task queue, the first call per rpId reads SharedPreferences
+        executors.replyOnMainThread(callerResult).success(authenticateStrategy.getStats(relyingPartyId));
+    }
+
+    @Override
+    public void verifyAssertion(@NonNull Messages.AuthenticateResponse response, @NonNull String publicKey, @Nullable Long publicKeyAlgorithm, @NonNull String relyingPartyId, @NonNull String challenge, @NonNull Boolean requireUserVerification, @Nullable Long previousSignCount, @NonNull Messages.Result<Messages.AssertionVerdict> callerResult) {
+        executors.replyOnMainThread(callerResult).success(AssertionVerifier.verify(response, publicKey, publicKeyAlgorithm, relyingPartyId, challenge, requireUserVerification, previousSignCount));
+    }
+
+    @Override
+    public void getDuplicateSettlementCount(@NonNull Messages.Result<Long> result) {
+        result.success(SettleOnce.getDuplicateCount());
+    }
+
+    @Override
+    public void warmUp(@NonNull Messages.Result<Messages.WarmUpResult> result) {
+        warmUp.run(result);
+    }
 }
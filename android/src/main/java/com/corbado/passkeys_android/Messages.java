@@ -520,6 +520,107 @@ public class Messages {
     }
   }
 
+  /**
+   * Represents a credential id in binary form (binary transport mode)
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CredentialDescriptor {
+    /** The type */
+    private @NonNull String type;
+
+    public @NonNull String getType() {
+      return type;
+    }
+
+    public void setType(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"type\" is null.");
+      }
+      this.type = setterArg;
+    }
+
+    /** The raw credential id */
+    private @NonNull byte[] id;
+
+    public @NonNull byte[] getId() {
+      return id;
+    }
+
+    public void setId(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"id\" is null.");
+      }
+      this.id = setterArg;
+    }
+
+    /** The transports */
+    private @Nullable List<String> transports;
+
+    public @Nullable List<String> getTransports() {
+      return transports;
+    }
+
+    public void setTransports(@Nullable List<String> setterArg) {
+      this.transports = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CredentialDescriptor() {}
+
+    public static final class Builder {
+
+      private @Nullable String type;
+
+      public @NonNull Builder setType(@NonNull String setterArg) {
+        this.type = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] id;
+
+      public @NonNull Builder setId(@NonNull byte[] setterArg) {
+        this.id = setterArg;
+        return this;
+      }
+
+      private @Nullable List<String> transports;
+
+      public @NonNull Builder setTransports(@Nullable List<String> setterArg) {
+        this.transports = setterArg;
+        return this;
+      }
+
+      public @NonNull CredentialDescriptor build() {
+        CredentialDescriptor pigeonReturn = new CredentialDescriptor();
+        pigeonReturn.setType(type);
+        pigeonReturn.setId(id);
+        pigeonReturn.setTransports(transports);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(3);
+      toListResult.add(type);
+      toListResult.add(id);
+      toListResult.add(transports);
+      return toListResult;
+    }
+
+    static @NonNull CredentialDescriptor fromList(@NonNull ArrayList<Object> list) {
+      CredentialDescriptor pigeonResult = new CredentialDescriptor();
+      Object type = list.get(0);
+      pigeonResult.setType((String) type);
+      Object id = list.get(1);
+      pigeonResult.setId((byte[]) id);
+      Object transports = list.get(2);
+      pigeonResult.setTransports((List<String>) transports);
+      return pigeonResult;
+    }
+  }
+
   /**
    * Represents an authenticator selection
    *
@@ -646,6 +747,129 @@ public class Messages {
     }
   }
 
+  /**
+   * Represents the phase timings of a ceremony
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CeremonyTimings {
+    /** The correlation id passed by the caller */
+    private @Nullable String correlationId;
+
+    public @Nullable String getCorrelationId() {
+      return correlationId;
+    }
+
+    public void setCorrelationId(@Nullable String setterArg) {
+      this.correlationId = setterArg;
+    }
+
+    /** Time spent per phase, in the order the phases ran */
+    private @NonNull Map<String, Long> phasesMicros;
+
+    public @NonNull Map<String, Long> getPhasesMicros() {
+      return phasesMicros;
+    }
+
+    public void setPhasesMicros(@NonNull Map<String, Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"phasesMicros\" is null.");
+      }
+      this.phasesMicros = setterArg;
+    }
+
+    /** Total time of the ceremony */
+    private @NonNull Long totalMicros;
+
+    public @NonNull Long getTotalMicros() {
+      return totalMicros;
+    }
+
+    public void setTotalMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"totalMicros\" is null.");
+      }
+      this.totalMicros = setterArg;
+    }
+
+    /** UTF-8 size of the options JSON sent to Play services */
+    private @Nullable Long requestBytes;
+
+    public @Nullable Long getRequestBytes() {
+      return requestBytes;
+    }
+
+    public void setRequestBytes(@Nullable Long setterArg) {
+      this.requestBytes = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CeremonyTimings() {}
+
+    public static final class Builder {
+
+      private @Nullable String correlationId;
+
+      public @NonNull Builder setCorrelationId(@Nullable String setterArg) {
+        this.correlationId = setterArg;
+        return this;
+      }
+
+      private @Nullable Map<String, Long> phasesMicros;
+
+      public @NonNull Builder setPhasesMicros(@NonNull Map<String, Long> setterArg) {
+        this.phasesMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long totalMicros;
+
+      public @NonNull Builder setTotalMicros(@NonNull Long setterArg) {
+        this.totalMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long requestBytes;
+
+      public @NonNull Builder setRequestBytes(@Nullable Long setterArg) {
+        this.requestBytes = setterArg;
+        return this;
+      }
+
+      public @NonNull CeremonyTimings build() {
+        CeremonyTimings pigeonReturn = new CeremonyTimings();
+        pigeonReturn.setCorrelationId(correlationId);
+        pigeonReturn.setPhasesMicros(phasesMicros);
+        pigeonReturn.setTotalMicros(totalMicros);
+        pigeonReturn.setRequestBytes(requestBytes);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(4);
+      toListResult.add(correlationId);
+      toListResult.add(phasesMicros);
+      toListResult.add(totalMicros);
+      toListResult.add(requestBytes);
+      return toListResult;
+    }
+
+    static @NonNull CeremonyTimings fromList(@NonNull ArrayList<Object> list) {
+      CeremonyTimings pigeonResult = new CeremonyTimings();
+      Object correlationId = list.get(0);
+      pigeonResult.setCorrelationId((String) correlationId);
+      Object phasesMicros = list.get(1);
+      pigeonResult.setPhasesMicros((Map<String, Long>) phasesMicros);
+      Object totalMicros = list.get(2);
+      pigeonResult.setTotalMicros((totalMicros == null) ? null : ((totalMicros instanceof Integer) ? (Integer) totalMicros : (Long) totalMicros));
+      Object requestBytes = list.get(3);
+      pigeonResult.setRequestBytes((requestBytes == null) ? null : ((requestBytes instanceof Integer) ? (Integer) requestBytes : (Long) requestBytes));
+      return pigeonResult;
+    }
+  }
+
   /**
    * Represents a register response
    *
@@ -708,6 +932,127 @@ public class Messages {
       this.attestationObject = setterArg;
     }
 
+    /** The phase timings of the ceremony */
+    private @Nullable CeremonyTimings timings;
+
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
+
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
+    }
+
+    /** The authenticator data from the attestation object (base64url) */
+    private @Nullable String authenticatorData;
+
+    public @Nullable String getAuthenticatorData() {
+      return authenticatorData;
+    }
+
+    public void setAuthenticatorData(@Nullable String setterArg) {
+      this.authenticatorData = setterArg;
+    }
+
+    /** SHA-256 of the rpId the credential is scoped to (base64url) */
+    private @Nullable String rpIdHash;
+
+    public @Nullable String getRpIdHash() {
+      return rpIdHash;
+    }
+
+    public void setRpIdHash(@Nullable String setterArg) {
+      this.rpIdHash = setterArg;
+    }
+
+    /** The authenticator data flags byte */
+    private @Nullable Long flags;
+
+    public @Nullable Long getFlags() {
+      return flags;
+    }
+
+    public void setFlags(@Nullable Long setterArg) {
+      this.flags = setterArg;
+    }
+
+    /** Whether the UV flag is set */
+    private @Nullable Boolean userVerified;
+
+    public @Nullable Boolean getUserVerified() {
+      return userVerified;
+    }
+
+    public void setUserVerified(@Nullable Boolean setterArg) {
+      this.userVerified = setterArg;
+    }
+
+    /** Whether the BE flag is set, i.e. the credential can be synced */
+    private @Nullable Boolean backupEligible;
+
+    public @Nullable Boolean getBackupEligible() {
+      return backupEligible;
+    }
+
+    public void setBackupEligible(@Nullable Boolean setterArg) {
+      this.backupEligible = setterArg;
+    }
+
+    /** Whether the BS flag is set, i.e. the credential is currently backed up */
+    private @Nullable Boolean backupState;
+
+    public @Nullable Boolean getBackupState() {
+      return backupState;
+    }
+
+    public void setBackupState(@Nullable Boolean setterArg) {
+      this.backupState = setterArg;
+    }
+
+    /** The signature counter */
+    private @Nullable Long signCount;
+
+    public @Nullable Long getSignCount() {
+      return signCount;
+    }
+
+    public void setSignCount(@Nullable Long setterArg) {
+      this.signCount = setterArg;
+    }
+
+    /** The AAGUID of the authenticator as a UUID string */
+    private @Nullable String aaguid;
+
+    public @Nullable String getAaguid() {
+      return aaguid;
+    }
+
+    public void setAaguid(@Nullable String setterArg) {
+      this.aaguid = setterArg;
+    }
+
+    /** The credential public key as SubjectPublicKeyInfo DER (base64url), null for unsupported key types */
+    private @Nullable String publicKey;
+
+    public @Nullable String getPublicKey() {
+      return publicKey;
+    }
+
+    public void setPublicKey(@Nullable String setterArg) {
+      this.publicKey = setterArg;
+    }
+
+    /** The COSE algorithm of the public key, e.g. -7 for ES256 */
+    private @Nullable Long publicKeyAlgorithm;
+
+    public @Nullable Long getPublicKeyAlgorithm() {
+      return publicKeyAlgorithm;
+    }
+
+    public void setPublicKeyAlgorithm(@Nullable Long setterArg) {
+      this.publicKeyAlgorithm = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     RegisterResponse() {}
 
@@ -741,23 +1086,122 @@ public class Messages {
         return this;
       }
 
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
+      private @Nullable String authenticatorData;
+
+      public @NonNull Builder setAuthenticatorData(@Nullable String setterArg) {
+        this.authenticatorData = setterArg;
+        return this;
+      }
+
+      private @Nullable String rpIdHash;
+
+      public @NonNull Builder setRpIdHash(@Nullable String setterArg) {
+        this.rpIdHash = setterArg;
+        return this;
+      }
+
+      private @Nullable Long flags;
+
+      public @NonNull Builder setFlags(@Nullable Long setterArg) {
+        this.flags = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean userVerified;
+
+      public @NonNull Builder setUserVerified(@Nullable Boolean setterArg) {
+        this.userVerified = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean backupEligible;
+
+      public @NonNull Builder setBackupEligible(@Nullable Boolean setterArg) {
+        this.backupEligible = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean backupState;
+
+      public @NonNull Builder setBackupState(@Nullable Boolean setterArg) {
+        this.backupState = setterArg;
+        return this;
+      }
+
+      private @Nullable Long signCount;
+
+      public @NonNull Builder setSignCount(@Nullable Long setterArg) {
+        this.signCount = setterArg;
+        return this;
+      }
+
+      private @Nullable String aaguid;
+
+      public @NonNull Builder setAaguid(@Nullable String setterArg) {
+        this.aaguid = setterArg;
+        return this;
+      }
+
+      private @Nullable String publicKey;
+
+      public @NonNull Builder setPublicKey(@Nullable String setterArg) {
+        this.publicKey = setterArg;
+        return this;
+      }
+
+      private @Nullable Long publicKeyAlgorithm;
+
+      public @NonNull Builder setPublicKeyAlgorithm(@Nullable Long setterArg) {
+        this.publicKeyAlgorithm = setterArg;
+        return this;
+      }
+
       public @NonNull RegisterResponse build() {
         RegisterResponse pigeonReturn = new RegisterResponse();
         pigeonReturn.setId(id);
         pigeonReturn.setRawId(rawId);
         pigeonReturn.setClientDataJSON(clientDataJSON);
         pigeonReturn.setAttestationObject(attestationObject);
+        pigeonReturn.setTimings(timings);
+        pigeonReturn.setAuthenticatorData(authenticatorData);
+        pigeonReturn.setRpIdHash(rpIdHash);
+        pigeonReturn.setFlags(flags);
+        pigeonReturn.setUserVerified(userVerified);
+        pigeonReturn.setBackupEligible(backupEligible);
+        pigeonReturn.setBackupState(backupState);
+        pigeonReturn.setSignCount(signCount);
+        pigeonReturn.setAaguid(aaguid);
+        pigeonReturn.setPublicKey(publicKey);
+        pigeonReturn.setPublicKeyAlgorithm(publicKeyAlgorithm);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<Object>(4);
+      ArrayList<Object> toListResult = new ArrayList<Object>(15);
       toListResult.add(id);
       toListResult.add(rawId);
       toListResult.add(clientDataJSON);
       toListResult.add(attestationObject);
+      toListResult.add((timings == null) ? null : timings.toList());
+      toListResult.add(authenticatorData);
+      toListResult.add(rpIdHash);
+      toListResult.add(flags);
+      toListResult.add(userVerified);
+      toListResult.add(backupEligible);
+      toListResult.add(backupState);
+      toListResult.add(signCount);
+      toListResult.add(aaguid);
+      toListResult.add(publicKey);
+      toListResult.add(publicKeyAlgorithm);
       return toListResult;
     }
 
@@ -771,6 +1215,28 @@ public class Messages {
       pigeonResult.setClientDataJSON((String) clientDataJSON);
       Object attestationObject = list.get(3);
       pigeonResult.setAttestationObject((String) attestationObject);
+      Object timings = list.get(4);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
+      Object authenticatorData = list.get(5);
+      pigeonResult.setAuthenticatorData((String) authenticatorData);
+      Object rpIdHash = list.get(6);
+      pigeonResult.setRpIdHash((String) rpIdHash);
+      Object flags = list.get(7);
+      pigeonResult.setFlags((flags == null) ? null : ((flags instanceof Integer) ? (Integer) flags : (Long) flags));
+      Object userVerified = list.get(8);
+      pigeonResult.setUserVerified((Boolean) userVerified);
+      Object backupEligible = list.get(9);
+      pigeonResult.setBackupEligible((Boolean) backupEligible);
+      Object backupState = list.get(10);
+      pigeonResult.setBackupState((Boolean) backupState);
+      Object signCount = list.get(11);
+      pigeonResult.setSignCount((signCount == null) ? null : ((signCount instanceof Integer) ? (Integer) signCount : (Long) signCount));
+      Object aaguid = list.get(12);
+      pigeonResult.setAaguid((String) aaguid);
+      Object publicKey = list.get(13);
+      pigeonResult.setPublicKey((String) publicKey);
+      Object publicKeyAlgorithm = list.get(14);
+      pigeonResult.setPublicKeyAlgorithm((publicKeyAlgorithm == null) ? null : ((publicKeyAlgorithm instanceof Integer) ? (Integer) publicKeyAlgorithm : (Long) publicKeyAlgorithm));
       return pigeonResult;
     }
   }
@@ -864,10 +1330,21 @@ public class Messages {
       this.userHandle = setterArg;
     }
 
-    /** Constructor is non-public to enforce null safety; use Builder. */
-    AuthenticateResponse() {}
+    /** The phase timings of the ceremony */
+    private @Nullable CeremonyTimings timings;
 
-    public static final class Builder {
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
+
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    AuthenticateResponse() {}
+
+    public static final class Builder {
 
       private @Nullable String id;
 
@@ -911,6 +1388,13 @@ public class Messages {
         return this;
       }
 
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
       public @NonNull AuthenticateResponse build() {
         AuthenticateResponse pigeonReturn = new AuthenticateResponse();
         pigeonReturn.setId(id);
@@ -919,19 +1403,21 @@ public class Messages {
         pigeonReturn.setAuthenticatorData(authenticatorData);
         pigeonReturn.setSignature(signature);
         pigeonReturn.setUserHandle(userHandle);
+        pigeonReturn.setTimings(timings);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<Object>(6);
+      ArrayList<Object> toListResult = new ArrayList<Object>(7);
       toListResult.add(id);
       toListResult.add(rawId);
       toListResult.add(clientDataJSON);
       toListResult.add(authenticatorData);
       toListResult.add(signature);
       toListResult.add(userHandle);
+      toListResult.add((timings == null) ? null : timings.toList());
       return toListResult;
     }
 
@@ -949,213 +1435,2737 @@ public class Messages {
       pigeonResult.setSignature((String) signature);
       Object userHandle = list.get(5);
       pigeonResult.setUserHandle((String) userHandle);
+      Object timings = list.get(6);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
       return pigeonResult;
     }
   }
 
-  public interface Result<T> {
-    @SuppressWarnings("UnknownNullness")
-    void success(T result);
+  /**
+   * Represents a register response with the binary values as raw bytes
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class BinaryRegisterResponse {
+    /** The ID (base64url, as used by the relying party) */
+    private @NonNull String id;
 
-    void error(@NonNull Throwable error);
-  }
+    public @NonNull String getId() {
+      return id;
+    }
 
-  private static class PasskeysApiCodec extends StandardMessageCodec {
-    public static final PasskeysApiCodec INSTANCE = new PasskeysApiCodec();
+    public void setId(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"id\" is null.");
+      }
+      this.id = setterArg;
+    }
 
-    private PasskeysApiCodec() {}
+    /** The raw ID */
+    private @NonNull byte[] rawId;
 
-    @Override
-    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
-      switch (type) {
-        case (byte) 128:
-          return AllowCredential.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 129:
-          return AuthenticateResponse.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 130:
-          return AuthenticatorSelection.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 131:
-          return ExcludeCredential.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 132:
-          return PubKeyCredParam.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 133:
-          return RegisterResponse.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 134:
-          return RelyingParty.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 135:
-          return User.fromList((ArrayList<Object>) readValue(buffer));
-        default:
-          return super.readValueOfType(type, buffer);
+    public @NonNull byte[] getRawId() {
+      return rawId;
+    }
+
+    public void setRawId(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rawId\" is null.");
       }
+      this.rawId = setterArg;
     }
 
-    @Override
-    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
-      if (value instanceof AllowCredential) {
-        stream.write(128);
-        writeValue(stream, ((AllowCredential) value).toList());
-      } else if (value instanceof AuthenticateResponse) {
-        stream.write(129);
-        writeValue(stream, ((AuthenticateResponse) value).toList());
-      } else if (value instanceof AuthenticatorSelection) {
-        stream.write(130);
-        writeValue(stream, ((AuthenticatorSelection) value).toList());
-      } else if (value instanceof ExcludeCredential) {
-        stream.write(131);
-        writeValue(stream, ((ExcludeCredential) value).toList());
-      } else if (value instanceof PubKeyCredParam) {
-        stream.write(132);
-        writeValue(stream, ((PubKeyCredParam) value).toList());
-      } else if (value instanceof RegisterResponse) {
-        stream.write(133);
-        writeValue(stream, ((RegisterResponse) value).toList());
-      } else if (value instanceof RelyingParty) {
-        stream.write(134);
-        writeValue(stream, ((RelyingParty) value).toList());
-      } else if (value instanceof User) {
-        stream.write(135);
-        writeValue(stream, ((User) value).toList());
-      } else {
-        super.writeValue(stream, value);
+    /** The client data JSON, UTF-8 encoded */
+    private @NonNull byte[] clientDataJSON;
+
+    public @NonNull byte[] getClientDataJSON() {
+      return clientDataJSON;
+    }
+
+    public void setClientDataJSON(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"clientDataJSON\" is null.");
       }
+      this.clientDataJSON = setterArg;
     }
-  }
 
-  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
-  public interface PasskeysApi {
+    /** The attestation object */
+    private @NonNull byte[] attestationObject;
 
-    void canAuthenticate(@NonNull Result<Boolean> result);
+    public @NonNull byte[] getAttestationObject() {
+      return attestationObject;
+    }
 
-    void register(@NonNull String challenge, @NonNull RelyingParty relyingParty, @NonNull User user, @NonNull AuthenticatorSelection authenticatorSelection, @Nullable List<PubKeyCredParam> pubKeyCredParams, @Nullable Long timeout, @Nullable String attestation, @NonNull List<ExcludeCredential> excludeCredentials, @NonNull Result<RegisterResponse> result);
+    public void setAttestationObject(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"attestationObject\" is null.");
+      }
+      this.attestationObject = setterArg;
+    }
 
-    void authenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<AllowCredential> allowCredentials, @NonNull Result<AuthenticateResponse> result);
+    /** The phase timings of the ceremony */
+    private @Nullable CeremonyTimings timings;
 
-    void cancelCurrentAuthenticatorOperation(@NonNull Result<Void> result);
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
 
-    /** The codec used by PasskeysApi. */
-    static @NonNull MessageCodec<Object> getCodec() {
-      return PasskeysApiCodec.INSTANCE;
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
     }
-    /**Sets up an instance of `PasskeysApi` to handle messages through the `binaryMessenger`. */
-    static void setup(@NonNull BinaryMessenger binaryMessenger, @Nullable PasskeysApi api) {
-      {
-        BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.canAuthenticate", getCodec());
-        if (api != null) {
-          channel.setMessageHandler(
-              (message, reply) -> {
-                ArrayList<Object> wrapped = new ArrayList<Object>();
-                Result<Boolean> resultCallback =
-                    new Result<Boolean>() {
-                      public void success(Boolean result) {
-                        wrapped.add(0, result);
-                        reply.reply(wrapped);
-                      }
 
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    BinaryRegisterResponse() {}
 
-                api.canAuthenticate(resultCallback);
-              });
-        } else {
-          channel.setMessageHandler(null);
-        }
+    public static final class Builder {
+
+      private @Nullable String id;
+
+      public @NonNull Builder setId(@NonNull String setterArg) {
+        this.id = setterArg;
+        return this;
       }
-      {
-        BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.register", getCodec());
-        if (api != null) {
-          channel.setMessageHandler(
-              (message, reply) -> {
-                ArrayList<Object> wrapped = new ArrayList<Object>();
-                ArrayList<Object> args = (ArrayList<Object>) message;
-                String challengeArg = (String) args.get(0);
-                RelyingParty relyingPartyArg = (RelyingParty) args.get(1);
-                User userArg = (User) args.get(2);
-                AuthenticatorSelection authenticatorSelectionArg = (AuthenticatorSelection) args.get(3);
-                List<PubKeyCredParam> pubKeyCredParamsArg = (List<PubKeyCredParam>) args.get(4);
-                Number timeoutArg = (Number) args.get(5);
-                String attestationArg = (String) args.get(6);
-                List<ExcludeCredential> excludeCredentialsArg = (List<ExcludeCredential>) args.get(7);
-                Result<RegisterResponse> resultCallback =
-                    new Result<RegisterResponse>() {
-                      public void success(RegisterResponse result) {
-                        wrapped.add(0, result);
-                        reply.reply(wrapped);
-                      }
 
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
+      private @Nullable byte[] rawId;
 
-                api.register(challengeArg, relyingPartyArg, userArg, authenticatorSelectionArg, pubKeyCredParamsArg, (timeoutArg == null) ? null : timeoutArg.longValue(), attestationArg, excludeCredentialsArg, resultCallback);
-              });
-        } else {
-          channel.setMessageHandler(null);
-        }
+      public @NonNull Builder setRawId(@NonNull byte[] setterArg) {
+        this.rawId = setterArg;
+        return this;
       }
-      {
-        BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticate", getCodec());
-        if (api != null) {
-          channel.setMessageHandler(
-              (message, reply) -> {
-                ArrayList<Object> wrapped = new ArrayList<Object>();
-                ArrayList<Object> args = (ArrayList<Object>) message;
-                String relyingPartyIdArg = (String) args.get(0);
-                String challengeArg = (String) args.get(1);
-                Number timeoutArg = (Number) args.get(2);
-                String userVerificationArg = (String) args.get(3);
-                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(4);
-                Result<AuthenticateResponse> resultCallback =
-                    new Result<AuthenticateResponse>() {
-                      public void success(AuthenticateResponse result) {
-                        wrapped.add(0, result);
-                        reply.reply(wrapped);
-                      }
 
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
+      private @Nullable byte[] clientDataJSON;
 
-                api.authenticate(relyingPartyIdArg, challengeArg, (timeoutArg == null) ? null : timeoutArg.longValue(), userVerificationArg, allowCredentialsArg, resultCallback);
-              });
-        } else {
-          channel.setMessageHandler(null);
-        }
+      public @NonNull Builder setClientDataJSON(@NonNull byte[] setterArg) {
+        this.clientDataJSON = setterArg;
+        return this;
       }
-      {
-        BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.cancelCurrentAuthenticatorOperation", getCodec());
-        if (api != null) {
-          channel.setMessageHandler(
-              (message, reply) -> {
-                ArrayList<Object> wrapped = new ArrayList<Object>();
-                Result<Void> resultCallback =
-                    new Result<Void>() {
-                      public void success(Void result) {
-                        wrapped.add(0, null);
-                        reply.reply(wrapped);
-                      }
 
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
+      private @Nullable byte[] attestationObject;
 
-                api.cancelCurrentAuthenticatorOperation(resultCallback);
+      public @NonNull Builder setAttestationObject(@NonNull byte[] setterArg) {
+        this.attestationObject = setterArg;
+        return this;
+      }
+
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
+      public @NonNull BinaryRegisterResponse build() {
+        BinaryRegisterResponse pigeonReturn = new BinaryRegisterResponse();
+        pigeonReturn.setId(id);
+        pigeonReturn.setRawId(rawId);
+        pigeonReturn.setClientDataJSON(clientDataJSON);
+        pigeonReturn.setAttestationObject(attestationObject);
+        pigeonReturn.setTimings(timings);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(5);
+      toListResult.add(id);
+      toListResult.add(rawId);
+      toListResult.add(clientDataJSON);
+      toListResult.add(attestationObject);
+      toListResult.add((timings == null) ? null : timings.toList());
+      return toListResult;
+    }
+
+    static @NonNull BinaryRegisterResponse fromList(@NonNull ArrayList<Object> list) {
+      BinaryRegisterResponse pigeonResult = new BinaryRegisterResponse();
+      Object id = list.get(0);
+      pigeonResult.setId((String) id);
+      Object rawId = list.get(1);
+      pigeonResult.setRawId((byte[]) rawId);
+      Object clientDataJSON = list.get(2);
+      pigeonResult.setClientDataJSON((byte[]) clientDataJSON);
+      Object attestationObject = list.get(3);
+      pigeonResult.setAttestationObject((byte[]) attestationObject);
+      Object timings = list.get(4);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents an authenticate response with the binary values as raw bytes
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class BinaryAuthenticateResponse {
+    /** The ID (base64url, as used by the relying party) */
+    private @NonNull String id;
+
+    public @NonNull String getId() {
+      return id;
+    }
+
+    public void setId(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"id\" is null.");
+      }
+      this.id = setterArg;
+    }
+
+    /** The raw ID */
+    private @NonNull byte[] rawId;
+
+    public @NonNull byte[] getRawId() {
+      return rawId;
+    }
+
+    public void setRawId(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rawId\" is null.");
+      }
+      this.rawId = setterArg;
+    }
+
+    /** The client data JSON, UTF-8 encoded */
+    private @NonNull byte[] clientDataJSON;
+
+    public @NonNull byte[] getClientDataJSON() {
+      return clientDataJSON;
+    }
+
+    public void setClientDataJSON(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"clientDataJSON\" is null.");
+      }
+      this.clientDataJSON = setterArg;
+    }
+
+    /** The authenticator data */
+    private @NonNull byte[] authenticatorData;
+
+    public @NonNull byte[] getAuthenticatorData() {
+      return authenticatorData;
+    }
+
+    public void setAuthenticatorData(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"authenticatorData\" is null.");
+      }
+      this.authenticatorData = setterArg;
+    }
+
+    /** The signature */
+    private @NonNull byte[] signature;
+
+    public @NonNull byte[] getSignature() {
+      return signature;
+    }
+
+    public void setSignature(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"signature\" is null.");
+      }
+      this.signature = setterArg;
+    }
+
+    /** The user handle, null for non-discoverable credentials */
+    private @Nullable byte[] userHandle;
+
+    public @Nullable byte[] getUserHandle() {
+      return userHandle;
+    }
+
+    public void setUserHandle(@Nullable byte[] setterArg) {
+      this.userHandle = setterArg;
+    }
+
+    /** The phase timings of the ceremony */
+    private @Nullable CeremonyTimings timings;
+
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
+
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    BinaryAuthenticateResponse() {}
+
+    public static final class Builder {
+
+      private @Nullable String id;
+
+      public @NonNull Builder setId(@NonNull String setterArg) {
+        this.id = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] rawId;
+
+      public @NonNull Builder setRawId(@NonNull byte[] setterArg) {
+        this.rawId = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] clientDataJSON;
+
+      public @NonNull Builder setClientDataJSON(@NonNull byte[] setterArg) {
+        this.clientDataJSON = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] authenticatorData;
+
+      public @NonNull Builder setAuthenticatorData(@NonNull byte[] setterArg) {
+        this.authenticatorData = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] signature;
+
+      public @NonNull Builder setSignature(@NonNull byte[] setterArg) {
+        this.signature = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] userHandle;
+
+      public @NonNull Builder setUserHandle(@Nullable byte[] setterArg) {
+        this.userHandle = setterArg;
+        return this;
+      }
+
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
+      public @NonNull BinaryAuthenticateResponse build() {
+        BinaryAuthenticateResponse pigeonReturn = new BinaryAuthenticateResponse();
+        pigeonReturn.setId(id);
+        pigeonReturn.setRawId(rawId);
+        pigeonReturn.setClientDataJSON(clientDataJSON);
+        pigeonReturn.setAuthenticatorData(authenticatorData);
+        pigeonReturn.setSignature(signature);
+        pigeonReturn.setUserHandle(userHandle);
+        pigeonReturn.setTimings(timings);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(7);
+      toListResult.add(id);
+      toListResult.add(rawId);
+      toListResult.add(clientDataJSON);
+      toListResult.add(authenticatorData);
+      toListResult.add(signature);
+      toListResult.add(userHandle);
+      toListResult.add((timings == null) ? null : timings.toList());
+      return toListResult;
+    }
+
+    static @NonNull BinaryAuthenticateResponse fromList(@NonNull ArrayList<Object> list) {
+      BinaryAuthenticateResponse pigeonResult = new BinaryAuthenticateResponse();
+      Object id = list.get(0);
+      pigeonResult.setId((String) id);
+      Object rawId = list.get(1);
+      pigeonResult.setRawId((byte[]) rawId);
+      Object clientDataJSON = list.get(2);
+      pigeonResult.setClientDataJSON((byte[]) clientDataJSON);
+      Object authenticatorData = list.get(3);
+      pigeonResult.setAuthenticatorData((byte[]) authenticatorData);
+      Object signature = list.get(4);
+      pigeonResult.setSignature((byte[]) signature);
+      Object userHandle = list.get(5);
+      pigeonResult.setUserHandle((byte[]) userHandle);
+      Object timings = list.get(6);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents a register or authenticate response exactly as the authenticator returned it
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class RawCredentialResponse {
+    /** The PublicKeyCredential JSON, UTF-8 encoded, including clientExtensionResults, authenticatorAttachment and transports */
+    private @NonNull byte[] responseJson;
+
+    public @NonNull byte[] getResponseJson() {
+      return responseJson;
+    }
+
+    public void setResponseJson(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"responseJson\" is null.");
+      }
+      this.responseJson = setterArg;
+    }
+
+    /** The phase timings of the ceremony */
+    private @Nullable CeremonyTimings timings;
+
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
+
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    RawCredentialResponse() {}
+
+    public static final class Builder {
+
+      private @Nullable byte[] responseJson;
+
+      public @NonNull Builder setResponseJson(@NonNull byte[] setterArg) {
+        this.responseJson = setterArg;
+        return this;
+      }
+
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
+      public @NonNull RawCredentialResponse build() {
+        RawCredentialResponse pigeonReturn = new RawCredentialResponse();
+        pigeonReturn.setResponseJson(responseJson);
+        pigeonReturn.setTimings(timings);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(2);
+      toListResult.add(responseJson);
+      toListResult.add((timings == null) ? null : timings.toList());
+      return toListResult;
+    }
+
+    static @NonNull RawCredentialResponse fromList(@NonNull ArrayList<Object> list) {
+      RawCredentialResponse pigeonResult = new RawCredentialResponse();
+      Object responseJson = list.get(0);
+      pigeonResult.setResponseJson((byte[]) responseJson);
+      Object timings = list.get(1);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents the outcome of verifying an assertion on the device
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class AssertionVerdict {
+    /** Whether every check passed */
+    private @NonNull Boolean verified;
+
+    public @NonNull Boolean getVerified() {
+      return verified;
+    }
+
+    public void setVerified(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"verified\" is null.");
+      }
+      this.verified = setterArg;
+    }
+
+    /** The first failed check: malformed, unsupported-algorithm, type-mismatch, challenge-mismatch, rp-id-hash-mismatch, user-not-present, user-not-verified, sign-count-regressed or signature-invalid */
+    private @Nullable String failure;
+
+    public @Nullable String getFailure() {
+      return failure;
+    }
+
+    public void setFailure(@Nullable String setterArg) {
+      this.failure = setterArg;
+    }
+
+    /** A description of the failure */
+    private @Nullable String message;
+
+    public @Nullable String getMessage() {
+      return message;
+    }
+
+    public void setMessage(@Nullable String setterArg) {
+      this.message = setterArg;
+    }
+
+    /** The signature counter of the assertion, to store for the next verification */
+    private @Nullable Long signCount;
+
+    public @Nullable Long getSignCount() {
+      return signCount;
+    }
+
+    public void setSignCount(@Nullable Long setterArg) {
+      this.signCount = setterArg;
+    }
+
+    /** Whether the UV flag is set */
+    private @Nullable Boolean userVerified;
+
+    public @Nullable Boolean getUserVerified() {
+      return userVerified;
+    }
+
+    public void setUserVerified(@Nullable Boolean setterArg) {
+      this.userVerified = setterArg;
+    }
+
+    /** Whether the BS flag is set */
+    private @Nullable Boolean backupState;
+
+    public @Nullable Boolean getBackupState() {
+      return backupState;
+    }
+
+    public void setBackupState(@Nullable Boolean setterArg) {
+      this.backupState = setterArg;
+    }
+
+    /** Time spent per verification step */
+    private @Nullable CeremonyTimings timings;
+
+    public @Nullable CeremonyTimings getTimings() {
+      return timings;
+    }
+
+    public void setTimings(@Nullable CeremonyTimings setterArg) {
+      this.timings = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    AssertionVerdict() {}
+
+    public static final class Builder {
+
+      private @Nullable Boolean verified;
+
+      public @NonNull Builder setVerified(@NonNull Boolean setterArg) {
+        this.verified = setterArg;
+        return this;
+      }
+
+      private @Nullable String failure;
+
+      public @NonNull Builder setFailure(@Nullable String setterArg) {
+        this.failure = setterArg;
+        return this;
+      }
+
+      private @Nullable String message;
+
+      public @NonNull Builder setMessage(@Nullable String setterArg) {
+        this.message = setterArg;
+        return this;
+      }
+
+      private @Nullable Long signCount;
+
+      public @NonNull Builder setSignCount(@Nullable Long setterArg) {
+        this.signCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean userVerified;
+
+      public @NonNull Builder setUserVerified(@Nullable Boolean setterArg) {
+        this.userVerified = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean backupState;
+
+      public @NonNull Builder setBackupState(@Nullable Boolean setterArg) {
+        this.backupState = setterArg;
+        return this;
+      }
+
+      private @Nullable CeremonyTimings timings;
+
+      public @NonNull Builder setTimings(@Nullable CeremonyTimings setterArg) {
+        this.timings = setterArg;
+        return this;
+      }
+
+      public @NonNull AssertionVerdict build() {
+        AssertionVerdict pigeonReturn = new AssertionVerdict();
+        pigeonReturn.setVerified(verified);
+        pigeonReturn.setFailure(failure);
+        pigeonReturn.setMessage(message);
+        pigeonReturn.setSignCount(signCount);
+        pigeonReturn.setUserVerified(userVerified);
+        pigeonReturn.setBackupState(backupState);
+        pigeonReturn.setTimings(timings);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(7);
+      toListResult.add(verified);
+      toListResult.add(failure);
+      toListResult.add(message);
+      toListResult.add(signCount);
+      toListResult.add(userVerified);
+      toListResult.add(backupState);
+      toListResult.add((timings == null) ? null : timings.toList());
+      return toListResult;
+    }
+
+    static @NonNull AssertionVerdict fromList(@NonNull ArrayList<Object> list) {
+      AssertionVerdict pigeonResult = new AssertionVerdict();
+      Object verified = list.get(0);
+      pigeonResult.setVerified((Boolean) verified);
+      Object failure = list.get(1);
+      pigeonResult.setFailure((String) failure);
+      Object message = list.get(2);
+      pigeonResult.setMessage((String) message);
+      Object signCount = list.get(3);
+      pigeonResult.setSignCount((signCount == null) ? null : ((signCount instanceof Integer) ? (Integer) signCount : (Long) signCount));
+      Object userVerified = list.get(4);
+      pigeonResult.setUserVerified((Boolean) userVerified);
+      Object backupState = list.get(5);
+      pigeonResult.setBackupState((Boolean) backupState);
+      Object timings = list.get(6);
+      pigeonResult.setTimings((timings == null) ? null : CeremonyTimings.fromList((ArrayList<Object>) timings));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents the static parts of a relying party, stored natively by configureRelyingParty
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class RelyingPartyProfile {
+    /** The id later calls reference the profile by */
+    private @NonNull String profileId;
+
+    public @NonNull String getProfileId() {
+      return profileId;
+    }
+
+    public void setProfileId(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"profileId\" is null.");
+      }
+      this.profileId = setterArg;
+    }
+
+    /** The relying party */
+    private @NonNull RelyingParty relyingParty;
+
+    public @NonNull RelyingParty getRelyingParty() {
+      return relyingParty;
+    }
+
+    public void setRelyingParty(@NonNull RelyingParty setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"relyingParty\" is null.");
+      }
+      this.relyingParty = setterArg;
+    }
+
+    /** The authenticator selection used for registration */
+    private @NonNull AuthenticatorSelection authenticatorSelection;
+
+    public @NonNull AuthenticatorSelection getAuthenticatorSelection() {
+      return authenticatorSelection;
+    }
+
+    public void setAuthenticatorSelection(@NonNull AuthenticatorSelection setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"authenticatorSelection\" is null.");
+      }
+      this.authenticatorSelection = setterArg;
+    }
+
+    /** The public key credential parameters */
+    private @Nullable List<PubKeyCredParam> pubKeyCredParams;
+
+    public @Nullable List<PubKeyCredParam> getPubKeyCredParams() {
+      return pubKeyCredParams;
+    }
+
+    public void setPubKeyCredParams(@Nullable List<PubKeyCredParam> setterArg) {
+      this.pubKeyCredParams = setterArg;
+    }
+
+    /** The timeout */
+    private @Nullable Long timeout;
+
+    public @Nullable Long getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(@Nullable Long setterArg) {
+      this.timeout = setterArg;
+    }
+
+    /** The attestation */
+    private @Nullable String attestation;
+
+    public @Nullable String getAttestation() {
+      return attestation;
+    }
+
+    public void setAttestation(@Nullable String setterArg) {
+      this.attestation = setterArg;
+    }
+
+    /** The user verification used for authentication (defaults to the one of authenticatorSelection) */
+    private @Nullable String userVerification;
+
+    public @Nullable String getUserVerification() {
+      return userVerification;
+    }
+
+    public void setUserVerification(@Nullable String setterArg) {
+      this.userVerification = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    RelyingPartyProfile() {}
+
+    public static final class Builder {
+
+      private @Nullable String profileId;
+
+      public @NonNull Builder setProfileId(@NonNull String setterArg) {
+        this.profileId = setterArg;
+        return this;
+      }
+
+      private @Nullable RelyingParty relyingParty;
+
+      public @NonNull Builder setRelyingParty(@NonNull RelyingParty setterArg) {
+        this.relyingParty = setterArg;
+        return this;
+      }
+
+      private @Nullable AuthenticatorSelection authenticatorSelection;
+
+      public @NonNull Builder setAuthenticatorSelection(@NonNull AuthenticatorSelection setterArg) {
+        this.authenticatorSelection = setterArg;
+        return this;
+      }
+
+      private @Nullable List<PubKeyCredParam> pubKeyCredParams;
+
+      public @NonNull Builder setPubKeyCredParams(@Nullable List<PubKeyCredParam> setterArg) {
+        this.pubKeyCredParams = setterArg;
+        return this;
+      }
+
+      private @Nullable Long timeout;
+
+      public @NonNull Builder setTimeout(@Nullable Long setterArg) {
+        this.timeout = setterArg;
+        return this;
+      }
+
+      private @Nullable String attestation;
+
+      public @NonNull Builder setAttestation(@Nullable String setterArg) {
+        this.attestation = setterArg;
+        return this;
+      }
+
+      private @Nullable String userVerification;
+
+      public @NonNull Builder setUserVerification(@Nullable String setterArg) {
+        this.userVerification = setterArg;
+        return this;
+      }
+
+      public @NonNull RelyingPartyProfile build() {
+        RelyingPartyProfile pigeonReturn = new RelyingPartyProfile();
+        pigeonReturn.setProfileId(profileId);
+        pigeonReturn.setRelyingParty(relyingParty);
+        pigeonReturn.setAuthenticatorSelection(authenticatorSelection);
+        pigeonReturn.setPubKeyCredParams(pubKeyCredParams);
+        pigeonReturn.setTimeout(timeout);
+        pigeonReturn.setAttestation(attestation);
+        pigeonReturn.setUserVerification(userVerification);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(7);
+      toListResult.add(profileId);
+      toListResult.add((relyingParty == null) ? null : relyingParty.toList());
+      toListResult.add((authenticatorSelection == null) ? null : authenticatorSelection.toList());
+      toListResult.add(pubKeyCredParams);
+      toListResult.add(timeout);
+      toListResult.add(attestation);
+      toListResult.add(userVerification);
+      return toListResult;
+    }
+
+    static @NonNull RelyingPartyProfile fromList(@NonNull ArrayList<Object> list) {
+      RelyingPartyProfile pigeonResult = new RelyingPartyProfile();
+      Object profileId = list.get(0);
+      pigeonResult.setProfileId((String) profileId);
+      Object relyingParty = list.get(1);
+      pigeonResult.setRelyingParty((relyingParty == null) ? null : RelyingParty.fromList((ArrayList<Object>) relyingParty));
+      Object authenticatorSelection = list.get(2);
+      pigeonResult.setAuthenticatorSelection((authenticatorSelection == null) ? null : AuthenticatorSelection.fromList((ArrayList<Object>) authenticatorSelection));
+      Object pubKeyCredParams = list.get(3);
+      pigeonResult.setPubKeyCredParams((List<PubKeyCredParam>) pubKeyCredParams);
+      Object timeout = list.get(4);
+      pigeonResult.setTimeout((timeout == null) ? null : ((timeout instanceof Integer) ? (Integer) timeout : (Long) timeout));
+      Object attestation = list.get(5);
+      pigeonResult.setAttestation((String) attestation);
+      Object userVerification = list.get(6);
+      pigeonResult.setUserVerification((String) userVerification);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents a reference to a credential list stored with cacheCredentialList
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CredentialListRef {
+    /** The user the list belongs to */
+    private @NonNull String userId;
+
+    public @NonNull String getUserId() {
+      return userId;
+    }
+
+    public void setUserId(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"userId\" is null.");
+      }
+      this.userId = setterArg;
+    }
+
+    /** The version token the list was stored with */
+    private @NonNull String version;
+
+    public @NonNull String getVersion() {
+      return version;
+    }
+
+    public void setVersion(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"version\" is null.");
+      }
+      this.version = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CredentialListRef() {}
+
+    public static final class Builder {
+
+      private @Nullable String userId;
+
+      public @NonNull Builder setUserId(@NonNull String setterArg) {
+        this.userId = setterArg;
+        return this;
+      }
+
+      private @Nullable String version;
+
+      public @NonNull Builder setVersion(@NonNull String setterArg) {
+        this.version = setterArg;
+        return this;
+      }
+
+      public @NonNull CredentialListRef build() {
+        CredentialListRef pigeonReturn = new CredentialListRef();
+        pigeonReturn.setUserId(userId);
+        pigeonReturn.setVersion(version);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(2);
+      toListResult.add(userId);
+      toListResult.add(version);
+      return toListResult;
+    }
+
+    static @NonNull CredentialListRef fromList(@NonNull ArrayList<Object> list) {
+      CredentialListRef pigeonResult = new CredentialListRef();
+      Object userId = list.get(0);
+      pigeonResult.setUserId((String) userId);
+      Object version = list.get(1);
+      pigeonResult.setVersion((String) version);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents a credential seen in a successful ceremony on this device
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class KnownCredential {
+    /** The credential id */
+    private @NonNull String id;
+
+    public @NonNull String getId() {
+      return id;
+    }
+
+    public void setId(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"id\" is null.");
+      }
+      this.id = setterArg;
+    }
+
+    /** When the credential was first seen, in milliseconds since the epoch */
+    private @NonNull Long createdAtMillis;
+
+    public @NonNull Long getCreatedAtMillis() {
+      return createdAtMillis;
+    }
+
+    public void setCreatedAtMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"createdAtMillis\" is null.");
+      }
+      this.createdAtMillis = setterArg;
+    }
+
+    /** When the credential was last used, in milliseconds since the epoch */
+    private @NonNull Long lastUsedMillis;
+
+    public @NonNull Long getLastUsedMillis() {
+      return lastUsedMillis;
+    }
+
+    public void setLastUsedMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"lastUsedMillis\" is null.");
+      }
+      this.lastUsedMillis = setterArg;
+    }
+
+    /** The user handle, if known */
+    private @Nullable String userHandle;
+
+    public @Nullable String getUserHandle() {
+      return userHandle;
+    }
+
+    public void setUserHandle(@Nullable String setterArg) {
+      this.userHandle = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    KnownCredential() {}
+
+    public static final class Builder {
+
+      private @Nullable String id;
+
+      public @NonNull Builder setId(@NonNull String setterArg) {
+        this.id = setterArg;
+        return this;
+      }
+
+      private @Nullable Long createdAtMillis;
+
+      public @NonNull Builder setCreatedAtMillis(@NonNull Long setterArg) {
+        this.createdAtMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long lastUsedMillis;
+
+      public @NonNull Builder setLastUsedMillis(@NonNull Long setterArg) {
+        this.lastUsedMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable String userHandle;
+
+      public @NonNull Builder setUserHandle(@Nullable String setterArg) {
+        this.userHandle = setterArg;
+        return this;
+      }
+
+      public @NonNull KnownCredential build() {
+        KnownCredential pigeonReturn = new KnownCredential();
+        pigeonReturn.setId(id);
+        pigeonReturn.setCreatedAtMillis(createdAtMillis);
+        pigeonReturn.setLastUsedMillis(lastUsedMillis);
+        pigeonReturn.setUserHandle(userHandle);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(4);
+      toListResult.add(id);
+      toListResult.add(createdAtMillis);
+      toListResult.add(lastUsedMillis);
+      toListResult.add(userHandle);
+      return toListResult;
+    }
+
+    static @NonNull KnownCredential fromList(@NonNull ArrayList<Object> list) {
+      KnownCredential pigeonResult = new KnownCredential();
+      Object id = list.get(0);
+      pigeonResult.setId((String) id);
+      Object createdAtMillis = list.get(1);
+      pigeonResult.setCreatedAtMillis((createdAtMillis == null) ? null : ((createdAtMillis instanceof Integer) ? (Integer) createdAtMillis : (Long) createdAtMillis));
+      Object lastUsedMillis = list.get(2);
+      pigeonResult.setLastUsedMillis((lastUsedMillis == null) ? null : ((lastUsedMillis instanceof Integer) ? (Integer) lastUsedMillis : (Long) lastUsedMillis));
+      Object userHandle = list.get(3);
+      pigeonResult.setUserHandle((String) userHandle);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents the native configuration of the plugin
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PasskeysConfig {
+    /** How long a canAuthenticate answer is reused (0 disables the cache) */
+    private @Nullable Long canAuthenticateCacheTtlMillis;
+
+    public @Nullable Long getCanAuthenticateCacheTtlMillis() {
+      return canAuthenticateCacheTtlMillis;
+    }
+
+    public void setCanAuthenticateCacheTtlMillis(@Nullable Long setterArg) {
+      this.canAuthenticateCacheTtlMillis = setterArg;
+    }
+
+    /** How long a hasCredentials answer is reused (0 disables the cache) */
+    private @Nullable Long hasCredentialsCacheTtlMillis;
+
+    public @Nullable Long getHasCredentialsCacheTtlMillis() {
+      return hasCredentialsCacheTtlMillis;
+    }
+
+    public void setHasCredentialsCacheTtlMillis(@Nullable Long setterArg) {
+      this.hasCredentialsCacheTtlMillis = setterArg;
+    }
+
+    /** What happens to a ceremony started while another one runs: reject, queue or preempt (default) */
+    private @Nullable String concurrentCeremonyPolicy;
+
+    public @Nullable String getConcurrentCeremonyPolicy() {
+      return concurrentCeremonyPolicy;
+    }
+
+    public void setConcurrentCeremonyPolicy(@Nullable String setterArg) {
+      this.concurrentCeremonyPolicy = setterArg;
+    }
+
+    /** Maximum number of allowCredentials/excludeCredentials after de-duplication (default 500) */
+    private @Nullable Long maxCredentialListEntries;
+
+    public @Nullable Long getMaxCredentialListEntries() {
+      return maxCredentialListEntries;
+    }
+
+    public void setMaxCredentialListEntries(@Nullable Long setterArg) {
+      this.maxCredentialListEntries = setterArg;
+    }
+
+    /** What happens to a longer list: reject (default) or trim */
+    private @Nullable String credentialListOverflow;
+
+    public @Nullable String getCredentialListOverflow() {
+      return credentialListOverflow;
+    }
+
+    public void setCredentialListOverflow(@Nullable String setterArg) {
+      this.credentialListOverflow = setterArg;
+    }
+
+    /** Maximum UTF-8 size of the options JSON (default 256 KiB) */
+    private @Nullable Long maxRequestBytes;
+
+    public @Nullable Long getMaxRequestBytes() {
+      return maxRequestBytes;
+    }
+
+    public void setMaxRequestBytes(@Nullable Long setterArg) {
+      this.maxRequestBytes = setterArg;
+    }
+
+    /** Memory bound of the cached credential lists (default 256 KiB) */
+    private @Nullable Long credentialListCacheBytes;
+
+    public @Nullable Long getCredentialListCacheBytes() {
+      return credentialListCacheBytes;
+    }
+
+    public void setCredentialListCacheBytes(@Nullable Long setterArg) {
+      this.credentialListCacheBytes = setterArg;
+    }
+
+    /** Maximum number of credentials kept in the on-device index (default 10000) */
+    private @Nullable Long knownCredentialsMaxEntries;
+
+    public @Nullable Long getKnownCredentialsMaxEntries() {
+      return knownCredentialsMaxEntries;
+    }
+
+    public void setKnownCredentialsMaxEntries(@Nullable Long setterArg) {
+      this.knownCredentialsMaxEntries = setterArg;
+    }
+
+    /** Whether register fails early if an excluded credential is in the on-device index (default false) */
+    private @Nullable Boolean excludeCredentialsPrecheck;
+
+    public @Nullable Boolean getExcludeCredentialsPrecheck() {
+      return excludeCredentialsPrecheck;
+    }
+
+    public void setExcludeCredentialsPrecheck(@Nullable Boolean setterArg) {
+      this.excludeCredentialsPrecheck = setterArg;
+    }
+
+    /** Whether authenticate prepares first on API 34+: adaptive (default), prepare or direct */
+    private @Nullable String authenticateStrategy;
+
+    public @Nullable String getAuthenticateStrategy() {
+      return authenticateStrategy;
+    }
+
+    public void setAuthenticateStrategy(@Nullable String setterArg) {
+      this.authenticateStrategy = setterArg;
+    }
+
+    /** Share of adaptive ceremonies that try the path not currently chosen (default 0.05) */
+    private @Nullable Double authenticateExplorationRate;
+
+    public @Nullable Double getAuthenticateExplorationRate() {
+      return authenticateExplorationRate;
+    }
+
+    public void setAuthenticateExplorationRate(@Nullable Double setterArg) {
+      this.authenticateExplorationRate = setterArg;
+    }
+
+    /** Whether the clientDataJSON of a ceremony is checked against the request before returning (default false) */
+    private @Nullable Boolean validateClientData;
+
+    public @Nullable Boolean getValidateClientData() {
+      return validateClientData;
+    }
+
+    public void setValidateClientData(@Nullable Boolean setterArg) {
+      this.validateClientData = setterArg;
+    }
+
+    /** Origins accepted besides the app's android:apk-key-hash when validating clientDataJSON (client-data-unverifiable if neither is known) */
+    private @Nullable List<String> allowedOrigins;
+
+    public @Nullable List<String> getAllowedOrigins() {
+      return allowedOrigins;
+    }
+
+    public void setAllowedOrigins(@Nullable List<String> setterArg) {
+      this.allowedOrigins = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PasskeysConfig() {}
+
+    public static final class Builder {
+
+      private @Nullable Long canAuthenticateCacheTtlMillis;
+
+      public @NonNull Builder setCanAuthenticateCacheTtlMillis(@Nullable Long setterArg) {
+        this.canAuthenticateCacheTtlMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long hasCredentialsCacheTtlMillis;
+
+      public @NonNull Builder setHasCredentialsCacheTtlMillis(@Nullable Long setterArg) {
+        this.hasCredentialsCacheTtlMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable String concurrentCeremonyPolicy;
+
+      public @NonNull Builder setConcurrentCeremonyPolicy(@Nullable String setterArg) {
+        this.concurrentCeremonyPolicy = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxCredentialListEntries;
+
+      public @NonNull Builder setMaxCredentialListEntries(@Nullable Long setterArg) {
+        this.maxCredentialListEntries = setterArg;
+        return this;
+      }
+
+      private @Nullable String credentialListOverflow;
+
+      public @NonNull Builder setCredentialListOverflow(@Nullable String setterArg) {
+        this.credentialListOverflow = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxRequestBytes;
+
+      public @NonNull Builder setMaxRequestBytes(@Nullable Long setterArg) {
+        this.maxRequestBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long credentialListCacheBytes;
+
+      public @NonNull Builder setCredentialListCacheBytes(@Nullable Long setterArg) {
+        this.credentialListCacheBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long knownCredentialsMaxEntries;
+
+      public @NonNull Builder setKnownCredentialsMaxEntries(@Nullable Long setterArg) {
+        this.knownCredentialsMaxEntries = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean excludeCredentialsPrecheck;
+
+      public @NonNull Builder setExcludeCredentialsPrecheck(@Nullable Boolean setterArg) {
+        this.excludeCredentialsPrecheck = setterArg;
+        return this;
+      }
+
+      private @Nullable String authenticateStrategy;
+
+      public @NonNull Builder setAuthenticateStrategy(@Nullable String setterArg) {
+        this.authenticateStrategy = setterArg;
+        return this;
+      }
+
+      private @Nullable Double authenticateExplorationRate;
+
+      public @NonNull Builder setAuthenticateExplorationRate(@Nullable Double setterArg) {
+        this.authenticateExplorationRate = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean validateClientData;
+
+      public @NonNull Builder setValidateClientData(@Nullable Boolean setterArg) {
+        this.validateClientData = setterArg;
+        return this;
+      }
+
+      private @Nullable List<String> allowedOrigins;
+
+      public @NonNull Builder setAllowedOrigins(@Nullable List<String> setterArg) {
+        this.allowedOrigins = setterArg;
+        return this;
+      }
+
+      public @NonNull PasskeysConfig build() {
+        PasskeysConfig pigeonReturn = new PasskeysConfig();
+        pigeonReturn.setCanAuthenticateCacheTtlMillis(canAuthenticateCacheTtlMillis);
+        pigeonReturn.setHasCredentialsCacheTtlMillis(hasCredentialsCacheTtlMillis);
+        pigeonReturn.setConcurrentCeremonyPolicy(concurrentCeremonyPolicy);
+        pigeonReturn.setMaxCredentialListEntries(maxCredentialListEntries);
+        pigeonReturn.setCredentialListOverflow(credentialListOverflow);
+        pigeonReturn.setMaxRequestBytes(maxRequestBytes);
+        pigeonReturn.setCredentialListCacheBytes(credentialListCacheBytes);
+        pigeonReturn.setKnownCredentialsMaxEntries(knownCredentialsMaxEntries);
+        pigeonReturn.setExcludeCredentialsPrecheck(excludeCredentialsPrecheck);
+        pigeonReturn.setAuthenticateStrategy(authenticateStrategy);
+        pigeonReturn.setAuthenticateExplorationRate(authenticateExplorationRate);
+        pigeonReturn.setValidateClientData(validateClientData);
+        pigeonReturn.setAllowedOrigins(allowedOrigins);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(13);
+      toListResult.add(canAuthenticateCacheTtlMillis);
+      toListResult.add(hasCredentialsCacheTtlMillis);
+      toListResult.add(concurrentCeremonyPolicy);
+      toListResult.add(maxCredentialListEntries);
+      toListResult.add(credentialListOverflow);
+      toListResult.add(maxRequestBytes);
+      toListResult.add(credentialListCacheBytes);
+      toListResult.add(knownCredentialsMaxEntries);
+      toListResult.add(excludeCredentialsPrecheck);
+      toListResult.add(authenticateStrategy);
+      toListResult.add(authenticateExplorationRate);
+      toListResult.add(validateClientData);
+      toListResult.add(allowedOrigins);
+      return toListResult;
+    }
+
+    static @NonNull PasskeysConfig fromList(@NonNull ArrayList<Object> list) {
+      PasskeysConfig pigeonResult = new PasskeysConfig();
+      Object canAuthenticateCacheTtlMillis = list.get(0);
+      pigeonResult.setCanAuthenticateCacheTtlMillis((canAuthenticateCacheTtlMillis == null) ? null : ((canAuthenticateCacheTtlMillis instanceof Integer) ? (Integer) canAuthenticateCacheTtlMillis : (Long) canAuthenticateCacheTtlMillis));
+      Object hasCredentialsCacheTtlMillis = list.get(1);
+      pigeonResult.setHasCredentialsCacheTtlMillis((hasCredentialsCacheTtlMillis == null) ? null : ((hasCredentialsCacheTtlMillis instanceof Integer) ? (Integer) hasCredentialsCacheTtlMillis : (Long) hasCredentialsCacheTtlMillis));
+      Object concurrentCeremonyPolicy = list.get(2);
+      pigeonResult.setConcurrentCeremonyPolicy((String) concurrentCeremonyPolicy);
+      Object maxCredentialListEntries = list.get(3);
+      pigeonResult.setMaxCredentialListEntries((maxCredentialListEntries == null) ? null : ((maxCredentialListEntries instanceof Integer) ? (Integer) maxCredentialListEntries : (Long) maxCredentialListEntries));
+      Object credentialListOverflow = list.get(4);
+      pigeonResult.setCredentialListOverflow((String) credentialListOverflow);
+      Object maxRequestBytes = list.get(5);
+      pigeonResult.setMaxRequestBytes((maxRequestBytes == null) ? null : ((maxRequestBytes instanceof Integer) ? (Integer) maxRequestBytes : (Long) maxRequestBytes));
+      Object credentialListCacheBytes = list.get(6);
+      pigeonResult.setCredentialListCacheBytes((credentialListCacheBytes == null) ? null : ((credentialListCacheBytes instanceof Integer) ? (Integer) credentialListCacheBytes : (Long) credentialListCacheBytes));
+      Object knownCredentialsMaxEntries = list.get(7);
+      pigeonResult.setKnownCredentialsMaxEntries((knownCredentialsMaxEntries == null) ? null : ((knownCredentialsMaxEntries instanceof Integer) ? (Integer) knownCredentialsMaxEntries : (Long) knownCredentialsMaxEntries));
+      Object excludeCredentialsPrecheck = list.get(8);
+      pigeonResult.setExcludeCredentialsPrecheck((Boolean) excludeCredentialsPrecheck);
+      Object authenticateStrategy = list.get(9);
+      pigeonResult.setAuthenticateStrategy((String) authenticateStrategy);
+      Object authenticateExplorationRate = list.get(10);
+      pigeonResult.setAuthenticateExplorationRate((Double) authenticateExplorationRate);
+      Object validateClientData = list.get(11);
+      pigeonResult.setValidateClientData((Boolean) validateClientData);
+      Object allowedOrigins = list.get(12);
+      pigeonResult.setAllowedOrigins((List<String>) allowedOrigins);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents what the adaptive authenticate strategy learned for one relying party
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class AuthenticateStrategyStats {
+    /** The configured strategy: adaptive, prepare or direct */
+    private @NonNull String mode;
+
+    public @NonNull String getMode() {
+      return mode;
+    }
+
+    public void setMode(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"mode\" is null.");
+      }
+      this.mode = setterArg;
+    }
+
+    /** The path taken when not exploring: prepare or direct */
+    private @NonNull String decision;
+
+    public @NonNull String getDecision() {
+      return decision;
+    }
+
+    public void setDecision(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"decision\" is null.");
+      }
+      this.decision = setterArg;
+    }
+
+    /** Share of adaptive ceremonies that try the other path */
+    private @NonNull Double explorationRate;
+
+    public @NonNull Double getExplorationRate() {
+      return explorationRate;
+    }
+
+    public void setExplorationRate(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"explorationRate\" is null.");
+      }
+      this.explorationRate = setterArg;
+    }
+
+    /** Number of recorded ceremonies that prepared first */
+    private @NonNull Long prepareSamples;
+
+    public @NonNull Long getPrepareSamples() {
+      return prepareSamples;
+    }
+
+    public void setPrepareSamples(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"prepareSamples\" is null.");
+      }
+      this.prepareSamples = setterArg;
+    }
+
+    /** Median latency of those ceremonies, null without samples */
+    private @Nullable Long prepareMedianMillis;
+
+    public @Nullable Long getPrepareMedianMillis() {
+      return prepareMedianMillis;
+    }
+
+    public void setPrepareMedianMillis(@Nullable Long setterArg) {
+      this.prepareMedianMillis = setterArg;
+    }
+
+    /** Number of recorded ceremonies that called getCredential directly */
+    private @NonNull Long directSamples;
+
+    public @NonNull Long getDirectSamples() {
+      return directSamples;
+    }
+
+    public void setDirectSamples(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"directSamples\" is null.");
+      }
+      this.directSamples = setterArg;
+    }
+
+    /** Median latency of those ceremonies, null without samples */
+    private @Nullable Long directMedianMillis;
+
+    public @Nullable Long getDirectMedianMillis() {
+      return directMedianMillis;
+    }
+
+    public void setDirectMedianMillis(@Nullable Long setterArg) {
+      this.directMedianMillis = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    AuthenticateStrategyStats() {}
+
+    public static final class Builder {
+
+      private @Nullable String mode;
+
+      public @NonNull Builder setMode(@NonNull String setterArg) {
+        this.mode = setterArg;
+        return this;
+      }
+
+      private @Nullable String decision;
+
+      public @NonNull Builder setDecision(@NonNull String setterArg) {
+        this.decision = setterArg;
+        return this;
+      }
+
+      private @Nullable Double explorationRate;
+
+      public @NonNull Builder setExplorationRate(@NonNull Double setterArg) {
+        this.explorationRate = setterArg;
+        return this;
+      }
+
+      private @Nullable Long prepareSamples;
+
+      public @NonNull Builder setPrepareSamples(@NonNull Long setterArg) {
+        this.prepareSamples = setterArg;
+        return this;
+      }
+
+      private @Nullable Long prepareMedianMillis;
+
+      public @NonNull Builder setPrepareMedianMillis(@Nullable Long setterArg) {
+        this.prepareMedianMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long directSamples;
+
+      public @NonNull Builder setDirectSamples(@NonNull Long setterArg) {
+        this.directSamples = setterArg;
+        return this;
+      }
+
+      private @Nullable Long directMedianMillis;
+
+      public @NonNull Builder setDirectMedianMillis(@Nullable Long setterArg) {
+        this.directMedianMillis = setterArg;
+        return this;
+      }
+
+      public @NonNull AuthenticateStrategyStats build() {
+        AuthenticateStrategyStats pigeonReturn = new AuthenticateStrategyStats();
+        pigeonReturn.setMode(mode);
+        pigeonReturn.setDecision(decision);
+        pigeonReturn.setExplorationRate(explorationRate);
+        pigeonReturn.setPrepareSamples(prepareSamples);
+        pigeonReturn.setPrepareMedianMillis(prepareMedianMillis);
+        pigeonReturn.setDirectSamples(directSamples);
+        pigeonReturn.setDirectMedianMillis(directMedianMillis);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(7);
+      toListResult.add(mode);
+      toListResult.add(decision);
+      toListResult.add(explorationRate);
+      toListResult.add(prepareSamples);
+      toListResult.add(prepareMedianMillis);
+      toListResult.add(directSamples);
+      toListResult.add(directMedianMillis);
+      return toListResult;
+    }
+
+    static @NonNull AuthenticateStrategyStats fromList(@NonNull ArrayList<Object> list) {
+      AuthenticateStrategyStats pigeonResult = new AuthenticateStrategyStats();
+      Object mode = list.get(0);
+      pigeonResult.setMode((String) mode);
+      Object decision = list.get(1);
+      pigeonResult.setDecision((String) decision);
+      Object explorationRate = list.get(2);
+      pigeonResult.setExplorationRate((Double) explorationRate);
+      Object prepareSamples = list.get(3);
+      pigeonResult.setPrepareSamples((prepareSamples == null) ? null : ((prepareSamples instanceof Integer) ? (Integer) prepareSamples : (Long) prepareSamples));
+      Object prepareMedianMillis = list.get(4);
+      pigeonResult.setPrepareMedianMillis((prepareMedianMillis == null) ? null : ((prepareMedianMillis instanceof Integer) ? (Integer) prepareMedianMillis : (Long) prepareMedianMillis));
+      Object directSamples = list.get(5);
+      pigeonResult.setDirectSamples((directSamples == null) ? null : ((directSamples instanceof Integer) ? (Integer) directSamples : (Long) directSamples));
+      Object directMedianMillis = list.get(6);
+      pigeonResult.setDirectMedianMillis((directMedianMillis == null) ? null : ((directMedianMillis instanceof Integer) ? (Integer) directMedianMillis : (Long) directMedianMillis));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents the state of the canAuthenticate cache
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CanAuthenticateCacheStats {
+    /** Age of the cached answer, null if nothing is cached */
+    private @Nullable Long ageMillis;
+
+    public @Nullable Long getAgeMillis() {
+      return ageMillis;
+    }
+
+    public void setAgeMillis(@Nullable Long setterArg) {
+      this.ageMillis = setterArg;
+    }
+
+    /** The configured time to live */
+    private @NonNull Long ttlMillis;
+
+    public @NonNull Long getTtlMillis() {
+      return ttlMillis;
+    }
+
+    public void setTtlMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"ttlMillis\" is null.");
+      }
+      this.ttlMillis = setterArg;
+    }
+
+    /** Calls answered from the cache or from a shared in-flight request */
+    private @NonNull Long hits;
+
+    public @NonNull Long getHits() {
+      return hits;
+    }
+
+    public void setHits(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hits\" is null.");
+      }
+      this.hits = setterArg;
+    }
+
+    /** Calls that had to query Play services */
+    private @NonNull Long misses;
+
+    public @NonNull Long getMisses() {
+      return misses;
+    }
+
+    public void setMisses(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"misses\" is null.");
+      }
+      this.misses = setterArg;
+    }
+
+    /** hits / (hits + misses) */
+    private @NonNull Double hitRatio;
+
+    public @NonNull Double getHitRatio() {
+      return hitRatio;
+    }
+
+    public void setHitRatio(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitRatio\" is null.");
+      }
+      this.hitRatio = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CanAuthenticateCacheStats() {}
+
+    public static final class Builder {
+
+      private @Nullable Long ageMillis;
+
+      public @NonNull Builder setAgeMillis(@Nullable Long setterArg) {
+        this.ageMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long ttlMillis;
+
+      public @NonNull Builder setTtlMillis(@NonNull Long setterArg) {
+        this.ttlMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long hits;
+
+      public @NonNull Builder setHits(@NonNull Long setterArg) {
+        this.hits = setterArg;
+        return this;
+      }
+
+      private @Nullable Long misses;
+
+      public @NonNull Builder setMisses(@NonNull Long setterArg) {
+        this.misses = setterArg;
+        return this;
+      }
+
+      private @Nullable Double hitRatio;
+
+      public @NonNull Builder setHitRatio(@NonNull Double setterArg) {
+        this.hitRatio = setterArg;
+        return this;
+      }
+
+      public @NonNull CanAuthenticateCacheStats build() {
+        CanAuthenticateCacheStats pigeonReturn = new CanAuthenticateCacheStats();
+        pigeonReturn.setAgeMillis(ageMillis);
+        pigeonReturn.setTtlMillis(ttlMillis);
+        pigeonReturn.setHits(hits);
+        pigeonReturn.setMisses(misses);
+        pigeonReturn.setHitRatio(hitRatio);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(5);
+      toListResult.add(ageMillis);
+      toListResult.add(ttlMillis);
+      toListResult.add(hits);
+      toListResult.add(misses);
+      toListResult.add(hitRatio);
+      return toListResult;
+    }
+
+    static @NonNull CanAuthenticateCacheStats fromList(@NonNull ArrayList<Object> list) {
+      CanAuthenticateCacheStats pigeonResult = new CanAuthenticateCacheStats();
+      Object ageMillis = list.get(0);
+      pigeonResult.setAgeMillis((ageMillis == null) ? null : ((ageMillis instanceof Integer) ? (Integer) ageMillis : (Long) ageMillis));
+      Object ttlMillis = list.get(1);
+      pigeonResult.setTtlMillis((ttlMillis == null) ? null : ((ttlMillis instanceof Integer) ? (Integer) ttlMillis : (Long) ttlMillis));
+      Object hits = list.get(2);
+      pigeonResult.setHits((hits == null) ? null : ((hits instanceof Integer) ? (Integer) hits : (Long) hits));
+      Object misses = list.get(3);
+      pigeonResult.setMisses((misses == null) ? null : ((misses instanceof Integer) ? (Integer) misses : (Long) misses));
+      Object hitRatio = list.get(4);
+      pigeonResult.setHitRatio((Double) hitRatio);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Represents the outcome of a warm-up, with the time spent per step
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class WarmUpResult {
+    /** Whether the timings come from an earlier warm-up */
+    private @NonNull Boolean alreadyWarm;
+
+    public @NonNull Boolean getAlreadyWarm() {
+      return alreadyWarm;
+    }
+
+    public void setAlreadyWarm(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"alreadyWarm\" is null.");
+      }
+      this.alreadyWarm = setterArg;
+    }
+
+    /** Time spent loading the credential classes */
+    private @NonNull Long classLoadingMicros;
+
+    public @NonNull Long getClassLoadingMicros() {
+      return classLoadingMicros;
+    }
+
+    public void setClassLoadingMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"classLoadingMicros\" is null.");
+      }
+      this.classLoadingMicros = setterArg;
+    }
+
+    /** Time spent creating the Credential Manager and FIDO2 clients */
+    private @NonNull Long clientsMicros;
+
+    public @NonNull Long getClientsMicros() {
+      return clientsMicros;
+    }
+
+    public void setClientsMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"clientsMicros\" is null.");
+      }
+      this.clientsMicros = setterArg;
+    }
+
+    /** Time spent on the eligibility checks */
+    private @NonNull Long eligibilityMicros;
+
+    public @NonNull Long getEligibilityMicros() {
+      return eligibilityMicros;
+    }
+
+    public void setEligibilityMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"eligibilityMicros\" is null.");
+      }
+      this.eligibilityMicros = setterArg;
+    }
+
+    /** Time spent on the first options JSON build */
+    private @NonNull Long jsonMicros;
+
+    public @NonNull Long getJsonMicros() {
+      return jsonMicros;
+    }
+
+    public void setJsonMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"jsonMicros\" is null.");
+      }
+      this.jsonMicros = setterArg;
+    }
+
+    /** Total time of the warm-up */
+    private @NonNull Long totalMicros;
+
+    public @NonNull Long getTotalMicros() {
+      return totalMicros;
+    }
+
+    public void setTotalMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"totalMicros\" is null.");
+      }
+      this.totalMicros = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    WarmUpResult() {}
+
+    public static final class Builder {
+
+      private @Nullable Boolean alreadyWarm;
+
+      public @NonNull Builder setAlreadyWarm(@NonNull Boolean setterArg) {
+        this.alreadyWarm = setterArg;
+        return this;
+      }
+
+      private @Nullable Long classLoadingMicros;
+
+      public @NonNull Builder setClassLoadingMicros(@NonNull Long setterArg) {
+        this.classLoadingMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long clientsMicros;
+
+      public @NonNull Builder setClientsMicros(@NonNull Long setterArg) {
+        this.clientsMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long eligibilityMicros;
+
+      public @NonNull Builder setEligibilityMicros(@NonNull Long setterArg) {
+        this.eligibilityMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long jsonMicros;
+
+      public @NonNull Builder setJsonMicros(@NonNull Long setterArg) {
+        this.jsonMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long totalMicros;
+
+      public @NonNull Builder setTotalMicros(@NonNull Long setterArg) {
+        this.totalMicros = setterArg;
+        return this;
+      }
+
+      public @NonNull WarmUpResult build() {
+        WarmUpResult pigeonReturn = new WarmUpResult();
+        pigeonReturn.setAlreadyWarm(alreadyWarm);
+        pigeonReturn.setClassLoadingMicros(classLoadingMicros);
+        pigeonReturn.setClientsMicros(clientsMicros);
+        pigeonReturn.setEligibilityMicros(eligibilityMicros);
+        pigeonReturn.setJsonMicros(jsonMicros);
+        pigeonReturn.setTotalMicros(totalMicros);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(6);
+      toListResult.add(alreadyWarm);
+      toListResult.add(classLoadingMicros);
+      toListResult.add(clientsMicros);
+      toListResult.add(eligibilityMicros);
+      toListResult.add(jsonMicros);
+      toListResult.add(totalMicros);
+      return toListResult;
+    }
+
+    static @NonNull WarmUpResult fromList(@NonNull ArrayList<Object> list) {
+      WarmUpResult pigeonResult = new WarmUpResult();
+      Object alreadyWarm = list.get(0);
+      pigeonResult.setAlreadyWarm((Boolean) alreadyWarm);
+      Object classLoadingMicros = list.get(1);
+      pigeonResult.setClassLoadingMicros((classLoadingMicros == null) ? null : ((classLoadingMicros instanceof Integer) ? (Integer) classLoadingMicros : (Long) classLoadingMicros));
+      Object clientsMicros = list.get(2);
+      pigeonResult.setClientsMicros((clientsMicros == null) ? null : ((clientsMicros instanceof Integer) ? (Integer) clientsMicros : (Long) clientsMicros));
+      Object eligibilityMicros = list.get(3);
+      pigeonResult.setEligibilityMicros((eligibilityMicros == null) ? null : ((eligibilityMicros instanceof Integer) ? (Integer) eligibilityMicros : (Long) eligibilityMicros));
+      Object jsonMicros = list.get(4);
+      pigeonResult.setJsonMicros((jsonMicros == null) ? null : ((jsonMicros instanceof Integer) ? (Integer) jsonMicros : (Long) jsonMicros));
+      Object totalMicros = list.get(5);
+      pigeonResult.setTotalMicros((totalMicros == null) ? null : ((totalMicros instanceof Integer) ? (Integer) totalMicros : (Long) totalMicros));
+      return pigeonResult;
+    }
+  }
+
+  public interface Result<T> {
+    @SuppressWarnings("UnknownNullness")
+    void success(T result);
+
+    void error(@NonNull Throwable error);
+  }
+
+  private static class PasskeysApiCodec extends StandardMessageCodec {
+    public static final PasskeysApiCodec INSTANCE = new PasskeysApiCodec();
+
+    private PasskeysApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return AllowCredential.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 129:
+          return AssertionVerdict.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 130:
+          return AuthenticateResponse.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 131:
+          return AuthenticateStrategyStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 132:
+          return AuthenticatorSelection.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 133:
+          return BinaryAuthenticateResponse.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 134:
+          return BinaryRegisterResponse.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 135:
+          return CanAuthenticateCacheStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 136:
+          return CeremonyTimings.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 137:
+          return CredentialDescriptor.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 138:
+          return CredentialListRef.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 139:
+          return ExcludeCredential.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 140:
+          return KnownCredential.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 141:
+          return PasskeysConfig.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 142:
+          return PubKeyCredParam.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 143:
+          return RawCredentialResponse.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 144:
+          return RegisterResponse.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 145:
+          return RelyingParty.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 146:
+          return RelyingPartyProfile.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 147:
+          return User.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 148:
+          return WarmUpResult.fromList((ArrayList<Object>) readValue(buffer));
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+      if (value instanceof AllowCredential) {
+        stream.write(128);
+        writeValue(stream, ((AllowCredential) value).toList());
+      } else if (value instanceof AssertionVerdict) {
+        stream.write(129);
+        writeValue(stream, ((AssertionVerdict) value).toList());
+      } else if (value instanceof AuthenticateResponse) {
+        stream.write(130);
+        writeValue(stream, ((AuthenticateResponse) value).toList());
+      } else if (value instanceof AuthenticateStrategyStats) {
+        stream.write(131);
+        writeValue(stream, ((AuthenticateStrategyStats) value).toList());
+      } else if (value instanceof AuthenticatorSelection) {
+        stream.write(132);
+        writeValue(stream, ((AuthenticatorSelection) value).toList());
+      } else if (value instanceof BinaryAuthenticateResponse) {
+        stream.write(133);
+        writeValue(stream, ((BinaryAuthenticateResponse) value).toList());
+      } else if (value instanceof BinaryRegisterResponse) {
+        stream.write(134);
+        writeValue(stream, ((BinaryRegisterResponse) value).toList());
+      } else if (value instanceof CanAuthenticateCacheStats) {
+        stream.write(135);
+        writeValue(stream, ((CanAuthenticateCacheStats) value).toList());
+      } else if (value instanceof CeremonyTimings) {
+        stream.write(136);
+        writeValue(stream, ((CeremonyTimings) value).toList());
+      } else if (value instanceof CredentialDescriptor) {
+        stream.write(137);
+        writeValue(stream, ((CredentialDescriptor) value).toList());
+      } else if (value instanceof CredentialListRef) {
+        stream.write(138);
+        writeValue(stream, ((CredentialListRef) value).toList());
+      } else if (value instanceof ExcludeCredential) {
+        stream.write(139);
+        writeValue(stream, ((ExcludeCredential) value).toList());
+      } else if (value instanceof KnownCredential) {
+        stream.write(140);
+        writeValue(stream, ((KnownCredential) value).toList());
+      } else if (value instanceof PasskeysConfig) {
+        stream.write(141);
+        writeValue(stream, ((PasskeysConfig) value).toList());
+      } else if (value instanceof PubKeyCredParam) {
+        stream.write(142);
+        writeValue(stream, ((PubKeyCredParam) value).toList());
+      } else if (value instanceof RawCredentialResponse) {
+        stream.write(143);
+        writeValue(stream, ((RawCredentialResponse) value).toList());
+      } else if (value instanceof RegisterResponse) {
+        stream.write(144);
+        writeValue(stream, ((RegisterResponse) value).toList());
+      } else if (value instanceof RelyingParty) {
+        stream.write(145);
+        writeValue(stream, ((RelyingParty) value).toList());
+      } else if (value instanceof RelyingPartyProfile) {
+        stream.write(146);
+        writeValue(stream, ((RelyingPartyProfile) value).toList());
+      } else if (value instanceof User) {
+        stream.write(147);
+        writeValue(stream, ((User) value).toList());
+      } else if (value instanceof WarmUpResult) {
+        stream.write(148);
+        writeValue(stream, ((WarmUpResult) value).toList());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface PasskeysApi {
+
+    void canAuthenticate(@NonNull Result<Boolean> result);
+
+    void register(@NonNull String challenge, @NonNull RelyingParty relyingParty, @NonNull User user, @NonNull AuthenticatorSelection authenticatorSelection, @Nullable List<PubKeyCredParam> pubKeyCredParams, @Nullable Long timeout, @Nullable String attestation, @NonNull List<ExcludeCredential> excludeCredentials, @Nullable String correlationId, @NonNull Result<RegisterResponse> result);
+
+    void authenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<AllowCredential> allowCredentials, @Nullable String correlationId, @NonNull Result<AuthenticateResponse> result);
+
+    void registerBinary(@NonNull byte[] challenge, @NonNull RelyingParty relyingParty, @NonNull User user, @NonNull AuthenticatorSelection authenticatorSelection, @Nullable List<PubKeyCredParam> pubKeyCredParams, @Nullable Long timeout, @Nullable String attestation, @NonNull List<CredentialDescriptor> excludeCredentials, @Nullable String correlationId, @NonNull Result<BinaryRegisterResponse> result);
+
+    void authenticateBinary(@NonNull String relyingPartyId, @NonNull byte[] challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<CredentialDescriptor> allowCredentials, @Nullable String correlationId, @NonNull Result<BinaryAuthenticateResponse> result);
+
+    void registerRaw(@NonNull String challenge, @NonNull RelyingParty relyingParty, @NonNull User user, @NonNull AuthenticatorSelection authenticatorSelection, @Nullable List<PubKeyCredParam> pubKeyCredParams, @Nullable Long timeout, @Nullable String attestation, @NonNull List<ExcludeCredential> excludeCredentials, @Nullable String correlationId, @NonNull Result<RawCredentialResponse> result);
+
+    void authenticateRaw(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<AllowCredential> allowCredentials, @Nullable String correlationId, @NonNull Result<RawCredentialResponse> result);
+
+    void configureRelyingParty(@NonNull RelyingPartyProfile profile, @NonNull Result<Void> result);
+
+    void registerWithProfile(@NonNull String profileId, @NonNull String challenge, @NonNull User user, @NonNull List<ExcludeCredential> excludeCredentials, @Nullable String correlationId, @Nullable CredentialListRef credentialListRef, @NonNull Result<RegisterResponse> result);
+
+    void authenticateWithProfile(@NonNull String profileId, @NonNull String challenge, @Nullable List<AllowCredential> allowCredentials, @Nullable String correlationId, @Nullable CredentialListRef credentialListRef, @NonNull Result<AuthenticateResponse> result);
+
+    void cacheCredentialList(@NonNull String relyingPartyId, @NonNull String userId, @NonNull String version, @NonNull List<AllowCredential> credentials, @NonNull Result<Void> result);
+
+    void hasCredentials(@NonNull String relyingPartyId, @Nullable List<AllowCredential> allowCredentials, @NonNull Result<Boolean> result);
+
+    void getKnownCredentials(@NonNull String relyingPartyId, @Nullable String userHandle, @NonNull Result<List<KnownCredential>> result);
+
+    void forgetKnownCredential(@NonNull String relyingPartyId, @NonNull String credentialId, @NonNull Result<Void> result);
+
+    void prepareAuthenticate(@NonNull String relyingPartyId, @NonNull String challenge, @Nullable Long timeout, @Nullable String userVerification, @Nullable List<AllowCredential> allowCredentials, @NonNull Result<Void> result);
+
+    void cancelCurrentAuthenticatorOperation(@NonNull Result<Void> result);
+
+    void configure(@NonNull PasskeysConfig config, @NonNull Result<Void> result);
+
+    void getCanAuthenticateCacheStats(@NonNull Result<CanAuthenticateCacheStats> result);
+
+    void verifyAssertion(@NonNull AuthenticateResponse response, @NonNull String publicKey, @Nullable Long publicKeyAlgorithm, @NonNull String relyingPartyId, @NonNull String challenge, @NonNull Boolean requireUserVerification, @Nullable Long previousSignCount, @NonNull Result<AssertionVerdict> result);
+
+    void getDuplicateSettlementCount(@NonNull Result<Long> result);
+
+    void getAuthenticateStrategyStats(@NonNull String relyingPartyId, @NonNull Result<AuthenticateStrategyStats> result);
+
+    void warmUp(@NonNull Result<WarmUpResult> result);
+
+    /** The codec used by PasskeysApi. */
+    static @NonNull MessageCodec<Object> getCodec() {
+      return PasskeysApiCodec.INSTANCE;
+    }
+    /**Sets up an instance of `PasskeysApi` to handle messages through the `binaryMessenger`. */
+    static void setup(@NonNull BinaryMessenger binaryMessenger, @Nullable PasskeysApi api) {
+      BinaryMessenger.TaskQueue taskQueue = binaryMessenger.makeBackgroundTaskQueue();
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.canAuthenticate", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                Result<Boolean> resultCallback =
+                    new Result<Boolean>() {
+                      public void success(Boolean result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.canAuthenticate(resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.register", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String challengeArg = (String) args.get(0);
+                RelyingParty relyingPartyArg = (RelyingParty) args.get(1);
+                User userArg = (User) args.get(2);
+                AuthenticatorSelection authenticatorSelectionArg = (AuthenticatorSelection) args.get(3);
+                List<PubKeyCredParam> pubKeyCredParamsArg = (List<PubKeyCredParam>) args.get(4);
+                Number timeoutArg = (Number) args.get(5);
+                String attestationArg = (String) args.get(6);
+                List<ExcludeCredential> excludeCredentialsArg = (List<ExcludeCredential>) args.get(7);
+                String correlationIdArg = (String) args.get(8);
+                Result<RegisterResponse> resultCallback =
+                    new Result<RegisterResponse>() {
+                      public void success(RegisterResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.register(challengeArg, relyingPartyArg, userArg, authenticatorSelectionArg, pubKeyCredParamsArg, (timeoutArg == null) ? null : timeoutArg.longValue(), attestationArg, excludeCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticate", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String challengeArg = (String) args.get(1);
+                Number timeoutArg = (Number) args.get(2);
+                String userVerificationArg = (String) args.get(3);
+                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(4);
+                String correlationIdArg = (String) args.get(5);
+                Result<AuthenticateResponse> resultCallback =
+                    new Result<AuthenticateResponse>() {
+                      public void success(AuthenticateResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.authenticate(relyingPartyIdArg, challengeArg, (timeoutArg == null) ? null : timeoutArg.longValue(), userVerificationArg, allowCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.registerBinary", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                byte[] challengeArg = (byte[]) args.get(0);
+                RelyingParty relyingPartyArg = (RelyingParty) args.get(1);
+                User userArg = (User) args.get(2);
+                AuthenticatorSelection authenticatorSelectionArg = (AuthenticatorSelection) args.get(3);
+                List<PubKeyCredParam> pubKeyCredParamsArg = (List<PubKeyCredParam>) args.get(4);
+                Number timeoutArg = (Number) args.get(5);
+                String attestationArg = (String) args.get(6);
+                List<CredentialDescriptor> excludeCredentialsArg = (List<CredentialDescriptor>) args.get(7);
+                String correlationIdArg = (String) args.get(8);
+                Result<BinaryRegisterResponse> resultCallback =
+                    new Result<BinaryRegisterResponse>() {
+                      public void success(BinaryRegisterResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.registerBinary(challengeArg, relyingPartyArg, userArg, authenticatorSelectionArg, pubKeyCredParamsArg, (timeoutArg == null) ? null : timeoutArg.longValue(), attestationArg, excludeCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateBinary", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                byte[] challengeArg = (byte[]) args.get(1);
+                Number timeoutArg = (Number) args.get(2);
+                String userVerificationArg = (String) args.get(3);
+                List<CredentialDescriptor> allowCredentialsArg = (List<CredentialDescriptor>) args.get(4);
+                String correlationIdArg = (String) args.get(5);
+                Result<BinaryAuthenticateResponse> resultCallback =
+                    new Result<BinaryAuthenticateResponse>() {
+                      public void success(BinaryAuthenticateResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.authenticateBinary(relyingPartyIdArg, challengeArg, (timeoutArg == null) ? null : timeoutArg.longValue(), userVerificationArg, allowCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.registerRaw", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String challengeArg = (String) args.get(0);
+                RelyingParty relyingPartyArg = (RelyingParty) args.get(1);
+                User userArg = (User) args.get(2);
+                AuthenticatorSelection authenticatorSelectionArg = (AuthenticatorSelection) args.get(3);
+                List<PubKeyCredParam> pubKeyCredParamsArg = (List<PubKeyCredParam>) args.get(4);
+                Number timeoutArg = (Number) args.get(5);
+                String attestationArg = (String) args.get(6);
+                List<ExcludeCredential> excludeCredentialsArg = (List<ExcludeCredential>) args.get(7);
+                String correlationIdArg = (String) args.get(8);
+                Result<RawCredentialResponse> resultCallback =
+                    new Result<RawCredentialResponse>() {
+                      public void success(RawCredentialResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.registerRaw(challengeArg, relyingPartyArg, userArg, authenticatorSelectionArg, pubKeyCredParamsArg, (timeoutArg == null) ? null : timeoutArg.longValue(), attestationArg, excludeCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateRaw", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String challengeArg = (String) args.get(1);
+                Number timeoutArg = (Number) args.get(2);
+                String userVerificationArg = (String) args.get(3);
+                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(4);
+                String correlationIdArg = (String) args.get(5);
+                Result<RawCredentialResponse> resultCallback =
+                    new Result<RawCredentialResponse>() {
+                      public void success(RawCredentialResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.authenticateRaw(relyingPartyIdArg, challengeArg, (timeoutArg == null) ? null : timeoutArg.longValue(), userVerificationArg, allowCredentialsArg, correlationIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.configureRelyingParty", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                RelyingPartyProfile profileArg = (RelyingPartyProfile) args.get(0);
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.configureRelyingParty(profileArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.registerWithProfile", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String profileIdArg = (String) args.get(0);
+                String challengeArg = (String) args.get(1);
+                User userArg = (User) args.get(2);
+                List<ExcludeCredential> excludeCredentialsArg = (List<ExcludeCredential>) args.get(3);
+                String correlationIdArg = (String) args.get(4);
+                CredentialListRef credentialListRefArg = (CredentialListRef) args.get(5);
+                Result<RegisterResponse> resultCallback =
+                    new Result<RegisterResponse>() {
+                      public void success(RegisterResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.registerWithProfile(profileIdArg, challengeArg, userArg, excludeCredentialsArg, correlationIdArg, credentialListRefArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateWithProfile", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String profileIdArg = (String) args.get(0);
+                String challengeArg = (String) args.get(1);
+                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(2);
+                String correlationIdArg = (String) args.get(3);
+                CredentialListRef credentialListRefArg = (CredentialListRef) args.get(4);
+                Result<AuthenticateResponse> resultCallback =
+                    new Result<AuthenticateResponse>() {
+                      public void success(AuthenticateResponse result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.authenticateWithProfile(profileIdArg, challengeArg, allowCredentialsArg, correlationIdArg, credentialListRefArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.cacheCredentialList", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String userIdArg = (String) args.get(1);
+                String versionArg = (String) args.get(2);
+                List<AllowCredential> credentialsArg = (List<AllowCredential>) args.get(3);
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.cacheCredentialList(relyingPartyIdArg, userIdArg, versionArg, credentialsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.hasCredentials", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(1);
+                Result<Boolean> resultCallback =
+                    new Result<Boolean>() {
+                      public void success(Boolean result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.hasCredentials(relyingPartyIdArg, allowCredentialsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.getKnownCredentials", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String userHandleArg = (String) args.get(1);
+                Result<List<KnownCredential>> resultCallback =
+                    new Result<List<KnownCredential>>() {
+                      public void success(List<KnownCredential> result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.getKnownCredentials(relyingPartyIdArg, userHandleArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.forgetKnownCredential", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String credentialIdArg = (String) args.get(1);
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.forgetKnownCredential(relyingPartyIdArg, credentialIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.prepareAuthenticate", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                String challengeArg = (String) args.get(1);
+                Number timeoutArg = (Number) args.get(2);
+                String userVerificationArg = (String) args.get(3);
+                List<AllowCredential> allowCredentialsArg = (List<AllowCredential>) args.get(4);
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.prepareAuthenticate(relyingPartyIdArg, challengeArg, (timeoutArg == null) ? null : timeoutArg.longValue(), userVerificationArg, allowCredentialsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.cancelCurrentAuthenticatorOperation", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.cancelCurrentAuthenticatorOperation(resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.configure", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PasskeysConfig configArg = (PasskeysConfig) args.get(0);
+                Result<Void> resultCallback =
+                    new Result<Void>() {
+                      public void success(Void result) {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.configure(configArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.getCanAuthenticateCacheStats", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                Result<CanAuthenticateCacheStats> resultCallback =
+                    new Result<CanAuthenticateCacheStats>() {
+                      public void success(CanAuthenticateCacheStats result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.getCanAuthenticateCacheStats(resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.verifyAssertion", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                AuthenticateResponse responseArg = (AuthenticateResponse) args.get(0);
+                String publicKeyArg = (String) args.get(1);
+                Number publicKeyAlgorithmArg = (Number) args.get(2);
+                String relyingPartyIdArg = (String) args.get(3);
+                String challengeArg = (String) args.get(4);
+                Boolean requireUserVerificationArg = (Boolean) args.get(5);
+                Number previousSignCountArg = (Number) args.get(6);
+                Result<AssertionVerdict> resultCallback =
+                    new Result<AssertionVerdict>() {
+                      public void success(AssertionVerdict result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.verifyAssertion(responseArg, publicKeyArg, (publicKeyAlgorithmArg == null) ? null : publicKeyAlgorithmArg.longValue(), relyingPartyIdArg, challengeArg, requireUserVerificationArg, (previousSignCountArg == null) ? null : previousSignCountArg.longValue(), resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.getDuplicateSettlementCount", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                Result<Long> resultCallback =
+                    new Result<Long>() {
+                      public void success(Long result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.getDuplicateSettlementCount(resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.getAuthenticateStrategyStats", getCodec(), taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String relyingPartyIdArg = (String) args.get(0);
+                Result<AuthenticateStrategyStats> resultCallback =
+                    new Result<AuthenticateStrategyStats>() {
+                      public void success(AuthenticateStrategyStats result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.getAuthenticateStrategyStats(relyingPartyIdArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.passkeys_android.PasskeysApi.warmUp", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                Result<WarmUpResult> resultCallback =
+                    new Result<WarmUpResult>() {
+                      public void success(WarmUpResult result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.warmUp(resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
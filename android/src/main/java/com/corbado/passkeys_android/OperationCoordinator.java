@@ -0,0 +1,268 @@
+package com.corbado.passkeys_android;
+
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the interactive ceremonies (register, authenticate) that are in flight.
+ * <p>
+ * At most one ceremony is active at a time. What happens to a ceremony submitted while another
+ * one is active is decided by the {@link Policy}. The coordinator does not take locks: the
+ * active operation is swapped with compare-and-set and every operation moves through its own
+ * atomic state, so cancel requests and callbacks from binder threads can race freely.
+ * <p>
+ * Credential Manager does not call back once its cancellation signal fired, so a cancelled
+ * operation is settled with a cancelled error by whoever cancelled it. A callback arriving
+ * anyway is dropped by {@link SettleOnce}.
+ * <p>
+ * Background probes (canAuthenticate, prepareAuthenticate) do not go through the coordinator and
+ * therefore never wait for or delay an interactive ceremony.
+ * <p>
+ * Queued ceremonies are started on the executor passed in, not on the thread that settled the
+ * previous ceremony, which can be the main thread when a reply was moved there.
+ */
+public class OperationCoordinator {
+    private static final String TAG = "OperationCoordinator";
+
+    public enum Policy {
+        /** Fail the new ceremony while another one is running. */
+        REJECT,
+        /** Start the new ceremony once the running ones have finished. */
+        QUEUE,
+        /** Cancel the running ceremony and start the new one right away. */
+        PREEMPT;
+
+        @Nullable
+        public static Policy fromName(@Nullable String name) {
+            if (name == null) {
+                return null;
+            }
+            switch (name) {
+                case "reject":
+                    return REJECT;
+                case "queue":
+                    return QUEUE;
+                case "preempt":
+                    return PREEMPT;
+                default:
+                    throw new IllegalArgumentException("Unknown ceremony policy: " + name);
+            }
+        }
+    }
+
+    public interface Ceremony<T> {
+        /**
+         * Starts the ceremony. The ceremony must settle result exactly once and should pass
+         * operation's cancellation signal to Credential Manager.
+         */
+        void start(@NonNull Operation operation, @NonNull Messages.Result<T> result);
+    }
+
+    public static final class Operation {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+        private static final int FINISHED = 3;
+
+        private final long id;
+        private final CancellationSignal cancellationSignal = new CancellationSignal();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final Runnable start;
+        private final Consumer<Throwable> fail;
+
+        private Operation(long id, Runnable start, Consumer<Throwable> fail) {
+            this.id = id;
+            this.start = start;
+            this.fail = fail;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        @NonNull
+        public CancellationSignal getCancellationSignal() {
+            return cancellationSignal;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean cancel() {
+            int current = state.get();
+            while (current == PENDING || current == RUNNING) {
+                if (state.compareAndSet(current, CANCELLED)) {
+                    cancellationSignal.cancel();
+                    fail.accept(new Messages.FlutterError("cancelled", current == RUNNING ? "The operation was cancelled" : "The operation was cancelled before it started", ""));
+                    return true;
+                }
+                current = state.get();
+            }
+            return false;
+        }
+    }
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicReference<Operation> active = new AtomicReference<>();
+    private final ConcurrentLinkedDeque<Operation> queued = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger startRequests = new AtomicInteger();
+    private final Executor queuedStarts;
+    private volatile Policy policy = Policy.PREEMPT;
+
+    public OperationCoordinator(@NonNull Executor queuedStarts) {
+        this.queuedStarts = queuedStarts;
+    }
+
+    public void setPolicy(@NonNull Policy policy) {
+        this.policy = policy;
+    }
+
+    @NonNull
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public <T> void submit(@NonNull Messages.Result<T> result, @NonNull Ceremony<T> ceremony) {
+        final long id = nextId.incrementAndGet();
+        final Operation[] holder = new Operation[1];
+        // a ceremony that settles twice must neither reply twice nor finish the next operation
+        final Messages.Result<T> tracked = new SettleOnce<>(new Messages.Result<T>() {
+            @Override
+            public void success(T value) {
+                finish(holder[0]);
+                result.success(value);
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                finish(holder[0]);
+                result.error(error);
+            }
+        }, "Operation " + id);
+        Operation operation = new Operation(
+                id,
+                () -> ceremony.start(holder[0], tracked),
+                tracked::error
+        );
+        holder[0] = operation;
+
+        Policy currentPolicy = policy;
+        if (currentPolicy == Policy.QUEUE) {
+            queued.offerLast(operation);
+            startNext();
+            return;
+        }
+
+        while (true) {
+            Operation current = active.get();
+            if (current == null) {
+                if (active.compareAndSet(null, operation)) {
+                    run(operation);
+                    return;
+                }
+            } else if (currentPolicy == Policy.REJECT) {
+                Log.w(TAG, "Rejecting operation " + id + ", operation " + current.id + " is still running");
+                result.error(new Messages.FlutterError("operation-in-progress", "Another authenticator operation is in progress", ""));
+                return;
+            } else if (active.compareAndSet(current, operation)) {
+                Log.w(TAG, "Operation " + id + " preempts operation " + current.id);
+                current.cancel();
+                run(operation);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cancels the active ceremony and settles it with a cancelled error. Queued ceremonies are
+     * left untouched, the next one starts.
+     *
+     * @return whether a running ceremony was cancelled
+     */
+    public boolean cancelActive() {
+        Operation current = active.get();
+        return current != null && current.cancel();
+    }
+
+    /**
+     * Cancels the active ceremony and drops the queued ones, e.g. when the engine detaches.
+     */
+    public void cancelAll() {
+        Operation operation;
+        while ((operation = queued.pollFirst()) != null) {
+            operation.cancel();
+        }
+        cancelActive();
+    }
+
+    private void run(Operation operation) {
+        if (!operation.state.compareAndSet(Operation.PENDING, Operation.RUNNING)) {
+            // cancelled between becoming active and being started, the canceller settled it
+            return;
+        }
+        try {
+            operation.start.run();
+        } catch (Throwable e) {
+            // e.g. no activity attached; without this the operation would stay active forever
+            Log.e(TAG, "Operation " + operation.id + " failed to start", e);
+            operation.fail.accept(e);
+        }
+    }
+
+    private void start(Operation operation) {
+        try {
+            queuedStarts.execute(() -> run(operation));
+        } catch (RejectedExecutionException e) {
+            Log.e(TAG, "Operation " + operation.id + " could not be started", e);
+            if (operation.state.compareAndSet(Operation.PENDING, Operation.RUNNING)) {
+                operation.fail.accept(e);
+            }
+        }
+    }
+
+    private void finish(Operation operation) {
+        // a cancelled operation stays cancelled
+        int current = operation.state.get();
+        while ((current == Operation.PENDING || current == Operation.RUNNING) && !operation.state.compareAndSet(current, Operation.FINISHED)) {
+            current = operation.state.get();
+        }
+
+        // A preempted operation is no longer active, clearing only succeeds for the active one.
+        if (active.compareAndSet(operation, null)) {
+            startNext();
+        }
+    }
+
+    private void startNext() {
+        // A ceremony that settles inside start() finishes and calls back in here. Only the first
+        // caller starts operations, later (and nested) calls are counted and make it look again,
+        // so a queue of such ceremonies is drained in a loop instead of one stack frame each.
+        if (startRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Operation next;
+            while (active.get() == null && (next = queued.pollFirst()) != null) {
+                if (active.compareAndSet(null, next)) {
+                    start(next);
+                    break;
+                }
+                // Lost the race against another submit; put it back and look again, the winner
+                // may already have finished without seeing this operation.
+                queued.offerFirst(next);
+            }
+        } while (startRequests.decrementAndGet() != 0);
+    }
+}
@@ -1,15 +1,65 @@
 package com.corbado.passkeys_android;
 import android.app.KeyguardManager;
+import android.app.admin.DevicePolicyManager;
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.PatternMatcher;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GoogleApiAvailability;
 
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class PasskeysEligibility {
 
     private static final long MIN_PLAY_VERSION = 230815045L;
 
+    // Cached results of the individual probes. Both are process-wide and only reset by the
+    // broadcasts registered in ensureInvalidationReceiver (or by an explicit invalidate()).
+    private static volatile Boolean cachedPlayServicesEligible;
+    private static volatile Boolean cachedDeviceSecure;
+
+    // Bumped on every invalidation so that a probe which raced with an invalidation does not
+    // write its (possibly stale) result back into the cache.
+    private static final AtomicLong generation = new AtomicLong();
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
+    private static final CopyOnWriteArrayList<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private static BroadcastReceiver invalidationReceiver;
+
+    /**
+     * The device queries behind the cache.
+     */
+    interface Probes {
+        boolean isPlayServicesEligible(Context context);
+
+        boolean isDeviceSecure(Context context);
+    }
+
+    private static final Probes DEVICE_PROBES = new Probes() {
+        @Override
+        public boolean isPlayServicesEligible(Context context) {
+            return probePlayServices(context);
+        }
+
+        @Override
+        public boolean isDeviceSecure(Context context) {
+            return probeDeviceSecure(context);
+        }
+    };
+
+    private static volatile Probes probes = DEVICE_PROBES;
+
     /**
      * Check if passkeys are supported on the device. In order, we verify that:
      * 1. The API Version >= P
@@ -17,11 +67,100 @@ public class PasskeysEligibility {
      * 3. Google Play Services >= 230815045, which is a version matching one of the first stable passkey releases.
      * This check is added to the library here: https://developer.android.com/jetpack/androidx/releases/credentials#1.3.0-alpha01
      * 4. The device is secured with some lock.
+     * <p>
+     * The probes are cached for the lifetime of the process. The Play Services part is reset when
+     * the Play Services package is replaced, changed or removed, the lock screen part when the
+     * keyguard or device policy state changes.
      */
     public static boolean isPasskeySupported(Context context) {
+        Boolean playServicesEligible = cachedPlayServicesEligible;
+        Boolean deviceSecure = cachedDeviceSecure;
+        if (playServicesEligible != null && deviceSecure != null) {
+            cacheHits.incrementAndGet();
+            return playServicesEligible && deviceSecure;
+        }
+
+        cacheMisses.incrementAndGet();
+        ensureInvalidationReceiver(context);
+        long startGeneration = generation.get();
 
         // Check if device is running on Android P or higher
 
+        if (playServicesEligible == null) {
+            playServicesEligible = probes.isPlayServicesEligible(context);
+        }
+
+        if (deviceSecure == null) {
+            deviceSecure = probes.isDeviceSecure(context);
+        }
+
+        synchronized (PasskeysEligibility.class) {
+            if (generation.get() == startGeneration) {
+                cachedPlayServicesEligible = playServicesEligible;
+                cachedDeviceSecure = deviceSecure;
+            }
+        }
+
+        // All checks passed, device should support passkeys
+        return playServicesEligible && deviceSecure;
+    }
+
+    /**
+     * Drops all cached probe results. The next call to {@link #isPasskeySupported(Context)}
+     * queries the device again.
+     */
+    public static void invalidate() {
+        synchronized (PasskeysEligibility.class) {
+            generation.incrementAndGet();
+            cachedPlayServicesEligible = null;
+            cachedDeviceSecure = null;
+        }
+    }
+
+    /**
+     * Drops only the cached lock screen state.
+     */
+    public static void invalidateDeviceSecure() {
+        synchronized (PasskeysEligibility.class) {
+            generation.incrementAndGet();
+            cachedDeviceSecure = null;
+        }
+    }
+
+    /**
+     * Registers a listener that is run whenever one of the invalidation broadcasts arrives.
+     * Other caches whose answers depend on Play Services or the lock screen hook in here.
+     */
+    public static void addInvalidationListener(Context context, Runnable listener) {
+        ensureInvalidationReceiver(context);
+        invalidationListeners.add(listener);
+    }
+
+    public static void removeInvalidationListener(Runnable listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    /**
+     * Replaces the probes (null restores the device ones) and forgets the cache, the receiver and
+     * the listeners, so that every test starts from a fresh process state.
+     */
+    @VisibleForTesting
+    static synchronized void resetForTesting(@Nullable Probes testProbes) {
+        probes = testProbes != null ? testProbes : DEVICE_PROBES;
+        invalidationReceiver = null;
+        invalidationListeners.clear();
+        invalidate();
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private static boolean probePlayServices(Context context) {
         // Check if Google Play Services disabled
         if (isGooglePlayServicesDisabled(context)) {
             return false;
@@ -29,20 +168,65 @@ public class PasskeysEligibility {
 
         // Check if Google Play Services version meets minimum requirement
         long yourPlayVersion = determineDeviceGMSVersionCode(context);
-        if (yourPlayVersion < MIN_PLAY_VERSION) {
-            return false;
-        }
+        return yourPlayVersion >= MIN_PLAY_VERSION;
+    }
 
+    private static boolean probeDeviceSecure(Context context) {
         // Check if device is secured with a lock screen
         KeyguardManager keyguardManager = (KeyguardManager) context.getSystemService(Context.KEYGUARD_SERVICE);
-        boolean isDeviceSecured = keyguardManager.isDeviceSecure();
+        return keyguardManager.isDeviceSecure();
+    }
 
-        if (!isDeviceSecured) {
-            return false;
+    /**
+     * Registers (once per process) the receiver that resets the cache. It is bound to the
+     * application context so that it outlives activity recreation.
+     */
+    private static synchronized void ensureInvalidationReceiver(Context context) {
+        if (invalidationReceiver != null) {
+            return;
         }
 
-        // All checks passed, device should support passkeys
-        return true;
+        Context appContext = context.getApplicationContext();
+        invalidationReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                String action = intent.getAction();
+                if (action == null) {
+                    return;
+                }
+
+                switch (action) {
+                    case Intent.ACTION_PACKAGE_ADDED:
+                    case Intent.ACTION_PACKAGE_REPLACED:
+                    case Intent.ACTION_PACKAGE_CHANGED:
+                    case Intent.ACTION_PACKAGE_REMOVED:
+                        invalidate();
+                        break;
+                    default:
+                        invalidateDeviceSecure();
+                }
+
+                for (Runnable listener : invalidationListeners) {
+                    listener.run();
+                }
+            }
+        };
+
+        IntentFilter packageFilter = new IntentFilter();
+        packageFilter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        packageFilter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        packageFilter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        packageFilter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        packageFilter.addDataScheme("package");
+        packageFilter.addDataSchemeSpecificPart(GoogleApiAvailability.GOOGLE_PLAY_SERVICES_PACKAGE, PatternMatcher.PATTERN_LITERAL);
+
+        IntentFilter keyguardFilter = new IntentFilter();
+        keyguardFilter.addAction(DevicePolicyManager.ACTION_DEVICE_POLICY_MANAGER_STATE_CHANGED);
+        keyguardFilter.addAction(Intent.ACTION_USER_PRESENT);
+        keyguardFilter.addAction(Intent.ACTION_SCREEN_OFF);
+
+        appContext.registerReceiver(invalidationReceiver, packageFilter);
+        appContext.registerReceiver(invalidationReceiver, keyguardFilter);
     }
 
     /**
@@ -0,0 +1,138 @@
+package com.corbado.passkeys_android;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads the plugin uses around Credential Manager.
+ * <p>
+ * Credential Manager callbacks (response parsing, mapping into Messages) run on a small bounded
+ * background pool instead of the binder thread Play services calls back on. Replies to Dart and
+ * calls that show UI are moved to the main thread. Host apps can replace the callback pool with
+ * their own executor through {@link #setCallbackExecutor(Executor)} before the engine starts.
+ */
+public class PasskeysExecutors {
+    private static final int MAX_THREADS = 2;
+    private static final int MAX_QUEUED = 16;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile Executor injectedCallbackExecutor;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Executor mainThread = this::runOnMainThread;
+    private final ExecutorService ownedCallbackExecutor;
+    private final Executor callbackExecutor;
+
+    public PasskeysExecutors() {
+        Executor injected = injectedCallbackExecutor;
+        if (injected != null) {
+            ownedCallbackExecutor = null;
+            callbackExecutor = injected;
+        } else {
+            ThreadPoolExecutor pool = newCallbackPool();
+            ownedCallbackExecutor = pool;
+            callbackExecutor = pool;
+        }
+    }
+
+    /**
+     * The plugin's own callback pool: at most two background-priority threads and a bounded queue.
+     */
+    @NonNull
+    static ThreadPoolExecutor newCallbackPool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                MAX_THREADS,
+                MAX_THREADS,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_QUEUED),
+                new CallbackThreadFactory(),
+                // never drop a callback; if the pool is saturated the caller parses itself
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Replaces the executor Credential Manager callbacks run on for engines attached afterwards.
+     * Pass null to go back to the plugin's own pool. The executor is not shut down by the plugin.
+     */
+    public static void setCallbackExecutor(@Nullable Executor executor) {
+        injectedCallbackExecutor = executor;
+    }
+
+    @NonNull
+    public Executor callback() {
+        return callbackExecutor;
+    }
+
+    @NonNull
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Runs the task directly when already on the main thread, otherwise posts it.
+     */
+    public void runOnMainThread(@NonNull Runnable task) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            task.run();
+        } else {
+            mainHandler.post(task);
+        }
+    }
+
+    /**
+     * Wraps a result so that it is settled on the main thread, where the engine expects replies.
+     */
+    @NonNull
+    public <T> Messages.Result<T> replyOnMainThread(@NonNull Messages.Result<T> result) {
+        return new Messages.Result<T>() {
+            @Override
+            public void success(T value) {
+                runOnMainThread(() -> result.success(value));
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                runOnMainThread(() -> result.error(error));
+            }
+        };
+    }
+
+    /**
+     * Stops the plugin's own pool. An injected executor is left running.
+     */
+    public void shutdown() {
+        if (ownedCallbackExecutor != null) {
+            ownedCallbackExecutor.shutdown();
+        }
+    }
+
+    private static final class CallbackThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "passkeys-callback-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.corbado.passkeys_android;
+
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.credentials.PrepareGetCredentialResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the results of prepareAuthenticate until the matching authenticate call arrives.
+ * <p>
+ * Entries are keyed by rpId and challenge and only handed out if the options JSON is identical
+ * to the one they were prepared with. Expired, replaced and overflowing entries are cancelled so
+ * that Play services can release what it holds for them.
+ */
+public class PreparedAuthentications {
+    public static final long DEFAULT_TTL_MILLIS = 60_000L;
+    public static final long MAX_TTL_MILLIS = 300_000L;
+    private static final int MAX_ENTRIES = 4;
+
+    public static final class Entry {
+        public final String options;
+        public final PrepareGetCredentialResponse response;
+        /** How long prepareGetCredential took. */
+        public final long prepareMicros;
+        private final CancellationSignal cancellationSignal;
+        private final long expiresAtMillis;
+
+        Entry(String options, PrepareGetCredentialResponse response, long prepareMicros, CancellationSignal cancellationSignal, long expiresAtMillis) {
+            this.options = options;
+            this.response = response;
+            this.prepareMicros = prepareMicros;
+            this.cancellationSignal = cancellationSignal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        void cancel() {
+            cancellationSignal.cancel();
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public synchronized void put(@NonNull String rpId, @NonNull String challenge, @NonNull String options, @NonNull PrepareGetCredentialResponse response, long prepareMicros, @NonNull CancellationSignal cancellationSignal, @Nullable Long ttlMillis) {
+        evictExpired();
+
+        long ttl = ttlMillis == null ? DEFAULT_TTL_MILLIS : Math.min(ttlMillis, MAX_TTL_MILLIS);
+        Entry previous = entries.put(key(rpId, challenge), new Entry(options, response, prepareMicros, cancellationSignal, SystemClock.elapsedRealtime() + ttl));
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next().getValue().cancel();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes and returns the entry prepared for exactly these options, or null if there is none.
+     */
+    @Nullable
+    public synchronized Entry take(@NonNull String rpId, @NonNull String challenge, @NonNull String options) {
+        evictExpired();
+
+        Entry entry = entries.remove(key(rpId, challenge));
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.options.equals(options)) {
+            entry.cancel();
+            return null;
+        }
+
+        return entry;
+    }
+
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.cancel();
+        }
+        entries.clear();
+    }
+
+    private void evictExpired() {
+        long now = SystemClock.elapsedRealtime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtMillis <= now) {
+                entry.cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String key(String rpId, String challenge) {
+        return rpId + '\n' + challenge;
+    }
+}
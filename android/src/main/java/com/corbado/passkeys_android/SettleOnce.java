@@ -0,0 +1,59 @@
+package com.corbado.passkeys_android;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A result that forwards only the first success or error.
+ * <p>
+ * The engine rejects a second reply to the same message, and a late one would be attributed to
+ * whatever the caller did next. Later attempts are dropped, logged and counted so that a code
+ * path settling twice shows up in {@link #getDuplicateCount()} instead of crashing the host.
+ */
+public class SettleOnce<T> implements Messages.Result<T> {
+    private static final String TAG = "SettleOnce";
+    private static final AtomicLong duplicates = new AtomicLong();
+
+    private final Messages.Result<T> result;
+    private final String name;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    public SettleOnce(@NonNull Messages.Result<T> result, @NonNull String name) {
+        this.result = result;
+        this.name = name;
+    }
+
+    /**
+     * Number of settlements dropped since the process started, across all engines.
+     */
+    public static long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    @Override
+    public void success(T value) {
+        if (settled.compareAndSet(false, true)) {
+            result.success(value);
+        } else {
+            duplicate("success");
+        }
+    }
+
+    @Override
+    public void error(@NonNull Throwable error) {
+        if (settled.compareAndSet(false, true)) {
+            result.error(error);
+        } else {
+            duplicate("error " + error.getMessage());
+        }
+    }
+
+    private void duplicate(String attempt) {
+        duplicates.incrementAndGet();
+        Log.w(TAG, name + " was already settled, dropping " + attempt);
+    }
+}
@@ -0,0 +1,155 @@
+package com.corbado.passkeys_android;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.corbado.passkeys_android.models.login.GetCredentialOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves the one-time costs of the first ceremony (class loading, client creation, eligibility
+ * probes, the first JSON build) off the critical path.
+ * <p>
+ * All steps run once on the callback pool. Everything they produce stays in the shared
+ * caches (CredentialClients, PasskeysEligibility, AuthenticatorAvailability), so the next
+ * ceremony picks it up. Later calls return the recorded timings immediately.
+ */
+public class WarmUp {
+    private static final String TAG = "WarmUp";
+
+    private static final String[] CREDENTIAL_CLASSES = {
+            "androidx.credentials.CredentialManager",
+            "androidx.credentials.CreatePublicKeyCredentialRequest",
+            "androidx.credentials.CreatePublicKeyCredentialResponse",
+            "androidx.credentials.GetCredentialRequest",
+            "androidx.credentials.GetCredentialResponse",
+            "androidx.credentials.GetPublicKeyCredentialOption",
+            "androidx.credentials.PublicKeyCredential",
+            "androidx.credentials.playservices.CredentialProviderPlayServicesImpl",
+            "android.util.JsonReader",
+            "android.util.JsonToken",
+            "com.corbado.passkeys_android.models.JsonStringWriter",
+            "com.corbado.passkeys_android.models.CredentialResponseParser",
+    };
+
+    private final CredentialClients clients;
+    private final AuthenticatorAvailability authenticatorAvailability;
+    private final PasskeysExecutors executors;
+
+    private Messages.WarmUpResult completed;
+    // Non-null while a warm-up is running; later callers wait for the running one.
+    private List<Messages.Result<Messages.WarmUpResult>> waiting;
+
+    public WarmUp(@NonNull CredentialClients clients, @NonNull AuthenticatorAvailability authenticatorAvailability, @NonNull PasskeysExecutors executors) {
+        this.clients = clients;
+        this.authenticatorAvailability = authenticatorAvailability;
+        this.executors = executors;
+    }
+
+    public synchronized void run(@NonNull Messages.Result<Messages.WarmUpResult> result) {
+        if (completed != null) {
+            result.success(copyOf(completed, true));
+            return;
+        }
+
+        if (waiting != null) {
+            waiting.add(result);
+            return;
+        }
+
+        waiting = new ArrayList<>();
+        waiting.add(result);
+        executors.callback().execute(this::runSteps);
+    }
+
+    private void runSteps() {
+        Messages.WarmUpResult warmUpResult;
+        try {
+            long start = SystemClock.elapsedRealtimeNanos();
+
+            for (String className : CREDENTIAL_CLASSES) {
+                try {
+                    Class.forName(className, true, WarmUp.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    Log.w(TAG, "Class not available for warm-up: " + className);
+                }
+            }
+            long classesDone = SystemClock.elapsedRealtimeNanos();
+
+            clients.getCredentialManager();
+            clients.getFido2ApiClient();
+            long clientsDone = SystemClock.elapsedRealtimeNanos();
+
+            PasskeysEligibility.isPasskeySupported(clients.getApplicationContext());
+            long eligibilityDone = SystemClock.elapsedRealtimeNanos();
+
+            Messages.AllowCredential allowCredential = new Messages.AllowCredential.Builder().setType("public-key").setId("d2FybS11cA").setTransports(Collections.singletonList("internal")).build();
+            new GetCredentialOptions("d2FybS11cA", 60000L, "warm-up.invalid", Collections.singletonList(allowCredential), "preferred").toJSON();
+            long jsonDone = SystemClock.elapsedRealtimeNanos();
+
+            warmUpResult = new Messages.WarmUpResult.Builder()
+                    .setAlreadyWarm(false)
+                    .setClassLoadingMicros((classesDone - start) / 1000)
+                    .setClientsMicros((clientsDone - classesDone) / 1000)
+                    .setEligibilityMicros((eligibilityDone - clientsDone) / 1000)
+                    .setJsonMicros((jsonDone - eligibilityDone) / 1000)
+                    .setTotalMicros((jsonDone - start) / 1000)
+                    .build();
+        } catch (Exception e) {
+            Log.e(TAG, "Warm-up failed", e);
+            settle(null, e);
+            return;
+        }
+
+        // Fills the canAuthenticate cache; the answer itself is not needed here.
+        executors.runOnMainThread(() -> authenticatorAvailability.isAvailable(new Messages.Result<Boolean>() {
+            @Override
+            public void success(Boolean result) {
+            }
+
+            @Override
+            public void error(@NonNull Throwable error) {
+                Log.w(TAG, "canAuthenticate during warm-up failed", error);
+            }
+        }));
+
+        settle(warmUpResult, null);
+    }
+
+    private void settle(Messages.WarmUpResult warmUpResult, Exception error) {
+        List<Messages.Result<Messages.WarmUpResult>> callers;
+        synchronized (this) {
+            callers = waiting;
+            waiting = null;
+            if (warmUpResult != null) {
+                completed = warmUpResult;
+            }
+        }
+
+        executors.runOnMainThread(() -> {
+            for (Messages.Result<Messages.WarmUpResult> caller : callers) {
+                if (error != null) {
+                    caller.error(error);
+                } else {
+                    caller.success(warmUpResult);
+                }
+            }
+        });
+    }
+
+    private static Messages.WarmUpResult copyOf(Messages.WarmUpResult result, boolean alreadyWarm) {
+        return new Messages.WarmUpResult.Builder()
+                .setAlreadyWarm(alreadyWarm)
+                .setClassLoadingMicros(result.getClassLoadingMicros())
+                .setClientsMicros(result.getClientsMicros())
+                .setEligibilityMicros(result.getEligibilityMicros())
+                .setJsonMicros(result.getJsonMicros())
+                .setTotalMicros(result.getTotalMicros())
+                .build();
+    }
+}
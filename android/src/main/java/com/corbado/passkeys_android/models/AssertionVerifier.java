@@ -0,0 +1,245 @@
+package com.corbado.passkeys_android.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.CeremonyTimer;
+import com.corbado.passkeys_android.Messages;
+
+import org.json.JSONException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+
+/**
+ * Verifies an authenticate response against a stored credential public key, without a server.
+ * <p>
+ * Meant for unlocking an app that is already signed in: the assertion must be of type
+ * webauthn.get, carry the expected challenge, be scoped to the rpId, have the UP flag (and UV if
+ * required) set, and be signed over authenticatorData || SHA-256(clientDataJSON) with the stored
+ * key. The key can be a COSE_Key or SubjectPublicKeyInfo DER, both base64url. ES256/384/512,
+ * RS256/384/512 and EdDSA (Ed25519, API 33+) are supported. The first failed check is reported.
+ * <p>
+ * A COSE_Key names its algorithm. A SubjectPublicKeyInfo only names the key type, which settles
+ * the algorithm for EC and Ed25519 keys but not for RSA, so an RSA SubjectPublicKeyInfo needs
+ * the COSE algorithm passed alongside (RegisterResponse.publicKeyAlgorithm) and fails with
+ * unsupported-algorithm without it.
+ */
+public final class AssertionVerifier {
+    public static final String FAILURE_MALFORMED = "malformed";
+    public static final String FAILURE_UNSUPPORTED_ALGORITHM = "unsupported-algorithm";
+    public static final String FAILURE_TYPE_MISMATCH = "type-mismatch";
+    public static final String FAILURE_CHALLENGE_MISMATCH = "challenge-mismatch";
+    public static final String FAILURE_RP_ID_HASH_MISMATCH = "rp-id-hash-mismatch";
+    public static final String FAILURE_USER_NOT_PRESENT = "user-not-present";
+    public static final String FAILURE_USER_NOT_VERIFIED = "user-not-verified";
+    public static final String FAILURE_SIGN_COUNT_REGRESSED = "sign-count-regressed";
+    public static final String FAILURE_SIGNATURE_INVALID = "signature-invalid";
+
+    private static final String PHASE_DECODE = "decode";
+    private static final String PHASE_CLIENT_DATA = "clientData";
+    private static final String PHASE_AUTHENTICATOR_DATA = "authenticatorData";
+    private static final String PHASE_SIGNATURE = "signature";
+
+    private AssertionVerifier() {
+    }
+
+    @NonNull
+    public static Messages.AssertionVerdict verify(
+            @NonNull Messages.AuthenticateResponse response,
+            @NonNull String publicKey,
+            @Nullable Long publicKeyAlgorithm,
+            @NonNull String relyingPartyId,
+            @NonNull String challenge,
+            boolean requireUserVerification,
+            @Nullable Long previousSignCount
+    ) {
+        CeremonyTimer timer = new CeremonyTimer(null);
+        Messages.AssertionVerdict.Builder verdict = new Messages.AssertionVerdict.Builder().setVerified(false);
+
+        byte[] clientDataJSON;
+        byte[] authenticatorData;
+        byte[] signature;
+        byte[] expectedChallenge;
+        byte[] key;
+        try {
+            clientDataJSON = Base64Url.decode(response.getClientDataJSON());
+            authenticatorData = Base64Url.decode(response.getAuthenticatorData());
+            signature = Base64Url.decode(response.getSignature());
+            expectedChallenge = Base64Url.decode(challenge);
+            key = Base64Url.decode(publicKey);
+        } catch (IllegalArgumentException e) {
+            return fail(verdict, timer, FAILURE_MALFORMED, "A value is not valid base64url");
+        }
+        timer.mark(PHASE_DECODE);
+
+        ClientData clientData;
+        try {
+            clientData = ClientData.parse(new String(clientDataJSON, StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            return fail(verdict, timer, FAILURE_MALFORMED, e.getMessage());
+        }
+        if (!ClientData.TYPE_GET.equals(clientData.type)) {
+            return fail(verdict, timer, FAILURE_TYPE_MISMATCH, "clientDataJSON type is " + clientData.type);
+        }
+        if (!challengeMatches(clientData.challenge, expectedChallenge)) {
+            return fail(verdict, timer, FAILURE_CHALLENGE_MISMATCH, "clientDataJSON carries a different challenge");
+        }
+        timer.mark(PHASE_CLIENT_DATA);
+
+        if (authenticatorData.length < 37) {
+            return fail(verdict, timer, FAILURE_MALFORMED, "authenticatorData is shorter than 37 bytes");
+        }
+        MessageDigest sha256 = sha256();
+        byte[] rpIdHash = sha256.digest(relyingPartyId.getBytes(StandardCharsets.UTF_8));
+        if (!regionEquals(authenticatorData, rpIdHash)) {
+            return fail(verdict, timer, FAILURE_RP_ID_HASH_MISMATCH, "authenticatorData is not scoped to " + relyingPartyId);
+        }
+        int flags = authenticatorData[32] & 0xFF;
+        long signCount = ((authenticatorData[33] & 0xFFL) << 24) | ((authenticatorData[34] & 0xFFL) << 16) | ((authenticatorData[35] & 0xFFL) << 8) | (authenticatorData[36] & 0xFFL);
+        verdict.setSignCount(signCount)
+                .setUserVerified((flags & AttestationDecoder.FLAG_USER_VERIFIED) != 0)
+                .setBackupState((flags & AttestationDecoder.FLAG_BACKUP_STATE) != 0);
+        if ((flags & AttestationDecoder.FLAG_USER_PRESENT) == 0) {
+            return fail(verdict, timer, FAILURE_USER_NOT_PRESENT, "The UP flag is not set");
+        }
+        if (requireUserVerification && (flags & AttestationDecoder.FLAG_USER_VERIFIED) == 0) {
+            return fail(verdict, timer, FAILURE_USER_NOT_VERIFIED, "The UV flag is not set");
+        }
+        // synced passkeys report 0; only a counter that moved before and now did not is suspicious
+        if (previousSignCount != null && (signCount != 0 || previousSignCount != 0) && signCount <= previousSignCount) {
+            return fail(verdict, timer, FAILURE_SIGN_COUNT_REGRESSED, "signCount " + signCount + " is not above " + previousSignCount);
+        }
+        timer.mark(PHASE_AUTHENTICATOR_DATA);
+
+        try {
+            byte[] subjectPublicKeyInfo;
+            Long algorithm;
+            if (key.length > 0 && (key[0] & 0xE0) == 0xA0) {
+                // a CBOR map
+                AttestationDecoder.CredentialPublicKey coseKey = AttestationDecoder.decodeCoseKey(key);
+                subjectPublicKeyInfo = coseKey.subjectPublicKeyInfo;
+                algorithm = coseKey.algorithm;
+                if (publicKeyAlgorithm != null && !publicKeyAlgorithm.equals(algorithm)) {
+                    return fail(verdict, timer, FAILURE_MALFORMED, "publicKeyAlgorithm " + publicKeyAlgorithm + " does not match the COSE key's alg " + algorithm);
+                }
+            } else {
+                subjectPublicKeyInfo = key;
+                Long implied = AttestationDecoder.algorithmOf(key);
+                if (implied != null && publicKeyAlgorithm != null && !implied.equals(publicKeyAlgorithm)) {
+                    return fail(verdict, timer, FAILURE_MALFORMED, "publicKeyAlgorithm " + publicKeyAlgorithm + " does not fit the key, which is used with " + implied);
+                }
+                algorithm = implied != null ? implied : publicKeyAlgorithm;
+                if (algorithm == null) {
+                    return fail(verdict, timer, FAILURE_UNSUPPORTED_ALGORITHM, "The SubjectPublicKeyInfo does not settle the algorithm, pass publicKeyAlgorithm with it");
+                }
+            }
+            Signature verifier = signatureFor(subjectPublicKeyInfo, algorithm);
+            if (verifier == null) {
+                return fail(verdict, timer, FAILURE_UNSUPPORTED_ALGORITHM, "The public key type is not supported");
+            }
+            verifier.update(authenticatorData);
+            verifier.update(sha256.digest(clientDataJSON));
+            if (!verifier.verify(signature)) {
+                return fail(verdict, timer, FAILURE_SIGNATURE_INVALID, "The signature does not match the public key");
+            }
+        } catch (NoSuchAlgorithmException e) {
+            return fail(verdict, timer, FAILURE_UNSUPPORTED_ALGORITHM, e.getMessage());
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            // a key that does not parse, or a signature that is not valid DER
+            return fail(verdict, timer, FAILURE_SIGNATURE_INVALID, e.getMessage());
+        }
+        timer.mark(PHASE_SIGNATURE);
+
+        return verdict.setVerified(true).setTimings(timer.toMessage()).build();
+    }
+
+    /**
+     * Returns an initialized verifier for a SubjectPublicKeyInfo and COSE algorithm, or null if
+     * the key type or algorithm is not supported.
+     */
+    @Nullable
+    private static Signature signatureFor(@Nullable byte[] subjectPublicKeyInfo, @Nullable Long algorithm) throws GeneralSecurityException {
+        if (subjectPublicKeyInfo == null || algorithm == null) {
+            return null;
+        }
+
+        String keyAlgorithm;
+        String signatureAlgorithm;
+        switch (algorithm.intValue()) {
+            case -7:
+                keyAlgorithm = "EC";
+                signatureAlgorithm = "SHA256withECDSA";
+                break;
+            case -35:
+                keyAlgorithm = "EC";
+                signatureAlgorithm = "SHA384withECDSA";
+                break;
+            case -36:
+                keyAlgorithm = "EC";
+                signatureAlgorithm = "SHA512withECDSA";
+                break;
+            case -257:
+                keyAlgorithm = "RSA";
+                signatureAlgorithm = "SHA256withRSA";
+                break;
+            case -258:
+                keyAlgorithm = "RSA";
+                signatureAlgorithm = "SHA384withRSA";
+                break;
+            case -259:
+                keyAlgorithm = "RSA";
+                signatureAlgorithm = "SHA512withRSA";
+                break;
+            case -8:
+                keyAlgorithm = "Ed25519";
+                signatureAlgorithm = "Ed25519";
+                break;
+            default:
+                return null;
+        }
+
+        PublicKey publicKey = KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(subjectPublicKeyInfo));
+        Signature signature = Signature.getInstance(signatureAlgorithm);
+        signature.initVerify(publicKey);
+        return signature;
+    }
+
+    private static boolean challengeMatches(String challenge, byte[] expected) {
+        if (challenge == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(Base64Url.decode(challenge), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean regionEquals(byte[] authenticatorData, byte[] rpIdHash) {
+        int difference = 0;
+        for (int i = 0; i < rpIdHash.length; i++) {
+            difference |= authenticatorData[i] ^ rpIdHash[i];
+        }
+        return difference == 0;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Android version ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Messages.AssertionVerdict fail(Messages.AssertionVerdict.Builder verdict, CeremonyTimer timer, String failure, String message) {
+        return verdict.setFailure(failure).setMessage(message).setTimings(timer.toMessage()).build();
+    }
+}
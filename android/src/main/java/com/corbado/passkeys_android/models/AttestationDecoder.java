@@ -0,0 +1,603 @@
+package com.corbado.passkeys_android.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Extracts authenticator data and the credential public key from a WebAuthn attestationObject.
+ * <p>
+ * The attestationObject is CBOR ({fmt, attStmt, authData}); authData carries the rpIdHash, flags,
+ * signCount and, for a registration, the AAGUID, credential id and COSE public key. Only what is
+ * returned gets copied: the CBOR is walked in place with an offset, fmt and attStmt are skipped,
+ * and the COSE key members are kept as offsets until the SPKI DER is written. Nesting, lengths
+ * and trailing data are checked, so malformed input fails with an IllegalArgumentException
+ * instead of running out of bounds or recursing without limit.
+ */
+public final class AttestationDecoder {
+    public static final int FLAG_USER_PRESENT = 0x01;
+    public static final int FLAG_USER_VERIFIED = 0x04;
+    public static final int FLAG_BACKUP_ELIGIBLE = 0x08;
+    public static final int FLAG_BACKUP_STATE = 0x10;
+    public static final int FLAG_ATTESTED_CREDENTIAL_DATA = 0x40;
+    public static final int FLAG_EXTENSION_DATA = 0x80;
+
+    private static final int MAX_DEPTH = 16;
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int COSE_KTY_OKP = 1;
+    private static final int COSE_KTY_EC2 = 2;
+    private static final int COSE_KTY_RSA = 3;
+
+    private static final byte[] AUTH_DATA = {'a', 'u', 't', 'h', 'D', 'a', 't', 'a'};
+
+    // DER prefixes of the AlgorithmIdentifier contents
+    private static final byte[] OID_EC_PUBLIC_KEY = {0x06, 0x07, 0x2A, (byte) 0x86, 0x48, (byte) 0xCE, 0x3D, 0x02, 0x01};
+    private static final byte[] OID_P256 = {0x06, 0x08, 0x2A, (byte) 0x86, 0x48, (byte) 0xCE, 0x3D, 0x03, 0x01, 0x07};
+    private static final byte[] OID_P384 = {0x06, 0x05, 0x2B, (byte) 0x81, 0x04, 0x00, 0x22};
+    private static final byte[] OID_P521 = {0x06, 0x05, 0x2B, (byte) 0x81, 0x04, 0x00, 0x23};
+    private static final byte[] OID_RSA_ENCRYPTION_NULL = {0x06, 0x09, 0x2A, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xF7, 0x0D, 0x01, 0x01, 0x01, 0x05, 0x00};
+    private static final byte[] OID_ED25519 = {0x06, 0x03, 0x2B, 0x65, 0x70};
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * What a registration's authenticator data says about the new credential.
+     */
+    public static final class AuthenticatorData {
+        @NonNull
+        public final byte[] authData;
+        @NonNull
+        public final byte[] rpIdHash;
+        public final int flags;
+        public final long signCount;
+        /**
+         * The AAGUID as a lowercase UUID string, null without attested credential data.
+         */
+        @Nullable
+        public final String aaguid;
+        /**
+         * The credential public key as SubjectPublicKeyInfo DER, null without attested credential
+         * data or for a key type this decoder does not convert.
+         */
+        @Nullable
+        public final byte[] publicKey;
+        /**
+         * The COSE algorithm of the public key (-7 ES256, -257 RS256, -8 EdDSA, ...).
+         */
+        @Nullable
+        public final Long publicKeyAlgorithm;
+
+        AuthenticatorData(byte[] authData, byte[] rpIdHash, int flags, long signCount, String aaguid, byte[] publicKey, Long publicKeyAlgorithm) {
+            this.authData = authData;
+            this.rpIdHash = rpIdHash;
+            this.flags = flags;
+            this.signCount = signCount;
+            this.aaguid = aaguid;
+            this.publicKey = publicKey;
+            this.publicKeyAlgorithm = publicKeyAlgorithm;
+        }
+
+        public boolean hasFlag(int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+
+    /**
+     * A credential public key converted from COSE.
+     */
+    public static final class CredentialPublicKey {
+        /**
+         * SubjectPublicKeyInfo DER, null for a key type this decoder does not convert.
+         */
+        @Nullable
+        public final byte[] subjectPublicKeyInfo;
+        @Nullable
+        public final Long algorithm;
+
+        CredentialPublicKey(byte[] subjectPublicKeyInfo, Long algorithm) {
+            this.subjectPublicKeyInfo = subjectPublicKeyInfo;
+            this.algorithm = algorithm;
+        }
+    }
+
+    private AttestationDecoder() {
+    }
+
+    /**
+     * Converts a COSE_Key, e.g. one stored from an earlier registration.
+     *
+     * @throws IllegalArgumentException if the key is not well-formed CBOR or has trailing data
+     */
+    @NonNull
+    public static CredentialPublicKey decodeCoseKey(@NonNull byte[] coseKey) {
+        Reader reader = new Reader(coseKey, 0, coseKey.length);
+        CoseKey key = CoseKey.read(reader);
+        reader.requireEnd();
+        return new CredentialPublicKey(key.toSubjectPublicKeyInfo(coseKey), key.algorithm);
+    }
+
+    /**
+     * Returns the COSE algorithm a SubjectPublicKeyInfo is used with in WebAuthn (ES256/384/512
+     * by curve, EdDSA), or null for other key types. RSA keys also give null: the same key can
+     * be used with RS256, RS384 or RS512, so only the COSE alg settles it.
+     */
+    @Nullable
+    public static Long algorithmOf(@NonNull byte[] subjectPublicKeyInfo) {
+        if (indexOf(subjectPublicKeyInfo, OID_EC_PUBLIC_KEY) >= 0) {
+            if (indexOf(subjectPublicKeyInfo, OID_P256) >= 0) {
+                return -7L;
+            }
+            if (indexOf(subjectPublicKeyInfo, OID_P384) >= 0) {
+                return -35L;
+            }
+            if (indexOf(subjectPublicKeyInfo, OID_P521) >= 0) {
+                return -36L;
+            }
+            return null;
+        }
+        if (indexOf(subjectPublicKeyInfo, OID_ED25519) >= 0) {
+            return -8L;
+        }
+        return null;
+    }
+
+    // The AlgorithmIdentifier sits within the first bytes, ahead of the key material.
+    private static int indexOf(byte[] data, byte[] pattern) {
+        int last = Math.min(data.length, 32) - pattern.length;
+        for (int i = 0; i <= last; i++) {
+            int j = 0;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the attestationObject is not well-formed
+     */
+    @NonNull
+    public static AuthenticatorData decodeAttestationObject(@NonNull byte[] attestationObject) {
+        Reader reader = new Reader(attestationObject, 0, attestationObject.length);
+        long entries = reader.header(MAJOR_MAP);
+        int authDataOffset = -1;
+        int authDataLength = 0;
+        for (long i = 0; i < entries; i++) {
+            int keyLength = (int) reader.header(MAJOR_TEXT);
+            boolean isAuthData = reader.matches(AUTH_DATA, keyLength);
+            reader.skipBytes(keyLength);
+            if (isAuthData) {
+                authDataLength = (int) reader.header(MAJOR_BYTES);
+                authDataOffset = reader.position;
+                reader.skipBytes(authDataLength);
+            } else {
+                reader.skip(1);
+            }
+        }
+        reader.requireEnd();
+        if (authDataOffset < 0) {
+            throw new IllegalArgumentException("attestationObject has no authData");
+        }
+        return decodeAuthenticatorData(attestationObject, authDataOffset, authDataLength);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the authenticator data is not well-formed
+     */
+    @NonNull
+    public static AuthenticatorData decodeAuthenticatorData(@NonNull byte[] data, int offset, int length) {
+        if (offset < 0 || length < 37 || offset + length > data.length || offset + length < 0) {
+            throw new IllegalArgumentException("authData is shorter than 37 bytes");
+        }
+        int end = offset + length;
+        int flags = data[offset + 32] & 0xFF;
+        long signCount = ((data[offset + 33] & 0xFFL) << 24) | ((data[offset + 34] & 0xFFL) << 16) | ((data[offset + 35] & 0xFFL) << 8) | (data[offset + 36] & 0xFFL);
+
+        String aaguid = null;
+        byte[] publicKey = null;
+        Long algorithm = null;
+        int position = offset + 37;
+        if ((flags & FLAG_ATTESTED_CREDENTIAL_DATA) != 0) {
+            if (end - position < 18) {
+                throw new IllegalArgumentException("authData is too short for attested credential data");
+            }
+            aaguid = uuid(data, position);
+            int credentialIdLength = ((data[position + 16] & 0xFF) << 8) | (data[position + 17] & 0xFF);
+            position += 18;
+            if (end - position < credentialIdLength) {
+                throw new IllegalArgumentException("authData is too short for the credential id");
+            }
+            position += credentialIdLength;
+
+            Reader reader = new Reader(data, position, end);
+            CoseKey key = CoseKey.read(reader);
+            algorithm = key.algorithm;
+            publicKey = key.toSubjectPublicKeyInfo(data);
+            position = reader.position;
+        }
+        if ((flags & FLAG_EXTENSION_DATA) != 0) {
+            Reader reader = new Reader(data, position, end);
+            reader.skip(1);
+            position = reader.position;
+        }
+        if (position != end) {
+            throw new IllegalArgumentException("authData has " + (end - position) + " trailing bytes");
+        }
+
+        return new AuthenticatorData(
+                Arrays.copyOfRange(data, offset, end),
+                Arrays.copyOfRange(data, offset, offset + 32),
+                flags,
+                signCount,
+                aaguid,
+                publicKey,
+                algorithm
+        );
+    }
+
+    private static String uuid(byte[] data, int offset) {
+        char[] chars = new char[36];
+        int c = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[c++] = '-';
+            }
+            chars[c++] = HEX[(data[offset + i] >> 4) & 0x0F];
+            chars[c++] = HEX[data[offset + i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * The members of a COSE_Key that are needed for the SPKI, kept as offsets into the data.
+     */
+    private static final class CoseKey {
+        Long keyType;
+        Long algorithm;
+        // -1 is crv for EC2/OKP and n for RSA
+        Long curve;
+        int minus1Offset = -1;
+        int minus1Length;
+        int minus2Offset = -1;
+        int minus2Length;
+        int minus3Offset = -1;
+        int minus3Length;
+
+        static CoseKey read(Reader reader) {
+            CoseKey key = new CoseKey();
+            long entries = reader.header(MAJOR_MAP);
+            for (long i = 0; i < entries; i++) {
+                long label = reader.integer();
+                if (label == 1) {
+                    key.keyType = reader.integer();
+                } else if (label == 3) {
+                    key.algorithm = reader.integer();
+                } else if (label == -1 && reader.peekMajor() != MAJOR_BYTES) {
+                    key.curve = reader.integer();
+                } else if (label == -1) {
+                    key.minus1Length = (int) reader.header(MAJOR_BYTES);
+                    key.minus1Offset = reader.position;
+                    reader.skipBytes(key.minus1Length);
+                } else if (label == -2) {
+                    key.minus2Length = (int) reader.header(MAJOR_BYTES);
+                    key.minus2Offset = reader.position;
+                    reader.skipBytes(key.minus2Length);
+                } else if (label == -3) {
+                    key.minus3Length = (int) reader.header(MAJOR_BYTES);
+                    key.minus3Offset = reader.position;
+                    reader.skipBytes(key.minus3Length);
+                } else {
+                    reader.skip(1);
+                }
+            }
+            if (key.keyType == null) {
+                throw new IllegalArgumentException("COSE key has no kty");
+            }
+            return key;
+        }
+
+        @Nullable
+        byte[] toSubjectPublicKeyInfo(byte[] data) {
+            if (keyType == COSE_KTY_EC2 && curve != null) {
+                byte[] curveOid;
+                int size;
+                if (curve == 1) {
+                    curveOid = OID_P256;
+                    size = 32;
+                } else if (curve == 2) {
+                    curveOid = OID_P384;
+                    size = 48;
+                } else if (curve == 3) {
+                    curveOid = OID_P521;
+                    size = 66;
+                } else {
+                    return null;
+                }
+                // x is label -2, y is label -3
+                if (minus2Length != size || minus3Length != size) {
+                    throw new IllegalArgumentException("EC2 coordinates do not match curve " + curve);
+                }
+                Der algorithmIdentifier = new Der(OID_EC_PUBLIC_KEY.length + curveOid.length).raw(OID_EC_PUBLIC_KEY).raw(curveOid);
+                Der point = new Der(1 + 2 * size).put((byte) 0x04).raw(data, minus2Offset, size).raw(data, minus3Offset, size);
+                return subjectPublicKeyInfo(algorithmIdentifier, point);
+            }
+            if (keyType == COSE_KTY_OKP && curve != null && curve == 6) {
+                if (minus2Length != 32) {
+                    throw new IllegalArgumentException("Ed25519 key is not 32 bytes");
+                }
+                Der algorithmIdentifier = new Der(OID_ED25519.length).raw(OID_ED25519);
+                Der point = new Der(32).raw(data, minus2Offset, 32);
+                return subjectPublicKeyInfo(algorithmIdentifier, point);
+            }
+            if (keyType == COSE_KTY_RSA && minus1Offset >= 0 && minus2Offset >= 0) {
+                // n is label -1, e is label -2
+                Der modulus = Der.unsignedInteger(data, minus1Offset, minus1Length);
+                Der exponent = Der.unsignedInteger(data, minus2Offset, minus2Length);
+                Der rsaPublicKey = Der.sequence(modulus, exponent);
+                Der algorithmIdentifier = new Der(OID_RSA_ENCRYPTION_NULL.length).raw(OID_RSA_ENCRYPTION_NULL);
+                return subjectPublicKeyInfo(algorithmIdentifier, rsaPublicKey);
+            }
+            return null;
+        }
+
+        private static byte[] subjectPublicKeyInfo(Der algorithmContents, Der publicKey) {
+            Der algorithm = Der.sequence(algorithmContents);
+            // BIT STRING with no unused bits
+            Der bitString = new Der(Der.headerLength(publicKey.length + 1) + publicKey.length + 1)
+                    .header(0x03, publicKey.length + 1).put((byte) 0).raw(publicKey.bytes, 0, publicKey.length);
+            return Der.sequence(algorithm, bitString).bytes;
+        }
+    }
+
+    /**
+     * A fixed-size DER buffer; the sizes are known before writing.
+     */
+    private static final class Der {
+        final byte[] bytes;
+        int length;
+
+        Der(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        static Der sequence(Der... members) {
+            int contents = 0;
+            for (Der member : members) {
+                contents += member.length;
+            }
+            Der der = new Der(headerLength(contents) + contents).header(0x30, contents);
+            for (Der member : members) {
+                der.raw(member.bytes, 0, member.length);
+            }
+            return der;
+        }
+
+        static Der unsignedInteger(byte[] data, int offset, int length) {
+            while (length > 1 && data[offset] == 0) {
+                offset++;
+                length--;
+            }
+            if (length == 0) {
+                throw new IllegalArgumentException("Empty RSA integer");
+            }
+            int pad = (data[offset] & 0x80) != 0 ? 1 : 0;
+            Der der = new Der(headerLength(length + pad) + length + pad).header(0x02, length + pad);
+            if (pad == 1) {
+                der.put((byte) 0);
+            }
+            return der.raw(data, offset, length);
+        }
+
+        static int headerLength(int contents) {
+            if (contents < 0x80) {
+                return 2;
+            }
+            if (contents < 0x100) {
+                return 3;
+            }
+            if (contents < 0x10000) {
+                return 4;
+            }
+            return 5;
+        }
+
+        Der header(int tag, int contents) {
+            put((byte) tag);
+            if (contents < 0x80) {
+                put((byte) contents);
+            } else if (contents < 0x100) {
+                put((byte) 0x81).put((byte) contents);
+            } else if (contents < 0x10000) {
+                put((byte) 0x82).put((byte) (contents >> 8)).put((byte) contents);
+            } else {
+                put((byte) 0x83).put((byte) (contents >> 16)).put((byte) (contents >> 8)).put((byte) contents);
+            }
+            return this;
+        }
+
+        Der put(byte value) {
+            bytes[length++] = value;
+            return this;
+        }
+
+        Der raw(byte[] value) {
+            return raw(value, 0, value.length);
+        }
+
+        Der raw(byte[] value, int offset, int count) {
+            System.arraycopy(value, offset, bytes, length, count);
+            length += count;
+            return this;
+        }
+    }
+
+    /**
+     * Reads definite-length CBOR in place. Indefinite lengths are rejected, CTAP2 canonical
+     * encoding does not use them.
+     */
+    private static final class Reader {
+        final byte[] data;
+        final int end;
+        int position;
+
+        Reader(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        int peekMajor() {
+            require(1);
+            return (data[position] & 0xFF) >>> 5;
+        }
+
+        /**
+         * Reads an item header of the expected major type and returns its argument, which for
+         * strings is checked against the remaining bytes.
+         */
+        long header(int expectedMajor) {
+            int major = peekMajor();
+            if (major != expectedMajor) {
+                throw new IllegalArgumentException("Expected CBOR major type " + expectedMajor + " but found " + major + " at " + position);
+            }
+            long argument = argument();
+            if ((major == MAJOR_BYTES || major == MAJOR_TEXT) && argument > end - position) {
+                throw new IllegalArgumentException("CBOR string of " + argument + " bytes exceeds the input");
+            }
+            if ((major == MAJOR_ARRAY || major == MAJOR_MAP) && argument > end - position) {
+                // every entry takes at least one byte
+                throw new IllegalArgumentException("CBOR container of " + argument + " entries exceeds the input");
+            }
+            return argument;
+        }
+
+        long integer() {
+            int major = peekMajor();
+            if (major == MAJOR_UNSIGNED) {
+                long value = argument();
+                if (value < 0) {
+                    throw new IllegalArgumentException("CBOR integer out of range");
+                }
+                return value;
+            }
+            if (major == MAJOR_NEGATIVE) {
+                long value = argument();
+                if (value < 0) {
+                    throw new IllegalArgumentException("CBOR integer out of range");
+                }
+                return -1 - value;
+            }
+            throw new IllegalArgumentException("Expected a CBOR integer at " + position);
+        }
+
+        boolean matches(byte[] expected, int length) {
+            if (length != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data[position + i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void skipBytes(int count) {
+            require(count);
+            position += count;
+        }
+
+        /**
+         * Skips one complete item.
+         */
+        void skip(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("CBOR nested deeper than " + MAX_DEPTH);
+            }
+            int major = peekMajor();
+            switch (major) {
+                case MAJOR_UNSIGNED:
+                case MAJOR_NEGATIVE:
+                case MAJOR_SIMPLE:
+                    argument();
+                    return;
+                case MAJOR_BYTES:
+                case MAJOR_TEXT:
+                    skipBytes((int) header(major));
+                    return;
+                case MAJOR_ARRAY: {
+                    long items = header(major);
+                    for (long i = 0; i < items; i++) {
+                        skip(depth + 1);
+                    }
+                    return;
+                }
+                case MAJOR_MAP: {
+                    long entries = header(major);
+                    for (long i = 0; i < entries; i++) {
+                        skip(depth + 1);
+                        skip(depth + 1);
+                    }
+                    return;
+                }
+                case MAJOR_TAG:
+                    argument();
+                    skip(depth + 1);
+                    return;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        void requireEnd() {
+            if (position != end) {
+                throw new IllegalArgumentException("CBOR has " + (end - position) + " trailing bytes");
+            }
+        }
+
+        private long argument() {
+            require(1);
+            int info = data[position++] & 0x1F;
+            if (info < 24) {
+                return info;
+            }
+            int size;
+            if (info == 24) {
+                size = 1;
+            } else if (info == 25) {
+                size = 2;
+            } else if (info == 26) {
+                size = 4;
+            } else if (info == 27) {
+                size = 8;
+            } else {
+                throw new IllegalArgumentException("Unsupported CBOR additional info " + info);
+            }
+            require(size);
+            long value = 0;
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private void require(int count) {
+            if (count < 0 || count > end - position) {
+                throw new IllegalArgumentException("CBOR ends unexpectedly at " + position);
+            }
+        }
+    }
+}
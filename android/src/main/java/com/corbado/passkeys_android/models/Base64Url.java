@@ -0,0 +1,32 @@
+package com.corbado.passkeys_android.models;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+/**
+ * base64url without padding, the encoding WebAuthn uses for binary values in its JSON.
+ * <p>
+ * Used by the binary transport mode to convert at the Credential Manager JSON boundary only.
+ */
+public final class Base64Url {
+    private static final int FLAGS = Base64.URL_SAFE | Base64.NO_PADDING | Base64.NO_WRAP;
+
+    private Base64Url() {
+    }
+
+    @NonNull
+    public static String encode(@NonNull byte[] bytes) {
+        return Base64.encodeToString(bytes, FLAGS);
+    }
+
+    /**
+     * Decodes base64url with or without padding.
+     *
+     * @throws IllegalArgumentException if the value is not valid base64url
+     */
+    @NonNull
+    public static byte[] decode(@NonNull String value) {
+        return Base64.decode(value, FLAGS);
+    }
+}
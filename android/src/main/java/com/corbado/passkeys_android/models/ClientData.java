@@ -0,0 +1,71 @@
+package com.corbado.passkeys_android.models;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * The members of a clientDataJSON that are checked locally.
+ * <p>
+ * Read in one pass like CredentialResponseParser; tokenBinding and anything an authenticator
+ * adds later are skipped.
+ */
+public final class ClientData {
+    public static final String TYPE_CREATE = "webauthn.create";
+    public static final String TYPE_GET = "webauthn.get";
+
+    @Nullable
+    public final String type;
+    @Nullable
+    public final String challenge;
+    @Nullable
+    public final String origin;
+    public final boolean crossOrigin;
+
+    private ClientData(String type, String challenge, String origin, boolean crossOrigin) {
+        this.type = type;
+        this.challenge = challenge;
+        this.origin = origin;
+        this.crossOrigin = crossOrigin;
+    }
+
+    /**
+     * @param json the decoded clientDataJSON
+     * @throws JSONException if it is not a JSON object
+     */
+    @NonNull
+    public static ClientData parse(@NonNull String json) throws JSONException {
+        String type = null;
+        String challenge = null;
+        String origin = null;
+        boolean crossOrigin = false;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("type".equals(name) && reader.peek() == JsonToken.STRING) {
+                    type = reader.nextString();
+                } else if ("challenge".equals(name) && reader.peek() == JsonToken.STRING) {
+                    challenge = reader.nextString();
+                } else if ("origin".equals(name) && reader.peek() == JsonToken.STRING) {
+                    origin = reader.nextString();
+                } else if ("crossOrigin".equals(name) && reader.peek() == JsonToken.BOOLEAN) {
+                    crossOrigin = reader.nextBoolean();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JSONException("Malformed clientDataJSON: " + e.getMessage());
+        }
+        return new ClientData(type, challenge, origin, crossOrigin);
+    }
+}
@@ -0,0 +1,202 @@
+package com.corbado.passkeys_android.models;
+
+import android.util.JsonReader;
+import android.util.Log;
+import android.util.JsonToken;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.Messages;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Pulls the fields the plugin returns out of a registration or authentication response JSON.
+ * <p>
+ * The response is read in one pass with a strict JsonReader. Only id, rawId and the needed
+ * response.* members are materialized, everything else (extensions, transports, ...) is skipped
+ * without building objects. Malformed input or a missing required field fails with a
+ * JSONException, the same exception type JSONObject used to throw here.
+ */
+public final class CredentialResponseParser {
+    private static final String TAG = "CredentialResponseParser";
+    private static final int ID = 0;
+    private static final int RAW_ID = 1;
+
+    private static final String[] REGISTRATION_FIELDS = {"clientDataJSON", "attestationObject"};
+    private static final String[] AUTHENTICATION_FIELDS = {"clientDataJSON", "authenticatorData", "signature", "userHandle"};
+    private static final String[] IDENTITY_FIELDS = {"userHandle"};
+    private static final String[] CLIENT_DATA_FIELDS = {"clientDataJSON"};
+
+    /**
+     * Turns the response JSON of a ceremony into what is returned to Dart.
+     */
+    public interface Decoder<T> {
+        @NonNull
+        T decode(@Nullable String json) throws JSONException;
+    }
+
+    private CredentialResponseParser() {
+    }
+
+    /**
+     * Returns the id and the userHandle (null if absent) of a response without materializing
+     * anything else.
+     */
+    @NonNull
+    public static String[] readIdentity(@Nullable String json) throws JSONException {
+        String[] values = read(json, IDENTITY_FIELDS);
+        return new String[]{require(values, ID, "id"), values[2]};
+    }
+
+    /**
+     * Returns the base64url response.clientDataJSON of a registration or authentication response.
+     */
+    @NonNull
+    public static String readClientDataJSON(@Nullable String json) throws JSONException {
+        return require(read(json, CLIENT_DATA_FIELDS), 2, "clientDataJSON");
+    }
+
+    @NonNull
+    public static Messages.RegisterResponse parseRegistration(@Nullable String json) throws JSONException {
+        return parseRegistration(json, true);
+    }
+
+    /**
+     * Like {@link #parseRegistration(String)}, but leaves the optional authenticator data fields
+     * null, for callers that only return the attestationObject.
+     */
+    @NonNull
+    public static Messages.RegisterResponse parseRegistrationWithoutAuthenticatorData(@Nullable String json) throws JSONException {
+        return parseRegistration(json, false);
+    }
+
+    private static Messages.RegisterResponse parseRegistration(String json, boolean decodeAuthenticatorData) throws JSONException {
+        String[] values = read(json, REGISTRATION_FIELDS);
+        String attestationObject = require(values, 3, "attestationObject");
+        Messages.RegisterResponse.Builder builder = new Messages.RegisterResponse.Builder()
+                .setId(require(values, ID, "id"))
+                .setRawId(require(values, RAW_ID, "rawId"))
+                .setClientDataJSON(require(values, 2, "clientDataJSON"))
+                .setAttestationObject(attestationObject);
+        if (decodeAuthenticatorData) {
+            setAuthenticatorData(builder, attestationObject);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Fills the optional authenticator data fields. They are a convenience on top of the
+     * attestationObject, so an object the decoder cannot read leaves them null instead of failing
+     * the registration. That includes a decoder bug surfacing as another RuntimeException.
+     */
+    private static void setAuthenticatorData(Messages.RegisterResponse.Builder builder, String attestationObject) {
+        AttestationDecoder.AuthenticatorData authenticatorData;
+        try {
+            authenticatorData = AttestationDecoder.decodeAttestationObject(Base64Url.decode(attestationObject));
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Could not decode the attestationObject", e);
+            return;
+        }
+
+        builder.setAuthenticatorData(Base64Url.encode(authenticatorData.authData))
+                .setRpIdHash(Base64Url.encode(authenticatorData.rpIdHash))
+                .setFlags((long) authenticatorData.flags)
+                .setUserVerified(authenticatorData.hasFlag(AttestationDecoder.FLAG_USER_VERIFIED))
+                .setBackupEligible(authenticatorData.hasFlag(AttestationDecoder.FLAG_BACKUP_ELIGIBLE))
+                .setBackupState(authenticatorData.hasFlag(AttestationDecoder.FLAG_BACKUP_STATE))
+                .setSignCount(authenticatorData.signCount)
+                .setAaguid(authenticatorData.aaguid)
+                .setPublicKey(authenticatorData.publicKey == null ? null : Base64Url.encode(authenticatorData.publicKey))
+                .setPublicKeyAlgorithm(authenticatorData.publicKeyAlgorithm);
+    }
+
+    @NonNull
+    public static Messages.AuthenticateResponse parseAuthentication(@Nullable String json) throws JSONException {
+        String[] values = read(json, AUTHENTICATION_FIELDS);
+        // userHandle is optional in WebAuthn (null for non-discoverable credentials)
+        String userHandle = values[5] != null ? values[5] : "";
+        return new Messages.AuthenticateResponse.Builder()
+                .setId(require(values, ID, "id"))
+                .setRawId(require(values, RAW_ID, "rawId"))
+                .setClientDataJSON(require(values, 2, "clientDataJSON"))
+                .setAuthenticatorData(require(values, 3, "authenticatorData"))
+                .setSignature(require(values, 4, "signature"))
+                .setUserHandle(userHandle)
+                .build();
+    }
+
+    private static String[] read(String json, String[] responseFields) throws JSONException {
+        if (json == null) {
+            throw new JSONException("Credential response is missing");
+        }
+
+        String[] values = new String[2 + responseFields.length];
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("id".equals(name)) {
+                    values[ID] = nextStringOrNull(reader);
+                } else if ("rawId".equals(name)) {
+                    values[RAW_ID] = nextStringOrNull(reader);
+                } else if ("response".equals(name)) {
+                    readResponse(reader, responseFields, values);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JSONException("Unexpected data after credential response");
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JSONException("Malformed credential response: " + e.getMessage());
+        }
+
+        return values;
+    }
+
+    private static void readResponse(JsonReader reader, String[] responseFields, String[] values) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            int index = indexOf(responseFields, name);
+            if (index >= 0) {
+                values[2 + index] = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String require(String[] values, int index, String name) throws JSONException {
+        if (values[index] == null) {
+            throw new JSONException("No value for " + name);
+        }
+        return values[index];
+    }
+}
@@ -0,0 +1,184 @@
+package com.corbado.passkeys_android.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Minimal single-pass JSON writer on top of a StringBuilder.
+ * <p>
+ * Unlike JSONObject it keeps the insertion order (so the output is stable across runs), writes
+ * numbers and booleans with their JSON types and can splice in already serialized fragments.
+ * It does not validate the structure beyond placing separators; callers are expected to open
+ * and close containers in the right order.
+ */
+public final class JsonStringWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder out;
+    // hasElement[depth] is true once the container at that depth holds at least one value
+    private boolean[] hasElement = new boolean[8];
+    private int depth;
+    private boolean afterName;
+
+    public JsonStringWriter() {
+        this(256);
+    }
+
+    public JsonStringWriter(int capacity) {
+        out = new StringBuilder(capacity);
+    }
+
+    @NonNull
+    public JsonStringWriter beginObject() {
+        beforeValue();
+        out.append('{');
+        push();
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter endObject() {
+        depth--;
+        out.append('}');
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter beginArray() {
+        beforeValue();
+        out.append('[');
+        push();
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter endArray() {
+        depth--;
+        out.append(']');
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter name(@NonNull String name) {
+        if (hasElement[depth]) {
+            out.append(',');
+        }
+        hasElement[depth] = true;
+        writeString(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter value(@Nullable String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter value(boolean value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    @NonNull
+    public JsonStringWriter nullValue() {
+        beforeValue();
+        out.append("null");
+        return this;
+    }
+
+    /**
+     * Writes an already serialized JSON value as is.
+     */
+    @NonNull
+    public JsonStringWriter rawValue(@NonNull String json) {
+        beforeValue();
+        out.append(json);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void push() {
+        depth++;
+        if (depth == hasElement.length) {
+            hasElement = Arrays.copyOf(hasElement, depth * 2);
+        }
+        hasElement[depth] = false;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElement[depth]) {
+                out.append(',');
+            }
+            hasElement[depth] = true;
+        }
+    }
+
+    private void writeString(String value) {
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u").append(HEX[(c >> 12) & 0xf]).append(HEX[(c >> 8) & 0xf]).append(HEX[(c >> 4) & 0xf]).append(HEX[c & 0xf]);
+            }
+        }
+        out.append(value, start, length);
+        out.append('"');
+    }
+}
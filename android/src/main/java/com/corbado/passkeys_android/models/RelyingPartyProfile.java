@@ -0,0 +1,74 @@
+package com.corbado.passkeys_android.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.corbado.passkeys_android.Messages;
+import com.corbado.passkeys_android.models.signup.CreateCredentialOptions;
+
+import java.util.Collections;
+
+/**
+ * The static parts of a relying party, kept natively so that registerWithProfile and
+ * authenticateWithProfile only carry per-call data over the channel.
+ * <p>
+ * The rp, pubKeyCredParams and authenticatorSelection members of the creation options are
+ * serialized once here and spliced into every later options JSON as they are.
+ */
+public final class RelyingPartyProfile {
+    @NonNull
+    public final String relyingPartyId;
+    @Nullable
+    public final Long timeout;
+    @Nullable
+    public final String attestation;
+    @NonNull
+    public final String userVerification;
+
+    private final String relyingPartyJson;
+    private final String pubKeyCredParamsJson;
+    private final String authenticatorSelectionJson;
+
+    private RelyingPartyProfile(Messages.RelyingPartyProfile profile, Messages.AuthenticatorSelection authenticatorSelection) {
+        relyingPartyId = profile.getRelyingParty().getId();
+        timeout = profile.getTimeout();
+        attestation = profile.getAttestation();
+        userVerification = profile.getUserVerification() != null ? profile.getUserVerification() : authenticatorSelection.getUserVerification();
+
+        JsonStringWriter json = new JsonStringWriter(64);
+        CreateCredentialOptions.writeRelyingParty(json, profile.getRelyingParty());
+        relyingPartyJson = json.toString();
+
+        json = new JsonStringWriter(128);
+        CreateCredentialOptions.writePubKeyCredParams(json, profile.getPubKeyCredParams() != null ? profile.getPubKeyCredParams() : Collections.emptyList());
+        pubKeyCredParamsJson = json.toString();
+
+        json = new JsonStringWriter(128);
+        CreateCredentialOptions.writeAuthenticatorSelection(json, authenticatorSelection);
+        authenticatorSelectionJson = json.toString();
+    }
+
+    @NonNull
+    public String getRelyingPartyJson() {
+        return relyingPartyJson;
+    }
+
+    @NonNull
+    public String getPubKeyCredParamsJson() {
+        return pubKeyCredParamsJson;
+    }
+
+    @NonNull
+    public String getAuthenticatorSelectionJson() {
+        return authenticatorSelectionJson;
+    }
+
+    /**
+     * @param authenticatorSelection the selection to register with, which may differ from the
+     *                               one in the profile (the plugin pins the attachment to platform)
+     */
+    @NonNull
+    public static RelyingPartyProfile of(@NonNull Messages.RelyingPartyProfile profile, @NonNull Messages.AuthenticatorSelection authenticatorSelection) {
+        return new RelyingPartyProfile(profile, authenticatorSelection);
+    }
+}
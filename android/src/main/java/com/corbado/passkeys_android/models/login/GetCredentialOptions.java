@@ -2,23 +2,20 @@ package com.corbado.passkeys_android.models.login;
 
 import androidx.annotation.NonNull;
 
-import com.corbado.passkeys_android.models.login.AllowCredentialType;
+import com.corbado.passkeys_android.Messages;
+import com.corbado.passkeys_android.models.JsonStringWriter;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
-import java.util.HashMap;
 import java.util.List;
 
 public class GetCredentialOptions {
     private String challenge;
     private Long timeout;
     private String rpId;
-    private List<AllowCredentialType> allowCredentials;
+    private List<Messages.AllowCredential> allowCredentials;
     private String userVerification;
+    private String allowCredentialsJson;
 
-    public GetCredentialOptions(String challenge, Long timeout, String rpId, List<AllowCredentialType> allowCredentials, String userVerification) {
+    public GetCredentialOptions(String challenge, Long timeout, String rpId, List<Messages.AllowCredential> allowCredentials, String userVerification) {
         this.challenge = challenge;
         this.timeout = timeout;
         this.rpId = rpId;
@@ -26,23 +23,49 @@ public class GetCredentialOptions {
         this.userVerification = userVerification;
     }
 
-    public JSONObject toJSON() throws JSONException {
-        HashMap<String, Object> map = new HashMap<>();
-        if (challenge != null) map.put("challenge", challenge);
-        if (timeout != null) map.put("timeout", timeout);
-        if (rpId != null) map.put("rpId", rpId);
-        if (userVerification != null) map.put("userVerification", userVerification);
-        JSONObject json = new JSONObject(map);
-        if(allowCredentials != null) {
-            json.put("allowCredentials", new JSONArray(allowCredentials.stream().map(e -> {
-                try {
-                    return e.toJSON();
-                } catch (JSONException ex) {
-                    throw new RuntimeException(ex);
-                }
-            }).toArray()));
+    /**
+     * Uses an already encoded allowCredentials array instead of the list.
+     */
+    public void setAllowCredentialsJson(@NonNull String allowCredentialsJson) {
+        this.allowCredentialsJson = allowCredentialsJson;
+    }
+
+    /**
+     * Serializes the options in one pass, in a fixed key order.
+     */
+    @NonNull
+    public String toJSON() {
+        int allowCount = allowCredentials == null ? 0 : allowCredentials.size();
+        int allowJsonLength = allowCredentialsJson == null ? 0 : allowCredentialsJson.length();
+        JsonStringWriter json = new JsonStringWriter(256 + allowCount * 128 + allowJsonLength);
+        json.beginObject();
+        if (challenge != null) json.name("challenge").value(challenge);
+        if (timeout != null) json.name("timeout").value(timeout);
+        if (rpId != null) json.name("rpId").value(rpId);
+        if (userVerification != null) json.name("userVerification").value(userVerification);
+        if (allowCredentialsJson != null) {
+            json.name("allowCredentials").rawValue(allowCredentialsJson);
+        } else if (allowCredentials != null) {
+            writeAllowCredentials(json.name("allowCredentials"), allowCredentials);
         }
+        json.endObject();
 
-        return json;
+        return json.toString();
+    }
+
+    public static void writeAllowCredentials(@NonNull JsonStringWriter json, @NonNull List<Messages.AllowCredential> allowCredentials) {
+        json.beginArray();
+        for (Messages.AllowCredential credential : allowCredentials) {
+            json.beginObject();
+            json.name("type").value(credential.getType());
+            json.name("id").value(credential.getId());
+            json.name("transports").beginArray();
+            for (String transport : credential.getTransports()) {
+                json.value(transport);
+            }
+            json.endArray();
+            json.endObject();
+        }
+        json.endArray();
     }
 }
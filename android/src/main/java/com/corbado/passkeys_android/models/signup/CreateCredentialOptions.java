@@ -3,33 +3,38 @@ package com.corbado.passkeys_android.models.signup;
 
 import androidx.annotation.NonNull;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.corbado.passkeys_android.Messages;
+import com.corbado.passkeys_android.models.JsonStringWriter;
+import com.corbado.passkeys_android.models.RelyingPartyProfile;
 
-import java.util.HashMap;
 import java.util.List;
 
 public class CreateCredentialOptions {
-    private RelyingPartyType rp;
-    private UserType user;
+    private Messages.RelyingParty rp;
+    private Messages.User user;
     private String challenge;
-    private List<PubKeyCredParamType> pubKeyCredParams;
+    private List<Messages.PubKeyCredParam> pubKeyCredParams;
     private Long timeout;
-    private AuthenticatorSelectionType authenticatorSelection;
+    private Messages.AuthenticatorSelection authenticatorSelection;
     private String attestation;
 
-    private List<ExcludeCredentialType> excludeCredentials;
+    private List<Messages.ExcludeCredential> excludeCredentials;
+
+    // Pre-serialized members of a relying party profile, used instead of the objects above.
+    private String rpJson;
+    private String pubKeyCredParamsJson;
+    private String authenticatorSelectionJson;
+    private String excludeCredentialsJson;
 
     public CreateCredentialOptions(
             String challenge,
-            RelyingPartyType rp,
-            UserType user,
-            List<PubKeyCredParamType> pubKeyCredParams,
+            Messages.RelyingParty rp,
+            Messages.User user,
+            List<Messages.PubKeyCredParam> pubKeyCredParams,
             Long timeout,
-            AuthenticatorSelectionType authenticatorSelection,
+            Messages.AuthenticatorSelection authenticatorSelection,
             String attestation,
-            List<ExcludeCredentialType> excludeCredentials
+            List<Messages.ExcludeCredential> excludeCredentials
     ) {
         this.challenge = challenge;
         this.rp = rp;
@@ -41,21 +46,110 @@ public class CreateCredentialOptions {
         this.excludeCredentials = excludeCredentials;
     }
 
-    public JSONObject toJSON() throws JSONException {
-        JSONObject json = new JSONObject();
-        if (rp != null) json.put("rp", rp.toJSON());
-        if (user != null) json.put("user", user.toJSON());
-        if (challenge != null) json.put("challenge", challenge);
-        if (attestation != null) json.put("attestation", attestation);
-        if (timeout != null) json.put("timeout", timeout);
-        if (pubKeyCredParams != null)
-            json.put("pubKeyCredParams", new JSONArray(pubKeyCredParams.stream().map(PubKeyCredParamType::toJSON).toArray()));
-        if (authenticatorSelection != null)
-            json.put("authenticatorSelection", authenticatorSelection.toJSON());
-        if (excludeCredentials != null)
-            json.put("excludeCredentials", new JSONArray(excludeCredentials.stream().map(ExcludeCredentialType::toJSON).toArray()));
+    public CreateCredentialOptions(
+            String challenge,
+            @NonNull RelyingPartyProfile profile,
+            Messages.User user,
+            List<Messages.ExcludeCredential> excludeCredentials
+    ) {
+        this.challenge = challenge;
+        this.rpJson = profile.getRelyingPartyJson();
+        this.user = user;
+        this.pubKeyCredParamsJson = profile.getPubKeyCredParamsJson();
+        this.timeout = profile.timeout;
+        this.authenticatorSelectionJson = profile.getAuthenticatorSelectionJson();
+        this.attestation = profile.attestation;
+        this.excludeCredentials = excludeCredentials;
+    }
 
-        return json;
+    /**
+     * Uses an already encoded excludeCredentials array instead of the list.
+     */
+    public void setExcludeCredentialsJson(@NonNull String excludeCredentialsJson) {
+        this.excludeCredentialsJson = excludeCredentialsJson;
     }
-}
 
+    /**
+     * Serializes the options in one pass, in a fixed key order.
+     */
+    @NonNull
+    public String toJSON() {
+        int excludeCount = excludeCredentials == null ? 0 : excludeCredentials.size();
+        int excludeJsonLength = excludeCredentialsJson == null ? 0 : excludeCredentialsJson.length();
+        JsonStringWriter json = new JsonStringWriter(512 + excludeCount * 96 + excludeJsonLength);
+        json.beginObject();
+        if (rpJson != null) {
+            json.name("rp").rawValue(rpJson);
+        } else if (rp != null) {
+            writeRelyingParty(json.name("rp"), rp);
+        }
+        if (user != null) {
+            json.name("user").beginObject();
+            json.name("name").value(user.getName());
+            if (user.getIcon() != null) json.name("icon").value(user.getIcon());
+            json.name("displayName").value(user.getDisplayName());
+            json.name("id").value(user.getId());
+            json.endObject();
+        }
+        if (challenge != null) json.name("challenge").value(challenge);
+        if (attestation != null) json.name("attestation").value(attestation);
+        if (timeout != null) json.name("timeout").value(timeout);
+        if (pubKeyCredParamsJson != null) {
+            json.name("pubKeyCredParams").rawValue(pubKeyCredParamsJson);
+        } else if (pubKeyCredParams != null) {
+            writePubKeyCredParams(json.name("pubKeyCredParams"), pubKeyCredParams);
+        }
+        if (authenticatorSelectionJson != null) {
+            json.name("authenticatorSelection").rawValue(authenticatorSelectionJson);
+        } else if (authenticatorSelection != null) {
+            writeAuthenticatorSelection(json.name("authenticatorSelection"), authenticatorSelection);
+        }
+        if (excludeCredentialsJson != null) {
+            json.name("excludeCredentials").rawValue(excludeCredentialsJson);
+        } else if (excludeCredentials != null) {
+            json.name("excludeCredentials").beginArray();
+            for (Messages.ExcludeCredential credential : excludeCredentials) {
+                writeExcludeCredential(json, credential.getType(), credential.getId());
+            }
+            json.endArray();
+        }
+        json.endObject();
+
+        return json.toString();
+    }
+
+    public static void writeExcludeCredential(@NonNull JsonStringWriter json, @NonNull String type, @NonNull String id) {
+        json.beginObject();
+        json.name("type").value(type);
+        json.name("id").value(id);
+        json.endObject();
+    }
+
+    public static void writeRelyingParty(@NonNull JsonStringWriter json, @NonNull Messages.RelyingParty rp) {
+        json.beginObject();
+        json.name("name").value(rp.getName());
+        json.name("id").value(rp.getId());
+        json.endObject();
+    }
+
+    public static void writePubKeyCredParams(@NonNull JsonStringWriter json, @NonNull List<Messages.PubKeyCredParam> pubKeyCredParams) {
+        json.beginArray();
+        for (Messages.PubKeyCredParam param : pubKeyCredParams) {
+            json.beginObject();
+            json.name("type").value(param.getType());
+            json.name("alg").value(param.getAlg());
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    public static void writeAuthenticatorSelection(@NonNull JsonStringWriter json, @NonNull Messages.AuthenticatorSelection authenticatorSelection) {
+        json.beginObject();
+        if (authenticatorSelection.getAuthenticatorAttachment() != null)
+            json.name("authenticatorAttachment").value(authenticatorSelection.getAuthenticatorAttachment());
+        json.name("requireResidentKey").value(authenticatorSelection.getRequireResidentKey());
+        json.name("residentKey").value(authenticatorSelection.getResidentKey());
+        json.name("userVerification").value(authenticatorSelection.getUserVerification());
+        json.endObject();
+    }
+}
@@ -0,0 +1,239 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthenticateStrategyTest {
+    private static final String RP_ID = "example.com";
+
+    private Context context;
+    private AuthenticateStrategy strategy;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        strategy = new AuthenticateStrategy(context);
+        strategy.setExplorationRate(0);
+    }
+
+    @Test
+    public void successIsRecordedForItsPath() {
+        succeed(AuthenticateStrategy.Path.DIRECT, 40);
+
+        Messages.AuthenticateStrategyStats stats = strategy.getStats(RP_ID);
+        assertEquals(1L, (long) stats.getDirectSamples());
+        assertEquals(40L, (long) stats.getDirectMedianMillis());
+        assertEquals(0L, (long) stats.getPrepareSamples());
+    }
+
+    @Test
+    public void failuresAreNotRecorded() {
+        strategy.record(RP_ID, AuthenticateStrategy.Path.PREPARE, uiShownAfter(30), new Ignore<>())
+                .error(new Messages.FlutterError("android-no-credential", "no credential available", ""));
+        strategy.record(RP_ID, AuthenticateStrategy.Path.PREPARE, uiShownAfter(30), new Ignore<>())
+                .error(new Messages.FlutterError("cancelled", "", ""));
+
+        assertEquals(0L, (long) strategy.getStats(RP_ID).getPrepareSamples());
+    }
+
+    @Test
+    public void ceremonyWithoutUiIsNotRecorded() {
+        strategy.record(RP_ID, AuthenticateStrategy.Path.DIRECT, new CeremonyTimer(null), new Ignore<>()).success("json");
+
+        assertEquals(0L, (long) strategy.getStats(RP_ID).getDirectSamples());
+    }
+
+    @Test
+    public void resultIsForwarded() {
+        Ignore<String> result = new Ignore<>();
+        Messages.FlutterError error = new Messages.FlutterError("cancelled", "", "");
+
+        strategy.record(RP_ID, AuthenticateStrategy.Path.DIRECT, new CeremonyTimer(null), result).error(error);
+
+        assertEquals(error, result.error);
+    }
+
+    @Test
+    public void timeInTheUiIsNotCounted() {
+        CeremonyTimer timer = new CeremonyTimer(null);
+        SystemClock.sleep(5);
+        // waiting for another ceremony does not depend on the path
+        timer.mark(CeremonyTimer.PHASE_QUEUED);
+        SystemClock.sleep(10);
+        timer.mark(CeremonyTimer.PHASE_BUILD_OPTIONS);
+        SystemClock.sleep(25);
+        timer.markUiShown();
+        SystemClock.sleep(8_000);
+        timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+
+        strategy.record(RP_ID, AuthenticateStrategy.Path.DIRECT, timer, new Ignore<>()).success("json");
+
+        assertEquals(35L, (long) strategy.getStats(RP_ID).getDirectMedianMillis());
+    }
+
+    @Test
+    public void preparedAheadCountsThePrepareTime() {
+        strategy.record(RP_ID, AuthenticateStrategy.Path.PREPARE, uiShownAfter(10), 70_000, new Ignore<>()).success("json");
+
+        assertEquals(80L, (long) strategy.getStats(RP_ID).getPrepareMedianMillis());
+    }
+
+    @Test
+    public void prepareUntilBothPathsHaveEnoughSamples() {
+        assertEquals(AuthenticateStrategy.Path.PREPARE, strategy.choose(RP_ID));
+
+        for (int i = 0; i < 3; i++) {
+            succeed(AuthenticateStrategy.Path.DIRECT, 10);
+        }
+        for (int i = 0; i < 10; i++) {
+            succeed(AuthenticateStrategy.Path.PREPARE, 200);
+        }
+        assertEquals(AuthenticateStrategy.Path.PREPARE, strategy.choose(RP_ID));
+        assertEquals("prepare", strategy.getStats(RP_ID).getDecision());
+
+        succeed(AuthenticateStrategy.Path.DIRECT, 10);
+        assertEquals(AuthenticateStrategy.Path.DIRECT, strategy.choose(RP_ID));
+    }
+
+    @Test
+    public void pathsAreComparedByMedian() {
+        // two slow outliers put DIRECT's mean far above PREPARE, its median stays below
+        for (long millis : new long[]{20, 22, 5_000, 21, 5_000}) {
+            succeed(AuthenticateStrategy.Path.DIRECT, millis);
+        }
+        for (int i = 0; i < 5; i++) {
+            succeed(AuthenticateStrategy.Path.PREPARE, 60);
+        }
+
+        Messages.AuthenticateStrategyStats stats = strategy.getStats(RP_ID);
+        assertEquals(22L, (long) stats.getDirectMedianMillis());
+        assertEquals(60L, (long) stats.getPrepareMedianMillis());
+        assertEquals(AuthenticateStrategy.Path.DIRECT, strategy.choose(RP_ID));
+
+        for (int i = 0; i < 6; i++) {
+            succeed(AuthenticateStrategy.Path.DIRECT, 90);
+        }
+        assertEquals(AuthenticateStrategy.Path.PREPARE, strategy.choose(RP_ID));
+    }
+
+    @Test
+    public void onlyTheLastSamplesCount() {
+        for (int i = 0; i < 16; i++) {
+            succeed(AuthenticateStrategy.Path.DIRECT, 500);
+        }
+        for (int i = 0; i < 16; i++) {
+            succeed(AuthenticateStrategy.Path.DIRECT, 30);
+        }
+
+        Messages.AuthenticateStrategyStats stats = strategy.getStats(RP_ID);
+        assertEquals(16L, (long) stats.getDirectSamples());
+        assertEquals(30L, (long) stats.getDirectMedianMillis());
+    }
+
+    @Test
+    public void explorationRateZeroKeepsTheDecision() {
+        strategy.setExplorationRate(0);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(AuthenticateStrategy.Path.PREPARE, strategy.choose(RP_ID));
+        }
+    }
+
+    @Test
+    public void explorationRateOneAlwaysTriesTheOtherPath() {
+        strategy.setExplorationRate(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(AuthenticateStrategy.Path.DIRECT, strategy.choose(RP_ID));
+        }
+        // the stats report the decision, not the explored path
+        assertEquals("prepare", strategy.getStats(RP_ID).getDecision());
+    }
+
+    @Test
+    public void fixedModesIgnoreTheSamples() {
+        strategy.setExplorationRate(1);
+        strategy.setMode(AuthenticateStrategy.Mode.DIRECT);
+        assertEquals(AuthenticateStrategy.Path.DIRECT, strategy.choose(RP_ID));
+
+        strategy.setMode(AuthenticateStrategy.Mode.PREPARE);
+        assertEquals(AuthenticateStrategy.Path.PREPARE, strategy.choose(RP_ID));
+    }
+
+    @Test
+    public void samplesSurviveARestart() {
+        for (int i = 0; i < 4; i++) {
+            succeed(AuthenticateStrategy.Path.DIRECT, 15 + i);
+            succeed(AuthenticateStrategy.Path.PREPARE, 80);
+        }
+        succeed(AuthenticateStrategy.Path.DIRECT, 12);
+        // another rpId is kept apart
+        strategy.record("other.example", AuthenticateStrategy.Path.PREPARE, uiShownAfter(5), new Ignore<>()).success("json");
+
+        AuthenticateStrategy restarted = new AuthenticateStrategy(context);
+        restarted.setExplorationRate(0);
+
+        Messages.AuthenticateStrategyStats stats = restarted.getStats(RP_ID);
+        assertEquals(5L, (long) stats.getDirectSamples());
+        assertEquals(16L, (long) stats.getDirectMedianMillis());
+        assertEquals(4L, (long) stats.getPrepareSamples());
+        assertEquals(80L, (long) stats.getPrepareMedianMillis());
+        assertEquals(AuthenticateStrategy.Path.DIRECT, restarted.choose(RP_ID));
+        assertEquals(1L, (long) restarted.getStats("other.example").getPrepareSamples());
+        assertEquals(0L, (long) restarted.getStats("other.example").getDirectSamples());
+    }
+
+    @Test
+    public void unreadablePreferencesStartOver() {
+        context.getSharedPreferences("com.corbado.passkeys.authenticate_strategy_v3", Context.MODE_PRIVATE)
+                .edit().putString(RP_ID, "12,x;4").commit();
+
+        Messages.AuthenticateStrategyStats stats = new AuthenticateStrategy(context).getStats(RP_ID);
+
+        assertEquals(0L, (long) stats.getPrepareSamples());
+        assertEquals(0L, (long) stats.getDirectSamples());
+        assertNull(stats.getDirectMedianMillis());
+    }
+
+    private void succeed(AuthenticateStrategy.Path path, long millis) {
+        strategy.record(RP_ID, path, uiShownAfter(millis), new Ignore<>()).success("json");
+    }
+
+    /**
+     * A ceremony whose credential UI appeared millis after the request, followed by a few
+     * seconds of the user's time.
+     */
+    private static CeremonyTimer uiShownAfter(long millis) {
+        CeremonyTimer timer = new CeremonyTimer(null);
+        SystemClock.sleep(millis);
+        timer.markUiShown();
+        SystemClock.sleep(3_000);
+        timer.mark(CeremonyTimer.PHASE_USER_INTERACTION);
+        return timer;
+    }
+
+    private static class Ignore<T> implements Messages.Result<T> {
+        Throwable error;
+
+        @Override
+        public void success(T value) {
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+            this.error = error;
+        }
+    }
+}
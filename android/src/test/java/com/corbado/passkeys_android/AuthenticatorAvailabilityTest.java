@@ -0,0 +1,182 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthenticatorAvailabilityTest {
+    private final FakeProbe probe = new FakeProbe();
+    private Context context;
+    private AuthenticatorAvailability availability;
+
+    @Before
+    public void setUp() {
+        PasskeysEligibility.resetForTesting(null);
+        context = RuntimeEnvironment.getApplication();
+        availability = new AuthenticatorAvailability(context, probe);
+    }
+
+    @After
+    public void tearDown() {
+        availability.release();
+        PasskeysEligibility.resetForTesting(null);
+    }
+
+    @Test
+    public void callersDuringOneProbeShareIt() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+
+        availability.isAvailable(first);
+        availability.isAvailable(second);
+        assertEquals(1, probe.started.size());
+        assertNull(first.value);
+
+        probe.complete(0, true);
+
+        assertEquals(Boolean.TRUE, first.value);
+        assertEquals(Boolean.TRUE, second.value);
+        Messages.CanAuthenticateCacheStats stats = availability.getStats();
+        assertEquals(1L, (long) stats.getMisses());
+        assertEquals(1L, (long) stats.getHits());
+    }
+
+    @Test
+    public void answerIsReusedUntilItExpires() {
+        availability.isAvailable(new Recorder());
+        probe.complete(0, false);
+
+        SystemClock.sleep(AuthenticatorAvailability.DEFAULT_TTL_MILLIS - 1);
+        Recorder cached = new Recorder();
+        availability.isAvailable(cached);
+        assertEquals(Boolean.FALSE, cached.value);
+        assertEquals(1, probe.started.size());
+
+        SystemClock.sleep(1);
+        Recorder expired = new Recorder();
+        availability.isAvailable(expired);
+        assertEquals(2, probe.started.size());
+        assertNull(expired.value);
+        probe.complete(1, true);
+        assertEquals(Boolean.TRUE, expired.value);
+    }
+
+    @Test
+    public void zeroTtlStillSharesTheProbe() {
+        availability.setTtlMillis(0);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+
+        availability.isAvailable(first);
+        availability.isAvailable(second);
+        probe.complete(0, true);
+        availability.isAvailable(new Recorder());
+
+        assertEquals(Boolean.TRUE, second.value);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void probeStartedBeforeAnInvalidationDoesNotFillTheCache() {
+        Recorder before = new Recorder();
+        availability.isAvailable(before);
+
+        availability.invalidate();
+
+        // later callers do not join the stale probe
+        Recorder after = new Recorder();
+        availability.isAvailable(after);
+        assertEquals(2, probe.started.size());
+
+        probe.complete(0, true);
+        assertEquals(Boolean.TRUE, before.value);
+        assertNull(after.value);
+
+        Recorder joining = new Recorder();
+        availability.isAvailable(joining);
+        assertEquals(2, probe.started.size());
+
+        probe.complete(1, false);
+        assertEquals(Boolean.FALSE, after.value);
+        assertEquals(Boolean.FALSE, joining.value);
+        Recorder cached = new Recorder();
+        availability.isAvailable(cached);
+        assertEquals(Boolean.FALSE, cached.value);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void eligibilityChangeDropsTheAnswer() {
+        availability.isAvailable(new Recorder());
+        probe.complete(0, true);
+
+        context.sendBroadcast(new Intent(Intent.ACTION_SCREEN_OFF));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        availability.isAvailable(new Recorder());
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void failureIsNotCached() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        availability.isAvailable(first);
+        availability.isAvailable(second);
+        RuntimeException failure = new RuntimeException("Play services unavailable");
+
+        probe.started.get(0).error(failure);
+
+        assertSame(failure, first.error);
+        assertSame(failure, second.error);
+        availability.isAvailable(new Recorder());
+        assertEquals(2, probe.started.size());
+    }
+
+    private static class FakeProbe implements AuthenticatorAvailability.Probe {
+        final List<Messages.Result<Boolean>> started = new ArrayList<>();
+
+        @Override
+        public void start(@NonNull Messages.Result<Boolean> result) {
+            started.add(result);
+        }
+
+        void complete(int index, boolean value) {
+            started.get(index).success(value);
+        }
+    }
+
+    private static class Recorder implements Messages.Result<Boolean> {
+        Boolean value;
+        Throwable error;
+
+        @Override
+        public void success(Boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.Signature;
+import android.content.pm.SigningInfo;
+
+import com.corbado.passkeys_android.models.Base64Url;
+import com.corbado.passkeys_android.models.ClientData;
+import com.corbado.passkeys_android.models.JsonStringWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadow.api.Shadow;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+
+@RunWith(RobolectricTestRunner.class)
+public class ClientDataValidatorTest {
+    private static final String CHALLENGE = Base64Url.encode("the request challenge".getBytes(StandardCharsets.UTF_8));
+    private static final byte[] CERTIFICATE = "signing certificate".getBytes(StandardCharsets.UTF_8);
+
+    private Context context;
+    private String appOrigin;
+
+    @Before
+    public void setUp() throws NoSuchAlgorithmException {
+        context = RuntimeEnvironment.getApplication();
+        appOrigin = "android:apk-key-hash:" + Base64Url.encode(MessageDigest.getInstance("SHA-256").digest(CERTIFICATE));
+    }
+
+    @Test
+    public void matchingResponsePasses() {
+        ClientDataValidator validator = signedValidator();
+
+        assertNull(validator.validate(response(clientData(ClientData.TYPE_CREATE, CHALLENGE, appOrigin)), ClientData.TYPE_CREATE, CHALLENGE));
+        assertNull(validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, appOrigin)), ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void wrongTypeIsRejected() {
+        Messages.FlutterError error = signedValidator().validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, appOrigin)), ClientData.TYPE_CREATE, CHALLENGE);
+
+        assertMismatch("type", error);
+    }
+
+    @Test
+    public void staleChallengeIsRejected() {
+        String previous = Base64Url.encode("the previous challenge".getBytes(StandardCharsets.UTF_8));
+
+        Messages.FlutterError error = signedValidator().validate(response(clientData(ClientData.TYPE_GET, previous, appOrigin)), ClientData.TYPE_GET, CHALLENGE);
+
+        assertMismatch("challenge", error);
+    }
+
+    @Test
+    public void missingChallengeIsRejected() {
+        Messages.FlutterError error = signedValidator().validate(response(clientData(ClientData.TYPE_GET, null, appOrigin)), ClientData.TYPE_GET, CHALLENGE);
+
+        assertMismatch("challenge", error);
+    }
+
+    @Test
+    public void otherAppsKeyHashIsRejected() throws NoSuchAlgorithmException {
+        String otherApp = "android:apk-key-hash:" + Base64Url.encode(MessageDigest.getInstance("SHA-256").digest("other certificate".getBytes(StandardCharsets.UTF_8)));
+
+        Messages.FlutterError error = signedValidator().validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, otherApp)), ClientData.TYPE_GET, CHALLENGE);
+
+        assertMismatch("origin", error);
+    }
+
+    @Test
+    public void missingOriginIsRejected() {
+        Messages.FlutterError error = signedValidator().validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, null)), ClientData.TYPE_GET, CHALLENGE);
+
+        assertMismatch("origin", error);
+    }
+
+    @Test
+    public void extraOriginsAreAccepted() {
+        ClientDataValidator validator = signedValidator();
+        String response = response(clientData(ClientData.TYPE_GET, CHALLENGE, "https://passkeys.eu"));
+        assertMismatch("origin", validator.validate(response, ClientData.TYPE_GET, CHALLENGE));
+
+        validator.setExtraOrigins(Arrays.asList("https://passkeys.eu", "https://www.passkeys.eu"));
+
+        assertNull(validator.validate(response, ClientData.TYPE_GET, CHALLENGE));
+        // the app's own origin still passes, others still fail
+        assertNull(validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, appOrigin)), ClientData.TYPE_GET, CHALLENGE));
+        assertMismatch("origin", validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, "https://evil.example")), ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void noKnownOriginFailsAsUnverifiable() {
+        // Robolectric's app has no signing certificates
+        ClientDataValidator validator = new ClientDataValidator(context);
+
+        Messages.FlutterError error = validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, appOrigin)), ClientData.TYPE_GET, CHALLENGE);
+
+        assertNotNull(error);
+        assertEquals(ClientDataValidator.ERROR_UNVERIFIABLE, error.code);
+        assertEquals("origin", error.details);
+    }
+
+    @Test
+    public void extraOriginsAloneAreEnoughToCheck() {
+        ClientDataValidator validator = new ClientDataValidator(context);
+        validator.setExtraOrigins(Collections.singletonList("https://passkeys.eu"));
+
+        assertNull(validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, "https://passkeys.eu")), ClientData.TYPE_GET, CHALLENGE));
+        assertMismatch("origin", validator.validate(response(clientData(ClientData.TYPE_GET, CHALLENGE, appOrigin)), ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void typeAndChallengeAreCheckedBeforeTheOrigin() {
+        ClientDataValidator validator = new ClientDataValidator(context);
+
+        assertMismatch("type", validator.validate(response(clientData(ClientData.TYPE_CREATE, CHALLENGE, appOrigin)), ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void invalidJsonIsRejected() {
+        String clientDataJSON = Base64Url.encode("{\"type\":\"webauthn.get\",".getBytes(StandardCharsets.UTF_8));
+
+        assertMismatch("clientDataJSON", signedValidator().validate(response(clientDataJSON), ClientData.TYPE_GET, CHALLENGE));
+        assertMismatch("clientDataJSON", signedValidator().validate("not json", ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void invalidBase64IsRejected() {
+        assertMismatch("clientDataJSON", signedValidator().validate(response("not*base64!"), ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    @Test
+    public void missingClientDataIsRejected() {
+        String response = new JsonStringWriter().beginObject()
+                .name("response").beginObject().endObject()
+                .endObject()
+                .toString();
+
+        assertMismatch("clientDataJSON", signedValidator().validate(response, ClientData.TYPE_GET, CHALLENGE));
+        assertMismatch("clientDataJSON", signedValidator().validate(null, ClientData.TYPE_GET, CHALLENGE));
+    }
+
+    /**
+     * A validator for an app signed with CERTIFICATE.
+     */
+    private ClientDataValidator signedValidator() {
+        SigningInfo signingInfo = Shadow.newInstanceOf(SigningInfo.class);
+        shadowOf(signingInfo).setSignatures(new Signature[]{new Signature(CERTIFICATE)});
+        PackageInfo packageInfo = shadowOf(context.getPackageManager()).getInternalMutablePackageInfo(context.getPackageName());
+        packageInfo.signingInfo = signingInfo;
+        return new ClientDataValidator(context);
+    }
+
+    private static void assertMismatch(String member, Messages.FlutterError error) {
+        assertNotNull(error);
+        assertEquals(ClientDataValidator.ERROR_MISMATCH, error.code);
+        assertEquals(member, error.details);
+    }
+
+    private static String clientData(String type, String challenge, String origin) {
+        JsonStringWriter writer = new JsonStringWriter().beginObject().name("type").value(type);
+        if (challenge != null) {
+            writer.name("challenge").value(challenge);
+        }
+        if (origin != null) {
+            writer.name("origin").value(origin);
+        }
+        String json = writer
+                .name("crossOrigin").value(false)
+                .name("tokenBinding").beginObject().name("status").value("present").endObject()
+                .endObject()
+                .toString();
+        return Base64Url.encode(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String response(String clientDataJSON) {
+        return new JsonStringWriter().beginObject()
+                .name("id").value("credential")
+                .name("type").value("public-key")
+                .name("response").beginObject()
+                .name("clientDataJSON").value(clientDataJSON)
+                .endObject()
+                .endObject()
+                .toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+
+import androidx.credentials.CredentialManager;
+
+import com.google.android.gms.fido.Fido;
+import com.google.android.gms.fido.fido2.Fido2ApiClient;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class CredentialClientsTest {
+    private MockedStatic<CredentialManager> credentialManagers;
+    private MockedStatic<Fido> fido;
+    private CredentialClients clients;
+
+    @Before
+    public void setUp() {
+        credentialManagers = mockStatic(CredentialManager.class);
+        credentialManagers.when(() -> CredentialManager.create(any())).thenAnswer(invocation -> mock(CredentialManager.class));
+        fido = mockStatic(Fido.class);
+        fido.when(() -> Fido.getFido2ApiClient(any())).thenAnswer(invocation -> mock(Fido2ApiClient.class));
+        Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(context);
+        clients = new CredentialClients(context);
+    }
+
+    @After
+    public void tearDown() {
+        credentialManagers.close();
+        fido.close();
+    }
+
+    @Test
+    public void clientsAreCreatedOncePerEngine() {
+        for (int ceremony = 0; ceremony < 10; ceremony++) {
+            clients.getCredentialManager();
+            clients.getFido2ApiClient();
+        }
+
+        credentialManagers.verify(() -> CredentialManager.create(any()), times(1));
+        fido.verify(() -> Fido.getFido2ApiClient(any()), times(1));
+    }
+
+    @Test
+    public void clientsAreCreatedLazily() {
+        credentialManagers.verify(() -> CredentialManager.create(any()), times(0));
+        fido.verify(() -> Fido.getFido2ApiClient(any()), times(0));
+    }
+
+    @Test
+    public void releaseDropsTheClients() {
+        CredentialManager before = clients.getCredentialManager();
+        assertSame(before, clients.getCredentialManager());
+
+        clients.release();
+
+        assertNotSame(before, clients.getCredentialManager());
+        credentialManagers.verify(() -> CredentialManager.create(any()), times(2));
+    }
+}
@@ -0,0 +1,209 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CredentialIndexTest {
+    private static final String RP_ID = "example.com";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private CredentialIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.getRoot(), "index");
+        index = new CredentialIndex(file);
+    }
+
+    @Test
+    public void entriesSurviveAReload() throws InterruptedException {
+        index.recordRegistration(RP_ID, "a", "user-1");
+        index.recordRegistration(RP_ID, "b", "user-2");
+        index.recordRegistration("other.example", "c", null);
+        Thread.sleep(2);
+        index.recordUse(RP_ID, "a", null);
+
+        CredentialIndex reloaded = new CredentialIndex(file);
+
+        assertEquals(describe(index.get(RP_ID, null)), describe(reloaded.get(RP_ID, null)));
+        assertEquals(Arrays.asList("a", "b"), ids(reloaded.get(RP_ID, null)));
+        assertEquals(Arrays.asList("b"), ids(reloaded.get(RP_ID, "user-2")));
+        assertEquals(Arrays.asList("c"), ids(reloaded.get("other.example", null)));
+        assertTrue(reloaded.contains(RP_ID, "a"));
+        assertFalse(reloaded.contains("other.example", "a"));
+    }
+
+    @Test
+    public void useKeepsTheKnownUserHandle() {
+        index.recordRegistration(RP_ID, "a", "user-1");
+        index.recordUse(RP_ID, "a", null);
+
+        List<Messages.KnownCredential> credentials = new CredentialIndex(file).get(RP_ID, null);
+
+        assertEquals("user-1", credentials.get(0).getUserHandle());
+    }
+
+    @Test
+    public void truncatedLastRecordIsDropped() throws IOException {
+        index.recordRegistration(RP_ID, "a", "user");
+        long oneRecord = file.length();
+        index.recordRegistration(RP_ID, "b", "user");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        CredentialIndex reloaded = new CredentialIndex(file);
+
+        assertTrue(reloaded.contains(RP_ID, "a"));
+        assertFalse(reloaded.contains(RP_ID, "b"));
+        // the torn tail is compacted away, so later records are readable again
+        assertEquals(oneRecord, file.length());
+        reloaded.recordRegistration(RP_ID, "c", "user");
+        assertEquals(Arrays.asList("a", "c"), sorted(ids(new CredentialIndex(file).get(RP_ID, null))));
+    }
+
+    @Test
+    public void unknownVersionStartsOver() throws IOException {
+        index.recordRegistration(RP_ID, "a", "user");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(99);
+        }
+
+        CredentialIndex reloaded = new CredentialIndex(file);
+
+        assertFalse(reloaded.contains(RP_ID, "a"));
+        reloaded.recordRegistration(RP_ID, "b", "user");
+        assertTrue(new CredentialIndex(file).contains(RP_ID, "b"));
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveEntries() {
+        index.recordRegistration(RP_ID, "keep", "user");
+        long oneRecord = file.length();
+        // 1 + 33 registrations and 33 removals: the log is compacted once it holds more than
+        // 2 * live + 64 records, which the last removal crosses
+        for (int i = 0; i < 33; i++) {
+            index.recordRegistration(RP_ID, "id-" + i, "user");
+        }
+        for (int i = 0; i < 32; i++) {
+            index.remove(RP_ID, "id-" + i);
+        }
+        long beforeCompaction = file.length();
+
+        index.remove(RP_ID, "id-32");
+
+        assertTrue(beforeCompaction > 30 * oneRecord);
+        assertEquals(oneRecord, file.length());
+        CredentialIndex reloaded = new CredentialIndex(file);
+        assertEquals(Arrays.asList("keep"), ids(reloaded.get(RP_ID, null)));
+        assertEquals(describe(index.get(RP_ID, null)), describe(reloaded.get(RP_ID, null)));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() {
+        for (int i = 0; i < CredentialIndex.DEFAULT_MAX_ENTRIES; i++) {
+            index.recordRegistration(RP_ID, "id-" + i, null);
+        }
+        index.recordUse(RP_ID, "id-0", null);
+
+        index.recordRegistration(RP_ID, "new-0", null);
+        index.recordRegistration(RP_ID, "new-1", null);
+
+        for (CredentialIndex current : Arrays.asList(index, new CredentialIndex(file))) {
+            assertEquals(CredentialIndex.DEFAULT_MAX_ENTRIES, current.get(RP_ID, null).size());
+            assertTrue(current.contains(RP_ID, "id-0"));
+            assertFalse(current.contains(RP_ID, "id-1"));
+            assertFalse(current.contains(RP_ID, "id-2"));
+            assertTrue(current.contains(RP_ID, "id-3"));
+            assertTrue(current.contains(RP_ID, "new-1"));
+        }
+    }
+
+    @Test
+    public void loweringTheLimitEvicts() {
+        for (int i = 0; i < 5; i++) {
+            index.recordRegistration(RP_ID, "id-" + i, null);
+        }
+
+        index.setMaxEntries(2);
+
+        assertEquals(Arrays.asList("id-3", "id-4"), sorted(ids(new CredentialIndex(file).get(RP_ID, null))));
+    }
+
+    @Test
+    public void forgottenCredentialIsGone() {
+        index.recordRegistration(RP_ID, "a", "user");
+        index.recordRegistration(RP_ID, "b", "user");
+
+        index.remove(RP_ID, "a");
+
+        assertFalse(index.contains(RP_ID, "a"));
+        assertEquals(Arrays.asList("b"), ids(index.get(RP_ID, null)));
+        CredentialIndex reloaded = new CredentialIndex(file);
+        assertFalse(reloaded.contains(RP_ID, "a"));
+        assertEquals(Arrays.asList("b"), ids(reloaded.get(RP_ID, null)));
+    }
+
+    @Test
+    public void forgettingAnUnknownCredentialWritesNothing() {
+        index.recordRegistration(RP_ID, "a", "user");
+        long length = file.length();
+
+        index.remove(RP_ID, "unknown");
+        index.remove("other.example", "a");
+
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    public void credentialThatCannotBeEncodedIsNotIndexed() {
+        index.recordRegistration(RP_ID, "a", "user");
+        long length = file.length();
+        char[] id = new char[70_000];
+        Arrays.fill(id, 'x');
+
+        index.recordRegistration(RP_ID, new String(id), "user");
+
+        assertFalse(index.contains(RP_ID, new String(id)));
+        assertEquals(length, file.length());
+        assertEquals(Arrays.asList("a"), ids(new CredentialIndex(file).get(RP_ID, null)));
+    }
+
+    private static List<String> ids(List<Messages.KnownCredential> credentials) {
+        List<String> ids = new ArrayList<>();
+        for (Messages.KnownCredential credential : credentials) {
+            ids.add(credential.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> describe(List<Messages.KnownCredential> credentials) {
+        List<String> descriptions = new ArrayList<>();
+        for (Messages.KnownCredential credential : credentials) {
+            descriptions.add(credential.getId() + " " + credential.getUserHandle() + " "
+                    + credential.getCreatedAtMillis() + " " + credential.getLastUsedMillis());
+        }
+        return descriptions;
+    }
+
+    private static List<String> sorted(List<String> values) {
+        values.sort(null);
+        return values;
+    }
+}
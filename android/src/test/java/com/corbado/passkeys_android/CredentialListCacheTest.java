@@ -0,0 +1,115 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class CredentialListCacheTest {
+    private final CredentialListCache cache = new CredentialListCache();
+
+    @Test
+    public void storedListIsEncodedForBothCeremonies() {
+        cache.put("example.com", "user", "v1", credentials(2));
+
+        CredentialListCache.Entry entry = cache.get("example.com", "user", "v1");
+
+        assertNotNull(entry);
+        assertEquals("[{\"type\":\"public-key\",\"id\":\"id-0\",\"transports\":[\"internal\"]},{\"type\":\"public-key\",\"id\":\"id-1\",\"transports\":[\"internal\"]}]", entry.allowCredentialsJson);
+        assertEquals("[{\"type\":\"public-key\",\"id\":\"id-0\"},{\"type\":\"public-key\",\"id\":\"id-1\"}]", entry.excludeCredentialsJson);
+        assertEquals(Arrays.asList("id-0", "id-1"), entry.credentialIds);
+    }
+
+    @Test
+    public void otherVersionsMiss() {
+        cache.put("example.com", "user", "v1", credentials(1));
+        cache.put("example.com", "user", "v2", credentials(1));
+
+        assertNull(cache.get("example.com", "user", "v1"));
+        assertNotNull(cache.get("example.com", "user", "v2"));
+        assertNull(cache.get("example.com", "other", "v2"));
+        assertNull(cache.get("other.com", "user", "v2"));
+    }
+
+    @Test
+    public void leastRecentlyUsedUserIsEvicted() {
+        int entryBytes = sizeOf(credentials(10));
+        cache.setMaxBytes(2L * entryBytes);
+        cache.put("example.com", "a", "v1", credentials(10));
+        cache.put("example.com", "b", "v1", credentials(10));
+        cache.get("example.com", "a", "v1");
+
+        cache.put("example.com", "c", "v1", credentials(10));
+
+        assertNotNull(cache.get("example.com", "a", "v1"));
+        assertNull(cache.get("example.com", "b", "v1"));
+        assertNotNull(cache.get("example.com", "c", "v1"));
+    }
+
+    @Test
+    public void listThatFillsTheCacheIsStored() {
+        cache.setMaxBytes(sizeOf(credentials(10)));
+
+        cache.put("example.com", "user", "v1", credentials(10));
+
+        assertNotNull(cache.get("example.com", "user", "v1"));
+    }
+
+    @Test
+    public void listLargerThanTheCacheIsRejected() {
+        cache.setMaxBytes(sizeOf(credentials(10)));
+        cache.put("example.com", "user", "v1", credentials(10));
+        cache.put("example.com", "other", "v1", Collections.emptyList());
+
+        Messages.FlutterError error = assertThrows(Messages.FlutterError.class, () -> cache.put("example.com", "user", "v2", credentials(11)));
+
+        assertEquals("credential-list-too-large-to-cache", error.code);
+        // the old version is stale now, the other user's list is untouched
+        assertNull(cache.get("example.com", "user", "v1"));
+        assertNull(cache.get("example.com", "user", "v2"));
+        assertNotNull(cache.get("example.com", "other", "v1"));
+    }
+
+    @Test
+    public void defaultCacheRejectsTenThousandCredentials() {
+        assertThrows(Messages.FlutterError.class, () -> cache.put("example.com", "user", "v1", credentials(10000)));
+    }
+
+    @Test
+    public void clearDropsEverything() {
+        cache.put("example.com", "user", "v1", credentials(1));
+
+        cache.clear();
+
+        assertNull(cache.get("example.com", "user", "v1"));
+    }
+
+    private int sizeOf(List<Messages.AllowCredential> credentials) {
+        CredentialListCache probe = new CredentialListCache();
+        probe.put("example.com", "probe", "v1", credentials);
+        CredentialListCache.Entry entry = probe.get("example.com", "probe", "v1");
+        return entry.sizeInBytes();
+    }
+
+    private static List<Messages.AllowCredential> credentials(int count) {
+        List<Messages.AllowCredential> credentials = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            credentials.add(new Messages.AllowCredential.Builder()
+                    .setType("public-key")
+                    .setId("id-" + i)
+                    .setTransports(Collections.singletonList("internal"))
+                    .build());
+        }
+        return credentials;
+    }
+}
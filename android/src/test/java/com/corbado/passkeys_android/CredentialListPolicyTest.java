@@ -0,0 +1,223 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CredentialListPolicyTest {
+    private static final int[] SIZES = {1, 10, 100, 499, 500, 501, 1000, 10000};
+
+    private final CredentialListPolicy policy = new CredentialListPolicy();
+
+    @Test
+    public void listWithoutDuplicatesIsNotCopied() {
+        List<Messages.AllowCredential> credentials = allowCredentials(ids(100));
+
+        assertSame(credentials, policy.applyToAllowCredentials(credentials));
+    }
+
+    @Test
+    public void duplicatesKeepTheFirstOccurrence() {
+        Messages.AllowCredential first = allowCredential("a", "internal");
+        List<Messages.AllowCredential> credentials = Arrays.asList(
+                first,
+                allowCredential("b", "internal"),
+                allowCredential("a", "hybrid"),
+                allowCredential("c", "internal"),
+                allowCredential("b", "hybrid")
+        );
+
+        List<Messages.AllowCredential> unique = policy.applyToAllowCredentials(credentials);
+
+        assertEquals(Arrays.asList("a", "b", "c"), allowIds(unique));
+        assertSame(first, unique.get(0));
+    }
+
+    @Test
+    public void excludeCredentialsAreDeduplicatedToo() {
+        List<Messages.ExcludeCredential> credentials = excludeCredentials(Arrays.asList("a", "a", "b", "a"));
+
+        assertEquals(Arrays.asList("a", "b"), excludeIds(policy.applyToExcludeCredentials(credentials)));
+    }
+
+    @Test
+    public void rejectFailsAboveTheLimit() {
+        policy.setOverflow(CredentialListPolicy.Overflow.REJECT);
+
+        assertEquals(500, policy.applyToAllowCredentials(allowCredentials(ids(500))).size());
+        Messages.FlutterError error = assertThrows(Messages.FlutterError.class, () -> policy.applyToAllowCredentials(allowCredentials(ids(501))));
+
+        assertEquals("credential-list-too-large", error.code);
+        assertEquals("allowCredentials has 501 entries, the limit is 500", error.getMessage());
+    }
+
+    @Test
+    public void trimKeepsTheFirstEntries() {
+        policy.setOverflow(CredentialListPolicy.Overflow.TRIM);
+        List<String> ids = ids(501);
+
+        List<Messages.ExcludeCredential> trimmed = policy.applyToExcludeCredentials(excludeCredentials(ids));
+
+        assertEquals(ids.subList(0, 500), excludeIds(trimmed));
+    }
+
+    @Test
+    public void limitAppliesAfterDeduplication() {
+        policy.setOverflow(CredentialListPolicy.Overflow.REJECT);
+        List<String> ids = new ArrayList<>(ids(500));
+        ids.addAll(ids(100));
+
+        assertEquals(500, policy.applyToAllowCredentials(allowCredentials(ids)).size());
+    }
+
+    @Test
+    public void configuredLimit() {
+        policy.setMaxEntries(2);
+        policy.setOverflow(CredentialListPolicy.Overflow.TRIM);
+
+        assertEquals(Arrays.asList("0", "1"), allowIds(policy.applyToAllowCredentials(allowCredentials(ids(3)))));
+
+        // a limit below one would reject every non-empty list
+        policy.setMaxEntries(0);
+        assertEquals(1, policy.applyToAllowCredentials(allowCredentials(ids(3))).size());
+    }
+
+    @Test
+    public void emptyListPasses() {
+        List<Messages.AllowCredential> empty = Collections.emptyList();
+
+        assertSame(empty, policy.applyToAllowCredentials(empty));
+    }
+
+    @Test
+    public void scalesFromOneToTenThousandEntries() {
+        for (int size : SIZES) {
+            List<String> ids = ids(size);
+            List<String> doubled = new ArrayList<>(ids);
+            doubled.addAll(ids);
+
+            policy.setOverflow(CredentialListPolicy.Overflow.TRIM);
+            List<String> expected = ids.subList(0, Math.min(size, 500));
+            assertEquals("trim " + size, expected, allowIds(policy.applyToAllowCredentials(allowCredentials(ids))));
+            assertEquals("trim duplicated " + size, expected, allowIds(policy.applyToAllowCredentials(allowCredentials(doubled))));
+
+            policy.setOverflow(CredentialListPolicy.Overflow.REJECT);
+            if (size <= 500) {
+                assertEquals("reject " + size, ids, allowIds(policy.applyToAllowCredentials(allowCredentials(doubled))));
+            } else {
+                assertThrows("reject " + size, Messages.FlutterError.class, () -> policy.applyToAllowCredentials(allowCredentials(doubled)));
+            }
+        }
+    }
+
+    @Test
+    public void requestAtTheLimitPasses() {
+        String options = ascii(CredentialListPolicy.DEFAULT_MAX_REQUEST_BYTES);
+
+        assertEquals(256 * 1024, policy.checkRequestSize(options));
+    }
+
+    @Test
+    public void requestAboveTheLimitFails() {
+        String options = ascii(CredentialListPolicy.DEFAULT_MAX_REQUEST_BYTES + 1);
+
+        Messages.FlutterError error = assertThrows(Messages.FlutterError.class, () -> policy.checkRequestSize(options));
+
+        assertEquals("request-too-large", error.code);
+        assertEquals("The request has 262145 bytes, the limit is 262144", error.getMessage());
+    }
+
+    @Test
+    public void requestSizeCountsUtf8Bytes() {
+        // 2, 3 and 4 byte sequences, the last one a surrogate pair
+        String options = "{\"displayName\":\"Ren\u00e9 \u20ac \ud83d\udd11\"}";
+        int bytes = options.getBytes(StandardCharsets.UTF_8).length;
+
+        assertEquals(bytes, policy.checkRequestSize(options));
+
+        policy.setMaxRequestBytes(bytes - 1);
+        assertThrows(Messages.FlutterError.class, () -> policy.checkRequestSize(options));
+    }
+
+    @Test
+    public void multiByteRequestJustAboveTheLimitFails() {
+        // 2 bytes per char, the char count alone would pass
+        StringBuilder options = new StringBuilder();
+        for (int i = 0; i < CredentialListPolicy.DEFAULT_MAX_REQUEST_BYTES / 2 + 1; i++) {
+            options.append('\u00e9');
+        }
+
+        assertThrows(Messages.FlutterError.class, () -> policy.checkRequestSize(options.toString()));
+    }
+
+    @Test
+    public void overflowFromName() {
+        assertEquals(CredentialListPolicy.Overflow.REJECT, CredentialListPolicy.Overflow.fromName("reject"));
+        assertEquals(CredentialListPolicy.Overflow.TRIM, CredentialListPolicy.Overflow.fromName("trim"));
+        assertNull(CredentialListPolicy.Overflow.fromName(null));
+        assertThrows(IllegalArgumentException.class, () -> CredentialListPolicy.Overflow.fromName("drop"));
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(Integer.toString(i));
+        }
+        return ids;
+    }
+
+    private static String ascii(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'a');
+        return new String(chars);
+    }
+
+    private static Messages.AllowCredential allowCredential(String id, String transport) {
+        return new Messages.AllowCredential.Builder()
+                .setType("public-key")
+                .setId(id)
+                .setTransports(Collections.singletonList(transport))
+                .build();
+    }
+
+    private static List<Messages.AllowCredential> allowCredentials(List<String> ids) {
+        List<Messages.AllowCredential> credentials = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            credentials.add(allowCredential(id, "internal"));
+        }
+        return credentials;
+    }
+
+    private static List<Messages.ExcludeCredential> excludeCredentials(List<String> ids) {
+        List<Messages.ExcludeCredential> credentials = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            credentials.add(new Messages.ExcludeCredential.Builder().setType("public-key").setId(id).build());
+        }
+        return credentials;
+    }
+
+    private static List<String> allowIds(List<Messages.AllowCredential> credentials) {
+        List<String> ids = new ArrayList<>(credentials.size());
+        for (Messages.AllowCredential credential : credentials) {
+            ids.add(credential.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> excludeIds(List<Messages.ExcludeCredential> credentials) {
+        List<String> ids = new ArrayList<>(credentials.size());
+        for (Messages.ExcludeCredential credential : credentials) {
+            ids.add(credential.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,225 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class CredentialPresenceTest {
+    private static final String RP_ID = "example.com";
+
+    private final FakeProbe probe = new FakeProbe();
+    private Context context;
+    private CredentialPresence presence;
+
+    @Before
+    public void setUp() {
+        PasskeysEligibility.resetForTesting(null);
+        context = RuntimeEnvironment.getApplication();
+        presence = new CredentialPresence(context);
+    }
+
+    @After
+    public void tearDown() {
+        presence.release();
+        PasskeysEligibility.resetForTesting(null);
+    }
+
+    @Test
+    public void answerIsReusedUntilItExpires() {
+        ask(RP_ID, null);
+        probe.complete(0, true);
+
+        SystemClock.sleep(CredentialPresence.DEFAULT_TTL_MILLIS - 1);
+        assertEquals(Boolean.TRUE, ask(RP_ID, null).value);
+        assertEquals(1, probe.started.size());
+
+        SystemClock.sleep(1);
+        Recorder expired = ask(RP_ID, null);
+        assertNull(expired.value);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void callersForTheSameKeyShareOneProbe() {
+        Recorder first = ask(RP_ID, allow("b", "a"));
+        // the order of allowCredentials does not matter
+        Recorder second = ask(RP_ID, allow("a", "b"));
+        Recorder otherList = ask(RP_ID, allow("a"));
+        assertEquals(2, probe.started.size());
+
+        probe.complete(0, false);
+
+        assertEquals(Boolean.FALSE, first.value);
+        assertEquals(Boolean.FALSE, second.value);
+        assertNull(otherList.value);
+    }
+
+    @Test
+    public void failureReachesAllWaitersAndIsNotCached() {
+        Recorder first = ask(RP_ID, null);
+        Recorder second = ask(RP_ID, null);
+        RuntimeException failure = new RuntimeException("prepareGetCredential failed");
+
+        probe.started.get(0).error(failure);
+
+        assertSame(failure, first.error);
+        assertSame(failure, second.error);
+        ask(RP_ID, null);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void probeStartedBeforeAnInvalidationDoesNotFillTheCache() {
+        Recorder before = ask(RP_ID, null);
+
+        context.sendBroadcast(new Intent(Intent.ACTION_SCREEN_OFF));
+        shadowOf(Looper.getMainLooper()).idle();
+        probe.complete(0, true);
+
+        assertEquals(Boolean.TRUE, before.value);
+        ask(RP_ID, null);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void eligibilityChangeDropsAllAnswers() {
+        ask(RP_ID, null);
+        ask("other.example", null);
+        probe.complete(0, true);
+        probe.complete(1, true);
+
+        presence.invalidate();
+
+        ask(RP_ID, null);
+        ask("other.example", null);
+        assertEquals(4, probe.started.size());
+    }
+
+    @Test
+    public void registrationDropsTheAnswersOfItsRelyingParty() {
+        ask(RP_ID, null);
+        ask(RP_ID, allow("a"));
+        ask("other.example", null);
+        for (int i = 0; i < 3; i++) {
+            probe.complete(i, false);
+        }
+
+        presence.invalidate(RP_ID);
+
+        assertEquals(Boolean.FALSE, ask("other.example", null).value);
+        assertEquals(3, probe.started.size());
+        ask(RP_ID, null);
+        ask(RP_ID, allow("a"));
+        assertEquals(5, probe.started.size());
+    }
+
+    @Test
+    public void registrationDuringAProbeKeepsItsAnswerOutOfTheCache() {
+        Recorder before = ask(RP_ID, null);
+
+        presence.invalidate(RP_ID);
+        Recorder during = ask(RP_ID, null);
+        probe.complete(0, false);
+
+        // the waiters still get the answer, a later caller probes again
+        assertEquals(Boolean.FALSE, before.value);
+        assertEquals(Boolean.FALSE, during.value);
+        ask(RP_ID, null);
+        assertEquals(2, probe.started.size());
+    }
+
+    @Test
+    public void oldestKeyIsEvicted() {
+        for (int i = 0; i < 16; i++) {
+            ask("rp" + i + ".example", null);
+            probe.complete(i, true);
+        }
+
+        ask("rp16.example", null);
+        probe.complete(16, true);
+
+        for (int i = 1; i <= 16; i++) {
+            assertEquals(Boolean.TRUE, ask("rp" + i + ".example", null).value);
+        }
+        assertEquals(17, probe.started.size());
+        assertNull(ask("rp0.example", null).value);
+        assertEquals(18, probe.started.size());
+    }
+
+    @Test
+    public void keysWithAProbeInFlightAreNotEvicted() {
+        Recorder waiting = ask("rp0.example", null);
+        for (int i = 1; i < 17; i++) {
+            ask("rp" + i + ".example", null);
+            probe.complete(i, true);
+        }
+
+        probe.complete(0, true);
+
+        assertEquals(Boolean.TRUE, waiting.value);
+        assertEquals(Boolean.TRUE, ask("rp0.example", null).value);
+        assertEquals(17, probe.started.size());
+    }
+
+    private Recorder ask(String rpId, List<Messages.AllowCredential> allowCredentials) {
+        Recorder result = new Recorder();
+        presence.hasCredentials(rpId, allowCredentials, probe, result);
+        return result;
+    }
+
+    private static List<Messages.AllowCredential> allow(String... ids) {
+        List<Messages.AllowCredential> credentials = new ArrayList<>();
+        for (String id : Arrays.asList(ids)) {
+            credentials.add(new Messages.AllowCredential.Builder().setType("public-key").setId(id).setTransports(new ArrayList<>()).build());
+        }
+        return credentials;
+    }
+
+    private static class FakeProbe implements CredentialPresence.Probe {
+        final List<Messages.Result<Boolean>> started = new ArrayList<>();
+
+        @Override
+        public void start(@NonNull Messages.Result<Boolean> result) {
+            started.add(result);
+        }
+
+        void complete(int index, boolean value) {
+            started.get(index).success(value);
+        }
+    }
+
+    private static class Recorder implements Messages.Result<Boolean> {
+        Boolean value;
+        Throwable error;
+
+        @Override
+        public void success(Boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(RobolectricTestRunner.class)
+public class CredentialUiWatchTest {
+    private final AtomicInteger shown = new AtomicInteger();
+
+    @Test
+    public void pausingTheActivityMeansTheUiIsShown() {
+        ActivityController<Activity> host = Robolectric.buildActivity(Activity.class).setup();
+        CredentialUiWatch.start(host.get(), shown::incrementAndGet);
+
+        host.pause();
+        host.resume().pause();
+
+        assertEquals(1, shown.get());
+    }
+
+    @Test
+    public void otherActivitiesAreIgnored() {
+        ActivityController<Activity> host = Robolectric.buildActivity(Activity.class).setup();
+        ActivityController<Activity> other = Robolectric.buildActivity(Activity.class).setup();
+        CredentialUiWatch.start(host.get(), shown::incrementAndGet);
+
+        other.pause();
+
+        assertEquals(0, shown.get());
+    }
+
+    @Test
+    public void stoppedWatchReportsNothing() {
+        ActivityController<Activity> host = Robolectric.buildActivity(Activity.class).setup();
+        CredentialUiWatch watch = CredentialUiWatch.start(host.get(), shown::incrementAndGet);
+
+        // e.g. the ceremony failed before any UI was shown
+        watch.stop();
+        host.pause();
+
+        assertEquals(0, shown.get());
+    }
+}
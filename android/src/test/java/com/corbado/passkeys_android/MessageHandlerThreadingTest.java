@@ -0,0 +1,197 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.credentials.CreatePublicKeyCredentialRequest;
+import androidx.credentials.CredentialManager;
+import androidx.credentials.GetCredentialRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import io.flutter.plugin.common.BinaryMessenger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which thread each part of a ceremony runs on: the eligibility check and the options build on
+ * the channel's task queue (or the callback pool for queued ceremonies), only the UI launch on
+ * the main thread.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageHandlerThreadingTest {
+    private static final String TASK_QUEUE = "task-queue";
+
+    private final List<String> prefixThreads = new CopyOnWriteArrayList<>();
+    private final List<String> launchThreads = new CopyOnWriteArrayList<>();
+    private MessageHandler handler;
+
+    @Before
+    public void setUp() {
+        PasskeysEligibility.resetForTesting(new PasskeysEligibility.Probes() {
+            @Override
+            public boolean isPlayServicesEligible(Context context) {
+                return true;
+            }
+
+            @Override
+            public boolean isDeviceSecure(Context context) {
+                return true;
+            }
+        });
+        Application application = RuntimeEnvironment.getApplication();
+        Activity activity = mock(Activity.class);
+        when(activity.getApplicationContext()).thenReturn(application);
+        when(activity.getApplication()).thenReturn(application);
+
+        CredentialManager credentialManager = mock(CredentialManager.class);
+        doAnswer(invocation -> launchThreads.add(Thread.currentThread().getName()))
+                .when(credentialManager).createCredentialAsync(any(Context.class), any(CreatePublicKeyCredentialRequest.class), any(CancellationSignal.class), any(Executor.class), any());
+        doAnswer(invocation -> launchThreads.add(Thread.currentThread().getName()))
+                .when(credentialManager).getCredentialAsync(any(Context.class), any(GetCredentialRequest.class), any(CancellationSignal.class), any(Executor.class), any());
+        CredentialClients clients = mock(CredentialClients.class);
+        when(clients.getApplicationContext()).thenReturn(application);
+        when(clients.getCredentialManager()).thenReturn(credentialManager);
+
+        FlutterPasskeysPlugin plugin = mock(FlutterPasskeysPlugin.class);
+        when(plugin.requireCredentialClients()).thenReturn(clients);
+        // the first thing a ceremony does once it starts
+        when(plugin.requireActivity()).thenAnswer(invocation -> {
+            prefixThreads.add(Thread.currentThread().getName());
+            return activity;
+        });
+        handler = new MessageHandler(plugin);
+    }
+
+    @After
+    public void tearDown() {
+        handler.release();
+        PasskeysEligibility.resetForTesting(null);
+    }
+
+    @Test
+    public void ceremonyChannelsUseTheBackgroundTaskQueue() {
+        BinaryMessenger messenger = mock(BinaryMessenger.class);
+        BinaryMessenger.TaskQueue taskQueue = mock(BinaryMessenger.TaskQueue.class);
+        when(messenger.makeBackgroundTaskQueue()).thenReturn(taskQueue);
+
+        Messages.PasskeysApi.setup(messenger, handler);
+
+        for (String method : List.of("register", "registerRaw", "registerBinary", "registerWithProfile", "authenticate", "authenticateRaw", "authenticateBinary", "authenticateWithProfile", "prepareAuthenticate")) {
+            verify(messenger).setMessageHandler(eq("dev.flutter.pigeon.passkeys_android.PasskeysApi." + method), any(), same(taskQueue));
+        }
+        // reads SharedPreferences on its first call per rpId
+        verify(messenger).setMessageHandler(eq("dev.flutter.pigeon.passkeys_android.PasskeysApi.getAuthenticateStrategyStats"), any(), same(taskQueue));
+    }
+
+    @Test
+    public void registerPrefixRunsOnTheTaskQueue() throws InterruptedException {
+        onTaskQueue(() -> register(new Recorder<>()));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(List.of(TASK_QUEUE), prefixThreads);
+        assertEquals(List.of(mainThreadName()), launchThreads);
+    }
+
+    @Test
+    public void authenticatePrefixRunsOnTheTaskQueue() throws InterruptedException {
+        onTaskQueue(() -> handler.authenticate("passkeys.eu", "Y2hhbGxlbmdl", null, null, null, null, new Recorder<>()));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(List.of(TASK_QUEUE), prefixThreads);
+        assertEquals(List.of(mainThreadName()), launchThreads);
+    }
+
+    @Test
+    public void queuedCeremoniesStartOffTheMainThread() throws InterruptedException {
+        handler.configure(new Messages.PasskeysConfig.Builder().setConcurrentCeremonyPolicy("queue").build(), new Recorder<>());
+        Recorder<Messages.RegisterResponse> first = new Recorder<>();
+        onTaskQueue(() -> {
+            register(first);
+            register(new Recorder<>());
+        });
+        awaitLaunches(1);
+
+        // cancelCurrentAuthenticatorOperation is handled on the main thread and settles the first
+        handler.cancelCurrentAuthenticatorOperation(new Recorder<>());
+        awaitLaunches(2);
+
+        assertEquals(2, prefixThreads.size());
+        for (String thread : prefixThreads) {
+            assertTrue(thread, thread.startsWith("passkeys-callback-"));
+        }
+        assertEquals(List.of(mainThreadName(), mainThreadName()), launchThreads);
+        assertEquals("cancelled", ((Messages.FlutterError) first.error).code);
+    }
+
+    private void register(Messages.Result<Messages.RegisterResponse> result) {
+        handler.register(
+                "Y2hhbGxlbmdl",
+                new Messages.RelyingParty.Builder().setId("passkeys.eu").setName("Passkeys").build(),
+                new Messages.User.Builder().setId("dXNlcg").setName("user").setDisplayName("User").build(),
+                new Messages.AuthenticatorSelection.Builder().setRequireResidentKey(true).setResidentKey("required").setUserVerification("required").build(),
+                null,
+                null,
+                null,
+                List.of(),
+                null,
+                result
+        );
+    }
+
+    // runs the main looper until the ceremonies started on the callback pool have posted their launches
+    private void awaitLaunches(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (launchThreads.size() < count && System.nanoTime() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(5);
+        }
+        assertEquals(count, launchThreads.size());
+    }
+
+    private static void onTaskQueue(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task, TASK_QUEUE);
+        thread.start();
+        thread.join();
+    }
+
+    private static String mainThreadName() {
+        return Looper.getMainLooper().getThread().getName();
+    }
+
+    private static class Recorder<T> implements Messages.Result<T> {
+        volatile Throwable error;
+
+        @Override
+        public void success(T value) {
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+            this.error = error;
+        }
+    }
+}
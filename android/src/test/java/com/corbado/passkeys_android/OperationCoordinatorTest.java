@@ -0,0 +1,348 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OperationCoordinatorTest {
+    private final OperationCoordinator coordinator = new OperationCoordinator(Runnable::run);
+
+    @Test
+    public void preemptSettlesTheRunningOperation() {
+        coordinator.setPolicy(OperationCoordinator.Policy.PREEMPT);
+        Held first = submit();
+        Held second = submit();
+
+        assertCancelled(first.result, "The operation was cancelled");
+        assertTrue(first.operation.isCancelled());
+        assertTrue(second.started());
+
+        // Credential Manager calling back anyway must not reach the caller again
+        first.settle.success("late");
+        assertEquals(1, first.result.calls.get());
+
+        second.settle.success("second");
+        assertEquals("second", second.result.value);
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void cancelActiveFreesTheSlot() {
+        coordinator.setPolicy(OperationCoordinator.Policy.REJECT);
+        Held first = submit();
+
+        assertTrue(coordinator.cancelActive());
+
+        assertCancelled(first.result, "The operation was cancelled");
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void cancelActiveWithoutOperation() {
+        assertFalse(coordinator.cancelActive());
+    }
+
+    @Test
+    public void cancelActiveStartsTheNextQueuedOperation() {
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        Held first = submit();
+        Held second = submit();
+        assertFalse(second.started());
+
+        coordinator.cancelActive();
+
+        assertCancelled(first.result, "The operation was cancelled");
+        assertTrue(second.started());
+        assertEquals(0, second.result.calls.get());
+    }
+
+    @Test
+    public void cancelAllSettlesActiveAndQueued() {
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        Held first = submit();
+        Held second = submit();
+        Held third = submit();
+
+        coordinator.cancelAll();
+
+        assertCancelled(first.result, "The operation was cancelled");
+        assertCancelled(second.result, "The operation was cancelled before it started");
+        assertCancelled(third.result, "The operation was cancelled before it started");
+        assertFalse(second.started());
+        assertFalse(third.started());
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void rejectWhileRunning() {
+        coordinator.setPolicy(OperationCoordinator.Policy.REJECT);
+        Held first = submit();
+        Held second = submit();
+
+        assertFalse(second.started());
+        assertEquals("operation-in-progress", ((Messages.FlutterError) second.result.error).code);
+
+        first.settle.success("first");
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void throwingStartSettlesWithTheException() {
+        coordinator.setPolicy(OperationCoordinator.Policy.REJECT);
+        IllegalStateException failure = new IllegalStateException("no activity");
+        Recorder<String> result = new Recorder<>();
+
+        coordinator.submit(result, (operation, settle) -> {
+            throw failure;
+        });
+
+        assertSame(failure, result.error);
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void throwingStartDoesNotStallTheQueue() {
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        Held first = submit();
+        Recorder<String> throwing = new Recorder<>();
+        coordinator.submit(throwing, (operation, settle) -> {
+            throw new IllegalArgumentException("bad options");
+        });
+        Held third = submit();
+
+        first.settle.success("first");
+
+        assertEquals(1, throwing.calls.get());
+        assertTrue(throwing.error instanceof IllegalArgumentException);
+        assertTrue(third.started());
+    }
+
+    @Test
+    public void throwingAfterSettlingRepliesOnce() {
+        Recorder<String> result = new Recorder<>();
+
+        coordinator.submit(result, (operation, settle) -> {
+            settle.success("done");
+            throw new IllegalStateException("after the reply");
+        });
+
+        assertEquals(1, result.calls.get());
+        assertEquals("done", result.value);
+    }
+
+    @Test
+    public void longQueueOfSynchronousCeremonies() {
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        Held first = submit();
+        List<Recorder<String>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Recorder<String> result = new Recorder<>();
+            results.add(result);
+            // e.g. ineligible devices fail before anything is launched
+            coordinator.submit(result, (operation, settle) -> settle.error(new Messages.FlutterError("android-missing-google-sign-in", "", "")));
+        }
+
+        first.settle.success("first");
+
+        for (Recorder<String> result : results) {
+            assertEquals(1, result.calls.get());
+        }
+        assertTrue(submit().started());
+    }
+
+    @Test
+    public void queuedOperationStartsOnTheExecutor() throws InterruptedException {
+        ExecutorService starter = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "starter"));
+        OperationCoordinator coordinator = new OperationCoordinator(starter);
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        List<String> threads = new ArrayList<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        List<Messages.Result<String>> settles = new ArrayList<>();
+
+        coordinator.submit(new Recorder<String>(), (operation, settle) -> {
+            settles.add(settle);
+            firstStarted.countDown();
+        });
+        coordinator.submit(new Recorder<String>(), (operation, settle) -> {
+            threads.add(Thread.currentThread().getName());
+            secondStarted.countDown();
+        });
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        // the reply to Dart settles the first ceremony on the main thread
+        Thread main = new Thread(() -> settles.get(0).success("first"), "main");
+        main.start();
+        main.join();
+
+        assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("starter"), threads);
+        starter.shutdown();
+    }
+
+    @Test
+    public void rejectedStartSettlesTheQueuedOperation() {
+        OperationCoordinator coordinator = new OperationCoordinator(task -> {
+            throw new RejectedExecutionException("shut down");
+        });
+        coordinator.setPolicy(OperationCoordinator.Policy.QUEUE);
+        Recorder<String> result = new Recorder<>();
+
+        coordinator.submit(result, (operation, settle) -> settle.success("never"));
+
+        assertEquals(1, result.calls.get());
+        assertTrue(result.error instanceof RejectedExecutionException);
+        coordinator.setPolicy(OperationCoordinator.Policy.REJECT);
+        Held held = new Held();
+        coordinator.submit(held.result, (operation, settle) -> held.operation = operation);
+        assertTrue("the coordinator is idle", held.started());
+    }
+
+    @Test
+    public void stressPreempt() throws InterruptedException {
+        stress(OperationCoordinator.Policy.PREEMPT);
+    }
+
+    @Test
+    public void stressQueue() throws InterruptedException {
+        stress(OperationCoordinator.Policy.QUEUE);
+    }
+
+    @Test
+    public void stressReject() throws InterruptedException {
+        stress(OperationCoordinator.Policy.REJECT);
+    }
+
+    /**
+     * Submits from several threads while ceremonies settle on other threads, some of them after
+     * being cancelled, and cancels from yet another thread. Every caller must get exactly one
+     * reply and the coordinator must be idle afterwards.
+     */
+    private void stress(OperationCoordinator.Policy policy) throws InterruptedException {
+        coordinator.setPolicy(policy);
+        int submitters = 8;
+        int perSubmitter = 500;
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+        ExecutorService submitting = Executors.newFixedThreadPool(submitters);
+        List<Recorder<String>> results = new ArrayList<>();
+        CountDownLatch replies = new CountDownLatch(submitters * perSubmitter);
+        AtomicInteger started = new AtomicInteger();
+
+        for (int s = 0; s < submitters; s++) {
+            List<Recorder<String>> own = new ArrayList<>();
+            for (int i = 0; i < perSubmitter; i++) {
+                own.add(new Recorder<>(replies));
+            }
+            results.addAll(own);
+            int seed = s;
+            submitting.execute(() -> {
+                Random random = new Random(seed);
+                for (Recorder<String> result : own) {
+                    int behaviour = random.nextInt(4);
+                    coordinator.submit(result, (operation, settle) -> {
+                        started.incrementAndGet();
+                        if (behaviour == 0) {
+                            settle.success("sync");
+                        } else if (behaviour == 1) {
+                            throw new IllegalStateException("start failed");
+                        } else {
+                            // settles even after a cancel, as a late Play services callback would
+                            callbacks.execute(() -> settle.success("async"));
+                        }
+                    });
+                    if (random.nextInt(16) == 0) {
+                        coordinator.cancelActive();
+                    }
+                }
+            });
+        }
+
+        assertTrue("every caller gets a reply", replies.await(30, TimeUnit.SECONDS));
+        submitting.shutdown();
+        callbacks.shutdown();
+        assertTrue(callbacks.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (Recorder<String> result : results) {
+            assertEquals(1, result.calls.get());
+        }
+        assertTrue(started.get() > 0);
+
+        coordinator.setPolicy(OperationCoordinator.Policy.REJECT);
+        assertTrue("the coordinator is idle", submit().started());
+    }
+
+    private Held submit() {
+        Held held = new Held();
+        coordinator.submit(held.result, (operation, settle) -> {
+            held.operation = operation;
+            held.settle = settle;
+        });
+        return held;
+    }
+
+    private static void assertCancelled(Recorder<?> result, String message) {
+        assertEquals(1, result.calls.get());
+        assertNull(result.value);
+        Messages.FlutterError error = (Messages.FlutterError) result.error;
+        assertEquals("cancelled", error.code);
+        assertEquals(message, error.getMessage());
+    }
+
+    /**
+     * A ceremony that waits for the test to settle it.
+     */
+    private static class Held {
+        final Recorder<String> result = new Recorder<>();
+        volatile OperationCoordinator.Operation operation;
+        volatile Messages.Result<String> settle;
+
+        boolean started() {
+            return operation != null;
+        }
+    }
+
+    private static class Recorder<T> implements Messages.Result<T> {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch replies;
+        volatile T value;
+        volatile Throwable error;
+
+        Recorder() {
+            this(new CountDownLatch(1));
+        }
+
+        Recorder(CountDownLatch replies) {
+            this.replies = replies;
+        }
+
+        @Override
+        public void success(T value) {
+            this.value = value;
+            calls.incrementAndGet();
+            replies.countDown();
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+            this.error = error;
+            calls.incrementAndGet();
+            replies.countDown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.corbado.passkeys_android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PasskeysEligibilityTest {
+    private final FakeProbes probes = new FakeProbes();
+    private Context context;
+    private Context applicationContext;
+
+    @Before
+    public void setUp() {
+        PasskeysEligibility.resetForTesting(probes);
+        context = mock(Context.class);
+        applicationContext = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(applicationContext);
+    }
+
+    @After
+    public void tearDown() {
+        PasskeysEligibility.resetForTesting(null);
+    }
+
+    @Test
+    public void repeatedCallsSkipTheProbes() {
+        long hits = PasskeysEligibility.getCacheHits();
+        long misses = PasskeysEligibility.getCacheMisses();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(PasskeysEligibility.isPasskeySupported(context));
+        }
+
+        assertEquals(1, probes.playServicesCalls.get());
+        assertEquals(1, probes.deviceSecureCalls.get());
+        assertEquals(1, PasskeysEligibility.getCacheMisses() - misses);
+        assertEquals(9, PasskeysEligibility.getCacheHits() - hits);
+    }
+
+    @Test
+    public void negativeAnswersAreCachedToo() {
+        probes.deviceSecure = false;
+
+        assertFalse(PasskeysEligibility.isPasskeySupported(context));
+        assertFalse(PasskeysEligibility.isPasskeySupported(context));
+
+        assertEquals(1, probes.deviceSecureCalls.get());
+    }
+
+    @Test
+    public void invalidateProbesAgain() {
+        PasskeysEligibility.isPasskeySupported(context);
+        probes.playServicesEligible = false;
+
+        PasskeysEligibility.invalidate();
+
+        assertFalse(PasskeysEligibility.isPasskeySupported(context));
+        assertEquals(2, probes.playServicesCalls.get());
+        assertEquals(2, probes.deviceSecureCalls.get());
+    }
+
+    @Test
+    public void receiverIsRegisteredOnceOnTheApplicationContext() {
+        PasskeysEligibility.isPasskeySupported(context);
+        PasskeysEligibility.invalidate();
+        PasskeysEligibility.isPasskeySupported(context);
+
+        // one filter for the Play Services package, one for the lock screen
+        verify(applicationContext, times(2)).registerReceiver(any(BroadcastReceiver.class), any(IntentFilter.class));
+        verify(context, never()).registerReceiver(any(BroadcastReceiver.class), any(IntentFilter.class));
+    }
+
+    @Test
+    public void packageBroadcastDropsBothProbes() {
+        PasskeysEligibility.isPasskeySupported(context);
+
+        receiver().onReceive(applicationContext, intent(Intent.ACTION_PACKAGE_REPLACED));
+        PasskeysEligibility.isPasskeySupported(context);
+
+        assertEquals(2, probes.playServicesCalls.get());
+        assertEquals(2, probes.deviceSecureCalls.get());
+    }
+
+    @Test
+    public void lockScreenBroadcastDropsOnlyTheLockScreenProbe() {
+        PasskeysEligibility.isPasskeySupported(context);
+
+        receiver().onReceive(applicationContext, intent(Intent.ACTION_USER_PRESENT));
+        PasskeysEligibility.isPasskeySupported(context);
+
+        assertEquals(1, probes.playServicesCalls.get());
+        assertEquals(2, probes.deviceSecureCalls.get());
+    }
+
+    @Test
+    public void broadcastWithoutActionIsIgnored() {
+        PasskeysEligibility.isPasskeySupported(context);
+
+        receiver().onReceive(applicationContext, intent(null));
+        PasskeysEligibility.isPasskeySupported(context);
+
+        assertEquals(1, probes.deviceSecureCalls.get());
+    }
+
+    @Test
+    public void broadcastsRunTheListeners() {
+        AtomicInteger runs = new AtomicInteger();
+        Runnable listener = runs::incrementAndGet;
+        PasskeysEligibility.addInvalidationListener(context, listener);
+
+        receiver().onReceive(applicationContext, intent(Intent.ACTION_PACKAGE_REPLACED));
+        receiver().onReceive(applicationContext, intent(Intent.ACTION_SCREEN_OFF));
+        PasskeysEligibility.removeInvalidationListener(listener);
+        receiver().onReceive(applicationContext, intent(Intent.ACTION_SCREEN_OFF));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void probeRacingWithAnInvalidationIsNotCached() {
+        // the lock screen changes while the first probe is still running
+        probes.onDeviceSecure = PasskeysEligibility::invalidateDeviceSecure;
+        PasskeysEligibility.isPasskeySupported(context);
+        probes.onDeviceSecure = null;
+
+        PasskeysEligibility.isPasskeySupported(context);
+        PasskeysEligibility.isPasskeySupported(context);
+
+        assertEquals(2, probes.deviceSecureCalls.get());
+    }
+
+    private BroadcastReceiver receiver() {
+        ArgumentCaptor<BroadcastReceiver> receiver = ArgumentCaptor.forClass(BroadcastReceiver.class);
+        verify(applicationContext, times(2)).registerReceiver(receiver.capture(), any(IntentFilter.class));
+        return receiver.getValue();
+    }
+
+    private static Intent intent(String action) {
+        Intent intent = mock(Intent.class);
+        when(intent.getAction()).thenReturn(action);
+        return intent;
+    }
+
+    private static class FakeProbes implements PasskeysEligibility.Probes {
+        final AtomicInteger playServicesCalls = new AtomicInteger();
+        final AtomicInteger deviceSecureCalls = new AtomicInteger();
+        volatile boolean playServicesEligible = true;
+        volatile boolean deviceSecure = true;
+        volatile Runnable onDeviceSecure;
+
+        @Override
+        public boolean isPlayServicesEligible(Context context) {
+            playServicesCalls.incrementAndGet();
+            return playServicesEligible;
+        }
+
+        @Override
+        public boolean isDeviceSecure(Context context) {
+            deviceSecureCalls.incrementAndGet();
+            Runnable hook = onDeviceSecure;
+            if (hook != null) {
+                hook.run();
+            }
+            return deviceSecure;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.corbado.passkeys_android.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.corbado.passkeys_android.Messages;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+
+@RunWith(RobolectricTestRunner.class)
+public class AssertionVerifierTest {
+    private static final String RP_ID = "passkeys.eu";
+    private static final String CHALLENGE = Base64Url.encode("unlock challenge".getBytes(StandardCharsets.UTF_8));
+    private static final int FLAGS = AttestationDecoder.FLAG_USER_PRESENT | AttestationDecoder.FLAG_USER_VERIFIED;
+
+    private static final KeyPair P256 = TestCredentials.ec("secp256r1");
+    private static final KeyPair RSA = TestCredentials.rsa();
+    private static final KeyPair ED25519 = TestCredentials.ed25519();
+
+    @Test
+    public void es256() {
+        assertVectors(P256, "SHA256withECDSA", -7);
+    }
+
+    @Test
+    public void rs256() {
+        assertVectors(RSA, "SHA256withRSA", -257);
+    }
+
+    @Test
+    public void rs384AndRs512() {
+        assertVectors(RSA, "SHA384withRSA", -258);
+        assertVectors(RSA, "SHA512withRSA", -259);
+    }
+
+    @Test
+    public void edDsa() {
+        assertVectors(ED25519, "Ed25519", -8);
+    }
+
+    @Test
+    public void rsaSubjectPublicKeyInfoNeedsTheAlgorithm() {
+        Messages.AuthenticateResponse response = response(RSA, "SHA256withRSA", clientDataJSON("webauthn.get", CHALLENGE), 1);
+
+        Messages.AssertionVerdict verdict = verify(response, spki(RSA), null);
+
+        assertFailure(AssertionVerifier.FAILURE_UNSUPPORTED_ALGORITHM, verdict);
+    }
+
+    @Test
+    public void ecSubjectPublicKeyInfoNeedsNoAlgorithm() {
+        Messages.AuthenticateResponse response = response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", CHALLENGE), 1);
+
+        assertTrue(verify(response, spki(P256), null).getVerified());
+    }
+
+    @Test
+    public void algorithmThatContradictsTheKeyIsRejected() {
+        Messages.AuthenticateResponse response = response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", CHALLENGE), 1);
+
+        assertFailure(AssertionVerifier.FAILURE_MALFORMED, verify(response, spki(P256), -257L));
+        assertFailure(AssertionVerifier.FAILURE_MALFORMED, verify(response, cose(P256, -7), -257L));
+    }
+
+    @Test
+    public void signatureUnderTheWrongHashFails() {
+        // an RS256 signature checked as RS384, which guessing the algorithm from the key would do
+        Messages.AuthenticateResponse response = response(RSA, "SHA256withRSA", clientDataJSON("webauthn.get", CHALLENGE), 1);
+
+        assertFailure(AssertionVerifier.FAILURE_SIGNATURE_INVALID, verify(response, spki(RSA), -258L));
+    }
+
+    @Test
+    public void clientDataAndAuthenticatorDataChecks() {
+        String key = cose(P256, -7);
+
+        assertFailure(AssertionVerifier.FAILURE_TYPE_MISMATCH,
+                verify(response(P256, "SHA256withECDSA", clientDataJSON("webauthn.create", CHALLENGE), 1), key, null));
+        assertFailure(AssertionVerifier.FAILURE_CHALLENGE_MISMATCH,
+                verify(response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", Base64Url.encode(new byte[16])), 1), key, null));
+
+        Messages.AuthenticateResponse otherRp = response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", CHALLENGE),
+                TestCredentials.authenticatorData(TestCredentials.sha256("example.com".getBytes(StandardCharsets.UTF_8)), FLAGS, 1));
+        assertFailure(AssertionVerifier.FAILURE_RP_ID_HASH_MISMATCH, verify(otherRp, key, null));
+
+        Messages.AuthenticateResponse notVerified = response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", CHALLENGE),
+                TestCredentials.authenticatorData(rpIdHash(), AttestationDecoder.FLAG_USER_PRESENT, 1));
+        assertFailure(AssertionVerifier.FAILURE_USER_NOT_VERIFIED, verify(notVerified, key, null));
+
+        Messages.AssertionVerdict regressed = AssertionVerifier.verify(response(P256, "SHA256withECDSA", clientDataJSON("webauthn.get", CHALLENGE), 4), key, null, RP_ID, CHALLENGE, true, 5L);
+        assertFailure(AssertionVerifier.FAILURE_SIGN_COUNT_REGRESSED, regressed);
+    }
+
+    /**
+     * A valid assertion passes with the COSE key and with the SPKI plus its algorithm; a tampered
+     * signature, signed data or a different key of the same type fail.
+     */
+    private static void assertVectors(KeyPair keyPair, String signatureAlgorithm, long algorithm) {
+        String clientDataJSON = clientDataJSON("webauthn.get", CHALLENGE);
+        Messages.AuthenticateResponse response = response(keyPair, signatureAlgorithm, clientDataJSON, 1);
+
+        Messages.AssertionVerdict cose = verify(response, cose(keyPair, algorithm), null);
+        assertTrue(cose.getFailure() + ": " + cose.getMessage(), cose.getVerified());
+        assertNull(cose.getFailure());
+        assertEquals(1L, (long) cose.getSignCount());
+        assertTrue(cose.getUserVerified());
+        Messages.AssertionVerdict spki = verify(response, spki(keyPair), algorithm);
+        assertTrue(spki.getFailure() + ": " + spki.getMessage(), spki.getVerified());
+
+        byte[] signature = Base64Url.decode(response.getSignature());
+        signature[signature.length / 2] ^= 0x01;
+        Messages.AuthenticateResponse tamperedSignature = copy(response).setSignature(Base64Url.encode(signature)).build();
+        assertFailure(AssertionVerifier.FAILURE_SIGNATURE_INVALID, verify(tamperedSignature, cose(keyPair, algorithm), null));
+
+        // signCount bumped after signing
+        Messages.AuthenticateResponse tamperedData = copy(response).setAuthenticatorData(Base64Url.encode(TestCredentials.authenticatorData(rpIdHash(), FLAGS, 2))).build();
+        assertFailure(AssertionVerifier.FAILURE_SIGNATURE_INVALID, verify(tamperedData, cose(keyPair, algorithm), null));
+
+        KeyPair other = "Ed25519".equals(signatureAlgorithm) ? TestCredentials.ed25519() : keyPair.getPublic().getAlgorithm().equals("EC") ? TestCredentials.ec("secp256r1") : TestCredentials.rsa();
+        assertFailure(AssertionVerifier.FAILURE_SIGNATURE_INVALID, verify(response, cose(other, algorithm), null));
+    }
+
+    private static Messages.AssertionVerdict verify(Messages.AuthenticateResponse response, String publicKey, Long publicKeyAlgorithm) {
+        return AssertionVerifier.verify(response, publicKey, publicKeyAlgorithm, RP_ID, CHALLENGE, true, null);
+    }
+
+    private static void assertFailure(String failure, Messages.AssertionVerdict verdict) {
+        assertFalse(verdict.getVerified());
+        assertEquals(verdict.getMessage(), failure, verdict.getFailure());
+    }
+
+    private static Messages.AuthenticateResponse response(KeyPair keyPair, String signatureAlgorithm, String clientDataJSON, long signCount) {
+        return response(keyPair, signatureAlgorithm, clientDataJSON, TestCredentials.authenticatorData(rpIdHash(), FLAGS, signCount));
+    }
+
+    private static Messages.AuthenticateResponse response(KeyPair keyPair, String signatureAlgorithm, String clientDataJSON, byte[] authenticatorData) {
+        byte[] clientData = clientDataJSON.getBytes(StandardCharsets.UTF_8);
+        byte[] signature;
+        try {
+            Signature signer = Signature.getInstance(signatureAlgorithm);
+            signer.initSign(keyPair.getPrivate());
+            signer.update(authenticatorData);
+            signer.update(TestCredentials.sha256(clientData));
+            signature = signer.sign();
+        } catch (GeneralSecurityException e) {
+            throw new AssertionError(e);
+        }
+        return new Messages.AuthenticateResponse.Builder()
+                .setId("id")
+                .setRawId("id")
+                .setClientDataJSON(Base64Url.encode(clientData))
+                .setAuthenticatorData(Base64Url.encode(authenticatorData))
+                .setSignature(Base64Url.encode(signature))
+                .setUserHandle("")
+                .build();
+    }
+
+    private static Messages.AuthenticateResponse.Builder copy(Messages.AuthenticateResponse response) {
+        return new Messages.AuthenticateResponse.Builder()
+                .setId(response.getId())
+                .setRawId(response.getRawId())
+                .setClientDataJSON(response.getClientDataJSON())
+                .setAuthenticatorData(response.getAuthenticatorData())
+                .setSignature(response.getSignature())
+                .setUserHandle(response.getUserHandle());
+    }
+
+    private static String clientDataJSON(String type, String challenge) {
+        return new JsonStringWriter()
+                .beginObject()
+                .name("type").value(type)
+                .name("challenge").value(challenge)
+                .name("origin").value("android:apk-key-hash:abc")
+                .endObject()
+                .toString();
+    }
+
+    private static byte[] rpIdHash() {
+        return TestCredentials.sha256(RP_ID.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String cose(KeyPair keyPair, long algorithm) {
+        return Base64Url.encode(TestCredentials.coseKey(keyPair, algorithm));
+    }
+
+    private static String spki(KeyPair keyPair) {
+        return Base64Url.encode(keyPair.getPublic().getEncoded());
+    }
+}
@@ -0,0 +1,298 @@
+package com.corbado.passkeys_android.models;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class AttestationDecoderTest {
+    private static final byte[] RP_ID_HASH = TestCredentials.sha256("passkeys.eu".getBytes());
+    private static final byte[] CREDENTIAL_ID = new byte[32];
+    private static final int FLAGS = AttestationDecoder.FLAG_USER_PRESENT | AttestationDecoder.FLAG_USER_VERIFIED
+            | AttestationDecoder.FLAG_BACKUP_ELIGIBLE | AttestationDecoder.FLAG_BACKUP_STATE;
+
+    private static final int FUZZ_INPUTS = 300_000;
+    // bytes that change a CBOR item's type or make its length argument large or indefinite
+    private static final int[] INTERESTING = {0x00, 0x17, 0x18, 0x19, 0x1A, 0x1B, 0x1F, 0x5F, 0x7F, 0x9F, 0xBF, 0xFF, 0x80, 0xA0, 0xC0, 0xF7};
+
+    @Test
+    public void decodesEc2Keys() {
+        assertDecodes(TestCredentials.ec("secp256r1"), -7L);
+        assertDecodes(TestCredentials.ec("secp384r1"), -35L);
+        assertDecodes(TestCredentials.ec("secp521r1"), -36L);
+    }
+
+    @Test
+    public void decodesRsaKey() {
+        assertDecodes(TestCredentials.rsa(), -257L);
+    }
+
+    @Test
+    public void decodesEd25519Key() {
+        assertDecodes(TestCredentials.ed25519(), -8L);
+    }
+
+    @Test
+    public void decodesAuthenticatorDataFields() {
+        byte[] authData = TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 0x01020304L, CREDENTIAL_ID, TestCredentials.coseKey(TestCredentials.ec("secp256r1"), -7));
+
+        AttestationDecoder.AuthenticatorData decoded = AttestationDecoder.decodeAttestationObject(TestCredentials.noneAttestationObject(authData));
+
+        assertArrayEquals(authData, decoded.authData);
+        assertArrayEquals(RP_ID_HASH, decoded.rpIdHash);
+        assertEquals(FLAGS | AttestationDecoder.FLAG_ATTESTED_CREDENTIAL_DATA, decoded.flags);
+        assertTrue(decoded.hasFlag(AttestationDecoder.FLAG_USER_VERIFIED));
+        assertTrue(decoded.hasFlag(AttestationDecoder.FLAG_BACKUP_STATE));
+        assertEquals(0x01020304L, decoded.signCount);
+        assertEquals("ea9b8d66-4d01-1d21-3ce4-b6b48cb575d4", decoded.aaguid);
+    }
+
+    @Test
+    public void authenticatorDataWithoutCredentialHasNoKey() {
+        byte[] authData = TestCredentials.authenticatorData(RP_ID_HASH, AttestationDecoder.FLAG_USER_PRESENT, 7);
+
+        AttestationDecoder.AuthenticatorData decoded = AttestationDecoder.decodeAttestationObject(TestCredentials.noneAttestationObject(authData));
+
+        assertFalse(decoded.hasFlag(AttestationDecoder.FLAG_USER_VERIFIED));
+        assertEquals(7, decoded.signCount);
+        assertNull(decoded.aaguid);
+        assertNull(decoded.publicKey);
+        assertNull(decoded.publicKeyAlgorithm);
+    }
+
+    @Test
+    public void extensionDataIsSkipped() {
+        byte[] authData = concat(
+                TestCredentials.authenticatorData(RP_ID_HASH, FLAGS | AttestationDecoder.FLAG_EXTENSION_DATA, 0, CREDENTIAL_ID, TestCredentials.coseKey(TestCredentials.ec("secp256r1"), -7)),
+                new TestCredentials.Cbor().map(1).text("credProtect").integer(2).toByteArray()
+        );
+
+        AttestationDecoder.AuthenticatorData decoded = AttestationDecoder.decodeAttestationObject(TestCredentials.noneAttestationObject(authData));
+
+        assertEquals(-7L, (long) decoded.publicKeyAlgorithm);
+    }
+
+    @Test
+    public void attStmtIsSkipped() {
+        KeyPair keyPair = TestCredentials.ec("secp256r1");
+        byte[] authData = TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 0, CREDENTIAL_ID, TestCredentials.coseKey(keyPair, -7));
+        byte[] attestationObject = new TestCredentials.Cbor().map(3)
+                .text("fmt").text("packed")
+                .text("attStmt").map(2).text("alg").integer(-7).text("sig").bytes(new byte[71])
+                .text("authData").bytes(authData)
+                .toByteArray();
+
+        assertArrayEquals(keyPair.getPublic().getEncoded(), AttestationDecoder.decodeAttestationObject(attestationObject).publicKey);
+    }
+
+    @Test
+    public void unsupportedKeyTypeHasNoSubjectPublicKeyInfo() {
+        // EC2 on brainpoolP256r1 (COSE crv 256)
+        byte[] coseKey = new TestCredentials.Cbor().map(5)
+                .integer(1).integer(2)
+                .integer(3).integer(-7)
+                .integer(-1).integer(256)
+                .integer(-2).bytes(new byte[32])
+                .integer(-3).bytes(new byte[32])
+                .toByteArray();
+
+        AttestationDecoder.CredentialPublicKey key = AttestationDecoder.decodeCoseKey(coseKey);
+
+        assertNull(key.subjectPublicKeyInfo);
+        assertEquals(-7L, (long) key.algorithm);
+    }
+
+    @Test
+    public void algorithmOfSubjectPublicKeyInfo() {
+        assertEquals(-7L, (long) AttestationDecoder.algorithmOf(TestCredentials.ec("secp256r1").getPublic().getEncoded()));
+        assertEquals(-35L, (long) AttestationDecoder.algorithmOf(TestCredentials.ec("secp384r1").getPublic().getEncoded()));
+        assertEquals(-36L, (long) AttestationDecoder.algorithmOf(TestCredentials.ec("secp521r1").getPublic().getEncoded()));
+        // RS256, RS384 and RS512 share the key type
+        assertNull(AttestationDecoder.algorithmOf(TestCredentials.rsa().getPublic().getEncoded()));
+        assertEquals(-8L, (long) AttestationDecoder.algorithmOf(TestCredentials.ed25519().getPublic().getEncoded()));
+        assertNull(AttestationDecoder.algorithmOf(new byte[]{0x30, 0x00}));
+    }
+
+    @Test
+    public void rejectsMalformedInput() {
+        byte[] authData = TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 0, CREDENTIAL_ID, TestCredentials.coseKey(TestCredentials.ec("secp256r1"), -7));
+        byte[] valid = TestCredentials.noneAttestationObject(authData);
+
+        assertRejected(new byte[0]);
+        assertRejected(Arrays.copyOf(valid, valid.length - 1));
+        assertRejected(concat(valid, new byte[1]));
+        // an array where the map belongs
+        assertRejected(new TestCredentials.Cbor().array(0).toByteArray());
+        // no authData member
+        assertRejected(new TestCredentials.Cbor().map(1).text("fmt").text("none").toByteArray());
+        // authData shorter than rpIdHash, flags and signCount
+        assertRejected(TestCredentials.noneAttestationObject(new byte[36]));
+        // attested credential data flag without the data
+        assertRejected(TestCredentials.noneAttestationObject(TestCredentials.authenticatorData(RP_ID_HASH, AttestationDecoder.FLAG_ATTESTED_CREDENTIAL_DATA, 0)));
+        // trailing bytes after the COSE key
+        assertRejected(TestCredentials.noneAttestationObject(concat(authData, new byte[1])));
+        // indefinite-length map
+        assertRejected(new byte[]{(byte) 0xBF, (byte) 0xFF});
+        // a byte string claiming 2^32 - 1 bytes
+        assertRejected(new byte[]{(byte) 0xA1, 0x68, 'a', 'u', 't', 'h', 'D', 'a', 't', 'a', 0x5A, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+        // a map claiming 2^64 - 1 entries
+        assertRejected(new byte[]{(byte) 0xBB, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+    }
+
+    @Test
+    public void rejectsDeepNesting() {
+        TestCredentials.Cbor cbor = new TestCredentials.Cbor().map(2).text("attStmt");
+        for (int i = 0; i < 17; i++) {
+            cbor.array(1);
+        }
+        byte[] attestationObject = cbor.integer(0).text("authData").bytes(TestCredentials.authenticatorData(RP_ID_HASH, 0, 0)).toByteArray();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> AttestationDecoder.decodeAttestationObject(attestationObject));
+        assertEquals("CBOR nested deeper than 16", error.getMessage());
+    }
+
+    @Test
+    public void rejectsEc2CoordinatesOfTheWrongSize() {
+        byte[] coseKey = new TestCredentials.Cbor().map(5)
+                .integer(1).integer(2)
+                .integer(3).integer(-7)
+                .integer(-1).integer(1)
+                .integer(-2).bytes(new byte[31])
+                .integer(-3).bytes(new byte[32])
+                .toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> AttestationDecoder.decodeCoseKey(coseKey));
+    }
+
+    /**
+     * Truncated, bit-flipped, spliced and random inputs may only fail with
+     * IllegalArgumentException, which CredentialResponseParser turns into absent fields.
+     */
+    @Test
+    public void fuzzedInputOnlyFailsWithIllegalArgumentException() {
+        List<byte[]> samples = new ArrayList<>();
+        List<byte[]> coseKeys = new ArrayList<>();
+        for (KeyPair keyPair : Arrays.asList(TestCredentials.ec("secp256r1"), TestCredentials.ec("secp521r1"), TestCredentials.rsa(), TestCredentials.ed25519())) {
+            byte[] coseKey = TestCredentials.coseKey(keyPair, -7);
+            coseKeys.add(coseKey);
+            samples.add(TestCredentials.noneAttestationObject(TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 1, CREDENTIAL_ID, coseKey)));
+        }
+        samples.add(TestCredentials.noneAttestationObject(TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 1)));
+
+        Random random = new Random(23);
+        int decoded = 0;
+        for (int i = 0; i < FUZZ_INPUTS; i++) {
+            boolean attestationObject = random.nextInt(4) != 0;
+            List<byte[]> pool = attestationObject ? samples : coseKeys;
+            byte[] input = mutate(random, pool.get(random.nextInt(pool.size())), pool);
+            try {
+                AttestationDecoder.algorithmOf(input);
+                if (attestationObject) {
+                    AttestationDecoder.decodeAttestationObject(input);
+                } else {
+                    AttestationDecoder.decodeCoseKey(input);
+                }
+                decoded++;
+            } catch (IllegalArgumentException expected) {
+                // malformed
+            } catch (RuntimeException | StackOverflowError | OutOfMemoryError e) {
+                throw new AssertionError("input " + i + " (" + hex(input) + ") failed with " + e, e);
+            }
+        }
+        // the mutations must leave some inputs decodable, or only the first bytes get exercised
+        assertTrue("decoded " + decoded, decoded > FUZZ_INPUTS / 100);
+    }
+
+    private static byte[] mutate(Random random, byte[] sample, List<byte[]> pool) {
+        byte[] input = sample.clone();
+        int mutations = 1 + random.nextInt(3);
+        for (int m = 0; m < mutations; m++) {
+            switch (random.nextInt(7)) {
+                case 0:
+                    input = Arrays.copyOf(input, random.nextInt(input.length + 1));
+                    break;
+                case 1:
+                    if (input.length > 0) {
+                        input[random.nextInt(input.length)] ^= (byte) (1 << random.nextInt(8));
+                    }
+                    break;
+                case 2:
+                    if (input.length > 0) {
+                        input[random.nextInt(input.length)] = (byte) INTERESTING[random.nextInt(INTERESTING.length)];
+                    }
+                    break;
+                case 3: {
+                    byte[] inserted = new byte[1 + random.nextInt(8)];
+                    random.nextBytes(inserted);
+                    int at = random.nextInt(input.length + 1);
+                    input = concat(Arrays.copyOf(input, at), inserted, Arrays.copyOfRange(input, at, input.length));
+                    break;
+                }
+                case 4: {
+                    // another sample's tail, e.g. an RSA key where an EC2 key was
+                    byte[] other = pool.get(random.nextInt(pool.size()));
+                    int at = random.nextInt(input.length + 1);
+                    input = concat(Arrays.copyOf(input, at), Arrays.copyOfRange(other, random.nextInt(other.length + 1), other.length));
+                    break;
+                }
+                case 5:
+                    if (input.length > 1) {
+                        int from = random.nextInt(input.length);
+                        int to = from + random.nextInt(input.length - from);
+                        input = concat(Arrays.copyOf(input, from), Arrays.copyOfRange(input, to, input.length));
+                    }
+                    break;
+                default:
+                    input = new byte[random.nextInt(64)];
+                    random.nextBytes(input);
+                    break;
+            }
+        }
+        return input;
+    }
+
+    private static void assertDecodes(KeyPair keyPair, long algorithm) {
+        byte[] coseKey = TestCredentials.coseKey(keyPair, algorithm);
+        byte[] attestationObject = TestCredentials.noneAttestationObject(TestCredentials.authenticatorData(RP_ID_HASH, FLAGS, 0, CREDENTIAL_ID, coseKey));
+
+        AttestationDecoder.AuthenticatorData decoded = AttestationDecoder.decodeAttestationObject(attestationObject);
+        AttestationDecoder.CredentialPublicKey key = AttestationDecoder.decodeCoseKey(coseKey);
+
+        // byte-identical to what the JCA encodes, so the backend can import it as is
+        assertArrayEquals(keyPair.getPublic().getEncoded(), decoded.publicKey);
+        assertEquals(algorithm, (long) decoded.publicKeyAlgorithm);
+        assertArrayEquals(keyPair.getPublic().getEncoded(), key.subjectPublicKeyInfo);
+        assertEquals(algorithm, (long) key.algorithm);
+    }
+
+    private static void assertRejected(byte[] attestationObject) {
+        assertThrows(hex(attestationObject), IllegalArgumentException.class, () -> AttestationDecoder.decodeAttestationObject(attestationObject));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
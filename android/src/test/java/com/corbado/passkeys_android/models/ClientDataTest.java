@@ -0,0 +1,53 @@
+package com.corbado.passkeys_android.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ClientDataTest {
+    @Test
+    public void checkedMembersAreRead() throws JSONException {
+        ClientData clientData = ClientData.parse("{\"type\":\"webauthn.get\",\"challenge\":\"Y2hhbGxlbmdl\","
+                + "\"origin\":\"https://passkeys.eu\",\"crossOrigin\":true}");
+
+        assertEquals(ClientData.TYPE_GET, clientData.type);
+        assertEquals("Y2hhbGxlbmdl", clientData.challenge);
+        assertEquals("https://passkeys.eu", clientData.origin);
+        assertTrue(clientData.crossOrigin);
+    }
+
+    @Test
+    public void otherMembersAreSkipped() throws JSONException {
+        ClientData clientData = ClientData.parse("{\"tokenBinding\":{\"status\":\"present\",\"id\":\"x\"},"
+                + "\"other_keys_can_be_added_here\":[1,{\"a\":null}],\"type\":\"webauthn.create\"}");
+
+        assertEquals(ClientData.TYPE_CREATE, clientData.type);
+        assertNull(clientData.challenge);
+        assertFalse(clientData.crossOrigin);
+    }
+
+    @Test
+    public void membersOfTheWrongTypeAreIgnored() throws JSONException {
+        ClientData clientData = ClientData.parse("{\"type\":1,\"challenge\":null,\"origin\":{},\"crossOrigin\":\"true\"}");
+
+        assertNull(clientData.type);
+        assertNull(clientData.challenge);
+        assertNull(clientData.origin);
+        assertFalse(clientData.crossOrigin);
+    }
+
+    @Test
+    public void malformedJsonIsRejected() {
+        assertThrows(JSONException.class, () -> ClientData.parse("[\"webauthn.get\"]"));
+        assertThrows(JSONException.class, () -> ClientData.parse("{\"type\":\"webauthn.get\""));
+        assertThrows(JSONException.class, () -> ClientData.parse(""));
+    }
+}
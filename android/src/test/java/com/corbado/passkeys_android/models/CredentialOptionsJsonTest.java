@@ -0,0 +1,263 @@
+package com.corbado.passkeys_android.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.corbado.passkeys_android.Messages;
+import com.corbado.passkeys_android.models.login.GetCredentialOptions;
+import com.corbado.passkeys_android.models.signup.CreateCredentialOptions;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Compares the single-pass options JSON with what the JSONObject based models produced before.
+ * <p>
+ * The legacy* helpers below are the old toJSON implementations. The only intended difference is
+ * that alg and requireResidentKey used to be strings and are now a number and a boolean.
+ */
+public class CredentialOptionsJsonTest {
+    private static final String CHALLENGE = "Y2hhbGxlbmdl";
+
+    @Test
+    public void createOptionsMatchTheLegacyOutput() {
+        Messages.User user = user("jane \"the admin\" doe\n\u2028</script>\\", "icon.png");
+        List<Messages.PubKeyCredParam> params = Arrays.asList(param(-7), param(-257));
+        Messages.AuthenticatorSelection selection = selection(true);
+        List<Messages.ExcludeCredential> excludes = excludeCredentials(3);
+
+        String json = new CreateCredentialOptions(CHALLENGE, relyingParty(), user, params, 60000L, selection, "none", excludes).toJSON();
+
+        assertSimilar(typed(legacyCreate(relyingParty(), user, params, 60000L, selection, "none", excludes)), new JSONObject(json));
+    }
+
+    @Test
+    public void createOptionsWithoutOptionalMembersMatchTheLegacyOutput() {
+        Messages.User user = user("jane", null);
+        Messages.AuthenticatorSelection selection = selection(false);
+
+        String json = new CreateCredentialOptions(CHALLENGE, relyingParty(), user, Collections.emptyList(), null, selection, null, Collections.emptyList()).toJSON();
+
+        JSONObject actual = new JSONObject(json);
+        assertSimilar(typed(legacyCreate(relyingParty(), user, Collections.emptyList(), null, selection, null, Collections.emptyList())), actual);
+        assertFalse(actual.has("timeout"));
+        assertFalse(actual.has("attestation"));
+        assertFalse(actual.getJSONObject("user").has("icon"));
+    }
+
+    @Test
+    public void algIsANumberAndRequireResidentKeyABoolean() {
+        String json = new CreateCredentialOptions(CHALLENGE, relyingParty(), user("jane", null), Collections.singletonList(param(-8)), null, selection(true), null, Collections.emptyList()).toJSON();
+
+        JSONObject actual = new JSONObject(json);
+        assertEquals(-8L, ((Number) actual.getJSONArray("pubKeyCredParams").getJSONObject(0).get("alg")).longValue());
+        assertEquals(Boolean.TRUE, actual.getJSONObject("authenticatorSelection").get("requireResidentKey"));
+        assertTrue(json.contains("\"alg\":-8"));
+        assertTrue(json.contains("\"requireResidentKey\":true"));
+    }
+
+    @Test
+    public void profileOptionsMatchTheFullOptions() {
+        Messages.AuthenticatorSelection selection = selection(true);
+        List<Messages.PubKeyCredParam> params = Arrays.asList(param(-7), param(-257));
+        Messages.RelyingPartyProfile profile = new Messages.RelyingPartyProfile.Builder()
+                .setProfileId("default")
+                .setRelyingParty(relyingParty())
+                .setAuthenticatorSelection(selection)
+                .setPubKeyCredParams(params)
+                .setTimeout(60000L)
+                .setAttestation("none")
+                .build();
+        Messages.User user = user("jane", null);
+        List<Messages.ExcludeCredential> excludes = excludeCredentials(5);
+
+        String fromProfile = new CreateCredentialOptions(CHALLENGE, RelyingPartyProfile.of(profile, selection), user, excludes).toJSON();
+        String full = new CreateCredentialOptions(CHALLENGE, relyingParty(), user, params, 60000L, selection, "none", excludes).toJSON();
+
+        assertEquals(full, fromProfile);
+    }
+
+    @Test
+    public void preSerializedExcludeCredentialsMatchTheList() {
+        List<Messages.ExcludeCredential> excludes = excludeCredentials(4);
+        JsonStringWriter excludesJson = new JsonStringWriter();
+        excludesJson.beginArray();
+        for (Messages.ExcludeCredential credential : excludes) {
+            CreateCredentialOptions.writeExcludeCredential(excludesJson, credential.getType(), credential.getId());
+        }
+        excludesJson.endArray();
+
+        CreateCredentialOptions spliced = new CreateCredentialOptions(CHALLENGE, relyingParty(), user("jane", null), Collections.emptyList(), null, selection(true), null, null);
+        spliced.setExcludeCredentialsJson(excludesJson.toString());
+        String fromList = new CreateCredentialOptions(CHALLENGE, relyingParty(), user("jane", null), Collections.emptyList(), null, selection(true), null, excludes).toJSON();
+
+        assertEquals(fromList, spliced.toJSON());
+    }
+
+    @Test
+    public void getOptionsMatchTheLegacyOutput() {
+        List<Messages.AllowCredential> allows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            allows.add(allowCredential("Y3JlZA" + i, Arrays.asList("internal", "hybrid")));
+        }
+        allows.add(allowCredential("bm8tdHJhbnNwb3J0cw", Collections.emptyList()));
+        allows.add(allowCredential("bnVsbA", Arrays.asList("usb", null)));
+
+        String json = new GetCredentialOptions(CHALLENGE, 30000L, "example.com", allows, "required").toJSON();
+
+        assertSimilar(legacyGet(30000L, "example.com", allows, "required"), new JSONObject(json));
+    }
+
+    @Test
+    public void getOptionsWithoutOptionalMembersMatchTheLegacyOutput() {
+        String json = new GetCredentialOptions(CHALLENGE, null, "example.com", Collections.emptyList(), null).toJSON();
+
+        assertSimilar(legacyGet(null, "example.com", Collections.emptyList(), null), new JSONObject(json));
+    }
+
+    @Test
+    public void outputIsStableAcrossRuns() {
+        List<Messages.AllowCredential> allows = Collections.singletonList(allowCredential("Y3JlZA", Collections.singletonList("internal")));
+        String first = new GetCredentialOptions(CHALLENGE, 30000L, "example.com", allows, "preferred").toJSON();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first, new GetCredentialOptions(CHALLENGE, 30000L, "example.com", allows, "preferred").toJSON());
+        }
+        assertEquals("{\"challenge\":\"Y2hhbGxlbmdl\",\"timeout\":30000,\"rpId\":\"example.com\",\"userVerification\":\"preferred\","
+                + "\"allowCredentials\":[{\"type\":\"public-key\",\"id\":\"Y3JlZA\",\"transports\":[\"internal\"]}]}", first);
+    }
+
+    @Test
+    public void controlCharactersAreEscaped() {
+        StringBuilder name = new StringBuilder();
+        for (char c = 0; c < 0x20; c++) {
+            name.append(c);
+        }
+        name.append("\u2029\"\\/\u00e9\ud83d\udd11");
+
+        String json = new CreateCredentialOptions(CHALLENGE, relyingParty(), user(name.toString(), null), Collections.emptyList(), null, selection(true), null, Collections.emptyList()).toJSON();
+
+        for (int i = 0; i < json.length(); i++) {
+            assertTrue("raw control character at " + i, json.charAt(i) >= 0x20);
+        }
+        assertEquals(name.toString(), new JSONObject(json).getJSONObject("user").getString("name"));
+    }
+
+    private static void assertSimilar(JSONObject expected, JSONObject actual) {
+        assertTrue("expected " + expected + "\nbut was  " + actual, expected.similar(actual));
+    }
+
+    private static Messages.RelyingParty relyingParty() {
+        return new Messages.RelyingParty.Builder().setName("Example").setId("example.com").build();
+    }
+
+    private static Messages.User user(String name, String icon) {
+        return new Messages.User.Builder().setName(name).setDisplayName("Jane").setId("dXNlcg").setIcon(icon).build();
+    }
+
+    private static Messages.PubKeyCredParam param(long alg) {
+        return new Messages.PubKeyCredParam.Builder().setType("public-key").setAlg(alg).build();
+    }
+
+    private static Messages.AuthenticatorSelection selection(boolean requireResidentKey) {
+        return new Messages.AuthenticatorSelection.Builder()
+                .setAuthenticatorAttachment("platform")
+                .setRequireResidentKey(requireResidentKey)
+                .setResidentKey("required")
+                .setUserVerification("preferred")
+                .build();
+    }
+
+    private static List<Messages.ExcludeCredential> excludeCredentials(int count) {
+        List<Messages.ExcludeCredential> credentials = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            credentials.add(new Messages.ExcludeCredential.Builder().setType("public-key").setId("ZXhjbHVkZQ" + i).build());
+        }
+        return credentials;
+    }
+
+    private static Messages.AllowCredential allowCredential(String id, List<String> transports) {
+        return new Messages.AllowCredential.Builder().setType("public-key").setId(id).setTransports(transports).build();
+    }
+
+    /**
+     * The legacy output with alg and requireResidentKey converted to the types now written.
+     */
+    private static JSONObject typed(JSONObject legacy) {
+        JSONArray params = legacy.getJSONArray("pubKeyCredParams");
+        for (int i = 0; i < params.length(); i++) {
+            JSONObject param = params.getJSONObject(i);
+            param.put("alg", Long.parseLong(param.getString("alg")));
+        }
+        JSONObject selection = legacy.getJSONObject("authenticatorSelection");
+        selection.put("requireResidentKey", Boolean.parseBoolean(selection.getString("requireResidentKey")));
+        return legacy;
+    }
+
+    private static JSONObject legacyCreate(Messages.RelyingParty rp, Messages.User user, List<Messages.PubKeyCredParam> params, Long timeout, Messages.AuthenticatorSelection selection, String attestation, List<Messages.ExcludeCredential> excludes) {
+        JSONObject json = new JSONObject();
+        HashMap<String, String> rpMap = new HashMap<>();
+        rpMap.put("name", rp.getName());
+        rpMap.put("id", rp.getId());
+        json.put("rp", new JSONObject(rpMap));
+        HashMap<String, String> userMap = new HashMap<>();
+        userMap.put("name", user.getName());
+        if (user.getIcon() != null) userMap.put("icon", user.getIcon());
+        userMap.put("displayName", user.getDisplayName());
+        userMap.put("id", user.getId());
+        json.put("user", new JSONObject(userMap));
+        json.put("challenge", CHALLENGE);
+        if (attestation != null) json.put("attestation", attestation);
+        if (timeout != null) json.put("timeout", timeout);
+        JSONArray paramsJson = new JSONArray();
+        for (Messages.PubKeyCredParam param : params) {
+            HashMap<String, String> map = new HashMap<>();
+            map.put("type", param.getType());
+            map.put("alg", String.valueOf(param.getAlg()));
+            paramsJson.put(new JSONObject(map));
+        }
+        json.put("pubKeyCredParams", paramsJson);
+        HashMap<String, String> selectionMap = new HashMap<>();
+        selectionMap.put("authenticatorAttachment", selection.getAuthenticatorAttachment());
+        selectionMap.put("requireResidentKey", String.valueOf(selection.getRequireResidentKey()));
+        selectionMap.put("residentKey", selection.getResidentKey());
+        selectionMap.put("userVerification", selection.getUserVerification());
+        json.put("authenticatorSelection", new JSONObject(selectionMap));
+        JSONArray excludesJson = new JSONArray();
+        for (Messages.ExcludeCredential credential : excludes) {
+            HashMap<String, String> map = new HashMap<>();
+            map.put("type", credential.getType());
+            map.put("id", credential.getId());
+            excludesJson.put(new JSONObject(map));
+        }
+        json.put("excludeCredentials", excludesJson);
+        return json;
+    }
+
+    private static JSONObject legacyGet(Long timeout, String rpId, List<Messages.AllowCredential> allows, String userVerification) {
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("challenge", CHALLENGE);
+        if (timeout != null) map.put("timeout", timeout);
+        map.put("rpId", rpId);
+        if (userVerification != null) map.put("userVerification", userVerification);
+        JSONObject json = new JSONObject(map);
+        JSONArray allowsJson = new JSONArray();
+        for (Messages.AllowCredential credential : allows) {
+            JSONObject credentialJson = new JSONObject();
+            credentialJson.put("type", credential.getType());
+            credentialJson.put("id", credential.getId());
+            credentialJson.put("transports", new JSONArray(credential.getTransports()));
+            allowsJson.put(credentialJson);
+        }
+        json.put("allowCredentials", allowsJson);
+        return json;
+    }
+}
@@ -0,0 +1,71 @@
+package com.corbado.passkeys_android.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.corbado.passkeys_android.Messages;
+
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.security.KeyPair;
+
+@RunWith(RobolectricTestRunner.class)
+public class CredentialResponseParserTest {
+    @Test
+    public void registrationCarriesTheDecodedAuthenticatorData() throws JSONException {
+        KeyPair keyPair = TestCredentials.ec("secp256r1");
+        byte[] authData = TestCredentials.authenticatorData(new byte[32], AttestationDecoder.FLAG_USER_PRESENT | AttestationDecoder.FLAG_USER_VERIFIED, 3, new byte[16], TestCredentials.coseKey(keyPair, -7));
+        String attestationObject = Base64Url.encode(TestCredentials.noneAttestationObject(authData));
+
+        Messages.RegisterResponse response = CredentialResponseParser.parseRegistration(registrationJson(attestationObject));
+
+        assertEquals(attestationObject, response.getAttestationObject());
+        assertEquals(Base64Url.encode(authData), response.getAuthenticatorData());
+        assertEquals(Base64Url.encode(keyPair.getPublic().getEncoded()), response.getPublicKey());
+        assertEquals(-7L, (long) response.getPublicKeyAlgorithm());
+        assertEquals(true, response.getUserVerified());
+        assertEquals(3L, (long) response.getSignCount());
+    }
+
+    @Test
+    public void undecodableAttestationObjectLeavesTheFieldsNull() throws JSONException {
+        String attestationObject = Base64Url.encode(new byte[]{(byte) 0xBF, (byte) 0xFF});
+
+        Messages.RegisterResponse response = CredentialResponseParser.parseRegistration(registrationJson(attestationObject));
+
+        assertEquals(attestationObject, response.getAttestationObject());
+        assertNull(response.getAuthenticatorData());
+        assertNull(response.getPublicKey());
+        assertNull(response.getFlags());
+    }
+
+    @Test
+    public void registrationWithoutAuthenticatorDataSkipsTheDecoder() throws JSONException {
+        byte[] authData = TestCredentials.authenticatorData(new byte[32], AttestationDecoder.FLAG_USER_PRESENT, 0);
+        String attestationObject = Base64Url.encode(TestCredentials.noneAttestationObject(authData));
+
+        Messages.RegisterResponse response = CredentialResponseParser.parseRegistrationWithoutAuthenticatorData(registrationJson(attestationObject));
+
+        assertEquals("id", response.getId());
+        assertEquals(attestationObject, response.getAttestationObject());
+        assertNull(response.getAuthenticatorData());
+        assertNull(response.getFlags());
+    }
+
+    private static String registrationJson(String attestationObject) {
+        return new JsonStringWriter()
+                .beginObject()
+                .name("id").value("id")
+                .name("rawId").value("id")
+                .name("type").value("public-key")
+                .name("response").beginObject()
+                .name("clientDataJSON").value("e30")
+                .name("attestationObject").value(attestationObject)
+                .endObject()
+                .endObject()
+                .toString();
+    }
+}
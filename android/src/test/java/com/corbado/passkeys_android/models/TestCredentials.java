@@ -0,0 +1,200 @@
+package com.corbado.passkeys_android.models;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+
+/**
+ * Key pairs from the JCA and the WebAuthn structures a platform authenticator builds for them:
+ * COSE keys, authenticator data and attestation objects.
+ */
+final class TestCredentials {
+    static final byte[] AAGUID = {
+            (byte) 0xea, (byte) 0x9b, (byte) 0x8d, 0x66, 0x4d, 0x01, 0x1d, 0x21,
+            0x3c, (byte) 0xe4, (byte) 0xb6, (byte) 0xb4, (byte) 0x8c, (byte) 0xb5, 0x75, (byte) 0xd4
+    };
+
+    private TestCredentials() {
+    }
+
+    static KeyPair ec(String curve) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(curve));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    static KeyPair rsa() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    static KeyPair ed25519() {
+        try {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * The COSE_Key of an EC2, RSA or Ed25519 public key, with the given alg.
+     */
+    static byte[] coseKey(KeyPair keyPair, long algorithm) {
+        Cbor cbor = new Cbor();
+        if (keyPair.getPublic() instanceof ECPublicKey) {
+            ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+            int size = (key.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            int curve = size == 32 ? 1 : size == 48 ? 2 : 3;
+            cbor.map(5)
+                    .integer(1).integer(2)
+                    .integer(3).integer(algorithm)
+                    .integer(-1).integer(curve)
+                    .integer(-2).bytes(unsigned(key.getW().getAffineX(), size))
+                    .integer(-3).bytes(unsigned(key.getW().getAffineY(), size));
+        } else if (keyPair.getPublic() instanceof RSAPublicKey) {
+            RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+            cbor.map(4)
+                    .integer(1).integer(3)
+                    .integer(3).integer(algorithm)
+                    .integer(-1).bytes(unsigned(key.getModulus(), 0))
+                    .integer(-2).bytes(unsigned(key.getPublicExponent(), 0));
+        } else {
+            byte[] spki = keyPair.getPublic().getEncoded();
+            cbor.map(4)
+                    .integer(1).integer(1)
+                    .integer(3).integer(algorithm)
+                    .integer(-1).integer(6)
+                    .integer(-2).bytes(Arrays.copyOfRange(spki, spki.length - 32, spki.length));
+        }
+        return cbor.toByteArray();
+    }
+
+    /**
+     * Authenticator data without attested credential data, as an assertion carries it.
+     */
+    static byte[] authenticatorData(byte[] rpIdHash, int flags, long signCount) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(rpIdHash);
+        out.write(flags);
+        out.write((int) (signCount >> 24));
+        out.write((int) (signCount >> 16));
+        out.write((int) (signCount >> 8));
+        out.write((int) signCount);
+        return out.toByteArray();
+    }
+
+    /**
+     * Authenticator data with attested credential data, as a registration carries it.
+     */
+    static byte[] authenticatorData(byte[] rpIdHash, int flags, long signCount, byte[] credentialId, byte[] coseKey) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(authenticatorData(rpIdHash, flags | AttestationDecoder.FLAG_ATTESTED_CREDENTIAL_DATA, signCount));
+        out.writeBytes(AAGUID);
+        out.write(credentialId.length >> 8);
+        out.write(credentialId.length);
+        out.writeBytes(credentialId);
+        out.writeBytes(coseKey);
+        return out.toByteArray();
+    }
+
+    /**
+     * {fmt: "none", attStmt: {}, authData}.
+     */
+    static byte[] noneAttestationObject(byte[] authData) {
+        return new Cbor().map(3)
+                .text("fmt").text("none")
+                .text("attStmt").map(0)
+                .text("authData").bytes(authData)
+                .toByteArray();
+    }
+
+    static byte[] sha256(byte[] data) {
+        try {
+            return java.security.MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // Big-endian magnitude, left-padded to size (0 keeps the minimal length).
+    private static byte[] unsigned(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        int length = bytes.length - start;
+        byte[] result = new byte[Math.max(size, length)];
+        System.arraycopy(bytes, start, result, result.length - length, length);
+        return result;
+    }
+
+    /**
+     * Writes definite-length CBOR.
+     */
+    static final class Cbor {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Cbor integer(long value) {
+            return value >= 0 ? header(0, value) : header(1, -1 - value);
+        }
+
+        Cbor bytes(byte[] value) {
+            header(2, value.length);
+            out.writeBytes(value);
+            return this;
+        }
+
+        Cbor text(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            header(3, bytes.length);
+            out.writeBytes(bytes);
+            return this;
+        }
+
+        Cbor array(int entries) {
+            return header(4, entries);
+        }
+
+        Cbor map(int entries) {
+            return header(5, entries);
+        }
+
+        Cbor header(int major, long argument) {
+            int type = major << 5;
+            if (argument < 24) {
+                out.write(type | (int) argument);
+            } else if (argument < 0x100) {
+                out.write(type | 24);
+                out.write((int) argument);
+            } else if (argument < 0x10000) {
+                out.write(type | 25);
+                out.write((int) (argument >> 8));
+                out.write((int) argument);
+            } else {
+                out.write(type | 26);
+                for (int shift = 24; shift >= 0; shift -= 8) {
+                    out.write((int) (argument >> shift));
+                }
+            }
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
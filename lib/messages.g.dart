@@ -170,6 +170,41 @@ class ExcludeCredential {
   }
 }
 
+/// Represents a credential id in binary form (binary transport mode)
+class CredentialDescriptor {
+  CredentialDescriptor({
+    required this.type,
+    required this.id,
+    this.transports,
+  });
+
+  /// The type
+  String type;
+
+  /// The raw credential id
+  Uint8List id;
+
+  /// The transports
+  List<String?>? transports;
+
+  Object encode() {
+    return <Object?>[
+      type,
+      id,
+      transports,
+    ];
+  }
+
+  static CredentialDescriptor decode(Object result) {
+    result as List<Object?>;
+    return CredentialDescriptor(
+      type: result[0]! as String,
+      id: result[1]! as Uint8List,
+      transports: (result[2] as List<Object?>?).cast<String?>(),
+    );
+  }
+}
+
 /// Represents an authenticator selection
 class AuthenticatorSelection {
   AuthenticatorSelection({
@@ -211,6 +246,47 @@ class AuthenticatorSelection {
   }
 }
 
+/// Represents the phase timings of a ceremony
+class CeremonyTimings {
+  CeremonyTimings({
+    this.correlationId,
+    required this.phasesMicros,
+    required this.totalMicros,
+    this.requestBytes,
+  });
+
+  /// The correlation id passed by the caller
+  String? correlationId;
+
+  /// Time spent per phase, in the order the phases ran
+  Map<String?, int?> phasesMicros;
+
+  /// Total time of the ceremony
+  int totalMicros;
+
+  /// UTF-8 size of the options JSON sent to Play services
+  int? requestBytes;
+
+  Object encode() {
+    return <Object?>[
+      correlationId,
+      phasesMicros,
+      totalMicros,
+      requestBytes,
+    ];
+  }
+
+  static CeremonyTimings decode(Object result) {
+    result as List<Object?>;
+    return CeremonyTimings(
+      correlationId: result[0] as String?,
+      phasesMicros: (result[1] as Map<Object?, Object?>?)!.cast<String?, int?>(),
+      totalMicros: result[2]! as int,
+      requestBytes: result[3] as int?,
+    );
+  }
+}
+
 /// Represents a register response
 class RegisterResponse {
   RegisterResponse({
@@ -218,6 +294,17 @@ class RegisterResponse {
     required this.rawId,
     required this.clientDataJSON,
     required this.attestationObject,
+    this.timings,
+    this.authenticatorData,
+    this.rpIdHash,
+    this.flags,
+    this.userVerified,
+    this.backupEligible,
+    this.backupState,
+    this.signCount,
+    this.aaguid,
+    this.publicKey,
+    this.publicKeyAlgorithm,
   });
 
   /// The ID
@@ -232,12 +319,56 @@ class RegisterResponse {
   /// The attestation object
   String attestationObject;
 
+  /// The phase timings of the ceremony
+  CeremonyTimings? timings;
+
+  /// The authenticator data from the attestation object (base64url)
+  String? authenticatorData;
+
+  /// SHA-256 of the rpId the credential is scoped to (base64url)
+  String? rpIdHash;
+
+  /// The authenticator data flags byte
+  int? flags;
+
+  /// Whether the UV flag is set
+  bool? userVerified;
+
+  /// Whether the BE flag is set, i.e. the credential can be synced
+  bool? backupEligible;
+
+  /// Whether the BS flag is set, i.e. the credential is currently backed up
+  bool? backupState;
+
+  /// The signature counter
+  int? signCount;
+
+  /// The AAGUID of the authenticator as a UUID string
+  String? aaguid;
+
+  /// The credential public key as SubjectPublicKeyInfo DER (base64url), null for unsupported key types
+  String? publicKey;
+
+  /// The COSE algorithm of the public key, e.g. -7 for ES256
+  int? publicKeyAlgorithm;
+
   Object encode() {
     return <Object?>[
       id,
       rawId,
       clientDataJSON,
       attestationObject,
+      timings?.encode(),
+      authenticatorData,
+      rpIdHash,
+      flags,
+      userVerified,
+      backupEligible,
+      backupState,
+      signCount,
+      aaguid,
+      publicKey,
+      publicKeyAlgorithm,
     ];
   }
 
@@ -248,6 +379,19 @@ class RegisterResponse {
       rawId: result[1]! as String,
       clientDataJSON: result[2]! as String,
       attestationObject: result[3]! as String,
+      timings: result[4] != null
+          ? CeremonyTimings.decode(result[4]! as List<Object?>)
+          : null,
+      authenticatorData: result[5] as String?,
+      rpIdHash: result[6] as String?,
+      flags: result[7] as int?,
+      userVerified: result[8] as bool?,
+      backupEligible: result[9] as bool?,
+      backupState: result[10] as bool?,
+      signCount: result[11] as int?,
+      aaguid: result[12] as String?,
+      publicKey: result[13] as String?,
+      publicKeyAlgorithm: result[14] as int?,
     );
   }
 }
@@ -261,6 +405,7 @@ class AuthenticateResponse {
     required this.authenticatorData,
     required this.signature,
     required this.userHandle,
+    this.timings,
   });
 
   /// The ID
@@ -280,6 +425,9 @@ class AuthenticateResponse {
 
   String userHandle;
 
+  /// The phase timings of the ceremony
+  CeremonyTimings? timings;
+
   Object encode() {
     return <Object?>[
       id,
@@ -288,6 +436,7 @@ class AuthenticateResponse {
       authenticatorData,
       signature,
       userHandle,
+      timings?.encode(),
     ];
   }
 
@@ -300,169 +449,1143 @@ class AuthenticateResponse {
       authenticatorData: result[3]! as String,
       signature: result[4]! as String,
       userHandle: result[5]! as String,
+      timings: result[6] != null
+          ? CeremonyTimings.decode(result[6]! as List<Object?>)
+          : null,
     );
   }
 }
 
-class _PasskeysApiCodec extends StandardMessageCodec {
-  const _PasskeysApiCodec();
-  @override
-  void writeValue(WriteBuffer buffer, Object? value) {
-    if (value is AllowCredential) {
-      buffer.putUint8(128);
-      writeValue(buffer, value.encode());
-    } else if (value is AuthenticateResponse) {
-      buffer.putUint8(129);
-      writeValue(buffer, value.encode());
-    } else if (value is AuthenticatorSelection) {
-      buffer.putUint8(130);
-      writeValue(buffer, value.encode());
-    } else if (value is ExcludeCredential) {
-      buffer.putUint8(131);
-      writeValue(buffer, value.encode());
-    } else if (value is PubKeyCredParam) {
-      buffer.putUint8(132);
-      writeValue(buffer, value.encode());
-    } else if (value is RegisterResponse) {
-      buffer.putUint8(133);
-      writeValue(buffer, value.encode());
-    } else if (value is RelyingParty) {
-      buffer.putUint8(134);
-      writeValue(buffer, value.encode());
-    } else if (value is User) {
-      buffer.putUint8(135);
-      writeValue(buffer, value.encode());
-    } else {
-      super.writeValue(buffer, value);
-    }
+/// Represents a register response with the binary values as raw bytes
+class BinaryRegisterResponse {
+  BinaryRegisterResponse({
+    required this.id,
+    required this.rawId,
+    required this.clientDataJSON,
+    required this.attestationObject,
+    this.timings,
+  });
+
+  /// The ID (base64url, as used by the relying party)
+  String id;
+
+  /// The raw ID
+  Uint8List rawId;
+
+  /// The client data JSON, UTF-8 encoded
+  Uint8List clientDataJSON;
+
+  /// The attestation object
+  Uint8List attestationObject;
+
+  /// The phase timings of the ceremony
+  CeremonyTimings? timings;
+
+  Object encode() {
+    return <Object?>[
+      id,
+      rawId,
+      clientDataJSON,
+      attestationObject,
+      timings?.encode(),
+    ];
   }
 
-  @override
-  Object? readValueOfType(int type, ReadBuffer buffer) {
-    switch (type) {
-      case 128: 
-        return AllowCredential.decode(readValue(buffer)!);
-      case 129: 
-        return AuthenticateResponse.decode(readValue(buffer)!);
-      case 130: 
-        return AuthenticatorSelection.decode(readValue(buffer)!);
-      case 131: 
-        return ExcludeCredential.decode(readValue(buffer)!);
-      case 132: 
-        return PubKeyCredParam.decode(readValue(buffer)!);
-      case 133: 
-        return RegisterResponse.decode(readValue(buffer)!);
-      case 134: 
-        return RelyingParty.decode(readValue(buffer)!);
-      case 135: 
-        return User.decode(readValue(buffer)!);
-      default:
-        return super.readValueOfType(type, buffer);
-    }
+  static BinaryRegisterResponse decode(Object result) {
+    result as List<Object?>;
+    return BinaryRegisterResponse(
+      id: result[0]! as String,
+      rawId: result[1]! as Uint8List,
+      clientDataJSON: result[2]! as Uint8List,
+      attestationObject: result[3]! as Uint8List,
+      timings: result[4] != null
+          ? CeremonyTimings.decode(result[4]! as List<Object?>)
+          : null,
+    );
   }
 }
 
-class PasskeysApi {
-  /// Constructor for [PasskeysApi].  The [binaryMessenger] named argument is
-  /// available for dependency injection.  If it is left null, the default
-  /// BinaryMessenger will be used which routes to the host platform.
-  PasskeysApi({BinaryMessenger? binaryMessenger})
-      : _binaryMessenger = binaryMessenger;
-  final BinaryMessenger? _binaryMessenger;
+/// Represents an authenticate response with the binary values as raw bytes
+class BinaryAuthenticateResponse {
+  BinaryAuthenticateResponse({
+    required this.id,
+    required this.rawId,
+    required this.clientDataJSON,
+    required this.authenticatorData,
+    required this.signature,
+    this.userHandle,
+    this.timings,
+  });
 
-  static const MessageCodec<Object?> codec = _PasskeysApiCodec();
+  /// The ID (base64url, as used by the relying party)
+  String id;
 
-  Future<bool> canAuthenticate() async {
-    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
-        'dev.flutter.pigeon.passkeys_android.PasskeysApi.canAuthenticate', codec,
-        binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(null) as List<Object?>?;
-    if (replyList == null) {
-      throw PlatformException(
-        code: 'channel-error',
-        message: 'Unable to establish connection on channel.',
-      );
-    } else if (replyList.length > 1) {
-      throw PlatformException(
-        code: replyList[0]! as String,
-        message: replyList[1] as String?,
-        details: replyList[2],
-      );
-    } else if (replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
-    } else {
-      return (replyList[0] as bool?)!;
-    }
+  /// The raw ID
+  Uint8List rawId;
+
+  /// The client data JSON, UTF-8 encoded
+  Uint8List clientDataJSON;
+
+  /// The authenticator data
+  Uint8List authenticatorData;
+
+  /// The signature
+  Uint8List signature;
+
+  /// The user handle, null for non-discoverable credentials
+  Uint8List? userHandle;
+
+  /// The phase timings of the ceremony
+  CeremonyTimings? timings;
+
+  Object encode() {
+    return <Object?>[
+      id,
+      rawId,
+      clientDataJSON,
+      authenticatorData,
+      signature,
+      userHandle,
+      timings?.encode(),
+    ];
   }
 
-  Future<RegisterResponse> register(String arg_challenge, RelyingParty arg_relyingParty, User arg_user, AuthenticatorSelection arg_authenticatorSelection, List<PubKeyCredParam?>? arg_pubKeyCredParams, int? arg_timeout, String? arg_attestation, List<ExcludeCredential?> arg_excludeCredentials) async {
-    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
-        'dev.flutter.pigeon.passkeys_android.PasskeysApi.register', codec,
-        binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(<Object?>[arg_challenge, arg_relyingParty, arg_user, arg_authenticatorSelection, arg_pubKeyCredParams, arg_timeout, arg_attestation, arg_excludeCredentials]) as List<Object?>?;
-    if (replyList == null) {
-      throw PlatformException(
-        code: 'channel-error',
-        message: 'Unable to establish connection on channel.',
-      );
-    } else if (replyList.length > 1) {
-      throw PlatformException(
-        code: replyList[0]! as String,
-        message: replyList[1] as String?,
-        details: replyList[2],
-      );
-    } else if (replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
-    } else {
-      return (replyList[0] as RegisterResponse?)!;
-    }
+  static BinaryAuthenticateResponse decode(Object result) {
+    result as List<Object?>;
+    return BinaryAuthenticateResponse(
+      id: result[0]! as String,
+      rawId: result[1]! as Uint8List,
+      clientDataJSON: result[2]! as Uint8List,
+      authenticatorData: result[3]! as Uint8List,
+      signature: result[4]! as Uint8List,
+      userHandle: result[5] as Uint8List?,
+      timings: result[6] != null
+          ? CeremonyTimings.decode(result[6]! as List<Object?>)
+          : null,
+    );
   }
+}
 
-  Future<AuthenticateResponse> authenticate(String arg_relyingPartyId, String arg_challenge, int? arg_timeout, String? arg_userVerification, List<AllowCredential?>? arg_allowCredentials) async {
-    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
-        'dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticate', codec,
-        binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(<Object?>[arg_relyingPartyId, arg_challenge, arg_timeout, arg_userVerification, arg_allowCredentials]) as List<Object?>?;
-    if (replyList == null) {
-      throw PlatformException(
-        code: 'channel-error',
-        message: 'Unable to establish connection on channel.',
-      );
-    } else if (replyList.length > 1) {
-      throw PlatformException(
-        code: replyList[0]! as String,
-        message: replyList[1] as String?,
-        details: replyList[2],
-      );
-    } else if (replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
-    } else {
-      return (replyList[0] as AuthenticateResponse?)!;
-    }
+/// Represents a register or authenticate response exactly as the authenticator returned it
+class RawCredentialResponse {
+  RawCredentialResponse({
+    required this.responseJson,
+    this.timings,
+  });
+
+  /// The PublicKeyCredential JSON, UTF-8 encoded, including clientExtensionResults, authenticatorAttachment and transports
+  Uint8List responseJson;
+
+  /// The phase timings of the ceremony
+  CeremonyTimings? timings;
+
+  Object encode() {
+    return <Object?>[
+      responseJson,
+      timings?.encode(),
+    ];
   }
 
-  Future<void> cancelCurrentAuthenticatorOperation() async {
-    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
-        'dev.flutter.pigeon.passkeys_android.PasskeysApi.cancelCurrentAuthenticatorOperation', codec,
-        binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(null) as List<Object?>?;
-    if (replyList == null) {
-      throw PlatformException(
-        code: 'channel-error',
-        message: 'Unable to establish connection on channel.',
+  static RawCredentialResponse decode(Object result) {
+    result as List<Object?>;
+    return RawCredentialResponse(
+      responseJson: result[0]! as Uint8List,
+      timings: result[1] != null
+          ? CeremonyTimings.decode(result[1]! as List<Object?>)
+          : null,
+    );
+  }
+}
+
+/// Represents the outcome of verifying an assertion on the device
+class AssertionVerdict {
+  AssertionVerdict({
+    required this.verified,
+    this.failure,
+    this.message,
+    this.signCount,
+    this.userVerified,
+    this.backupState,
+    this.timings,
+  });
+
+  /// Whether every check passed
+  bool verified;
+
+  /// The first failed check: malformed, unsupported-algorithm, type-mismatch, challenge-mismatch, rp-id-hash-mismatch, user-not-present, user-not-verified, sign-count-regressed or signature-invalid
+  String? failure;
+
+  /// A description of the failure
+  String? message;
+
+  /// The signature counter of the assertion, to store for the next verification
+  int? signCount;
+
+  /// Whether the UV flag is set
+  bool? userVerified;
+
+  /// Whether the BS flag is set
+  bool? backupState;
+
+  /// Time spent per verification step
+  CeremonyTimings? timings;
+
+  Object encode() {
+    return <Object?>[
+      verified,
+      failure,
+      message,
+      signCount,
+      userVerified,
+      backupState,
+      timings?.encode(),
+    ];
+  }
+
+  static AssertionVerdict decode(Object result) {
+    result as List<Object?>;
+    return AssertionVerdict(
+      verified: result[0]! as bool,
+      failure: result[1] as String?,
+      message: result[2] as String?,
+      signCount: result[3] as int?,
+      userVerified: result[4] as bool?,
+      backupState: result[5] as bool?,
+      timings: result[6] != null
+          ? CeremonyTimings.decode(result[6]! as List<Object?>)
+          : null,
+    );
+  }
+}
+
+/// Represents the static parts of a relying party, stored natively by configureRelyingParty
+class RelyingPartyProfile {
+  RelyingPartyProfile({
+    required this.profileId,
+    required this.relyingParty,
+    required this.authenticatorSelection,
+    this.pubKeyCredParams,
+    this.timeout,
+    this.attestation,
+    this.userVerification,
+  });
+
+  /// The id later calls reference the profile by
+  String profileId;
+
+  /// The relying party
+  RelyingParty relyingParty;
+
+  /// The authenticator selection used for registration
+  AuthenticatorSelection authenticatorSelection;
+
+  /// The public key credential parameters
+  List<PubKeyCredParam?>? pubKeyCredParams;
+
+  /// The timeout
+  int? timeout;
+
+  /// The attestation
+  String? attestation;
+
+  /// The user verification used for authentication (defaults to the one of authenticatorSelection)
+  String? userVerification;
+
+  Object encode() {
+    return <Object?>[
+      profileId,
+      relyingParty.encode(),
+      authenticatorSelection.encode(),
+      pubKeyCredParams,
+      timeout,
+      attestation,
+      userVerification,
+    ];
+  }
+
+  static RelyingPartyProfile decode(Object result) {
+    result as List<Object?>;
+    return RelyingPartyProfile(
+      profileId: result[0]! as String,
+      relyingParty: RelyingParty.decode(result[1]! as List<Object?>),
+      authenticatorSelection: AuthenticatorSelection.decode(result[2]! as List<Object?>),
+      pubKeyCredParams: (result[3] as List<Object?>?).cast<PubKeyCredParam?>(),
+      timeout: result[4] as int?,
+      attestation: result[5] as String?,
+      userVerification: result[6] as String?,
+    );
+  }
+}
+
+/// Represents a reference to a credential list stored with cacheCredentialList
+class CredentialListRef {
+  CredentialListRef({
+    required this.userId,
+    required this.version,
+  });
+
+  /// The user the list belongs to
+  String userId;
+
+  /// The version token the list was stored with
+  String version;
+
+  Object encode() {
+    return <Object?>[
+      userId,
+      version,
+    ];
+  }
+
+  static CredentialListRef decode(Object result) {
+    result as List<Object?>;
+    return CredentialListRef(
+      userId: result[0]! as String,
+      version: result[1]! as String,
+    );
+  }
+}
+
+/// Represents a credential seen in a successful ceremony on this device
+class KnownCredential {
+  KnownCredential({
+    required this.id,
+    required this.createdAtMillis,
+    required this.lastUsedMillis,
+    this.userHandle,
+  });
+
+  /// The credential id
+  String id;
+
+  /// When the credential was first seen, in milliseconds since the epoch
+  int createdAtMillis;
+
+  /// When the credential was last used, in milliseconds since the epoch
+  int lastUsedMillis;
+
+  /// The user handle, if known
+  String? userHandle;
+
+  Object encode() {
+    return <Object?>[
+      id,
+      createdAtMillis,
+      lastUsedMillis,
+      userHandle,
+    ];
+  }
+
+  static KnownCredential decode(Object result) {
+    result as List<Object?>;
+    return KnownCredential(
+      id: result[0]! as String,
+      createdAtMillis: result[1]! as int,
+      lastUsedMillis: result[2]! as int,
+      userHandle: result[3] as String?,
+    );
+  }
+}
+
+/// Represents the native configuration of the plugin
+class PasskeysConfig {
+  PasskeysConfig({
+    this.canAuthenticateCacheTtlMillis,
+    this.hasCredentialsCacheTtlMillis,
+    this.concurrentCeremonyPolicy,
+    this.maxCredentialListEntries,
+    this.credentialListOverflow,
+    this.maxRequestBytes,
+    this.credentialListCacheBytes,
+    this.knownCredentialsMaxEntries,
+    this.excludeCredentialsPrecheck,
+    this.authenticateStrategy,
+    this.authenticateExplorationRate,
+    this.validateClientData,
+    this.allowedOrigins,
+  });
+
+  /// How long a canAuthenticate answer is reused (0 disables the cache)
+  int? canAuthenticateCacheTtlMillis;
+
+  /// How long a hasCredentials answer is reused (0 disables the cache)
+  int? hasCredentialsCacheTtlMillis;
+
+  /// What happens to a ceremony started while another one runs: reject, queue or preempt (default)
+  String? concurrentCeremonyPolicy;
+
+  /// Maximum number of allowCredentials/excludeCredentials after de-duplication (default 500)
+  int? maxCredentialListEntries;
+
+  /// What happens to a longer list: reject (default) or trim
+  String? credentialListOverflow;
+
+  /// Maximum UTF-8 size of the options JSON (default 256 KiB)
+  int? maxRequestBytes;
+
+  /// Memory bound of the cached credential lists (default 256 KiB)
+  int? credentialListCacheBytes;
+
+  /// Maximum number of credentials kept in the on-device index (default 10000)
+  int? knownCredentialsMaxEntries;
+
+  /// Whether register fails early if an excluded credential is in the on-device index (default false)
+  bool? excludeCredentialsPrecheck;
+
+  /// Whether authenticate prepares first on API 34+: adaptive (default), prepare or direct
+  String? authenticateStrategy;
+
+  /// Share of adaptive ceremonies that try the path not currently chosen (default 0.05)
+  double? authenticateExplorationRate;
+
+  /// Whether the clientDataJSON of a ceremony is checked against the request before returning (default false)
+  bool? validateClientData;
+
+  /// Origins accepted besides the app's android:apk-key-hash when validating clientDataJSON (client-data-unverifiable if neither is known)
+  List<String?>? allowedOrigins;
+
+  Object encode() {
+    return <Object?>[
+      canAuthenticateCacheTtlMillis,
+      hasCredentialsCacheTtlMillis,
+      concurrentCeremonyPolicy,
+      maxCredentialListEntries,
+      credentialListOverflow,
+      maxRequestBytes,
+      credentialListCacheBytes,
+      knownCredentialsMaxEntries,
+      excludeCredentialsPrecheck,
+      authenticateStrategy,
+      authenticateExplorationRate,
+      validateClientData,
+      allowedOrigins,
+    ];
+  }
+
+  static PasskeysConfig decode(Object result) {
+    result as List<Object?>;
+    return PasskeysConfig(
+      canAuthenticateCacheTtlMillis: result[0] as int?,
+      hasCredentialsCacheTtlMillis: result[1] as int?,
+      concurrentCeremonyPolicy: result[2] as String?,
+      maxCredentialListEntries: result[3] as int?,
+      credentialListOverflow: result[4] as String?,
+      maxRequestBytes: result[5] as int?,
+      credentialListCacheBytes: result[6] as int?,
+      knownCredentialsMaxEntries: result[7] as int?,
+      excludeCredentialsPrecheck: result[8] as bool?,
+      authenticateStrategy: result[9] as String?,
+      authenticateExplorationRate: result[10] as double?,
+      validateClientData: result[11] as bool?,
+      allowedOrigins: (result[12] as List<Object?>?).cast<String?>(),
+    );
+  }
+}
+
+/// Represents what the adaptive authenticate strategy learned for one relying party
+class AuthenticateStrategyStats {
+  AuthenticateStrategyStats({
+    required this.mode,
+    required this.decision,
+    required this.explorationRate,
+    required this.prepareSamples,
+    this.prepareMedianMillis,
+    required this.directSamples,
+    this.directMedianMillis,
+  });
+
+  /// The configured strategy: adaptive, prepare or direct
+  String mode;
+
+  /// The path taken when not exploring: prepare or direct
+  String decision;
+
+  /// Share of adaptive ceremonies that try the other path
+  double explorationRate;
+
+  /// Number of recorded ceremonies that prepared first
+  int prepareSamples;
+
+  /// Median latency of those ceremonies, null without samples
+  int? prepareMedianMillis;
+
+  /// Number of recorded ceremonies that called getCredential directly
+  int directSamples;
+
+  /// Median latency of those ceremonies, null without samples
+  int? directMedianMillis;
+
+  Object encode() {
+    return <Object?>[
+      mode,
+      decision,
+      explorationRate,
+      prepareSamples,
+      prepareMedianMillis,
+      directSamples,
+      directMedianMillis,
+    ];
+  }
+
+  static AuthenticateStrategyStats decode(Object result) {
+    result as List<Object?>;
+    return AuthenticateStrategyStats(
+      mode: result[0]! as String,
+      decision: result[1]! as String,
+      explorationRate: result[2]! as double,
+      prepareSamples: result[3]! as int,
+      prepareMedianMillis: result[4] as int?,
+      directSamples: result[5]! as int,
+      directMedianMillis: result[6] as int?,
+    );
+  }
+}
+
+/// Represents the state of the canAuthenticate cache
+class CanAuthenticateCacheStats {
+  CanAuthenticateCacheStats({
+    this.ageMillis,
+    required this.ttlMillis,
+    required this.hits,
+    required this.misses,
+    required this.hitRatio,
+  });
+
+  /// Age of the cached answer, null if nothing is cached
+  int? ageMillis;
+
+  /// The configured time to live
+  int ttlMillis;
+
+  /// Calls answered from the cache or from a shared in-flight request
+  int hits;
+
+  /// Calls that had to query Play services
+  int misses;
+
+  /// hits / (hits + misses)
+  double hitRatio;
+
+  Object encode() {
+    return <Object?>[
+      ageMillis,
+      ttlMillis,
+      hits,
+      misses,
+      hitRatio,
+    ];
+  }
+
+  static CanAuthenticateCacheStats decode(Object result) {
+    result as List<Object?>;
+    return CanAuthenticateCacheStats(
+      ageMillis: result[0] as int?,
+      ttlMillis: result[1]! as int,
+      hits: result[2]! as int,
+      misses: result[3]! as int,
+      hitRatio: result[4]! as double,
+    );
+  }
+}
+
+/// Represents the outcome of a warm-up, with the time spent per step
+class WarmUpResult {
+  WarmUpResult({
+    required this.alreadyWarm,
+    required this.classLoadingMicros,
+    required this.clientsMicros,
+    required this.eligibilityMicros,
+    required this.jsonMicros,
+    required this.totalMicros,
+  });
+
+  /// Whether the timings come from an earlier warm-up
+  bool alreadyWarm;
+
+  /// Time spent loading the credential classes
+  int classLoadingMicros;
+
+  /// Time spent creating the Credential Manager and FIDO2 clients
+  int clientsMicros;
+
+  /// Time spent on the eligibility checks
+  int eligibilityMicros;
+
+  /// Time spent on the first options JSON build
+  int jsonMicros;
+
+  /// Total time of the warm-up
+  int totalMicros;
+
+  Object encode() {
+    return <Object?>[
+      alreadyWarm,
+      classLoadingMicros,
+      clientsMicros,
+      eligibilityMicros,
+      jsonMicros,
+      totalMicros,
+    ];
+  }
+
+  static WarmUpResult decode(Object result) {
+    result as List<Object?>;
+    return WarmUpResult(
+      alreadyWarm: result[0]! as bool,
+      classLoadingMicros: result[1]! as int,
+      clientsMicros: result[2]! as int,
+      eligibilityMicros: result[3]! as int,
+      jsonMicros: result[4]! as int,
+      totalMicros: result[5]! as int,
+    );
+  }
+}
+
+class _PasskeysApiCodec extends StandardMessageCodec {
+  const _PasskeysApiCodec();
+  @override
+  void writeValue(WriteBuffer buffer, Object? value) {
+    if (value is AllowCredential) {
+      buffer.putUint8(128);
+      writeValue(buffer, value.encode());
+    } else if (value is AssertionVerdict) {
+      buffer.putUint8(129);
+      writeValue(buffer, value.encode());
+    } else if (value is AuthenticateResponse) {
+      buffer.putUint8(130);
+      writeValue(buffer, value.encode());
+    } else if (value is AuthenticateStrategyStats) {
+      buffer.putUint8(131);
+      writeValue(buffer, value.encode());
+    } else if (value is AuthenticatorSelection) {
+      buffer.putUint8(132);
+      writeValue(buffer, value.encode());
+    } else if (value is BinaryAuthenticateResponse) {
+      buffer.putUint8(133);
+      writeValue(buffer, value.encode());
+    } else if (value is BinaryRegisterResponse) {
+      buffer.putUint8(134);
+      writeValue(buffer, value.encode());
+    } else if (value is CanAuthenticateCacheStats) {
+      buffer.putUint8(135);
+      writeValue(buffer, value.encode());
+    } else if (value is CeremonyTimings) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    } else if (value is CredentialDescriptor) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    } else if (value is CredentialListRef) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    } else if (value is ExcludeCredential) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    } else if (value is KnownCredential) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    } else if (value is PasskeysConfig) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else if (value is PubKeyCredParam) {
+      buffer.putUint8(142);
+      writeValue(buffer, value.encode());
+    } else if (value is RawCredentialResponse) {
+      buffer.putUint8(143);
+      writeValue(buffer, value.encode());
+    } else if (value is RegisterResponse) {
+      buffer.putUint8(144);
+      writeValue(buffer, value.encode());
+    } else if (value is RelyingParty) {
+      buffer.putUint8(145);
+      writeValue(buffer, value.encode());
+    } else if (value is RelyingPartyProfile) {
+      buffer.putUint8(146);
+      writeValue(buffer, value.encode());
+    } else if (value is User) {
+      buffer.putUint8(147);
+      writeValue(buffer, value.encode());
+    } else if (value is WarmUpResult) {
+      buffer.putUint8(148);
+      writeValue(buffer, value.encode());
+    } else {
+      super.writeValue(buffer, value);
+    }
+  }
+
+  @override
+  Object? readValueOfType(int type, ReadBuffer buffer) {
+    switch (type) {
+      case 128: 
+        return AllowCredential.decode(readValue(buffer)!);
+      case 129: 
+        return AssertionVerdict.decode(readValue(buffer)!);
+      case 130: 
+        return AuthenticateResponse.decode(readValue(buffer)!);
+      case 131: 
+        return AuthenticateStrategyStats.decode(readValue(buffer)!);
+      case 132: 
+        return AuthenticatorSelection.decode(readValue(buffer)!);
+      case 133: 
+        return BinaryAuthenticateResponse.decode(readValue(buffer)!);
+      case 134: 
+        return BinaryRegisterResponse.decode(readValue(buffer)!);
+      case 135: 
+        return CanAuthenticateCacheStats.decode(readValue(buffer)!);
+      case 136: 
+        return CeremonyTimings.decode(readValue(buffer)!);
+      case 137: 
+        return CredentialDescriptor.decode(readValue(buffer)!);
+      case 138: 
+        return CredentialListRef.decode(readValue(buffer)!);
+      case 139: 
+        return ExcludeCredential.decode(readValue(buffer)!);
+      case 140: 
+        return KnownCredential.decode(readValue(buffer)!);
+      case 141: 
+        return PasskeysConfig.decode(readValue(buffer)!);
+      case 142: 
+        return PubKeyCredParam.decode(readValue(buffer)!);
+      case 143: 
+        return RawCredentialResponse.decode(readValue(buffer)!);
+      case 144: 
+        return RegisterResponse.decode(readValue(buffer)!);
+      case 145: 
+        return RelyingParty.decode(readValue(buffer)!);
+      case 146: 
+        return RelyingPartyProfile.decode(readValue(buffer)!);
+      case 147: 
+        return User.decode(readValue(buffer)!);
+      case 148: 
+        return WarmUpResult.decode(readValue(buffer)!);
+      default:
+        return super.readValueOfType(type, buffer);
+    }
+  }
+}
+
+class PasskeysApi {
+  /// Constructor for [PasskeysApi].  The [binaryMessenger] named argument is
+  /// available for dependency injection.  If it is left null, the default
+  /// BinaryMessenger will be used which routes to the host platform.
+  PasskeysApi({BinaryMessenger? binaryMessenger})
+      : _binaryMessenger = binaryMessenger;
+  final BinaryMessenger? _binaryMessenger;
+
+  static const MessageCodec<Object?> codec = _PasskeysApiCodec();
+
+  Future<bool> canAuthenticate() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.canAuthenticate', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as bool?)!;
+    }
+  }
+
+  Future<RegisterResponse> register(String arg_challenge, RelyingParty arg_relyingParty, User arg_user, AuthenticatorSelection arg_authenticatorSelection, List<PubKeyCredParam?>? arg_pubKeyCredParams, int? arg_timeout, String? arg_attestation, List<ExcludeCredential?> arg_excludeCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.register', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_challenge, arg_relyingParty, arg_user, arg_authenticatorSelection, arg_pubKeyCredParams, arg_timeout, arg_attestation, arg_excludeCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as RegisterResponse?)!;
+    }
+  }
+
+  Future<AuthenticateResponse> authenticate(String arg_relyingPartyId, String arg_challenge, int? arg_timeout, String? arg_userVerification, List<AllowCredential?>? arg_allowCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticate', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_challenge, arg_timeout, arg_userVerification, arg_allowCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as AuthenticateResponse?)!;
+    }
+  }
+
+  Future<BinaryRegisterResponse> registerBinary(Uint8List arg_challenge, RelyingParty arg_relyingParty, User arg_user, AuthenticatorSelection arg_authenticatorSelection, List<PubKeyCredParam?>? arg_pubKeyCredParams, int? arg_timeout, String? arg_attestation, List<CredentialDescriptor?> arg_excludeCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.registerBinary', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_challenge, arg_relyingParty, arg_user, arg_authenticatorSelection, arg_pubKeyCredParams, arg_timeout, arg_attestation, arg_excludeCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as BinaryRegisterResponse?)!;
+    }
+  }
+
+  Future<BinaryAuthenticateResponse> authenticateBinary(String arg_relyingPartyId, Uint8List arg_challenge, int? arg_timeout, String? arg_userVerification, List<CredentialDescriptor?>? arg_allowCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateBinary', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_challenge, arg_timeout, arg_userVerification, arg_allowCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as BinaryAuthenticateResponse?)!;
+    }
+  }
+
+  Future<RawCredentialResponse> registerRaw(String arg_challenge, RelyingParty arg_relyingParty, User arg_user, AuthenticatorSelection arg_authenticatorSelection, List<PubKeyCredParam?>? arg_pubKeyCredParams, int? arg_timeout, String? arg_attestation, List<ExcludeCredential?> arg_excludeCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.registerRaw', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_challenge, arg_relyingParty, arg_user, arg_authenticatorSelection, arg_pubKeyCredParams, arg_timeout, arg_attestation, arg_excludeCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as RawCredentialResponse?)!;
+    }
+  }
+
+  Future<RawCredentialResponse> authenticateRaw(String arg_relyingPartyId, String arg_challenge, int? arg_timeout, String? arg_userVerification, List<AllowCredential?>? arg_allowCredentials, String? arg_correlationId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateRaw', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_challenge, arg_timeout, arg_userVerification, arg_allowCredentials, arg_correlationId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as RawCredentialResponse?)!;
+    }
+  }
+
+  Future<void> configureRelyingParty(RelyingPartyProfile arg_profile) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.configureRelyingParty', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_profile]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<RegisterResponse> registerWithProfile(String arg_profileId, String arg_challenge, User arg_user, List<ExcludeCredential?> arg_excludeCredentials, String? arg_correlationId, CredentialListRef? arg_credentialListRef) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.registerWithProfile', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_profileId, arg_challenge, arg_user, arg_excludeCredentials, arg_correlationId, arg_credentialListRef]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as RegisterResponse?)!;
+    }
+  }
+
+  Future<AuthenticateResponse> authenticateWithProfile(String arg_profileId, String arg_challenge, List<AllowCredential?>? arg_allowCredentials, String? arg_correlationId, CredentialListRef? arg_credentialListRef) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.authenticateWithProfile', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_profileId, arg_challenge, arg_allowCredentials, arg_correlationId, arg_credentialListRef]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as AuthenticateResponse?)!;
+    }
+  }
+
+  Future<void> cacheCredentialList(String arg_relyingPartyId, String arg_userId, String arg_version, List<AllowCredential?> arg_credentials) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.cacheCredentialList', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_userId, arg_version, arg_credentials]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<bool?> hasCredentials(String arg_relyingPartyId, List<AllowCredential?>? arg_allowCredentials) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.hasCredentials', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_allowCredentials]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return (replyList[0] as bool?);
+    }
+  }
+
+  Future<List<KnownCredential?>> getKnownCredentials(String arg_relyingPartyId, String? arg_userHandle) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.getKnownCredentials', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_userHandle]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as List<Object?>?)!.cast<KnownCredential?>();
+    }
+  }
+
+  Future<void> forgetKnownCredential(String arg_relyingPartyId, String arg_credentialId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.forgetKnownCredential', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_credentialId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> prepareAuthenticate(String arg_relyingPartyId, String arg_challenge, int? arg_timeout, String? arg_userVerification, List<AllowCredential?>? arg_allowCredentials) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.prepareAuthenticate', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId, arg_challenge, arg_timeout, arg_userVerification, arg_allowCredentials]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> cancelCurrentAuthenticatorOperation() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.cancelCurrentAuthenticatorOperation', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> configure(PasskeysConfig arg_config) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.configure', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_config]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
       );
     } else if (replyList.length > 1) {
       throw PlatformException(
@@ -474,4 +1597,139 @@ class PasskeysApi {
       return;
     }
   }
+
+  Future<CanAuthenticateCacheStats> getCanAuthenticateCacheStats() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.getCanAuthenticateCacheStats', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as CanAuthenticateCacheStats?)!;
+    }
+  }
+
+  Future<AssertionVerdict> verifyAssertion(AuthenticateResponse arg_response, String arg_publicKey, int? arg_publicKeyAlgorithm, String arg_relyingPartyId, String arg_challenge, bool arg_requireUserVerification, int? arg_previousSignCount) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.verifyAssertion', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_response, arg_publicKey, arg_publicKeyAlgorithm, arg_relyingPartyId, arg_challenge, arg_requireUserVerification, arg_previousSignCount]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as AssertionVerdict?)!;
+    }
+  }
+
+  Future<int> getDuplicateSettlementCount() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.getDuplicateSettlementCount', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as int?)!;
+    }
+  }
+
+  Future<AuthenticateStrategyStats> getAuthenticateStrategyStats(String arg_relyingPartyId) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.getAuthenticateStrategyStats', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_relyingPartyId]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as AuthenticateStrategyStats?)!;
+    }
+  }
+
+  Future<WarmUpResult> warmUp() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.passkeys_android.PasskeysApi.warmUp', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as WarmUpResult?)!;
+    }
+  }
 }
@@ -1,37 +1,57 @@
 import 'package:flutter/foundation.dart';
+import 'package:flutter/services.dart';
 import 'package:passkeys_android/messages.g.dart';
 import 'package:passkeys_platform_interface/passkeys_platform_interface.dart';
 import 'package:passkeys_platform_interface/types/types.dart';
 
+export 'package:passkeys_android/messages.g.dart' hide PasskeysApi;
+
+/// Returns the correlation id sent with a register or authenticate ceremony,
+/// e.g. the id of the server-side trace the challenge was issued in.
+typedef CorrelationIdProvider = String? Function();
+
+/// Receives the native phase timings of a finished register or authenticate
+/// ceremony.
+typedef CeremonyTimingsCallback = void Function(CeremonyTimings timings);
+
 /// The Android implementation of [PasskeysPlatform].
 class PasskeysAndroid extends PasskeysPlatform {
   /// The method channel used to interact with the native platform.
+  ///
+  /// [correlationId] is asked for an id before each register and authenticate
+  /// call, the id comes back in the [CeremonyTimings]. [onCeremonyTimings] is
+  /// called with the timings of every successful ceremony, and of failed ones
+  /// if a correlation id was sent.
   PasskeysAndroid({
     @visibleForTesting PasskeysApi? api,
-  }) : _api = api ?? PasskeysApi();
+    CorrelationIdProvider? correlationId,
+    CeremonyTimingsCallback? onCeremonyTimings,
+  })  : _api = api ?? PasskeysApi(),
+        _correlationId = correlationId,
+        _onCeremonyTimings = onCeremonyTimings;
 
   /// Registers this class as the default instance of [PasskeysPlatform]
   static void registerWith() => PasskeysPlatform.instance = PasskeysAndroid();
 
   final PasskeysApi _api;
+  final CorrelationIdProvider? _correlationId;
+  final CeremonyTimingsCallback? _onCeremonyTimings;
 
   @override
   Future<AuthenticateResponseType> authenticate(
     AuthenticateRequestType request,
   ) async {
-    final r = await _api.authenticate(
-      request.relyingPartyId,
-      request.challenge,
-      request.timeout,
-      request.userVerification,
-      request.allowCredentials?.map((e) {
-        return AllowCredential(
-          id: e.id,
-          type: e.type,
-          transports: e.transports,
-        );
-      }).toList(),
+    final r = await _withTimings(
+      () => _api.authenticate(
+        request.relyingPartyId,
+        request.challenge,
+        request.timeout,
+        request.userVerification,
+        _allowCredentials(request),
+        _correlationId?.call(),
+      ),
     );
+    _report(r.timings);
 
     return AuthenticateResponseType(
         id: r.id,
@@ -49,50 +69,389 @@ class PasskeysAndroid extends PasskeysPlatform {
 
   @override
   Future<RegisterResponseType> register(RegisterRequestType request) async {
-    final userArg = User(
-      displayName: request.user.displayName,
-      name: request.user.name,
-      id: request.user.id,
+    final r = await _withTimings(
+      () => _api.register(
+        request.challenge,
+        _relyingParty(request),
+        _user(request),
+        _authenticatorSelection(request),
+        _pubKeyCredParams(request),
+        request.timeout,
+        request.attestation,
+        _excludeCredentials(request),
+        _correlationId?.call(),
+      ),
     );
-    final relyingPartyArg = RelyingParty(
+    _report(r.timings);
+
+    return RegisterResponseType(
+      id: r.id,
+      rawId: r.rawId,
+      clientDataJSON: r.clientDataJSON,
+      attestationObject: r.attestationObject,
+    );
+  }
+
+  //
+  @override
+  Future<void> cancelCurrentAuthenticatorOperation() async {
+    return;
+  }
+
+  /// Loads the credential stack ahead of the first ceremony, e.g. while the
+  /// login screen is shown. Calls after the first one return at once.
+  Future<WarmUpResult> warmUp() => _api.warmUp();
+
+  /// Sets the caches, limits and policies of the native side. Fields left
+  /// null keep their current value.
+  Future<void> configure(PasskeysConfig config) => _api.configure(config);
+
+  /// Starts looking up the credentials for [request] before [authenticate]
+  /// is called with the same relying party and challenge, which then skips
+  /// that step. A no-op before Android 14.
+  Future<void> prepareAuthenticate(AuthenticateRequestType request) {
+    return _api.prepareAuthenticate(
+      request.relyingPartyId,
+      request.challenge,
+      request.timeout,
+      request.userVerification,
+      _allowCredentials(request),
+    );
+  }
+
+  /// Like [register], but returns all fields of the native response,
+  /// including the ones decoded from the attestationObject.
+  Future<RegisterResponse> registerWithDetails(
+    RegisterRequestType request,
+  ) async {
+    final r = await _withTimings(
+      () => _api.register(
+        request.challenge,
+        _relyingParty(request),
+        _user(request),
+        _authenticatorSelection(request),
+        _pubKeyCredParams(request),
+        request.timeout,
+        request.attestation,
+        _excludeCredentials(request),
+        _correlationId?.call(),
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Registers with the challenge and credential ids as bytes instead of
+  /// base64url strings.
+  Future<BinaryRegisterResponse> registerBinary({
+    required Uint8List challenge,
+    required RelyingParty relyingParty,
+    required User user,
+    required AuthenticatorSelection authenticatorSelection,
+    List<PubKeyCredParam>? pubKeyCredParams,
+    int? timeout,
+    String? attestation,
+    List<CredentialDescriptor> excludeCredentials = const [],
+  }) async {
+    final r = await _withTimings(
+      () => _api.registerBinary(
+        challenge,
+        relyingParty,
+        user,
+        authenticatorSelection,
+        pubKeyCredParams,
+        timeout,
+        attestation,
+        excludeCredentials,
+        _correlationId?.call(),
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Authenticates with the challenge and credential ids as bytes instead of
+  /// base64url strings.
+  Future<BinaryAuthenticateResponse> authenticateBinary({
+    required String relyingPartyId,
+    required Uint8List challenge,
+    int? timeout,
+    String? userVerification,
+    List<CredentialDescriptor>? allowCredentials,
+  }) async {
+    final r = await _withTimings(
+      () => _api.authenticateBinary(
+        relyingPartyId,
+        challenge,
+        timeout,
+        userVerification,
+        allowCredentials,
+        _correlationId?.call(),
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Like [register], but returns the response JSON exactly as the
+  /// authenticator created it, e.g. to forward it to the server unchanged.
+  Future<RawCredentialResponse> registerRaw(RegisterRequestType request) async {
+    final r = await _withTimings(
+      () => _api.registerRaw(
+        request.challenge,
+        _relyingParty(request),
+        _user(request),
+        _authenticatorSelection(request),
+        _pubKeyCredParams(request),
+        request.timeout,
+        request.attestation,
+        _excludeCredentials(request),
+        _correlationId?.call(),
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Like [authenticate], but returns the response JSON exactly as the
+  /// authenticator created it.
+  Future<RawCredentialResponse> authenticateRaw(
+    AuthenticateRequestType request,
+  ) async {
+    final r = await _withTimings(
+      () => _api.authenticateRaw(
+        request.relyingPartyId,
+        request.challenge,
+        request.timeout,
+        request.userVerification,
+        _allowCredentials(request),
+        _correlationId?.call(),
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Stores the options that stay the same across ceremonies for one relying
+  /// party, so that [registerWithProfile] and [authenticateWithProfile] only
+  /// send what changes.
+  Future<void> configureRelyingParty(RelyingPartyProfile profile) {
+    return _api.configureRelyingParty(profile);
+  }
+
+  /// Registers with the options of a profile set by [configureRelyingParty].
+  /// With [credentialListRef], the excluded credentials come from a list
+  /// stored by [cacheCredentialList].
+  Future<RegisterResponse> registerWithProfile({
+    required String profileId,
+    required String challenge,
+    required User user,
+    List<ExcludeCredential> excludeCredentials = const [],
+    CredentialListRef? credentialListRef,
+  }) async {
+    final r = await _withTimings(
+      () => _api.registerWithProfile(
+        profileId,
+        challenge,
+        user,
+        excludeCredentials,
+        _correlationId?.call(),
+        credentialListRef,
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Authenticates with the options of a profile set by
+  /// [configureRelyingParty]. With [credentialListRef], the allowed
+  /// credentials come from a list stored by [cacheCredentialList].
+  Future<AuthenticateResponse> authenticateWithProfile({
+    required String profileId,
+    required String challenge,
+    List<AllowCredential>? allowCredentials,
+    CredentialListRef? credentialListRef,
+  }) async {
+    final r = await _withTimings(
+      () => _api.authenticateWithProfile(
+        profileId,
+        challenge,
+        allowCredentials,
+        _correlationId?.call(),
+        credentialListRef,
+      ),
+    );
+    _report(r.timings);
+    return r;
+  }
+
+  /// Stores the credential list of a user natively under [version], so that
+  /// later ceremonies can refer to it with a [CredentialListRef].
+  Future<void> cacheCredentialList({
+    required String relyingPartyId,
+    required String userId,
+    required String version,
+    required List<AllowCredential> credentials,
+  }) {
+    return _api.cacheCredentialList(
+      relyingPartyId,
+      userId,
+      version,
+      credentials,
+    );
+  }
+
+  /// Whether a passkey for [relyingPartyId] (one of [allowCredentials], if
+  /// given) is available, without showing any UI. Null before Android 14,
+  /// where this cannot be answered.
+  Future<bool?> hasCredentials(
+    String relyingPartyId, {
+    List<AllowCredential>? allowCredentials,
+  }) {
+    return _api.hasCredentials(relyingPartyId, allowCredentials);
+  }
+
+  /// The credentials this device has registered or used for
+  /// [relyingPartyId], most recently used first.
+  Future<List<KnownCredential>> getKnownCredentials(
+    String relyingPartyId, {
+    String? userHandle,
+  }) async {
+    final credentials =
+        await _api.getKnownCredentials(relyingPartyId, userHandle);
+    return credentials.whereType<KnownCredential>().toList();
+  }
+
+  /// Removes a credential from the on-device index, e.g. after the server
+  /// deleted it.
+  Future<void> forgetKnownCredential(
+    String relyingPartyId,
+    String credentialId,
+  ) {
+    return _api.forgetKnownCredential(relyingPartyId, credentialId);
+  }
+
+  /// Checks the signature of [response] against a stored [publicKey] (COSE
+  /// or SubjectPublicKeyInfo, base64url) on the device, e.g. to unlock
+  /// offline. The server remains the authority for logins.
+  Future<AssertionVerdict> verifyAssertion(
+    AuthenticateResponseType response, {
+    required String publicKey,
+    required String relyingPartyId,
+    required String challenge,
+    int? publicKeyAlgorithm,
+    bool requireUserVerification = true,
+    int? previousSignCount,
+  }) {
+    return _api.verifyAssertion(
+      AuthenticateResponse(
+        id: response.id,
+        rawId: response.rawId,
+        clientDataJSON: response.clientDataJSON,
+        authenticatorData: response.authenticatorData,
+        signature: response.signature,
+        userHandle: response.userHandle,
+      ),
+      publicKey,
+      publicKeyAlgorithm,
+      relyingPartyId,
+      challenge,
+      requireUserVerification,
+      previousSignCount,
+    );
+  }
+
+  /// What the adaptive authenticate strategy learned for [relyingPartyId].
+  Future<AuthenticateStrategyStats> getAuthenticateStrategyStats(
+    String relyingPartyId,
+  ) {
+    return _api.getAuthenticateStrategyStats(relyingPartyId);
+  }
+
+  /// Hit and miss counts of the canAuthenticate cache.
+  Future<CanAuthenticateCacheStats> getCanAuthenticateCacheStats() {
+    return _api.getCanAuthenticateCacheStats();
+  }
+
+  /// How many native replies were dropped because their call had already been
+  /// answered. A growing count points at a code path that settles twice.
+  Future<int> getDuplicateSettlementCount() {
+    return _api.getDuplicateSettlementCount();
+  }
+
+  RelyingParty _relyingParty(RegisterRequestType request) {
+    return RelyingParty(
       name: request.relyingParty.name,
       id: request.relyingParty.id,
     );
+  }
+
+  User _user(RegisterRequestType request) {
+    return User(
+      displayName: request.user.displayName,
+      name: request.user.name,
+      id: request.user.id,
+    );
+  }
 
+  AuthenticatorSelection _authenticatorSelection(RegisterRequestType request) {
     final a = request.authSelectionType;
-    final authSelection = AuthenticatorSelection(
+    return AuthenticatorSelection(
       authenticatorAttachment: a.authenticatorAttachment,
       requireResidentKey: a.requireResidentKey,
       residentKey: a.residentKey,
       userVerification: a.userVerification,
     );
+  }
 
-    final r = await _api.register(
-      request.challenge,
-      relyingPartyArg,
-      userArg,
-      authSelection,
-      request.pubKeyCredParams
-          ?.map((e) => PubKeyCredParam(alg: e.alg, type: e.type))
-          .toList(),
-      request.timeout,
-      request.attestation,
-      request.excludeCredentials
-          .map((e) => ExcludeCredential(id: e.id, type: e.type))
-          .toList(),
-    );
+  List<PubKeyCredParam>? _pubKeyCredParams(RegisterRequestType request) {
+    return request.pubKeyCredParams
+        ?.map((e) => PubKeyCredParam(alg: e.alg, type: e.type))
+        .toList();
+  }
 
-    return RegisterResponseType(
-      id: r.id,
-      rawId: r.rawId,
-      clientDataJSON: r.clientDataJSON,
-      attestationObject: r.attestationObject,
-    );
+  List<ExcludeCredential> _excludeCredentials(RegisterRequestType request) {
+    return request.excludeCredentials
+        .map((e) => ExcludeCredential(id: e.id, type: e.type))
+        .toList();
   }
 
-  //
-  @override
-  Future<void> cancelCurrentAuthenticatorOperation() async {
-    return;
+  List<AllowCredential>? _allowCredentials(AuthenticateRequestType request) {
+    return request.allowCredentials?.map((e) {
+      return AllowCredential(
+        id: e.id,
+        type: e.type,
+        transports: e.transports,
+      );
+    }).toList();
+  }
+
+  /// With a correlation id, a failed ceremony carries its timings in the
+  /// error details as {details, timings}. They are reported and the error is
+  /// rethrown with the original details, so callers see the same errors with
+  /// and without a correlation id.
+  Future<T> _withTimings<T>(Future<T> Function() ceremony) async {
+    try {
+      return await ceremony();
+    } on PlatformException catch (e) {
+      final details = e.details;
+      if (details is! Map || details['timings'] is! CeremonyTimings) {
+        rethrow;
+      }
+
+      _report(details['timings'] as CeremonyTimings);
+      throw PlatformException(
+        code: e.code,
+        message: e.message,
+        details: details['details'],
+        stacktrace: e.stacktrace,
+      );
+    }
+  }
+
+  void _report(CeremonyTimings? timings) {
+    if (timings != null) {
+      _onCeremonyTimings?.call(timings);
+    }
   }
 }
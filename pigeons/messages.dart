@@ -1,3 +1,5 @@
+import 'dart:typed_data';
+
 import 'package:pigeon/pigeon.dart';
 
 /// Represents a relying party
@@ -77,6 +79,21 @@ class ExcludeCredential {
   final String id;
 }
 
+/// Represents a credential id in binary form (binary transport mode)
+class CredentialDescriptor {
+  /// Constructor
+  const CredentialDescriptor(this.type, this.id, {this.transports});
+
+  /// The type
+  final String type;
+
+  /// The raw credential id
+  final Uint8List id;
+
+  /// The transports
+  final List<String?>? transports;
+}
+
 /// Represents an authenticator selection
 class AuthenticatorSelection {
   /// Constructor
@@ -96,6 +113,29 @@ class AuthenticatorSelection {
   final String userVerification;
 }
 
+/// Represents the phase timings of a ceremony
+class CeremonyTimings {
+  /// Constructor
+  const CeremonyTimings({
+    required this.phasesMicros,
+    required this.totalMicros,
+    this.correlationId,
+    this.requestBytes,
+  });
+
+  /// The correlation id passed by the caller
+  final String? correlationId;
+
+  /// Time spent per phase, in the order the phases ran
+  final Map<String?, int?> phasesMicros;
+
+  /// Total time of the ceremony
+  final int totalMicros;
+
+  /// UTF-8 size of the options JSON sent to Play services
+  final int? requestBytes;
+}
+
 /// Represents a register response
 class RegisterResponse {
   /// Constructor
@@ -104,6 +144,17 @@ class RegisterResponse {
     required this.rawId,
     required this.clientDataJSON,
     required this.attestationObject,
+    this.timings,
+    this.authenticatorData,
+    this.rpIdHash,
+    this.flags,
+    this.userVerified,
+    this.backupEligible,
+    this.backupState,
+    this.signCount,
+    this.aaguid,
+    this.publicKey,
+    this.publicKeyAlgorithm,
   });
 
   /// The ID
@@ -117,6 +168,39 @@ class RegisterResponse {
 
   /// The attestation object
   final String attestationObject;
+
+  /// The phase timings of the ceremony
+  final CeremonyTimings? timings;
+
+  /// The authenticator data from the attestation object (base64url)
+  final String? authenticatorData;
+
+  /// SHA-256 of the rpId the credential is scoped to (base64url)
+  final String? rpIdHash;
+
+  /// The authenticator data flags byte
+  final int? flags;
+
+  /// Whether the UV flag is set
+  final bool? userVerified;
+
+  /// Whether the BE flag is set, i.e. the credential can be synced
+  final bool? backupEligible;
+
+  /// Whether the BS flag is set, i.e. the credential is currently backed up
+  final bool? backupState;
+
+  /// The signature counter
+  final int? signCount;
+
+  /// The AAGUID of the authenticator as a UUID string
+  final String? aaguid;
+
+  /// The credential public key as SubjectPublicKeyInfo DER (base64url), null for unsupported key types
+  final String? publicKey;
+
+  /// The COSE algorithm of the public key, e.g. -7 for ES256
+  final int? publicKeyAlgorithm;
 }
 
 /// Represents an authenticate response
@@ -129,6 +213,7 @@ class AuthenticateResponse {
     required this.authenticatorData,
     required this.signature,
     required this.userHandle,
+    this.timings,
   });
 
   /// The ID
@@ -147,6 +232,343 @@ class AuthenticateResponse {
   final String signature;
 
   final String userHandle;
+
+  /// The phase timings of the ceremony
+  final CeremonyTimings? timings;
+}
+
+/// Represents a register response with the binary values as raw bytes
+class BinaryRegisterResponse {
+  /// Constructor
+  const BinaryRegisterResponse({
+    required this.id,
+    required this.rawId,
+    required this.clientDataJSON,
+    required this.attestationObject,
+    this.timings,
+  });
+
+  /// The ID (base64url, as used by the relying party)
+  final String id;
+
+  /// The raw ID
+  final Uint8List rawId;
+
+  /// The client data JSON, UTF-8 encoded
+  final Uint8List clientDataJSON;
+
+  /// The attestation object
+  final Uint8List attestationObject;
+
+  /// The phase timings of the ceremony
+  final CeremonyTimings? timings;
+}
+
+/// Represents an authenticate response with the binary values as raw bytes
+class BinaryAuthenticateResponse {
+  /// Constructor
+  const BinaryAuthenticateResponse({
+    required this.id,
+    required this.rawId,
+    required this.clientDataJSON,
+    required this.authenticatorData,
+    required this.signature,
+    this.userHandle,
+    this.timings,
+  });
+
+  /// The ID (base64url, as used by the relying party)
+  final String id;
+
+  /// The raw ID
+  final Uint8List rawId;
+
+  /// The client data JSON, UTF-8 encoded
+  final Uint8List clientDataJSON;
+
+  /// The authenticator data
+  final Uint8List authenticatorData;
+
+  /// The signature
+  final Uint8List signature;
+
+  /// The user handle, null for non-discoverable credentials
+  final Uint8List? userHandle;
+
+  /// The phase timings of the ceremony
+  final CeremonyTimings? timings;
+}
+
+/// Represents a register or authenticate response exactly as the authenticator returned it
+class RawCredentialResponse {
+  /// Constructor
+  const RawCredentialResponse({
+    required this.responseJson,
+    this.timings,
+  });
+
+  /// The PublicKeyCredential JSON, UTF-8 encoded, including clientExtensionResults, authenticatorAttachment and transports
+  final Uint8List responseJson;
+
+  /// The phase timings of the ceremony
+  final CeremonyTimings? timings;
+}
+
+/// Represents the outcome of verifying an assertion on the device
+class AssertionVerdict {
+  /// Constructor
+  const AssertionVerdict({
+    required this.verified,
+    this.failure,
+    this.message,
+    this.signCount,
+    this.userVerified,
+    this.backupState,
+    this.timings,
+  });
+
+  /// Whether every check passed
+  final bool verified;
+
+  /// The first failed check: malformed, unsupported-algorithm, type-mismatch, challenge-mismatch, rp-id-hash-mismatch, user-not-present, user-not-verified, sign-count-regressed or signature-invalid
+  final String? failure;
+
+  /// A description of the failure
+  final String? message;
+
+  /// The signature counter of the assertion, to store for the next verification
+  final int? signCount;
+
+  /// Whether the UV flag is set
+  final bool? userVerified;
+
+  /// Whether the BS flag is set
+  final bool? backupState;
+
+  /// Time spent per verification step
+  final CeremonyTimings? timings;
+}
+
+/// Represents the static parts of a relying party, stored natively by configureRelyingParty
+class RelyingPartyProfile {
+  /// Constructor
+  const RelyingPartyProfile({
+    required this.profileId,
+    required this.relyingParty,
+    required this.authenticatorSelection,
+    this.pubKeyCredParams,
+    this.timeout,
+    this.attestation,
+    this.userVerification,
+  });
+
+  /// The id later calls reference the profile by
+  final String profileId;
+
+  /// The relying party
+  final RelyingParty relyingParty;
+
+  /// The authenticator selection used for registration
+  final AuthenticatorSelection authenticatorSelection;
+
+  /// The public key credential parameters
+  final List<PubKeyCredParam?>? pubKeyCredParams;
+
+  /// The timeout
+  final int? timeout;
+
+  /// The attestation
+  final String? attestation;
+
+  /// The user verification used for authentication (defaults to the one of authenticatorSelection)
+  final String? userVerification;
+}
+
+/// Represents a reference to a credential list stored with cacheCredentialList
+class CredentialListRef {
+  /// Constructor
+  const CredentialListRef(this.userId, this.version);
+
+  /// The user the list belongs to
+  final String userId;
+
+  /// The version token the list was stored with
+  final String version;
+}
+
+/// Represents a credential seen in a successful ceremony on this device
+class KnownCredential {
+  /// Constructor
+  const KnownCredential({
+    required this.id,
+    required this.createdAtMillis,
+    required this.lastUsedMillis,
+    this.userHandle,
+  });
+
+  /// The credential id
+  final String id;
+
+  /// When the credential was first seen, in milliseconds since the epoch
+  final int createdAtMillis;
+
+  /// When the credential was last used, in milliseconds since the epoch
+  final int lastUsedMillis;
+
+  /// The user handle, if known
+  final String? userHandle;
+}
+
+/// Represents the native configuration of the plugin
+class PasskeysConfig {
+  /// Constructor
+  const PasskeysConfig({
+    this.canAuthenticateCacheTtlMillis,
+    this.hasCredentialsCacheTtlMillis,
+    this.concurrentCeremonyPolicy,
+    this.maxCredentialListEntries,
+    this.credentialListOverflow,
+    this.maxRequestBytes,
+    this.credentialListCacheBytes,
+    this.knownCredentialsMaxEntries,
+    this.excludeCredentialsPrecheck,
+    this.authenticateStrategy,
+    this.authenticateExplorationRate,
+    this.validateClientData,
+    this.allowedOrigins,
+  });
+
+  /// How long a canAuthenticate answer is reused (0 disables the cache)
+  final int? canAuthenticateCacheTtlMillis;
+
+  /// How long a hasCredentials answer is reused (0 disables the cache)
+  final int? hasCredentialsCacheTtlMillis;
+
+  /// What happens to a ceremony started while another one runs: reject, queue or preempt (default)
+  final String? concurrentCeremonyPolicy;
+
+  /// Maximum number of allowCredentials/excludeCredentials after de-duplication (default 500)
+  final int? maxCredentialListEntries;
+
+  /// What happens to a longer list: reject (default) or trim
+  final String? credentialListOverflow;
+
+  /// Maximum UTF-8 size of the options JSON (default 256 KiB)
+  final int? maxRequestBytes;
+
+  /// Memory bound of the cached credential lists (default 256 KiB)
+  final int? credentialListCacheBytes;
+
+  /// Maximum number of credentials kept in the on-device index (default 10000)
+  final int? knownCredentialsMaxEntries;
+
+  /// Whether register fails early if an excluded credential is in the on-device index (default false)
+  final bool? excludeCredentialsPrecheck;
+
+  /// Whether authenticate prepares first on API 34+: adaptive (default), prepare or direct
+  final String? authenticateStrategy;
+
+  /// Share of adaptive ceremonies that try the path not currently chosen (default 0.05)
+  final double? authenticateExplorationRate;
+
+  /// Whether the clientDataJSON of a ceremony is checked against the request before returning (default false)
+  final bool? validateClientData;
+
+  /// Origins accepted besides the app's android:apk-key-hash when validating clientDataJSON (client-data-unverifiable if neither is known)
+  final List<String?>? allowedOrigins;
+}
+
+/// Represents what the adaptive authenticate strategy learned for one relying party
+class AuthenticateStrategyStats {
+  /// Constructor
+  const AuthenticateStrategyStats({
+    required this.mode,
+    required this.decision,
+    required this.explorationRate,
+    required this.prepareSamples,
+    required this.directSamples,
+    this.prepareMedianMillis,
+    this.directMedianMillis,
+  });
+
+  /// The configured strategy: adaptive, prepare or direct
+  final String mode;
+
+  /// The path taken when not exploring: prepare or direct
+  final String decision;
+
+  /// Share of adaptive ceremonies that try the other path
+  final double explorationRate;
+
+  /// Number of recorded ceremonies that prepared first
+  final int prepareSamples;
+
+  /// Median latency of those ceremonies, null without samples
+  final int? prepareMedianMillis;
+
+  /// Number of recorded ceremonies that called getCredential directly
+  final int directSamples;
+
+  /// Median latency of those ceremonies, null without samples
+  final int? directMedianMillis;
+}
+
+/// Represents the state of the canAuthenticate cache
+class CanAuthenticateCacheStats {
+  /// Constructor
+  const CanAuthenticateCacheStats({
+    required this.ttlMillis,
+    required this.hits,
+    required this.misses,
+    required this.hitRatio,
+    this.ageMillis,
+  });
+
+  /// Age of the cached answer, null if nothing is cached
+  final int? ageMillis;
+
+  /// The configured time to live
+  final int ttlMillis;
+
+  /// Calls answered from the cache or from a shared in-flight request
+  final int hits;
+
+  /// Calls that had to query Play services
+  final int misses;
+
+  /// hits / (hits + misses)
+  final double hitRatio;
+}
+
+/// Represents the outcome of a warm-up, with the time spent per step
+class WarmUpResult {
+  /// Constructor
+  const WarmUpResult({
+    required this.alreadyWarm,
+    required this.classLoadingMicros,
+    required this.clientsMicros,
+    required this.eligibilityMicros,
+    required this.jsonMicros,
+    required this.totalMicros,
+  });
+
+  /// Whether the timings come from an earlier warm-up
+  final bool alreadyWarm;
+
+  /// Time spent loading the credential classes
+  final int classLoadingMicros;
+
+  /// Time spent creating the Credential Manager and FIDO2 clients
+  final int clientsMicros;
+
+  /// Time spent on the eligibility checks
+  final int eligibilityMicros;
+
+  /// Time spent on the first options JSON build
+  final int jsonMicros;
+
+  /// Total time of the warm-up
+  final int totalMicros;
 }
 
 @HostApi()
@@ -155,6 +577,7 @@ abstract class PasskeysApi {
   bool canAuthenticate();
 
   @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   RegisterResponse register(
     String challenge,
     RelyingParty relyingParty,
@@ -164,17 +587,159 @@ abstract class PasskeysApi {
     int? timeout,
     String? attestation,
     List<ExcludeCredential> excludeCredentials,
+    String? correlationId,
   );
 
   @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   AuthenticateResponse authenticate(
     String relyingPartyId,
     String challenge,
     int? timeout,
     String? userVerification,
     List<AllowCredential>? allowCredentials,
+    String? correlationId,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  BinaryRegisterResponse registerBinary(
+    Uint8List challenge,
+    RelyingParty relyingParty,
+    User user,
+    AuthenticatorSelection authenticatorSelection,
+    List<PubKeyCredParam>? pubKeyCredParams,
+    int? timeout,
+    String? attestation,
+    List<CredentialDescriptor> excludeCredentials,
+    String? correlationId,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  BinaryAuthenticateResponse authenticateBinary(
+    String relyingPartyId,
+    Uint8List challenge,
+    int? timeout,
+    String? userVerification,
+    List<CredentialDescriptor>? allowCredentials,
+    String? correlationId,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  RawCredentialResponse registerRaw(
+    String challenge,
+    RelyingParty relyingParty,
+    User user,
+    AuthenticatorSelection authenticatorSelection,
+    List<PubKeyCredParam>? pubKeyCredParams,
+    int? timeout,
+    String? attestation,
+    List<ExcludeCredential> excludeCredentials,
+    String? correlationId,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  RawCredentialResponse authenticateRaw(
+    String relyingPartyId,
+    String challenge,
+    int? timeout,
+    String? userVerification,
+    List<AllowCredential>? allowCredentials,
+    String? correlationId,
+  );
+
+  @async
+  void configureRelyingParty(RelyingPartyProfile profile);
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  RegisterResponse registerWithProfile(
+    String profileId,
+    String challenge,
+    User user,
+    List<ExcludeCredential> excludeCredentials,
+    String? correlationId,
+    CredentialListRef? credentialListRef,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  AuthenticateResponse authenticateWithProfile(
+    String profileId,
+    String challenge,
+    List<AllowCredential>? allowCredentials,
+    String? correlationId,
+    CredentialListRef? credentialListRef,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void cacheCredentialList(
+    String relyingPartyId,
+    String userId,
+    String version,
+    List<AllowCredential> credentials,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  bool? hasCredentials(
+    String relyingPartyId,
+    List<AllowCredential>? allowCredentials,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  List<KnownCredential> getKnownCredentials(
+    String relyingPartyId,
+    String? userHandle,
+  );
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void forgetKnownCredential(String relyingPartyId, String credentialId);
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void prepareAuthenticate(
+    String relyingPartyId,
+    String challenge,
+    int? timeout,
+    String? userVerification,
+    List<AllowCredential>? allowCredentials,
   );
 
   @async
   void cancelCurrentAuthenticatorOperation();
+
+  @async
+  void configure(PasskeysConfig config);
+
+  @async
+  CanAuthenticateCacheStats getCanAuthenticateCacheStats();
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  AssertionVerdict verifyAssertion(
+    AuthenticateResponse response,
+    String publicKey,
+    int? publicKeyAlgorithm,
+    String relyingPartyId,
+    String challenge,
+    bool requireUserVerification,
+    int? previousSignCount,
+  );
+
+  @async
+  int getDuplicateSettlementCount();
+
+  @async
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  AuthenticateStrategyStats getAuthenticateStrategyStats(String relyingPartyId);
+
+  @async
+  WarmUpResult warmUp();
 }